@@ -0,0 +1,48 @@
+package com.profile.candidate.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// getClientEmailList deserialises the client_email JSON column on every call; interview listings call it once
+// per row and the notification paths several times per interview.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InterviewDetailsBenchmark {
+
+    @Param({"1", "3", "10"})
+    public int clientEmails;
+
+    private InterviewDetails interviewDetails;
+
+    @Setup
+    public void setUp() {
+        List<String> emails = new ArrayList<>(clientEmails);
+        for (int i = 0; i < clientEmails; i++) {
+            emails.add("hiring.manager" + i + "@client" + (i % 7) + ".example.com");
+        }
+        interviewDetails = new InterviewDetails();
+        interviewDetails.setClientEmailList(emails);
+    }
+
+    @Benchmark
+    public List<String> getClientEmailList() {
+        return interviewDetails.getClientEmailList();
+    }
+}
@@ -0,0 +1,137 @@
+package com.profile.candidate.service;
+
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+// Deterministic inputs and stand-ins shared by the benchmarks. Everything is generated from a fixed seed so
+// runs before and after a change measure the same data.
+final class BenchmarkData {
+
+    static final long SEED = 42;
+
+    private static final String[] STATUSES = {"SCHEDULED", "RESCHEDULED", "SELECTED", "REJECTED", "PLACED"};
+
+    private BenchmarkData() {
+    }
+
+    // interview_status column as written by InterviewService: a JSON array of {stage, status, interviewLevel, timestamp}
+    static String interviewStatusJson(int entries) {
+        Random random = new Random(SEED);
+        OffsetDateTime timestamp = OffsetDateTime.parse("2025-01-06T09:30:00+05:30");
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < entries; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            timestamp = timestamp.plusHours(1 + random.nextInt(72));
+            json.append("{\"stage\":").append(i + 1)
+                    .append(",\"status\":\"").append(STATUSES[random.nextInt(STATUSES.length)])
+                    .append("\",\"interviewLevel\":\"L").append(1 + random.nextInt(3))
+                    .append("\",\"timestamp\":\"").append(timestamp).append("\"}");
+        }
+        return json.append(']').toString();
+    }
+
+    // Rows shaped like the native team/self submission queries that feed SubmissionService.mapTuplesToResponseDto
+    static List<Tuple> submissionTuples(int rows) {
+        Random random = new Random(SEED);
+        List<Tuple> tuples = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("submission_id", "CAND" + String.format("%04d", i) + "_JOB" + (i % 50));
+            values.put("candidate_id", "CAND" + String.format("%04d", i));
+            values.put("full_name", "Candidate " + i);
+            values.put("user_name", "Recruiter " + (i % 20));
+            values.put("user_email", "recruiter" + (i % 20) + "@dataqinc.com");
+            values.put("skills", "Java, Spring Boot, MySQL, AWS");
+            values.put("preferred_location", random.nextBoolean() ? "Hyderabad" : "Bangalore");
+            values.put("job_id", "JOB" + (i % 50));
+            values.put("user_id", "ADRTIN" + (i % 20));
+            values.put("client_name", "Client " + (i % 7));
+            values.put("profile_received_date", "2025-03-" + String.format("%02d", 1 + random.nextInt(28)));
+            tuples.add(new MapTuple(values));
+        }
+        return tuples;
+    }
+
+    // Implements only the repository methods named in `answers`; anything else the code under test calls fails loudly
+    @SuppressWarnings("unchecked")
+    static <T> T repository(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            if (method.getDeclaringClass() == Object.class) {
+                return method.getName().equals("toString") ? type.getSimpleName() + " stub"
+                        : method.getName().equals("hashCode") ? System.identityHashCode(proxy) : proxy == args[0];
+            }
+            throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName() + " is not stubbed");
+        });
+    }
+
+    // The services use field injection; benchmarks set the collaborators the same way Spring does
+    static void inject(Object target, String fieldName, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot inject " + fieldName + " into " + target.getClass().getSimpleName(), e);
+        }
+    }
+
+    private static final class MapTuple implements Tuple {
+
+        private final Map<String, Object> values;
+
+        MapTuple(Map<String, Object> values) {
+            this.values = values;
+        }
+
+        @Override
+        public <X> X get(TupleElement<X> tupleElement) {
+            return tupleElement.getJavaType().cast(values.get(tupleElement.getAlias()));
+        }
+
+        @Override
+        public <X> X get(String alias, Class<X> type) {
+            return type.cast(values.get(alias));
+        }
+
+        @Override
+        public Object get(String alias) {
+            return values.get(alias);
+        }
+
+        @Override
+        public <X> X get(int i, Class<X> type) {
+            return type.cast(get(i));
+        }
+
+        @Override
+        public Object get(int i) {
+            return toArray()[i];
+        }
+
+        @Override
+        public Object[] toArray() {
+            return values.values().toArray();
+        }
+
+        @Override
+        public List<TupleElement<?>> getElements() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
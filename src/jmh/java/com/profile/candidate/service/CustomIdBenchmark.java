@@ -0,0 +1,89 @@
+package com.profile.candidate.service;
+
+import com.profile.candidate.model.BenchDetails;
+import com.profile.candidate.model.CandidateDetails;
+import com.profile.candidate.model.PlacementDetails;
+import com.profile.candidate.repository.BenchRepository;
+import com.profile.candidate.repository.CandidateRepository;
+import com.profile.candidate.repository.PlacementRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// The id strategies in use: candidates and placements scan every row returned by findAll() for the highest
+// number, bench asks the database for MAX() and formats a block of ids. The repositories are in-memory stubs,
+// so this measures the Java-side cost only; the findAll() strategies also pay for loading every row in production.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomIdBenchmark {
+
+    // Rows already in the table
+    @Param({"1000", "10000"})
+    public int existingRows;
+
+    private CandidateService candidateService;
+    private PlacementService placementService;
+    private BenchService benchService;
+
+    @Setup
+    public void setUp() {
+        List<CandidateDetails> candidates = new ArrayList<>(existingRows);
+        List<PlacementDetails> placements = new ArrayList<>(existingRows);
+        for (int i = 1; i <= existingRows; i++) {
+            CandidateDetails candidate = new CandidateDetails();
+            candidate.setCandidateId(String.format("CAND%04d", i));
+            candidates.add(candidate);
+            PlacementDetails placement = new PlacementDetails();
+            placement.setId(String.format("PLMNT%04d", i));
+            placements.add(placement);
+        }
+        long maxBenchNumber = existingRows;
+
+        candidateService = new CandidateService();
+        BenchmarkData.inject(candidateService, "candidateRepository", BenchmarkData.repository(CandidateRepository.class,
+                Map.<String, Function<Object[], Object>>of("findAll", args -> candidates)));
+        placementService = new PlacementService(BenchmarkData.repository(PlacementRepository.class,
+                Map.<String, Function<Object[], Object>>of("findAll", args -> placements)));
+        benchService = new BenchService(BenchmarkData.repository(BenchRepository.class,
+                Map.<String, Function<Object[], Object>>of("findMaxBenchNumber", args -> maxBenchNumber)), null);
+    }
+
+    @Benchmark
+    public String candidateIdFromFindAll() {
+        return candidateService.generateCustomId();
+    }
+
+    @Benchmark
+    public String placementIdFromFindAll() {
+        return placementService.generateCustomId();
+    }
+
+    @Benchmark
+    public List<String> benchIdFromMax() {
+        return benchService.allocateIds(1);
+    }
+
+    // One MAX() query for a whole bulk-import chunk
+    @Benchmark
+    public List<String> benchIdBlockFromMax() {
+        return benchService.allocateIds(200);
+    }
+}
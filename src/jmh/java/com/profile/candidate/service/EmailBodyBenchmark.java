@@ -0,0 +1,61 @@
+package com.profile.candidate.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// The notification bodies InterviewService renders for each schedule / reschedule email.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailBodyBenchmark {
+
+    private final InterviewService interviewService = new InterviewService();
+
+    @Benchmark
+    public String candidateScheduleEmailBody() {
+        return interviewService.buildCandidateScheduleEmailBody("Candidate 1", "2025-03-14", "10:30 AM", 45,
+                "https://zoom.us/j/123456789", "Java Developer", "Client 1");
+    }
+
+    @Benchmark
+    public String clientScheduleEmailBody() {
+        return interviewService.buildClientScheduleEmailBody("Client 1", "2025-03-14", "10:30 AM", 45,
+                "https://zoom.us/j/123456789", "Java Developer", "Candidate 1");
+    }
+
+    @Benchmark
+    public String userScheduleEmailBody() {
+        return interviewService.buildUserScheduleEmailBody("Recruiter 1", "Client 1", "2025-03-14", "10:30 AM", 45,
+                "https://zoom.us/j/123456789", "Java Developer", "Candidate 1");
+    }
+
+    @Benchmark
+    public String candidateUpdateEmailBody() {
+        return interviewService.buildUpdateCandidateEmailBody("Candidate 1", "2025-03-14", "10:30 AM", "45 minutes",
+                "https://zoom.us/j/123456789", "Java Developer", "Client 1");
+    }
+
+    @Benchmark
+    public String clientUpdateEmailBody() {
+        return interviewService.buildUpdateClientEmailBody("Client 1", "2025-03-14", "10:30 AM", "45 minutes",
+                "https://zoom.us/j/123456789", "Java Developer", "Candidate 1");
+    }
+
+    @Benchmark
+    public String userUpdateEmailBody() {
+        return interviewService.buildUpdateUserEmailBody("Recruiter 1", "Client 1", "2025-03-14", "10:30 AM", "45 minutes",
+                "https://zoom.us/j/123456789", "Java Developer", "Candidate 1");
+    }
+}
@@ -0,0 +1,47 @@
+package com.profile.candidate.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// latestInterviewStatusFromJson runs once per interview on every interview listing.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InterviewStatusBenchmark {
+
+    // Number of entries in the interview_status history
+    @Param({"1", "5", "20"})
+    public int statusEntries;
+
+    private final InterviewService interviewService = new InterviewService();
+    private String statusJson;
+
+    @Setup
+    public void setUp() {
+        statusJson = BenchmarkData.interviewStatusJson(statusEntries);
+    }
+
+    @Benchmark
+    public String latestStatusFromJson() {
+        return interviewService.latestInterviewStatusFromJson(statusJson);
+    }
+
+    @Benchmark
+    public String latestStatusFromPlainText() {
+        return interviewService.latestInterviewStatusFromJson("SCHEDULED");
+    }
+}
@@ -0,0 +1,81 @@
+package com.profile.candidate.service;
+
+import com.profile.candidate.dto.SubmissionGetResponseDto;
+import com.profile.candidate.model.CandidateDetails;
+import com.profile.candidate.model.Submissions;
+import jakarta.persistence.Tuple;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Result mapping for the submission listings: native-query tuples (teamlead view) and entities (user view)
+// to SubmissionGetResponseDto, at the page sizes the listings return.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SubmissionMappingBenchmark {
+
+    @Param({"100", "1000"})
+    public int rows;
+
+    private final SubmissionService submissionService = new SubmissionService();
+    private List<Tuple> tuples;
+    private List<Submissions> submissions;
+
+    @Setup
+    public void setUp() {
+        tuples = BenchmarkData.submissionTuples(rows);
+        submissions = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            CandidateDetails candidate = new CandidateDetails();
+            candidate.setCandidateId(String.format("CAND%04d", i));
+            candidate.setUserId("ADRTIN" + (i % 20));
+            candidate.setFullName("Candidate " + i);
+            candidate.setUserEmail("recruiter" + (i % 20) + "@dataqinc.com");
+            candidate.setCandidateEmailId("candidate" + i + "@example.com");
+            candidate.setContactNumber(String.format("98%08d", i));
+            candidate.setTotalExperience(3 + i % 10);
+            candidate.setRelevantExperience(2 + i % 8);
+
+            Submissions submission = new Submissions();
+            submission.setSubmissionId(candidate.getCandidateId() + "_JOB" + (i % 50));
+            submission.setCandidate(candidate);
+            submission.setJobId("JOB" + (i % 50));
+            submission.setClientName("Client " + (i % 7));
+            submission.setProfileReceivedDate(LocalDate.of(2025, 3, 1 + i % 28));
+            submission.setPreferredLocation("Hyderabad");
+            submission.setSkills("Java, Spring Boot, MySQL, AWS");
+            submission.setRecruiterName("Recruiter " + (i % 20));
+            submissions.add(submission);
+        }
+    }
+
+    @Benchmark
+    public List<SubmissionGetResponseDto> mapTuplesToResponseDto() {
+        return submissionService.mapTuplesToResponseDto(tuples);
+    }
+
+    @Benchmark
+    public void convertEntitiesToResponseDto(Blackhole blackhole) {
+        for (Submissions submission : submissions) {
+            blackhole.consume(submissionService.convertToSubmissionGetResponseDto(submission));
+        }
+    }
+}
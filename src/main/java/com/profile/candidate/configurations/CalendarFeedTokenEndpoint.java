@@ -0,0 +1,44 @@
+package com.profile.candidate.configurations;
+
+import com.profile.candidate.service.InterviewCalendarService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// POST /actuator/calendartokens/user/{userId}          issues the token of a user's iCalendar feed
+// POST /actuator/calendartokens/client/{clientName}    issues the token of a client's iCalendar feed
+// Issuing a token revokes the previous one, so a leaked feed URL can be cut off. The app does not know who is
+// calling, so anyone reaching this endpoint could take over any user's or client's feed: it is not exposed over
+// HTTP by default and belongs on an internal management port only.
+@Component
+@Endpoint(id = "calendartokens")
+public class CalendarFeedTokenEndpoint {
+
+    @Autowired
+    private InterviewCalendarService interviewCalendarService;
+
+    @WriteOperation
+    public Map<String, String> issue(@Selector String feedType, @Selector String subject) {
+        if (subject.isBlank()) {
+            throw new InvalidEndpointRequestException("Subject must not be blank", "blank subject");
+        }
+        String token;
+        if ("user".equals(feedType)) {
+            token = interviewCalendarService.issueUserFeedToken(subject);
+        } else if ("client".equals(feedType)) {
+            token = interviewCalendarService.issueClientFeedToken(subject);
+        } else {
+            throw new InvalidEndpointRequestException("Feed type must be user or client", "unknown feed type " + feedType);
+        }
+        Map<String, String> result = new LinkedHashMap<>();
+        result.put("token", token);
+        result.put("url", "/candidate/interviews/calendar/" + token + ".ics");
+        return result;
+    }
+}
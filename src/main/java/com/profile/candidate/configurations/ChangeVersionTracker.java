@@ -0,0 +1,152 @@
+package com.profile.candidate.configurations;
+
+import jakarta.persistence.Table;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Change version per table, bumped after every committed insert, update or delete of an entity written by this
+// service. Bumping after commit (not at flush) means a version is never visible before the data it stands for.
+// Versions live in memory and restart at 0, so consumers must combine them with getInstanceId().
+// Each committed change is also published as an EntityChangedEvent for in-memory indexes to follow.
+@Component
+public class ChangeVersionTracker implements HibernatePropertiesCustomizer, PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private final String instanceId = Long.toString(System.currentTimeMillis(), 36);
+    private final Instant startedAt = Instant.now();
+    private final Map<String, Version> versions = new ConcurrentHashMap<>();
+    private final Map<Class<?>, String> tableNames = new ConcurrentHashMap<>();
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Registers the listeners while Hibernate builds the session factory, rather than by looking the factory up,
+    // which would block on the deferred JPA bootstrap
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(JpaSettings.INTEGRATOR_PROVIDER, (IntegratorProvider) () -> List.of(new Integrator() {
+            @Override
+            public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+                                  SessionFactoryImplementor sessionFactory) {
+                EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+                registry.appendListeners(EventType.POST_COMMIT_INSERT, ChangeVersionTracker.this);
+                registry.appendListeners(EventType.POST_COMMIT_UPDATE, ChangeVersionTracker.this);
+                registry.appendListeners(EventType.POST_COMMIT_DELETE, ChangeVersionTracker.this);
+            }
+
+            @Override
+            public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+            }
+        }));
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public long getVersion(String table) {
+        Version version = versions.get(table);
+        return version == null ? 0 : version.counter.get();
+    }
+
+    // Start-up time for tables not written since
+    public Instant getLastModified(String table) {
+        Version version = versions.get(table);
+        return version == null ? startedAt : version.lastModified;
+    }
+
+    // For writes that bypass the entity lifecycle (bulk JPQL/native updates): bumps once the surrounding
+    // transaction commits, or right away when there is none
+    public void markChangedAfterCommit(String table) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            markChanged(table);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                markChanged(table);
+            }
+        });
+    }
+
+    private void markChanged(String table) {
+        Version version = versions.computeIfAbsent(table, key -> new Version());
+        version.lastModified = Instant.now();
+        version.counter.incrementAndGet();
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        markChanged(tableName(event.getPersister()));
+        eventPublisher.publishEvent(new EntityChangedEvent(event.getEntity(), EntityChangedEvent.Type.INSERT));
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        markChanged(tableName(event.getPersister()));
+        eventPublisher.publishEvent(new EntityChangedEvent(event.getEntity(), EntityChangedEvent.Type.UPDATE));
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        markChanged(tableName(event.getPersister()));
+        eventPublisher.publishEvent(new EntityChangedEvent(event.getEntity(), EntityChangedEvent.Type.DELETE));
+    }
+
+    // Nothing was committed, so the version stays
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return true;
+    }
+
+    private String tableName(EntityPersister persister) {
+        return tableNames.computeIfAbsent(persister.getMappedClass(), type -> {
+            Table table = type.getAnnotation(Table.class);
+            return table != null && !table.name().isEmpty() ? table.name() : type.getSimpleName();
+        });
+    }
+
+    private static final class Version {
+        private final AtomicLong counter = new AtomicLong();
+        private volatile Instant lastModified;
+    }
+}
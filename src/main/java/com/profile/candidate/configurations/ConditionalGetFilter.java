@@ -0,0 +1,182 @@
+package com.profile.candidate.configurations;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Conditional GET and a short-lived response cache for the heavy list/count endpoints.
+//
+// The ETag is built from the change versions of the tables behind the endpoint (ChangeVersionTracker), so a
+// request carrying a matching If-None-Match (or an If-Modified-Since not older than the last write) is answered
+// with 304 before the controller runs. Otherwise a serialized body cached under the same ETag is replayed, and
+// only on a miss does the request reach the database.
+//
+// The "current month" endpoints depend on today's date, so the date is part of the ETag. /dashboardcounts also
+// counts rows written by other services (requirements, clients, users); those changes are not visible here, so
+// its ETag additionally rolls over every candidate.http-cache.external-max-age.
+@Component
+@ConditionalOnProperty(name = "candidate.http-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class ConditionalGetFilter extends OncePerRequestFilter {
+
+    private static final String CANDIDATES = "candidates";
+    private static final String SUBMISSIONS = "candidate_submissions";
+    private static final String INTERVIEWS = "interview_details";
+    private static final String PLACEMENTS = "placements";
+    private static final String BENCH = "bench_details";
+
+    private static final Map<String, CachedEndpoint> ENDPOINTS = Map.of(
+            "/candidate/allInterviews", new CachedEndpoint(false, INTERVIEWS),
+            "/candidate/submissions", new CachedEndpoint(false, SUBMISSIONS, CANDIDATES),
+            "/candidate/bench/getBenchList", new CachedEndpoint(false, BENCH),
+            "/candidate/placement/placements-list", new CachedEndpoint(false, PLACEMENTS),
+            "/candidate/placement/analytics", new CachedEndpoint(false, PLACEMENTS),
+            "/candidate/funnel", new CachedEndpoint(false, SUBMISSIONS, INTERVIEWS, PLACEMENTS),
+            "/candidate/dashboardcounts", new CachedEndpoint(true, CANDIDATES, SUBMISSIONS, INTERVIEWS, PLACEMENTS, BENCH));
+
+    private final Map<String, CachedResponse> responses = new ConcurrentHashMap<>();
+
+    @Autowired
+    private ChangeVersionTracker changeVersionTracker;
+
+    @Value("${candidate.http-cache.ttl:30s}")
+    private Duration ttl;
+
+    @Value("${candidate.http-cache.max-entries:256}")
+    private int maxEntries;
+
+    @Value("${candidate.http-cache.external-max-age:30s}")
+    private Duration externalMaxAge;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !("GET".equals(method) || "HEAD".equals(method))
+                || !ENDPOINTS.containsKey(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        CachedEndpoint endpoint = ENDPOINTS.get(request.getRequestURI().substring(request.getContextPath().length()));
+        String etag = etag(endpoint);
+        // Clients must revalidate, which is what makes the 304 path useful
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+
+        // Sets ETag (and Last-Modified) on the response, and the 304 status when the client copy is current
+        ServletWebRequest webRequest = new ServletWebRequest(request, response);
+        boolean notModified = endpoint.external
+                ? webRequest.checkNotModified(etag)
+                : webRequest.checkNotModified(etag, lastModified(endpoint).toEpochMilli());
+        if (notModified) {
+            return;
+        }
+
+        String key = request.getMethod() + " " + request.getRequestURI() + "?" + request.getQueryString()
+                + " " + request.getHeader(HttpHeaders.ACCEPT);
+        CachedResponse cached = responses.get(key);
+        if (cached != null && cached.etag.equals(etag) && cached.expiresAt > System.currentTimeMillis()) {
+            response.setContentType(cached.contentType);
+            response.setContentLength(cached.body.length);
+            if ("GET".equals(request.getMethod())) {
+                response.getOutputStream().write(cached.body);
+            }
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, wrapper);
+            // A write that commits while the request runs bumps the version; caching the body under the ETag computed
+            // before the request could then replay data older than that write, so only cache when nothing changed
+            if (wrapper.getStatus() == HttpServletResponse.SC_OK && "GET".equals(request.getMethod())
+                    && etag.equals(etag(endpoint))) {
+                store(key, new CachedResponse(etag, wrapper.getContentType(), wrapper.getContentAsByteArray(),
+                        System.currentTimeMillis() + ttl.toMillis()));
+            }
+        } finally {
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private String etag(CachedEndpoint endpoint) {
+        StringBuilder etag = new StringBuilder("W/\"").append(changeVersionTracker.getInstanceId())
+                .append('-').append(LocalDate.now().toEpochDay());
+        for (String table : endpoint.tables) {
+            etag.append('-').append(changeVersionTracker.getVersion(table));
+        }
+        if (endpoint.external) {
+            etag.append('-').append(System.currentTimeMillis() / Math.max(1, externalMaxAge.toMillis()));
+        }
+        return etag.append('"').toString();
+    }
+
+    // Never earlier than today's midnight, since the current-month endpoints change with the date
+    private Instant lastModified(CachedEndpoint endpoint) {
+        Instant lastModified = LocalDate.now().atStartOfDay(ZoneId.systemDefault()).toInstant();
+        for (String table : endpoint.tables) {
+            Instant tableModified = changeVersionTracker.getLastModified(table);
+            if (tableModified.isAfter(lastModified)) {
+                lastModified = tableModified;
+            }
+        }
+        return lastModified;
+    }
+
+    private void store(String key, CachedResponse response) {
+        if (responses.size() >= maxEntries) {
+            long now = System.currentTimeMillis();
+            for (Iterator<CachedResponse> it = responses.values().iterator(); it.hasNext(); ) {
+                if (it.next().expiresAt <= now) {
+                    it.remove();
+                }
+            }
+            if (responses.size() >= maxEntries) {
+                return;
+            }
+        }
+        responses.put(key, response);
+    }
+
+    private static final class CachedEndpoint {
+        private final boolean external;
+        private final List<String> tables;
+
+        CachedEndpoint(boolean external, String... tables) {
+            this.external = external;
+            this.tables = List.of(tables);
+        }
+    }
+
+    private static final class CachedResponse {
+        private final String etag;
+        private final String contentType;
+        private final byte[] body;
+        private final long expiresAt;
+
+        CachedResponse(String etag, String contentType, byte[] body, long expiresAt) {
+            this.etag = etag;
+            this.contentType = contentType;
+            this.body = body;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
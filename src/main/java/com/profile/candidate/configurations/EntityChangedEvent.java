@@ -0,0 +1,27 @@
+package com.profile.candidate.configurations;
+
+// Published by ChangeVersionTracker on the writing thread once an entity insert, update or delete has been
+// committed. Listeners get the entity state as written (for deletes, as it was before the delete) and must not
+// modify it. Bulk JPQL/native writes do not produce these events.
+public class EntityChangedEvent {
+
+    public enum Type {
+        INSERT, UPDATE, DELETE
+    }
+
+    private final Object entity;
+    private final Type type;
+
+    public EntityChangedEvent(Object entity, Type type) {
+        this.entity = entity;
+        this.type = type;
+    }
+
+    public Object getEntity() {
+        return entity;
+    }
+
+    public Type getType() {
+        return type;
+    }
+}
@@ -0,0 +1,34 @@
+package com.profile.candidate.configurations;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+
+@Configuration
+public class ExecutionConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionConfig.class);
+
+    // Executor for outgoing notification emails. With spring.threads.virtual.enabled=true (Java 21+) every
+    // email is sent on its own virtual thread, so a slow SMTP server no longer holds the request thread.
+    // Otherwise emails are sent on the caller's thread exactly as before.
+    @Bean(name = "emailExecutor")
+    public TaskExecutor emailExecutor(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads && Runtime.version().feature() >= 21) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("email-");
+            executor.setVirtualThreads(true);
+            logger.info("Email dispatch runs on virtual threads");
+            return executor;
+        }
+        if (virtualThreads) {
+            logger.warn("spring.threads.virtual.enabled is set but the runtime is Java {}; virtual threads need Java 21",
+                    Runtime.version().feature());
+        }
+        return new SyncTaskExecutor();
+    }
+}
@@ -0,0 +1,31 @@
+package com.profile.candidate.configurations;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+// Routes the application DataSource through QueryCapturingDataSource so every statement is timed and counted.
+// Only the "dataSource" bean is wrapped: with the read replica enabled it is the routing proxy in front of
+// both pools, so statements are counted once whichever database serves them.
+@Configuration
+@ConditionalOnProperty(name = "candidate.query-log.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryCaptureConfig {
+
+    // static: post-processors are created before regular beans
+    @Bean
+    public static BeanPostProcessor queryCapturingDataSourcePostProcessor(ObjectProvider<QueryStatisticsRecorder> recorder) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource && !(bean instanceof QueryCapturingDataSource)) {
+                    return new QueryCapturingDataSource((DataSource) bean, recorder.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
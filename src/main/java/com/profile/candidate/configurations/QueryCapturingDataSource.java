@@ -0,0 +1,251 @@
+package com.profile.candidate.configurations;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Hands out connections whose statements report their SQL, bind parameters, row count and execution time
+// to a QueryStatisticsRecorder. The time recorded is the execute call itself; for queries the row count is
+// taken when the result set (or its statement) is closed, after Hibernate has read the rows.
+public class QueryCapturingDataSource extends DelegatingDataSource {
+
+    private static final int MAX_PARAMETER_LENGTH = 100;
+
+    private final QueryStatisticsRecorder recorder;
+
+    public QueryCapturingDataSource(DataSource targetDataSource, QueryStatisticsRecorder recorder) {
+        super(targetDataSource);
+        this.recorder = recorder;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    switch (method.getName()) {
+                        case "prepareStatement":
+                            return wrapStatement(result, PreparedStatement.class, (String) args[0]);
+                        case "prepareCall":
+                            return wrapStatement(result, CallableStatement.class, (String) args[0]);
+                        case "createStatement":
+                            return wrapStatement(result, Statement.class, null);
+                        default:
+                            return result;
+                    }
+                });
+    }
+
+    private Object wrapStatement(Object statement, Class<?> type, String sql) {
+        return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                new StatementHandler((Statement) statement, sql));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Binary and very long values (resumes, JSON skill lists) are summarised rather than copied
+    private static String describe(Object value) {
+        if (value == null) {
+            return "NULL";
+        }
+        if (value instanceof byte[]) {
+            return "<" + ((byte[]) value).length + " bytes>";
+        }
+        String text = value instanceof CharSequence ? "'" + value + "'" : String.valueOf(value);
+        return text.length() > MAX_PARAMETER_LENGTH ? text.substring(0, MAX_PARAMETER_LENGTH) + "..." : text;
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final Map<Integer, String> parameters = new TreeMap<>();
+        private String sql;
+        private int batchSize;
+        private ResultSetHandler openResultSet;
+
+        StatementHandler(Statement target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                parameters.put((Integer) args[0], name.equals("setNull") ? "NULL" : describe(args[1]));
+                return QueryCapturingDataSource.invoke(target, method, args);
+            }
+            switch (name) {
+                case "clearParameters":
+                    parameters.clear();
+                    return QueryCapturingDataSource.invoke(target, method, args);
+                case "addBatch":
+                    batchSize++;
+                    if (args != null && args.length == 1) {
+                        sql = (String) args[0];
+                    }
+                    return QueryCapturingDataSource.invoke(target, method, args);
+                case "clearBatch":
+                    batchSize = 0;
+                    return QueryCapturingDataSource.invoke(target, method, args);
+                case "executeQuery":
+                    return executeQuery(method, args);
+                case "executeUpdate":
+                case "executeLargeUpdate":
+                case "execute":
+                case "executeBatch":
+                case "executeLargeBatch":
+                    return executeWrite(name, method, args);
+                case "close":
+                    finishResultSet();
+                    return QueryCapturingDataSource.invoke(target, method, args);
+                default:
+                    return QueryCapturingDataSource.invoke(target, method, args);
+            }
+        }
+
+        private Object executeQuery(Method method, Object[] args) throws Throwable {
+            finishResultSet();
+            String statementSql = currentSql(args);
+            String boundParameters = parameters.toString();
+            long start = System.nanoTime();
+            ResultSet resultSet;
+            try {
+                resultSet = (ResultSet) QueryCapturingDataSource.invoke(target, method, args);
+            } catch (Throwable e) {
+                recorder.record(statementSql, boundParameters, -1, System.nanoTime() - start);
+                throw e;
+            }
+            openResultSet = new ResultSetHandler(resultSet, statementSql, boundParameters, System.nanoTime() - start);
+            return Proxy.newProxyInstance(QueryCapturingDataSource.class.getClassLoader(),
+                    new Class<?>[]{ResultSet.class}, openResultSet);
+        }
+
+        private Object executeWrite(String name, Method method, Object[] args) throws Throwable {
+            String statementSql = currentSql(args);
+            String boundParameters = batchSize > 0 ? "batch of " + batchSize + ", last " + parameters : parameters.toString();
+            long start = System.nanoTime();
+            long rows = -1;
+            try {
+                Object result = QueryCapturingDataSource.invoke(target, method, args);
+                rows = rowCount(name, result);
+                return result;
+            } finally {
+                recorder.record(statementSql, boundParameters, rows, System.nanoTime() - start);
+                if (name.endsWith("Batch")) {
+                    batchSize = 0;
+                }
+            }
+        }
+
+        private String currentSql(Object[] args) {
+            // Plain statements pass the SQL to execute*; prepared ones were created with it
+            return args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : sql;
+        }
+
+        private long rowCount(String name, Object result) {
+            if (result instanceof Number) {
+                return ((Number) result).longValue();
+            }
+            long total = 0;
+            if (result instanceof int[]) {
+                for (int count : (int[]) result) {
+                    // Rewritten batches report SUCCESS_NO_INFO (-2) per statement
+                    if (count < 0) {
+                        return -1;
+                    }
+                    total += count;
+                }
+                return total;
+            }
+            if (result instanceof long[]) {
+                for (long count : (long[]) result) {
+                    if (count < 0) {
+                        return -1;
+                    }
+                    total += count;
+                }
+                return total;
+            }
+            // execute() returns true when the statement produced a result set
+            return name.equals("execute") && Boolean.FALSE.equals(result) ? updateCount() : -1;
+        }
+
+        private long updateCount() {
+            try {
+                return target.getUpdateCount();
+            } catch (SQLException e) {
+                return -1;
+            }
+        }
+
+        private void finishResultSet() {
+            if (openResultSet != null) {
+                openResultSet.finish();
+                openResultSet = null;
+            }
+        }
+    }
+
+    private final class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet target;
+        private final String sql;
+        private final String parameters;
+        private final long elapsedNanos;
+        private long rows;
+        private boolean finished;
+
+        ResultSetHandler(ResultSet target, String sql, String parameters, long elapsedNanos) {
+            this.target = target;
+            this.sql = sql;
+            this.parameters = parameters;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = QueryCapturingDataSource.invoke(target, method, args);
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                rows++;
+            } else if (method.getName().equals("close")) {
+                finish();
+            }
+            return result;
+        }
+
+        void finish() {
+            if (!finished) {
+                finished = true;
+                recorder.record(sql, parameters, rows, elapsedNanos);
+            }
+        }
+    }
+}
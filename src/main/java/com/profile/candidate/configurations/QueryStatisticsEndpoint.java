@@ -0,0 +1,70 @@
+package com.profile.candidate.configurations;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// GET /actuator/querystats?limit=20  per-statement count / total / mean / max time, the recent slow
+//                                    statements and, when hibernate.generate_statistics is on, Hibernate's counters
+// DELETE /actuator/querystats         starts a new measurement window
+// Not exposed over HTTP by default: the slow statements include their bind parameters, i.e. personal data
+@Component
+@Endpoint(id = "querystats")
+public class QueryStatisticsEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    @Autowired
+    private QueryStatisticsRecorder recorder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @ReadOperation
+    public Map<String, Object> queryStatistics(@Nullable Integer limit) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("slowThresholdMillis", recorder.getSlowThresholdMillis());
+        result.put("statements", recorder.getStatistics(limit == null ? DEFAULT_LIMIT : limit));
+        result.put("slowQueries", recorder.getSlowQueries());
+        Statistics statistics = hibernateStatistics();
+        if (statistics.isStatisticsEnabled()) {
+            result.put("hibernate", hibernateSummary(statistics));
+        }
+        return result;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        recorder.reset();
+        hibernateStatistics().clear();
+    }
+
+    private Statistics hibernateStatistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private static Map<String, Object> hibernateSummary(Statistics statistics) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("queryExecutionCount", statistics.getQueryExecutionCount());
+        summary.put("queryExecutionMaxTimeMillis", statistics.getQueryExecutionMaxTime());
+        summary.put("queryExecutionMaxTimeQuery", statistics.getQueryExecutionMaxTimeQueryString());
+        summary.put("prepareStatementCount", statistics.getPrepareStatementCount());
+        summary.put("entityLoadCount", statistics.getEntityLoadCount());
+        summary.put("entityFetchCount", statistics.getEntityFetchCount());
+        summary.put("collectionFetchCount", statistics.getCollectionFetchCount());
+        summary.put("entityInsertCount", statistics.getEntityInsertCount());
+        summary.put("entityUpdateCount", statistics.getEntityUpdateCount());
+        summary.put("flushCount", statistics.getFlushCount());
+        summary.put("transactionCount", statistics.getTransactionCount());
+        return summary;
+    }
+}
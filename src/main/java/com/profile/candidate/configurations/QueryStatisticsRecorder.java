@@ -0,0 +1,191 @@
+package com.profile.candidate.configurations;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Receives every JDBC statement executed through the application DataSource (see QueryCaptureConfig).
+// Keeps count / total / max time per SQL string, remembers the most recent statements slower than
+// the threshold together with their bind parameters, row count and calling service method, and logs
+// a random sample of the remaining statements at DEBUG. This replaces spring.jpa.show-sql.
+@Component
+public class QueryStatisticsRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryStatisticsRecorder.class);
+
+    // Statements beyond this many distinct SQL strings are folded into one bucket
+    static final String OTHER_STATEMENTS = "<other statements>";
+    private static final String APPLICATION_PACKAGE = "com.profile.candidate.";
+    private static final String CONFIGURATIONS_PACKAGE = "com.profile.candidate.configurations.";
+
+    private final long slowThresholdNanos;
+    private final double sampleRate;
+    private final int slowQueryBufferSize;
+    private final int maxTrackedStatements;
+
+    private final Map<String, QueryStats> statsBySql = new ConcurrentHashMap<>();
+    private final Deque<SlowQuery> slowQueries = new ArrayDeque<>();
+
+    public QueryStatisticsRecorder(@Value("${candidate.query-log.slow-threshold:500ms}") Duration slowThreshold,
+                                   @Value("${candidate.query-log.sample-rate:0.0}") double sampleRate,
+                                   @Value("${candidate.query-log.slow-query-buffer:100}") int slowQueryBufferSize,
+                                   @Value("${candidate.query-log.max-tracked-statements:500}") int maxTrackedStatements) {
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.sampleRate = sampleRate;
+        this.slowQueryBufferSize = slowQueryBufferSize;
+        this.maxTrackedStatements = maxTrackedStatements;
+    }
+
+    // rows is the number of rows read for a query, the update count for a write, or -1 when unknown
+    public void record(String sql, String parameters, long rows, long elapsedNanos) {
+        statsFor(sql).add(elapsedNanos);
+
+        if (elapsedNanos >= slowThresholdNanos) {
+            String caller = findCaller();
+            SlowQuery slowQuery = new SlowQuery(Instant.now(), sql, parameters, rows, elapsedNanos / 1_000_000, caller);
+            synchronized (slowQueries) {
+                if (slowQueries.size() == slowQueryBufferSize) {
+                    slowQueries.removeFirst();
+                }
+                slowQueries.addLast(slowQuery);
+            }
+            logger.warn("Slow query ({} ms, {} rows) from {}: {} {}", slowQuery.getElapsedMillis(), rows, caller, sql, parameters);
+        } else if (sampleRate > 0 && logger.isDebugEnabled() && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            logger.debug("Query ({} ms, {} rows): {} {}", elapsedNanos / 1_000_000, rows, sql, parameters);
+        }
+    }
+
+    // Per-statement statistics, most total time first
+    public List<Map<String, Object>> getStatistics(int limit) {
+        List<Map.Entry<String, QueryStats>> entries = new ArrayList<>(statsBySql.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<String, QueryStats> e) -> e.getValue().totalNanos.sum()).reversed());
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Map.Entry<String, QueryStats> entry : entries.subList(0, Math.min(limit, entries.size()))) {
+            QueryStats stats = entry.getValue();
+            long count = stats.count.sum();
+            long totalNanos = stats.totalNanos.sum();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("sql", entry.getKey());
+            row.put("count", count);
+            row.put("totalMillis", totalNanos / 1_000_000);
+            row.put("meanMillis", count == 0 ? 0 : totalNanos / count / 1_000_000.0);
+            row.put("maxMillis", stats.maxNanos.get() / 1_000_000);
+            result.add(row);
+        }
+        return result;
+    }
+
+    // Most recent slow statements, newest first
+    public List<SlowQuery> getSlowQueries() {
+        List<SlowQuery> result;
+        synchronized (slowQueries) {
+            result = new ArrayList<>(slowQueries);
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    public long getSlowThresholdMillis() {
+        return slowThresholdNanos / 1_000_000;
+    }
+
+    public void reset() {
+        statsBySql.clear();
+        synchronized (slowQueries) {
+            slowQueries.clear();
+        }
+    }
+
+    private QueryStats statsFor(String sql) {
+        QueryStats stats = statsBySql.get(sql);
+        if (stats != null) {
+            return stats;
+        }
+        // IN lists of varying length produce new SQL strings; stop tracking new ones past the cap
+        String key = statsBySql.size() < maxTrackedStatements ? sql : OTHER_STATEMENTS;
+        return statsBySql.computeIfAbsent(key, k -> new QueryStats());
+    }
+
+    // First application frame outside this package, i.e. the service or controller method that ran the query.
+    // Only called for slow statements, so the stack walk does not cost anything on the fast path.
+    private static String findCaller() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE)
+                        && !frame.getClassName().startsWith(CONFIGURATIONS_PACKAGE)
+                        && !frame.getClassName().contains("$$"))
+                .findFirst()
+                .map(frame -> frame.getClassName().substring(APPLICATION_PACKAGE.length())
+                        + "." + frame.getMethodName() + ":" + frame.getLineNumber())
+                .orElse("unknown"));
+    }
+
+    private static final class QueryStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void add(long elapsedNanos) {
+            count.increment();
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+        }
+    }
+
+    public static final class SlowQuery {
+        private final Instant executedAt;
+        private final String sql;
+        private final String parameters;
+        private final long rows;
+        private final long elapsedMillis;
+        private final String caller;
+
+        SlowQuery(Instant executedAt, String sql, String parameters, long rows, long elapsedMillis, String caller) {
+            this.executedAt = executedAt;
+            this.sql = sql;
+            this.parameters = parameters;
+            this.rows = rows;
+            this.elapsedMillis = elapsedMillis;
+            this.caller = caller;
+        }
+
+        public Instant getExecutedAt() {
+            return executedAt;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public String getParameters() {
+            return parameters;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        public String getCaller() {
+            return caller;
+        }
+    }
+}
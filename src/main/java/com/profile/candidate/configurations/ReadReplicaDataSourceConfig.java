@@ -0,0 +1,83 @@
+package com.profile.candidate.configurations;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+// Read/write splitting, enabled with candidate.datasource.replica.enabled=true.
+// Writes and read-write transactions use spring.datasource.*; @Transactional(readOnly = true) service methods
+// use candidate.datasource.replica.* while the replica is within the lag tolerance.
+// With the property off this class is skipped and Boot auto-configures the single datasource as before.
+@Configuration
+@ConditionalOnProperty(name = "candidate.datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${candidate.datasource.replica.url}") String url,
+                                              @Value("${candidate.datasource.replica.username:${spring.datasource.username}}") String username,
+                                              @Value("${candidate.datasource.replica.password:${spring.datasource.password}}") String password,
+                                              @Value("${candidate.datasource.replica.maximum-pool-size:10}") int maximumPoolSize) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                               @Value("${candidate.datasource.replica.max-lag-seconds:30}") long maxLagSeconds,
+                                               @Value("${candidate.datasource.replica.lag-check-interval-seconds:10}") long checkIntervalSeconds,
+                                               @Value("${candidate.datasource.replica.lag-check-enabled:true}") boolean lagCheckEnabled) {
+        return new ReplicaLagMonitor(replicaDataSource, maxLagSeconds, checkIntervalSeconds, lagCheckEnabled);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicaLagMonitor replicaLagMonitor) {
+        ReadWriteRoutingDataSource routingDataSource =
+                new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    // Routing is decided when a connection is fetched. Hibernate otherwise holds the first connection of a session
+    // until it closes, and with open-in-view the session lasts the whole request: a request that read on the replica
+    // and then wrote would write to the replica. Releasing the connection after each transaction routes every
+    // transaction on its own, while open-in-view lazy loading keeps working.
+    @Bean
+    public HibernatePropertiesCustomizer connectionPerTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
@@ -0,0 +1,111 @@
+package com.profile.candidate.configurations;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Decides whether read-only transactions may use the replica. The replica is usable while its replication
+// lag is within maxLagSeconds; it is taken out of rotation when it lags, replication is stopped, or a
+// connection to it fails, and put back by the next successful check.
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final DataSource replicaDataSource;
+    private final long maxLagSeconds;
+    private final long checkIntervalSeconds;
+    private final boolean lagCheckEnabled;
+
+    private volatile boolean replicaUsable = true;
+    private volatile Long lastLagSeconds;
+    private ScheduledExecutorService scheduler;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, long maxLagSeconds, long checkIntervalSeconds, boolean lagCheckEnabled) {
+        this.replicaDataSource = replicaDataSource;
+        this.maxLagSeconds = maxLagSeconds;
+        this.checkIntervalSeconds = checkIntervalSeconds;
+        this.lagCheckEnabled = lagCheckEnabled;
+    }
+
+    public void start() {
+        if (!lagCheckEnabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::check, 0, checkIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public Long getLastLagSeconds() {
+        return lastLagSeconds;
+    }
+
+    // Called by the routing data source when a replica connection cannot be obtained
+    public void markUnavailable(Throwable cause) {
+        if (replicaUsable) {
+            logger.warn("Replica unavailable, routing reads to primary: {}", cause.getMessage());
+        }
+        replicaUsable = false;
+    }
+
+    public void check() {
+        boolean usable;
+        try (Connection connection = replicaDataSource.getConnection()) {
+            Long lag = readLagSeconds(connection);
+            lastLagSeconds = lag;
+            usable = lag != null && lag <= maxLagSeconds;
+            if (!usable) {
+                logger.warn("Replica lag is {} s (limit {} s), routing reads to primary",
+                        lag == null ? "unknown (replication stopped)" : lag, maxLagSeconds);
+            }
+        } catch (SQLException e) {
+            logger.warn("Replica lag check failed, routing reads to primary: {}", e.getMessage());
+            usable = false;
+        }
+        if (usable && !replicaUsable) {
+            logger.info("Replica back within lag tolerance, routing reads to replica");
+        }
+        replicaUsable = usable;
+    }
+
+    // Seconds behind the source, or null when replication is not running.
+    // A server that reports no replication status at all is not a replica, so it cannot lag: 0.
+    private Long readLagSeconds(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SHOW REPLICA STATUS")) {
+            return rs.next() ? nullableLong(rs, "Seconds_Behind_Source") : Long.valueOf(0);
+        } catch (SQLException e) {
+            // MySQL before 8.0.22 only knows the old syntax
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SHOW SLAVE STATUS")) {
+                return rs.next() ? nullableLong(rs, "Seconds_Behind_Master") : Long.valueOf(0);
+            }
+        }
+    }
+
+    private static Long nullableLong(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+}
@@ -4,17 +4,24 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.profile.candidate.dto.BenchDetailsDto;
+import com.profile.candidate.dto.BenchMatchDto;
 import com.profile.candidate.dto.BenchResponseDto;
+import com.profile.candidate.dto.BulkImportResponseDto;
 import com.profile.candidate.dto.ErrorResponseDto;
 import com.profile.candidate.exceptions.DateRangeValidationException;
+import com.profile.candidate.exceptions.JobNotFoundException;
 import com.profile.candidate.model.BenchDetails;
 import com.profile.candidate.repository.BenchRepository;
+import com.profile.candidate.service.BenchMatchingService;
 import com.profile.candidate.service.BenchService;
+import com.profile.candidate.service.RecordVersion;
+import com.profile.candidate.service.ResumeTransferMetrics;
 import jakarta.persistence.EntityNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -51,6 +58,12 @@ public class BenchController {
     private final BenchService benchService;
     @Autowired
     private BenchRepository benchRepository;
+    @Autowired
+    private ResumeTransferMetrics resumeTransferMetrics;
+    @Autowired
+    private BenchMatchingService benchMatchingService;
+    @Autowired
+    private RecordVersion recordVersion;
 
     @Autowired
     public BenchController(BenchService benchService) {
@@ -99,6 +112,9 @@ public class BenchController {
 
             // Save bench details
             BenchDetails savedBenchDetails = benchService.saveBenchDetails(benchDetails, resumeFile);
+            if (resumeFile != null && !resumeFile.isEmpty()) {
+                resumeTransferMetrics.recordUpload("bench", resumeFile.getSize());
+            }
 
             BenchResponseDto responseDto = new BenchResponseDto(
                     "Success",
@@ -122,6 +138,33 @@ public class BenchController {
 
 
 
+    // ✅ Bulk onboarding: JSON array of bench records
+    @PostMapping(value = "/bench/bulk-save", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkImportResponseDto> createBenchDetailsBulk(@RequestBody List<BenchDetails> benchList) {
+        BulkImportResponseDto response = benchService.saveBenchDetailsBulk(benchList);
+        logger.info("Bulk bench save: {} of {} rows saved", response.getSuccessCount(), response.getTotalRows());
+        return ResponseEntity.ok(response);
+    }
+
+    // ✅ Bulk onboarding: CSV of bench records plus an optional ZIP of resumes
+    @PostMapping(value = "/bench/bulk-upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<BulkImportResponseDto> uploadBenchDetailsBulk(
+            @RequestParam("csvFile") MultipartFile csvFile,
+            @RequestParam(value = "resumesZip", required = false) MultipartFile resumesZip) {
+        try {
+            BulkImportResponseDto response = benchService.importBenchCsv(csvFile, resumesZip);
+            if (resumesZip != null && !resumesZip.isEmpty()) {
+                resumeTransferMetrics.recordUpload("bench-bulk", resumesZip.getSize());
+            }
+            logger.info("Bulk bench upload: {} of {} rows saved", response.getSuccessCount(), response.getTotalRows());
+            return ResponseEntity.ok(response);
+        } catch (IOException e) {
+            logger.error("Error reading bulk bench files: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
+                    new BulkImportResponseDto("Error", "Error reading bulk import files: " + e.getMessage(), 0, 0, 0, List.of()));
+        }
+    }
+
     @GetMapping("/bench/getBenchList")
     public ResponseEntity<List<BenchDetailsDto>> getAllBenchDetails() {
         try {
@@ -140,7 +183,8 @@ public class BenchController {
                             bench.getLinkedin(),
                             bench.getReferredBy(),
                             bench.getCreatedDate(),
-                            bench.getTechnology()
+                            bench.getTechnology(),
+                            bench.getVersion()
                     ))
                     .collect(Collectors.toList());
 
@@ -171,7 +215,8 @@ public class BenchController {
                             bench.getLinkedin(),
                             bench.getReferredBy(),
                             bench.getCreatedDate(),
-                            bench.getTechnology()
+                            bench.getTechnology(),
+                            bench.getVersion()
                     ))
                     .collect(Collectors.toList());
 
@@ -192,6 +237,52 @@ public class BenchController {
         }
     }
 
+    // Bench search by skill: all = every one of these skills, any = at least one of them (comma separated, case
+    // insensitive), optionally within total/relevant experience ranges in years
+    @GetMapping("/bench/search")
+    public ResponseEntity<?> searchBench(
+            @RequestParam(value = "all", required = false) List<String> allSkills,
+            @RequestParam(value = "any", required = false) List<String> anySkills,
+            @RequestParam(value = "minExperience", required = false) BigDecimal minExperience,
+            @RequestParam(value = "maxExperience", required = false) BigDecimal maxExperience,
+            @RequestParam(value = "minRelevantExperience", required = false) BigDecimal minRelevantExperience,
+            @RequestParam(value = "maxRelevantExperience", required = false) BigDecimal maxRelevantExperience) {
+        try {
+            List<BenchDetailsDto> results = benchService.searchBench(allSkills, anySkills, minExperience, maxExperience,
+                    minRelevantExperience, maxRelevantExperience);
+            logger.info("Bench search all={} any={} matched {} records", allSkills, anySkills, results.size());
+            return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+        }
+    }
+
+    // Best k bench records for the requirement, scored 0-100 on skills, experience and job title. skills and
+    // minExperience/maxExperience replace the requirement's own
+    @GetMapping("/bench/match/{jobId}")
+    public ResponseEntity<?> matchBench(
+            @PathVariable String jobId,
+            @RequestParam(value = "k", defaultValue = "20") int k,
+            @RequestParam(value = "skills", required = false) List<String> skills,
+            @RequestParam(value = "minExperience", required = false) BigDecimal minExperience,
+            @RequestParam(value = "maxExperience", required = false) BigDecimal maxExperience) {
+        if (k < 1 || k > BenchMatchingService.MAX_K) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error",
+                    "k must be between 1 and " + BenchMatchingService.MAX_K));
+        }
+        try {
+            List<BenchMatchDto> matches = benchMatchingService.match(jobId, skills, minExperience, maxExperience, k);
+            return ResponseEntity.ok(matches);
+        } catch (JobNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Collections.singletonMap("error", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            // requirements_model no longer has a column matching reads
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Collections.singletonMap("error", e.getMessage()));
+        }
+    }
+
     @GetMapping("/getBenchBy/{benchId}")
     public ResponseEntity<BenchDetailsDto> getBenchById(@PathVariable String benchId) {
         BenchDetailsDto dto = benchService.getBenchById(benchId);
@@ -214,9 +305,13 @@ public class BenchController {
             @RequestPart(value = "skills", required = false) String skillsJson, // Expecting JSON array
             @RequestParam(value = "linkedin", required = false) String linkedin,
             @RequestParam(value = "referredBy", required = false) String referredBy,
-            @RequestParam(value = "technology", required = false) String technology
+            @RequestParam(value = "technology", required = false) String technology,
+            // Version the edit is based on; If-Match takes precedence
+            @RequestParam(value = "version", required = false) Long version,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch
 
     ) {
+        Long expectedVersion = recordVersion.expected(ifMatch, version, "bench record");
         try {
             // 🔹 Log incoming request data
             System.out.println("Updating BenchDetails ID: " + id);
@@ -248,13 +343,17 @@ public class BenchController {
             benchDetails.setTechnology(technology);
 
             // ✅ Call service to update details
-            BenchDetails updatedBenchDetails = benchService.updateBenchDetails(id, benchDetails);
+            BenchDetails updatedBenchDetails = benchService.updateBenchDetails(id, benchDetails, expectedVersion);
+            if (resumeData != null) {
+                resumeTransferMetrics.recordUpload("bench-update", resumeData.length);
+            }
 
             // ✅ Prepare response
             BenchResponseDto.Payload payload = new BenchResponseDto.Payload(
                     updatedBenchDetails.getId().toString(),
                     updatedBenchDetails.getFullName()
             );
+            payload.setVersion(updatedBenchDetails.getVersion());
 
             BenchResponseDto responseDto = new BenchResponseDto(
                     "Success",
@@ -270,6 +369,9 @@ public class BenchController {
         } catch (IOException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(new ErrorResponseDto(false, "Failed to process resume file: " + e.getMessage()));
+        } catch (OptimisticLockingFailureException e) {
+            // Concurrent edit: GlobalExceptionHandler answers 409
+            throw e;
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(new ErrorResponseDto(false, "Failed to update bench details: " + e.getMessage()));
@@ -331,6 +433,7 @@ public class BenchController {
             if (fileName == null || fileName.isBlank()) {
                 fileName = "Resume_" + id + ".pdf"; // Fallback name
             }
+            resumeTransferMetrics.recordDownload("bench", resumeFile.length);
             // **Return the file with correct Content-Disposition**
             return ResponseEntity.ok()
                     .contentType(MediaType.APPLICATION_PDF)
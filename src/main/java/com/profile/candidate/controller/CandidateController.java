@@ -5,8 +5,10 @@ import com.profile.candidate.exceptions.*;
 import com.profile.candidate.model.CandidateDetails;
 import com.profile.candidate.model.Submissions;
 import com.profile.candidate.repository.CandidateRepository;
+import com.profile.candidate.service.BulkSubmissionService;
 import com.profile.candidate.service.CandidateService;
 import com.profile.candidate.service.InterviewService;
+import com.profile.candidate.service.ResumeTransferMetrics;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
@@ -53,6 +55,12 @@ public class CandidateController {
     @Autowired
     private InterviewService interviewService;
 
+    @Autowired
+    private BulkSubmissionService bulkSubmissionService;
+
+    @Autowired
+    private ResumeTransferMetrics resumeTransferMetrics;
+
     private static final Logger logger = LoggerFactory.getLogger(CandidateController.class);
 
     @PostMapping("/candidatesubmissions")
@@ -98,6 +106,7 @@ public class CandidateController {
 
             // Call service method to submit the candidate and handle file upload
             CandidateResponseDto response = candidateService.submitCandidate(candidateDetails,submission, resumeFile);
+            resumeTransferMetrics.recordUpload("candidate-submission", resumeFile.getSize());
 
             logger.info("Candidate successfully submitted: {}", formData.get("fullName"));
 
@@ -124,6 +133,24 @@ public class CandidateController {
             return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
+    // Bulk import: CSV with the same columns as the form above (plus resumeFileName) and an optional ZIP of resumes
+    @PostMapping(value = "/bulk-submissions", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<BulkImportResponseDto> bulkSubmitCandidates(
+            @RequestParam("csvFile") MultipartFile csvFile,
+            @RequestParam(value = "resumesZip", required = false) MultipartFile resumesZip) {
+        try {
+            BulkImportResponseDto response = bulkSubmissionService.importSubmissions(csvFile, resumesZip);
+            if (resumesZip != null && !resumesZip.isEmpty()) {
+                resumeTransferMetrics.recordUpload("bulk-submission", resumesZip.getSize());
+            }
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        } catch (IOException ex) {
+            logger.error("Error reading bulk submission files: {}", ex.getMessage());
+            BulkImportResponseDto errorResponse = new BulkImportResponseDto(
+                    "Error", "Error reading bulk import files: " + ex.getMessage(), 0, 0, 0, List.of());
+            return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+        }
+    }
     private void validateFileSize(MultipartFile file) {
         long maxSize = 10 * 1024 * 1024; // 10 MB
         if (file.getSize() > maxSize) {
@@ -0,0 +1,109 @@
+package com.profile.candidate.controller;
+
+import com.profile.candidate.dto.FunnelStageDto;
+import com.profile.candidate.dto.LatencyPercentilesDto;
+import com.profile.candidate.service.FunnelCounterService;
+import com.profile.candidate.service.LatencyHistogramService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@CrossOrigin(origins = {
+        "http://35.188.150.92", "http://192.168.0.140:3000", "http://192.168.0.139:3000",
+        "https://mymulya.com", "http://localhost:3000", "http://192.168.0.135:8080",
+        "http://192.168.0.135:80", "http://localhost/", "http://mymulya.com:443",
+        "http://182.18.177.16:443", "http://localhost/"
+})
+@RestController
+@RequestMapping("/candidate")
+public class FunnelController {
+
+    @Autowired
+    private FunnelCounterService funnelCounterService;
+
+    @Autowired
+    private LatencyHistogramService latencyHistogramService;
+
+    // Submissions, interviews and placements with conversion rates, grouped by recruiter (user id), teamLead,
+    // client, job or total, between startDate and endDate (inclusive; the current month to date by default)
+    @GetMapping("/funnel")
+    public ResponseEntity<?> getFunnel(
+            @RequestParam(value = "groupBy", defaultValue = "recruiter") String groupBy,
+            @RequestParam(value = "startDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(value = "endDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        if (!FunnelCounterService.DIMENSIONS.contains(groupBy)) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", "groupBy must be one of " + FunnelCounterService.DIMENSIONS,
+                    "timestamp", LocalDateTime.now()
+            ));
+        }
+        LocalDate to = endDate != null ? endDate : LocalDate.now();
+        LocalDate from = startDate != null ? startDate : to.withDayOfMonth(1);
+        List<FunnelStageDto> funnel = funnelCounterService.getFunnel(groupBy, from, to);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("success", true);
+        response.put("message", "Funnel fetched successfully");
+        response.put("timestamp", LocalDateTime.now());
+        response.put("data", funnel);
+        return ResponseEntity.ok(response);
+    }
+
+    // Percentiles (hours) of timeToInterview (profile received -> first interview) or timeToPlacement (interview ->
+    // placement start), grouped by client, recruiter or total, over the months from..to (yyyy-MM, last 3 by default)
+    @GetMapping("/funnel/latency")
+    public ResponseEntity<?> getLatency(
+            @RequestParam(value = "metric", defaultValue = LatencyHistogramService.TIME_TO_INTERVIEW) String metric,
+            @RequestParam(value = "groupBy", defaultValue = "total") String groupBy,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+        if (!LatencyHistogramService.METRICS.contains(metric) || !LatencyHistogramService.DIMENSIONS.contains(groupBy)) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", "metric must be one of " + LatencyHistogramService.METRICS
+                            + " and groupBy one of " + LatencyHistogramService.DIMENSIONS,
+                    "timestamp", LocalDateTime.now()
+            ));
+        }
+        YearMonth toMonth = to != null ? to : YearMonth.now();
+        YearMonth fromMonth = from != null ? from : toMonth.minusMonths(2);
+        List<LatencyPercentilesDto> percentiles = latencyHistogramService.getPercentiles(metric, groupBy, fromMonth, toMonth);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("success", true);
+        response.put("message", "Latency percentiles fetched successfully");
+        response.put("timestamp", LocalDateTime.now());
+        response.put("data", percentiles);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/funnel/latency/rebuild")
+    public ResponseEntity<?> rebuildLatency() {
+        int rows = latencyHistogramService.rebuild();
+        return ResponseEntity.ok(Map.of(
+                "success", true,
+                "message", "Latency histograms rebuilt: " + rows + " rows",
+                "timestamp", LocalDateTime.now()
+        ));
+    }
+
+    // Recomputes the counters from submissions, interviews and placements
+    @PostMapping("/funnel/rebuild")
+    public ResponseEntity<?> rebuildFunnel() {
+        int rows = funnelCounterService.rebuild();
+        return ResponseEntity.ok(Map.of(
+                "success", true,
+                "message", "Funnel counters rebuilt: " + rows + " rows",
+                "timestamp", LocalDateTime.now()
+        ));
+    }
+}
@@ -5,17 +5,24 @@ import com.profile.candidate.dto.*;
 import com.profile.candidate.exceptions.*;
 import com.profile.candidate.repository.InterviewRepository;
 import com.profile.candidate.service.CandidateService;
+import com.profile.candidate.service.FreeSlotService;
+import com.profile.candidate.service.InterviewCalendarService;
 import com.profile.candidate.service.InterviewService;
+import com.profile.candidate.service.RecordVersion;
 import com.profile.candidate.service.SubmissionService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.util.Collections;
 import java.util.List;
 
@@ -31,6 +38,12 @@ public class InterviewController {
     CandidateService candidateService;
     @Autowired
     SubmissionService submissionService;
+    @Autowired
+    FreeSlotService freeSlotService;
+    @Autowired
+    InterviewCalendarService interviewCalendarService;
+    @Autowired
+    RecordVersion recordVersion;
     private static final Logger logger = LoggerFactory.getLogger(InterviewController.class);
 
     @PostMapping("/interview-schedule/{userId}")
@@ -112,7 +125,8 @@ public class InterviewController {
             @PathVariable String userId,
             @PathVariable String candidateId,
             @PathVariable String jobId,
-            @RequestBody InterviewDto interviewRequest) {
+            @RequestBody InterviewDto interviewRequest,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch) {
 
             logger.info("Received interview update request for userId: {} and candidateId: {}", userId, candidateId);
 
@@ -135,7 +149,8 @@ public class InterviewController {
                     interviewRequest.getInterviewLevel(),
                     interviewRequest.getExternalInterviewDetails(),
                     interviewRequest.getInterviewStatus(),
-                    interviewRequest.isSkipNotification()
+                    interviewRequest.isSkipNotification(),
+                    recordVersion.expected(ifMatch, interviewRequest.getVersion(), "interview")
                     ); // Added status update
             return ResponseEntity.ok(response);
        // }
@@ -221,7 +236,8 @@ public class InterviewController {
     public ResponseEntity<InterviewResponseDto> updateScheduledInterviewWithOutUserId(
             @PathVariable String candidateId,
             @PathVariable String jobId,
-            @RequestBody InterviewDto interviewRequest) {
+            @RequestBody InterviewDto interviewRequest,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch) {
 
             logger.info("Received interview update request for and candidateId: {}", candidateId);
 
@@ -242,7 +258,8 @@ public class InterviewController {
                     interviewRequest.getInterviewLevel(),
                     interviewRequest.getExternalInterviewDetails(),
                     interviewRequest.getInterviewStatus(),
-                    interviewRequest.isSkipNotification()
+                    interviewRequest.isSkipNotification(),
+                    recordVersion.expected(ifMatch, interviewRequest.getVersion(), "interview")
             ); // Added status update
 
             return ResponseEntity.ok(response);
@@ -274,6 +291,48 @@ public class InterviewController {
             return ResponseEntity.ok(interviews);
 
     }
+    // Common free time of the given participants within working hours, e.g.
+    // /interviews/free-slots?userId=ADRTIN0001&candidateId=CAND0001&clientName=Acme&from=2025-06-02T09:00:00%2B05:30&to=2025-06-06T18:00:00%2B05:30
+    @GetMapping("/interviews/free-slots")
+    public ResponseEntity<?> getFreeSlots(
+            @RequestParam(value = "userId", required = false) String userId,
+            @RequestParam(value = "candidateId", required = false) String candidateId,
+            @RequestParam(value = "clientName", required = false) String clientName,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+            @RequestParam(value = "duration", defaultValue = "60") int duration) {
+        if (userId == null && candidateId == null && clientName == null) {
+            return ResponseEntity.badRequest().body(new ErrorResponseDto(false, "At least one of userId, candidateId or clientName is required"));
+        }
+        if (duration <= 0) {
+            return ResponseEntity.badRequest().body(new ErrorResponseDto(false, "duration must be a positive number of minutes"));
+        }
+        if (!freeSlotService.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new ErrorResponseDto(false, "Interview schedule is still loading, try again shortly"));
+        }
+        List<FreeSlotDto> slots = freeSlotService.findFreeSlots(userId, candidateId, clientName, from, to, duration);
+        return ResponseEntity.ok(slots);
+    }
+    // iCalendar feed to subscribe to in a calendar app, opened by its token (issued by the calendartokens actuator
+    // endpoint). The ETag of the ResponseEntity makes Spring answer If-None-Match with 304 Not Modified.
+    @GetMapping("/interviews/calendar/{token}.ics")
+    public ResponseEntity<String> getInterviewCalendar(@PathVariable String token) {
+        InterviewCalendarService.Calendar calendar = interviewCalendarService.getCalendarByToken(token);
+        if (calendar == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return calendarResponse(calendar);
+    }
+
+    private static ResponseEntity<String> calendarResponse(InterviewCalendarService.Calendar calendar) {
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "calendar", StandardCharsets.UTF_8))
+                .eTag(calendar.getEtag())
+                .cacheControl(CacheControl.noCache())
+                .body(calendar.getBody());
+    }
+
     @GetMapping("/interviews/teamlead/{userId}")
     public ResponseEntity<TeamleadInterviewsDTO> getInterviewsForTeamlead(@PathVariable String userId) {
         try {
@@ -1,11 +1,14 @@
 package com.profile.candidate.controller;
 
 import com.profile.candidate.dto.DashboardCountsProjection;
+import com.profile.candidate.dto.PlacementAnalyticsDto;
 import com.profile.candidate.dto.PlacementDto;
 import com.profile.candidate.dto.PlacementResponseDto;
 import com.profile.candidate.exceptions.ResourceNotFoundException;
 import com.profile.candidate.model.PlacementDetails;
+import com.profile.candidate.service.PlacementRollupService;
 import com.profile.candidate.service.PlacementService;
+import com.profile.candidate.service.RecordVersion;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,6 +20,7 @@ import org.springframework.web.bind.annotation.*;
 import javax.validation.Valid;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.*;
 
 @CrossOrigin(origins = {
@@ -31,6 +35,13 @@ public class PlacementController {
 
     @Autowired
     private PlacementService service;
+
+    @Autowired
+    private PlacementRollupService placementRollupService;
+
+    @Autowired
+    private RecordVersion recordVersion;
+
     private static final Logger logger = LoggerFactory.getLogger(PlacementController.class);
 
 
@@ -49,9 +60,11 @@ public class PlacementController {
 
     // Update placement by ID
     @PutMapping("/placement/update-placement/{id}")
-    public ResponseEntity<?> updatePlacement(@PathVariable String id, @Valid @RequestBody PlacementDto placementDto) {
+    public ResponseEntity<?> updatePlacement(@PathVariable String id, @Valid @RequestBody PlacementDto placementDto,
+                                             @RequestHeader(value = "If-Match", required = false) String ifMatch) {
         try {
-            PlacementResponseDto updated = service.updatePlacement(id, placementDto);
+            PlacementResponseDto updated = service.updatePlacement(id, placementDto,
+                    recordVersion.expected(ifMatch, placementDto.getVersion(), "placement"));
 
             Map<String, Object> response = new LinkedHashMap<>();
             response.put("success", true);
@@ -103,6 +116,44 @@ public class PlacementController {
         return ResponseEntity.ok(response);
     }
 
+    // Placements, gross profit, average rates and margin grouped by client, recruiter, sales, employmentType or
+    // total, over the last 12 months unless from/to (yyyy-MM) are given; per month as well when monthly=true
+    @GetMapping("/placement/analytics")
+    public ResponseEntity<?> getPlacementAnalytics(
+            @RequestParam(value = "groupBy", defaultValue = "client") String groupBy,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to,
+            @RequestParam(value = "monthly", defaultValue = "false") boolean monthly) {
+        if (!PlacementRollupService.DIMENSIONS.contains(groupBy)) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", "groupBy must be one of " + PlacementRollupService.DIMENSIONS,
+                    "timestamp", LocalDateTime.now()
+            ));
+        }
+        YearMonth toMonth = to != null ? to : YearMonth.now();
+        YearMonth fromMonth = from != null ? from : toMonth.minusMonths(11);
+        List<PlacementAnalyticsDto> analytics = placementRollupService.getAnalytics(groupBy, fromMonth, toMonth, monthly);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("success", true);
+        response.put("message", "Placement analytics fetched successfully");
+        response.put("timestamp", LocalDateTime.now());
+        response.put("data", analytics);
+        return ResponseEntity.ok(response);
+    }
+
+    // Recomputes the rollups from the placements table, e.g. after placements were changed directly in the database
+    @PostMapping("/placement/analytics/rebuild")
+    public ResponseEntity<?> rebuildPlacementAnalytics() {
+        int rows = placementRollupService.rebuild();
+        return ResponseEntity.ok(Map.of(
+                "success", true,
+                "message", "Placement analytics rebuilt: " + rows + " rollup rows",
+                "timestamp", LocalDateTime.now()
+        ));
+    }
+
     // Get placement by ID
     @GetMapping("/placement/{id}")
     public ResponseEntity<?> getPlacementById(@PathVariable String id) {
@@ -0,0 +1,87 @@
+package com.profile.candidate.controller;
+
+import com.profile.candidate.dto.ResumeSearchHitDto;
+import com.profile.candidate.service.ResumeSearchIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@CrossOrigin(origins = {
+        "http://35.188.150.92", "http://192.168.0.140:3000", "http://192.168.0.139:3000",
+        "https://mymulya.com", "http://localhost:3000", "http://192.168.0.135:8080",
+        "http://192.168.0.135:80", "http://localhost/", "http://mymulya.com:443",
+        "http://182.18.177.16:443", "http://localhost/"
+})
+@RestController
+@RequestMapping("/candidate")
+public class ResumeSearchController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumeSearchController.class);
+
+    private static final int MAX_LIMIT = 100;
+
+    @Autowired
+    private ResumeSearchIndex resumeSearchIndex;
+
+    // Submission and bench resumes matching q, best first, with highlighted passages. q takes + (and), | (or),
+    // - (not), "phrases" and prefix*; type is submission, bench or all
+    @GetMapping("/resumes/search")
+    public ResponseEntity<?> searchResumes(
+            @RequestParam("q") String q,
+            @RequestParam(value = "type", defaultValue = "all") String type,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        if (!List.of("all", ResumeSearchIndex.SUBMISSION, ResumeSearchIndex.BENCH).contains(type)
+                || limit < 1 || limit > MAX_LIMIT) {
+            return error(HttpStatus.BAD_REQUEST, "type must be all, submission or bench and limit between 1 and " + MAX_LIMIT);
+        }
+        List<ResumeSearchHitDto> hits;
+        try {
+            hits = resumeSearchIndex.search(q, "all".equals(type) ? null : type, limit);
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            return error(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        } catch (IOException e) {
+            logger.error("Resume search for '{}' failed: {}", q, e.getMessage(), e);
+            return error(HttpStatus.INTERNAL_SERVER_ERROR, "Resume search failed");
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("success", true);
+        response.put("message", "Resumes fetched successfully");
+        response.put("timestamp", LocalDateTime.now());
+        response.put("data", hits);
+        return ResponseEntity.ok(response);
+    }
+
+    // Re-reads every resume in the background, throttled
+    @PostMapping("/resumes/reindex")
+    public ResponseEntity<?> reindexResumes() {
+        if (!resumeSearchIndex.reindex()) {
+            return error(HttpStatus.CONFLICT, resumeSearchIndex.isReindexing()
+                    ? "A resume reindex is already running" : "Resume search is not available");
+        }
+        return ResponseEntity.accepted().body(Map.of(
+                "success", true,
+                "message", "Resume reindex started",
+                "timestamp", LocalDateTime.now()
+        ));
+    }
+
+    private static ResponseEntity<?> error(HttpStatus status, String message) {
+        return ResponseEntity.status(status).body(Map.of(
+                "success", false,
+                "message", message,
+                "timestamp", LocalDateTime.now()
+        ));
+    }
+}
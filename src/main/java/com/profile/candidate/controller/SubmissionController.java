@@ -6,6 +6,8 @@ import com.profile.candidate.model.CandidateDetails;
 import com.profile.candidate.model.Submissions;
 import com.profile.candidate.repository.SubmissionRepository;
 import com.profile.candidate.service.CandidateService;
+import com.profile.candidate.service.RecordVersion;
+import com.profile.candidate.service.ResumeTransferMetrics;
 import com.profile.candidate.service.SubmissionService;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
@@ -35,6 +37,10 @@ public class SubmissionController {
     SubmissionRepository submissionRepository;
     @Autowired
     CandidateService candidateService;
+    @Autowired
+    ResumeTransferMetrics resumeTransferMetrics;
+    @Autowired
+    RecordVersion recordVersion;
     private static final Logger logger = LoggerFactory.getLogger(SubmissionController.class);
 
     @GetMapping("/submissions")
@@ -121,6 +127,7 @@ public class SubmissionController {
             String filename = submissions.getCandidate().getFullName()+ "-Resume.pdf"; // Adjust filename logic as needed
             // Convert the byte array to a ByteArrayResource
             ByteArrayResource resource = new ByteArrayResource(resumeBytes);
+            resumeTransferMetrics.recordDownload("submission", resumeBytes.length);
             // Set content type (you can change this to match the actual file type)
             String contentType = "application/pdf"; // You can dynamically determine the content type if needed
             // Return the file as a response for download
@@ -155,8 +162,13 @@ public class SubmissionController {
     public ResponseEntity<CandidateResponseDto> editSubmission(
             @PathVariable("submissionId") String submissionId,
             @RequestParam Map<String, String> allParams,
-            @RequestParam(value = "resumeFile", required = false) MultipartFile resumeFile) {
+            @RequestParam(value = "resumeFile", required = false) MultipartFile resumeFile,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch) {
 
+        // The edit changes both the submission and its candidate, so both versions are checked
+        Long expectedVersion = recordVersion.expected(ifMatch, RecordVersion.param(allParams.get("version"), "submission"), "submission");
+        Long expectedCandidateVersion = recordVersion.expected(null,
+                RecordVersion.param(allParams.get("candidateVersion"), "candidate"), "candidate");
         Submissions updateSubmission = new Submissions();
         CandidateDetails updatedCandidateDetails = new CandidateDetails();
 
@@ -188,7 +200,11 @@ public class SubmissionController {
         }
         updateSubmission.setOverallFeedback(allParams.get("overallFeedback"));
 
-        CandidateResponseDto response = submissionService.editSubmission(submissionId, updatedCandidateDetails, updateSubmission, resumeFile);
+        CandidateResponseDto response = submissionService.editSubmission(submissionId, updatedCandidateDetails, updateSubmission, resumeFile,
+                expectedVersion, expectedCandidateVersion);
+        if (resumeFile != null && !resumeFile.isEmpty()) {
+            resumeTransferMetrics.recordUpload("submission-edit", resumeFile.getSize());
+        }
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
     @GetMapping("/submissions/teamlead/{userId}")
@@ -17,6 +17,8 @@ public class BenchDetailsDto {
     private String referredBy;
     private LocalDate createdDate;
     private String technology;
+    // Version of the bench record, sent back with an update (If-Match or "version")
+    private Long version;
 
     public BenchDetailsDto(String id, String fullName, String email, BigDecimal relevantExperience, BigDecimal totalExperience, String contactNumber, List<String> skills, String linkedin, String referredBy, LocalDate createdDate,String technology) {
         this.id = id;
@@ -33,6 +35,11 @@ public class BenchDetailsDto {
     }
 
 
+    public BenchDetailsDto(String id, String fullName, String email, BigDecimal relevantExperience, BigDecimal totalExperience, String contactNumber, List<String> skills, String linkedin, String referredBy, LocalDate createdDate, String technology, long version) {
+        this(id, fullName, email, relevantExperience, totalExperience, contactNumber, skills, linkedin, referredBy, createdDate, technology);
+        this.version = version;
+    }
+
     public BenchDetailsDto() {
 
     }
@@ -125,4 +132,12 @@ public class BenchDetailsDto {
     public void setTechnology(String technology) {
         this.technology = technology;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,104 @@
+package com.profile.candidate.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class BenchMatchDto {
+
+    private String benchId;
+    private String fullName;
+    private String email;
+    private BigDecimal totalExperience;
+    private BigDecimal relevantExperience;
+    private String technology;
+    // 0-100
+    private BigDecimal score;
+    private List<String> matchedSkills;
+    private List<String> missingSkills;
+
+    public BenchMatchDto(String benchId, String fullName, String email, BigDecimal totalExperience,
+                         BigDecimal relevantExperience, String technology, BigDecimal score,
+                         List<String> matchedSkills, List<String> missingSkills) {
+        this.benchId = benchId;
+        this.fullName = fullName;
+        this.email = email;
+        this.totalExperience = totalExperience;
+        this.relevantExperience = relevantExperience;
+        this.technology = technology;
+        this.score = score;
+        this.matchedSkills = matchedSkills;
+        this.missingSkills = missingSkills;
+    }
+
+    public String getBenchId() {
+        return benchId;
+    }
+
+    public void setBenchId(String benchId) {
+        this.benchId = benchId;
+    }
+
+    public String getFullName() {
+        return fullName;
+    }
+
+    public void setFullName(String fullName) {
+        this.fullName = fullName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public BigDecimal getTotalExperience() {
+        return totalExperience;
+    }
+
+    public void setTotalExperience(BigDecimal totalExperience) {
+        this.totalExperience = totalExperience;
+    }
+
+    public BigDecimal getRelevantExperience() {
+        return relevantExperience;
+    }
+
+    public void setRelevantExperience(BigDecimal relevantExperience) {
+        this.relevantExperience = relevantExperience;
+    }
+
+    public String getTechnology() {
+        return technology;
+    }
+
+    public void setTechnology(String technology) {
+        this.technology = technology;
+    }
+
+    public BigDecimal getScore() {
+        return score;
+    }
+
+    public void setScore(BigDecimal score) {
+        this.score = score;
+    }
+
+    public List<String> getMatchedSkills() {
+        return matchedSkills;
+    }
+
+    public void setMatchedSkills(List<String> matchedSkills) {
+        this.matchedSkills = matchedSkills;
+    }
+
+    public List<String> getMissingSkills() {
+        return missingSkills;
+    }
+
+    public void setMissingSkills(List<String> missingSkills) {
+        this.missingSkills = missingSkills;
+    }
+}
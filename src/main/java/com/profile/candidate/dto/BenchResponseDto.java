@@ -31,6 +31,8 @@ public class BenchResponseDto {
     public static class Payload {
         private String id;
         private String fullName;
+        // Version after an update, for the next one
+        private Long version;
 
         public Payload(String id, String fullName) {
             this.id = id;
@@ -40,5 +42,8 @@ public class BenchResponseDto {
         // ✅ Getters
         public String getId() { return id; }
         public String getFullName() { return fullName; }
+        public Long getVersion() { return version; }
+
+        public void setVersion(Long version) { this.version = version; }
     }
 }
\ No newline at end of file
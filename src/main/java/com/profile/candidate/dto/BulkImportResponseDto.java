@@ -0,0 +1,133 @@
+package com.profile.candidate.dto;
+
+import java.util.List;
+
+public class BulkImportResponseDto {
+
+    private String status;  // Success, Partial or Error
+    private String message;
+    private int totalRows;
+    private int successCount;
+    private int failureCount;
+    private List<RowResult> rows;  // One entry per data row, in file order
+
+    public BulkImportResponseDto() {
+    }
+
+    public BulkImportResponseDto(String status, String message, int totalRows, int successCount, int failureCount, List<RowResult> rows) {
+        this.status = status;
+        this.message = message;
+        this.totalRows = totalRows;
+        this.successCount = successCount;
+        this.failureCount = failureCount;
+        this.rows = rows;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public int getTotalRows() {
+        return totalRows;
+    }
+
+    public void setTotalRows(int totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    public int getSuccessCount() {
+        return successCount;
+    }
+
+    public void setSuccessCount(int successCount) {
+        this.successCount = successCount;
+    }
+
+    public int getFailureCount() {
+        return failureCount;
+    }
+
+    public void setFailureCount(int failureCount) {
+        this.failureCount = failureCount;
+    }
+
+    public List<RowResult> getRows() {
+        return rows;
+    }
+
+    public void setRows(List<RowResult> rows) {
+        this.rows = rows;
+    }
+
+    // Result of a single row: the generated id on success, the validation message on failure
+    public static class RowResult {
+        private int rowNumber;
+        private String status;  // Success or Error
+        private String id;
+        private String submissionId;
+        private String errorMessage;
+
+        public RowResult() {
+        }
+
+        public RowResult(int rowNumber, String status, String id, String submissionId, String errorMessage) {
+            this.rowNumber = rowNumber;
+            this.status = status;
+            this.id = id;
+            this.submissionId = submissionId;
+            this.errorMessage = errorMessage;
+        }
+
+        public int getRowNumber() {
+            return rowNumber;
+        }
+
+        public void setRowNumber(int rowNumber) {
+            this.rowNumber = rowNumber;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getSubmissionId() {
+            return submissionId;
+        }
+
+        public void setSubmissionId(String submissionId) {
+            this.submissionId = submissionId;
+        }
+
+        public String getErrorMessage() {
+            return errorMessage;
+        }
+
+        public void setErrorMessage(String errorMessage) {
+            this.errorMessage = errorMessage;
+        }
+    }
+}
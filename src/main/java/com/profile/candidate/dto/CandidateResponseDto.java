@@ -56,6 +56,9 @@ public class CandidateResponseDto {
         private String candidateId;
         private String employeeId;
         private String submissionId;
+        // Versions after an edit, for the next one
+        private Long version;
+        private Long candidateVersion;
         // Constructor
 
         public CandidateData() {
@@ -90,5 +93,21 @@ public class CandidateResponseDto {
         public void setSubmissionId(String submissionId) {
             this.submissionId = submissionId;
         }
+
+        public Long getVersion() {
+            return version;
+        }
+
+        public void setVersion(Long version) {
+            this.version = version;
+        }
+
+        public Long getCandidateVersion() {
+            return candidateVersion;
+        }
+
+        public void setCandidateVersion(Long candidateVersion) {
+            this.candidateVersion = candidateVersion;
+        }
     }
 }
@@ -0,0 +1,83 @@
+package com.profile.candidate.dto;
+
+import java.math.BigDecimal;
+
+public class FunnelStageDto {
+
+    private String key;
+    private long submitted;
+    private long interviewed;
+    private long placed;
+    // Percentages, null when the earlier stage is empty
+    private BigDecimal submissionToInterviewRate;
+    private BigDecimal interviewToPlacementRate;
+    private BigDecimal submissionToPlacementRate;
+
+    public FunnelStageDto(String key, long submitted, long interviewed, long placed,
+                          BigDecimal submissionToInterviewRate, BigDecimal interviewToPlacementRate,
+                          BigDecimal submissionToPlacementRate) {
+        this.key = key;
+        this.submitted = submitted;
+        this.interviewed = interviewed;
+        this.placed = placed;
+        this.submissionToInterviewRate = submissionToInterviewRate;
+        this.interviewToPlacementRate = interviewToPlacementRate;
+        this.submissionToPlacementRate = submissionToPlacementRate;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public long getSubmitted() {
+        return submitted;
+    }
+
+    public void setSubmitted(long submitted) {
+        this.submitted = submitted;
+    }
+
+    public long getInterviewed() {
+        return interviewed;
+    }
+
+    public void setInterviewed(long interviewed) {
+        this.interviewed = interviewed;
+    }
+
+    public long getPlaced() {
+        return placed;
+    }
+
+    public void setPlaced(long placed) {
+        this.placed = placed;
+    }
+
+    public BigDecimal getSubmissionToInterviewRate() {
+        return submissionToInterviewRate;
+    }
+
+    public void setSubmissionToInterviewRate(BigDecimal submissionToInterviewRate) {
+        this.submissionToInterviewRate = submissionToInterviewRate;
+    }
+
+    public BigDecimal getInterviewToPlacementRate() {
+        return interviewToPlacementRate;
+    }
+
+    public void setInterviewToPlacementRate(BigDecimal interviewToPlacementRate) {
+        this.interviewToPlacementRate = interviewToPlacementRate;
+    }
+
+    public BigDecimal getSubmissionToPlacementRate() {
+        return submissionToPlacementRate;
+    }
+
+    public void setSubmissionToPlacementRate(BigDecimal submissionToPlacementRate) {
+        this.submissionToPlacementRate = submissionToPlacementRate;
+    }
+}
@@ -0,0 +1,12 @@
+package com.profile.candidate.dto;
+
+public interface FunnelStageProjection {
+
+    String getDimensionValue();
+
+    Long getSubmitted();
+
+    Long getInterviewed();
+
+    Long getPlaced();
+}
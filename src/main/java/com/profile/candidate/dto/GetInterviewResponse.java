@@ -64,8 +64,15 @@ public class GetInterviewResponse {
         private String interviewLevel;          // Interview Level (e.g., 1st, 2nd round)
         private String latestInterviewStatus;
         private boolean isPlaced;
+        // @Version of the interview, sent back with an update (If-Match or "version")
+        private Long version;
         //private String emailId;
 
+        public InterviewData(String interviewId, String jobId, String candidateId, String candidateFullName, String candidateContactNo, String candidateEmailId, String userEmail, String userId, OffsetDateTime interviewDateTime, Integer duration, String zoomLink, LocalDateTime interviewScheduledTimestamp, List<String> clientEmail, String clientName, String interviewLevel, String latestInterviewStatus, boolean isPlaced, Long version) {
+            this(interviewId, jobId, candidateId, candidateFullName, candidateContactNo, candidateEmailId, userEmail, userId, interviewDateTime, duration, zoomLink, interviewScheduledTimestamp, clientEmail, clientName, interviewLevel, latestInterviewStatus, isPlaced);
+            this.version = version;
+        }
+
         public InterviewData(String interviewId, String jobId, String candidateId, String candidateFullName, String candidateContactNo, String candidateEmailId, String userEmail, String userId, OffsetDateTime interviewDateTime, Integer duration, String zoomLink, LocalDateTime interviewScheduledTimestamp, List<String> clientEmail, String clientName, String interviewLevel, String latestInterviewStatus, boolean isPlaced) {
             this.interviewId = interviewId;
             this.jobId = jobId;
@@ -94,6 +101,14 @@ public class GetInterviewResponse {
             return isPlaced;
         }
 
+        public Long getVersion() {
+            return version;
+        }
+
+        public void setVersion(Long version) {
+            this.version = version;
+        }
+
         public void setPlaced(boolean isPlaced) {
             this.isPlaced = isPlaced;
         }
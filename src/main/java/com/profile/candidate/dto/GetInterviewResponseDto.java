@@ -24,10 +24,24 @@ public class GetInterviewResponseDto {
     private String interviewStatus;
     private String recruiterName;
     private boolean isPlaced;// New field for status
+    // @Version of the interview, sent back with an update (If-Match or "version")
+    private Long version;
 
 
     // Constructor
 
+    public GetInterviewResponseDto(String interviewId, String jobId,
+                                   String candidateId, String candidateFullName,
+                                   String candidateContactNo, String candidateEmailId,
+                                   String userEmail, String userId, OffsetDateTime interviewDateTime,
+                                   Integer duration, String zoomLink,
+                                   LocalDateTime interviewScheduledTimestamp, List<String> clientEmail,
+                                   String clientName, String interviewLevel, String interviewStatus,
+                                   String recruiterName, boolean isPlaced, Long version) {
+        this(interviewId, jobId, candidateId, candidateFullName, candidateContactNo, candidateEmailId, userEmail, userId, interviewDateTime, duration, zoomLink, interviewScheduledTimestamp, clientEmail, clientName, interviewLevel, interviewStatus, recruiterName, isPlaced);
+        this.version = version;
+    }
+
     public GetInterviewResponseDto(String interviewId, String jobId,
                                    String candidateId, String candidateFullName,
                                    String candidateContactNo, String candidateEmailId,
@@ -76,6 +90,14 @@ public class GetInterviewResponseDto {
         this.isPlaced = isPlaced;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getJobId() {
         return jobId;
     }
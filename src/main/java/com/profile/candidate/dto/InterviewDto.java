@@ -33,6 +33,9 @@ public class InterviewDto {
     // Added interviewStatus field
     private String interviewStatus;
 
+    // Version of the interview the update is based on (alternative to If-Match)
+    private Long version;
+
     // Constructor
 
     public boolean isSkipNotification() {
@@ -168,4 +171,11 @@ public class InterviewDto {
         this.clientEmail = clientEmail;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
@@ -55,6 +55,8 @@ public class InterviewResponseDto {
         private String userEmail;
         private String emailId;
         private List<String> clientEmail;
+        // Version of the interview as saved, for the next update
+        private Long version;
 
         // Constructor
         public InterviewData(String candidateId, String userEmail, String emailId, List<String> clientEmail) {
@@ -64,6 +66,11 @@ public class InterviewResponseDto {
             this.clientEmail = clientEmail;
         }
 
+        public InterviewData(String candidateId, String userEmail, String emailId, List<String> clientEmail, Long version) {
+            this(candidateId, userEmail, emailId, clientEmail);
+            this.version = version;
+        }
+
         // Getters and Setters
         public String getCandidateId() {
             return candidateId;
@@ -95,6 +102,14 @@ public class InterviewResponseDto {
         public void setClientEmail(List<String> clientEmail) {
             this.clientEmail = clientEmail;
         }
+
+        public Long getVersion() {
+            return version;
+        }
+
+        public void setVersion(Long version) {
+            this.version = version;
+        }
         @Override
         public String toString() {
             return "InterviewPayload{" +
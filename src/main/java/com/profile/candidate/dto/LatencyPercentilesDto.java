@@ -0,0 +1,100 @@
+package com.profile.candidate.dto;
+
+// Durations in hours; percentiles are accurate to about 1%
+public class LatencyPercentilesDto {
+
+    private String key;
+    private long count;
+    private double meanHours;
+    private long p50Hours;
+    private long p75Hours;
+    private long p90Hours;
+    private long p95Hours;
+    private long p99Hours;
+    private long maxHours;
+
+    public LatencyPercentilesDto(String key, long count, double meanHours, long p50Hours, long p75Hours,
+                                 long p90Hours, long p95Hours, long p99Hours, long maxHours) {
+        this.key = key;
+        this.count = count;
+        this.meanHours = meanHours;
+        this.p50Hours = p50Hours;
+        this.p75Hours = p75Hours;
+        this.p90Hours = p90Hours;
+        this.p95Hours = p95Hours;
+        this.p99Hours = p99Hours;
+        this.maxHours = maxHours;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public double getMeanHours() {
+        return meanHours;
+    }
+
+    public void setMeanHours(double meanHours) {
+        this.meanHours = meanHours;
+    }
+
+    public long getP50Hours() {
+        return p50Hours;
+    }
+
+    public void setP50Hours(long p50Hours) {
+        this.p50Hours = p50Hours;
+    }
+
+    public long getP75Hours() {
+        return p75Hours;
+    }
+
+    public void setP75Hours(long p75Hours) {
+        this.p75Hours = p75Hours;
+    }
+
+    public long getP90Hours() {
+        return p90Hours;
+    }
+
+    public void setP90Hours(long p90Hours) {
+        this.p90Hours = p90Hours;
+    }
+
+    public long getP95Hours() {
+        return p95Hours;
+    }
+
+    public void setP95Hours(long p95Hours) {
+        this.p95Hours = p95Hours;
+    }
+
+    public long getP99Hours() {
+        return p99Hours;
+    }
+
+    public void setP99Hours(long p99Hours) {
+        this.p99Hours = p99Hours;
+    }
+
+    public long getMaxHours() {
+        return maxHours;
+    }
+
+    public void setMaxHours(long maxHours) {
+        this.maxHours = maxHours;
+    }
+}
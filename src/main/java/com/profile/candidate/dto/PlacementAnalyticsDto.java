@@ -0,0 +1,83 @@
+package com.profile.candidate.dto;
+
+import java.math.BigDecimal;
+
+public class PlacementAnalyticsDto {
+
+    private String key;
+    // yyyy-MM for monthly rows, null for totals over the whole range
+    private String month;
+    private long placements;
+    private BigDecimal grossProfit;
+    private BigDecimal averageBillRate;
+    private BigDecimal averagePayRate;
+    // Gross profit as a percentage of the bill rate, over placements with both rates
+    private BigDecimal marginPercent;
+
+    public PlacementAnalyticsDto(String key, String month, long placements, BigDecimal grossProfit,
+                                 BigDecimal averageBillRate, BigDecimal averagePayRate, BigDecimal marginPercent) {
+        this.key = key;
+        this.month = month;
+        this.placements = placements;
+        this.grossProfit = grossProfit;
+        this.averageBillRate = averageBillRate;
+        this.averagePayRate = averagePayRate;
+        this.marginPercent = marginPercent;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public String getMonth() {
+        return month;
+    }
+
+    public void setMonth(String month) {
+        this.month = month;
+    }
+
+    public long getPlacements() {
+        return placements;
+    }
+
+    public void setPlacements(long placements) {
+        this.placements = placements;
+    }
+
+    public BigDecimal getGrossProfit() {
+        return grossProfit;
+    }
+
+    public void setGrossProfit(BigDecimal grossProfit) {
+        this.grossProfit = grossProfit;
+    }
+
+    public BigDecimal getAverageBillRate() {
+        return averageBillRate;
+    }
+
+    public void setAverageBillRate(BigDecimal averageBillRate) {
+        this.averageBillRate = averageBillRate;
+    }
+
+    public BigDecimal getAveragePayRate() {
+        return averagePayRate;
+    }
+
+    public void setAveragePayRate(BigDecimal averagePayRate) {
+        this.averagePayRate = averagePayRate;
+    }
+
+    public BigDecimal getMarginPercent() {
+        return marginPercent;
+    }
+
+    public void setMarginPercent(BigDecimal marginPercent) {
+        this.marginPercent = marginPercent;
+    }
+}
@@ -0,0 +1,13 @@
+package com.profile.candidate.dto;
+
+import java.math.BigDecimal;
+
+public interface PlacementAnalyticsProjection {
+    String getDimensionValue();
+    String getMonth();
+    Long getPlacements();
+    Long getRatedPlacements();
+    BigDecimal getBillRateTotal();
+    BigDecimal getPayRateTotal();
+    BigDecimal getGrossProfitTotal();
+}
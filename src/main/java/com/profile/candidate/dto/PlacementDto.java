@@ -36,6 +36,8 @@ public class PlacementDto {
     private LocalDate createdAt;
 
     private BigDecimal hourlyRate;
+    // Version of the placement the update is based on (alternative to If-Match)
+    private Long version;
 
     public BigDecimal getHourlyRate() {
         return hourlyRate;
@@ -8,6 +8,8 @@ public class PlacementResponseDto {
     private String candidateContactNo;
     @JsonIgnore
     private boolean isPlaced;  // Add isPlaced field
+    // Version of the placement, sent back with an update (If-Match or "version")
+    private Long version;
 
     // Constructors
 
@@ -23,6 +25,11 @@ public class PlacementResponseDto {
         this.candidateFullName = candidateFullName;
         this.candidateContactNo = candidateContactNo;
     }
+
+    public PlacementResponseDto(String id, String candidateFullName, String candidateContactNo, Long version) {
+        this(id, candidateFullName, candidateContactNo);
+        this.version = version;
+    }
 // Getters and Setters
 
     public String getId() {
@@ -57,4 +64,12 @@ public class PlacementResponseDto {
     public void setPlaced(boolean isPlaced) {
         this.isPlaced = isPlaced;  // Setter for isPlaced
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,13 @@
+package com.profile.candidate.dto;
+
+// The requirements_model columns bench matching reads
+public interface RequirementMatchProjection {
+
+    String getJobId();
+
+    String getJobTitle();
+
+    String getJobDescription();
+
+    String getExperienceRequired();
+}
@@ -0,0 +1,62 @@
+package com.profile.candidate.dto;
+
+public class ResumeSearchHitDto {
+
+    // "submission" or "bench"
+    private String type;
+    // Submission id or bench id
+    private String id;
+    // Candidate of a submission; null for bench records
+    private String candidateId;
+    private float score;
+    // Best matching passages of the resume, matched terms in <b></b>
+    private String highlight;
+
+    public ResumeSearchHitDto(String type, String id, String candidateId, float score, String highlight) {
+        this.type = type;
+        this.id = id;
+        this.candidateId = candidateId;
+        this.score = score;
+        this.highlight = highlight;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getCandidateId() {
+        return candidateId;
+    }
+
+    public void setCandidateId(String candidateId) {
+        this.candidateId = candidateId;
+    }
+
+    public float getScore() {
+        return score;
+    }
+
+    public void setScore(float score) {
+        this.score = score;
+    }
+
+    public String getHighlight() {
+        return highlight;
+    }
+
+    public void setHighlight(String highlight) {
+        this.highlight = highlight;
+    }
+}
@@ -40,6 +40,12 @@ public class SubmissionGetResponseDto {
 
         private String recruiterName;
 
+        // Versions of the submission and of its candidate, sent back with an edit (If-Match or "version",
+        // and "candidateVersion")
+        private Long version;
+
+        private Long candidateVersion;
+
     public String getRecruiterName() {
         return recruiterName;
     }
@@ -175,4 +181,20 @@ public class SubmissionGetResponseDto {
     public void setCandidateEmailId(String candidateEmailId) {
         this.candidateEmailId = candidateEmailId;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Long getCandidateVersion() {
+        return candidateVersion;
+    }
+
+    public void setCandidateVersion(Long candidateVersion) {
+        this.candidateVersion = candidateVersion;
+    }
 }
@@ -0,0 +1,8 @@
+package com.profile.candidate.exceptions;
+
+// Another submission created the same candidate at the same moment; submitting again succeeds
+public class ConcurrentSubmissionException extends RuntimeException {
+    public ConcurrentSubmissionException(String message) {
+        super(message);
+    }
+}
@@ -2,6 +2,7 @@ package com.profile.candidate.exceptions;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -31,6 +32,43 @@ public class GlobalExceptionHandler {
         ErrorResponse response=new ErrorResponse(false,"Interview not Scheduled",null,error);
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
+    @ExceptionHandler(InterviewConflictException.class)
+    public ResponseEntity<ErrorResponse> handleInterviewConflictException(InterviewConflictException ex) {
+        logger.info("handling InterviewConflictException in Global Exception Handler");
+        ErrorResponse.ErrorDto error=new ErrorResponse.ErrorDto(409, ex.getMessage());
+        ErrorResponse response=new ErrorResponse(false,"Interview time conflicts with another interview",null,error);
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+    @ExceptionHandler(ConcurrentSubmissionException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrentSubmissionException(ConcurrentSubmissionException ex) {
+        logger.info("handling ConcurrentSubmissionException in Global Exception Handler: {}", ex.getMessage());
+        ErrorResponse.ErrorDto error=new ErrorResponse.ErrorDto(409, ex.getMessage());
+        ErrorResponse response=new ErrorResponse(false,"Candidate was created concurrently",null,error);
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+    // A concurrent edit of the same record committed first (@Version mismatch)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        logger.info("handling OptimisticLockingFailureException in Global Exception Handler: {}", ex.getMessage());
+        ErrorResponse.ErrorDto error=new ErrorResponse.ErrorDto(409, "The record was changed by someone else. Reload it and apply your changes again.");
+        ErrorResponse response=new ErrorResponse(false,"Record was modified concurrently",null,error);
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+    // The update was made from an older read of the record than the one stored
+    @ExceptionHandler(StaleVersionException.class)
+    public ResponseEntity<ErrorResponse> handleStaleVersionException(StaleVersionException ex) {
+        logger.info("handling StaleVersionException in Global Exception Handler: {}", ex.getMessage());
+        ErrorResponse.ErrorDto error=new ErrorResponse.ErrorDto(409, ex.getMessage() + " Reload it and apply your changes again.");
+        ErrorResponse response=new ErrorResponse(false,"Record was modified by someone else",String.valueOf(ex.getCurrentVersion()),error);
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+    @ExceptionHandler(VersionRequiredException.class)
+    public ResponseEntity<ErrorResponse> handleVersionRequiredException(VersionRequiredException ex) {
+        logger.info("handling VersionRequiredException in Global Exception Handler");
+        ErrorResponse.ErrorDto error=new ErrorResponse.ErrorDto(428, ex.getMessage());
+        ErrorResponse response=new ErrorResponse(false,"Record version required",null,error);
+        return new ResponseEntity<>(response, HttpStatus.PRECONDITION_REQUIRED);
+    }
     @ExceptionHandler(InvalidFileTypeException.class)
     public ResponseEntity<ErrorResponse> handleInvalidFileTypeException(InvalidFileTypeException ex) {
         logger.info("handling InvalidFileTypeException in Global Exception Handler");
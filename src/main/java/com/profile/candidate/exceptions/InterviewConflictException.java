@@ -0,0 +1,7 @@
+package com.profile.candidate.exceptions;
+
+public class InterviewConflictException extends RuntimeException {
+    public InterviewConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package com.profile.candidate.exceptions;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+
+// The client edited a record from a read older than the stored one (version sent with the update != @Version)
+public class StaleVersionException extends OptimisticLockingFailureException {
+
+    private final long currentVersion;
+
+    public StaleVersionException(String message, long currentVersion) {
+        super(message);
+        this.currentVersion = currentVersion;
+    }
+
+    public long getCurrentVersion() {
+        return currentVersion;
+    }
+}
@@ -0,0 +1,8 @@
+package com.profile.candidate.exceptions;
+
+public class VersionRequiredException extends RuntimeException {
+
+    public VersionRequiredException(String message) {
+        super(message);
+    }
+}
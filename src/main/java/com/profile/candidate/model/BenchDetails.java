@@ -2,6 +2,7 @@ package com.profile.candidate.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -18,6 +19,7 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
+@DynamicUpdate
 @Table(name = "bench_details")
 @Data
 @NoArgsConstructor
@@ -68,6 +70,10 @@ public class BenchDetails {
  @Column(name = "technology")
  private String technology;
 
+ @Version
+ @Column(name = "version", columnDefinition = "bigint default 0 not null")
+ private long version;
+
  public LocalDate getCreatedDate() {
   return createdDate;
  }
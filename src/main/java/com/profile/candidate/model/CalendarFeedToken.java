@@ -0,0 +1,38 @@
+package com.profile.candidate.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// The secret token a calendar feed is subscribed to with; one per feed, replaced when the feed's token is rotated.
+// Only a SHA-256 hash of the token is kept, so the table does not give the feeds away.
+@Setter
+@Getter
+@Entity
+@Table(name = "calendar_feed_tokens")
+@NoArgsConstructor
+public class CalendarFeedToken {
+
+    // user:<userId> or client:<normalized client name>
+    @Id
+    @Column(name = "feed_key", length = 255)
+    private String feedKey;
+
+    // "user" or "client"
+    @Column(name = "feed_type", length = 16)
+    private String feedType;
+
+    // The user id or the client name as given
+    @Column(name = "subject")
+    private String subject;
+
+    // Hex SHA-256 of the token
+    @Column(name = "token_hash", length = 64, nullable = false, unique = true)
+    private String tokenHash;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.validation.constraints.*;
 
@@ -16,7 +17,10 @@ import java.util.Map;
 import java.util.Random;
 
 @Entity
-@Table(name = "candidates")
+@DynamicUpdate
+@Table(name = "candidates", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_candidates_email", columnNames = {"candidate_email_id"})
+})
 public class CandidateDetails {
     @Id
     @Column(unique = true, nullable = false)
@@ -66,6 +70,10 @@ public class CandidateDetails {
 
     private LocalDateTime timestamp;
 
+    @Version
+    @Column(name = "version", columnDefinition = "bigint default 0 not null")
+    private long version;
+
 
     public String getUserEmail() {
         return userEmail;
@@ -199,4 +207,11 @@ public class CandidateDetails {
         this.submissions = submissions;
     }
 
-}
\ No newline at end of file
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,22 @@
+package com.profile.candidate.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Number of submissions, interviews or placements per funnel dimension value and day, kept in step with
+// candidate_submissions, interview_details and placements by FunnelCounterService
+@Setter
+@Getter
+@Entity
+@Table(name = "funnel_daily_counts")
+@NoArgsConstructor
+public class FunnelDailyCount {
+
+    @EmbeddedId
+    private FunnelDailyCountId id;
+
+    @Column(name = "events", nullable = false)
+    private long events;
+}
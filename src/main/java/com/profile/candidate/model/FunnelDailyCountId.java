@@ -0,0 +1,35 @@
+package com.profile.candidate.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class FunnelDailyCountId implements Serializable {
+
+    // recruiter, teamLead, client, job or total
+    @Column(name = "dimension", length = 16)
+    private String dimension;
+
+    @Column(name = "dimension_value", length = 191)
+    private String dimensionValue;
+
+    @Column(name = "day")
+    private LocalDate day;
+
+    // SUBMITTED, INTERVIEWED or PLACED
+    @Column(name = "stage", length = 16)
+    private String stage;
+}
@@ -0,0 +1,38 @@
+package com.profile.candidate.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+// The day and dimension values a submission, interview or placement is counted under in funnel_daily_counts, as
+// they were when it was counted. A change takes these out rather than looking the team lead and client up again,
+// so reassigning a job does not make the counts drift. A row without a day counts nothing (a placeholder locked
+// while the record's first fact is stored, or the GUARD row that serializes rebuilds with counter writes).
+@Setter
+@Getter
+@Entity
+@Table(name = "funnel_facts")
+@NoArgsConstructor
+public class FunnelFact {
+
+    @EmbeddedId
+    private FunnelFactId id;
+
+    @Column(name = "day")
+    private LocalDate day;
+
+    @Column(name = "recruiter", length = 191)
+    private String recruiter;
+
+    @Column(name = "team_lead", length = 191)
+    private String teamLead;
+
+    @Column(name = "client", length = 191)
+    private String client;
+
+    @Column(name = "job_id", length = 191)
+    private String jobId;
+}
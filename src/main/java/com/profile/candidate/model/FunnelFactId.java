@@ -0,0 +1,28 @@
+package com.profile.candidate.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class FunnelFactId implements Serializable {
+
+    // SUBMITTED, INTERVIEWED or PLACED (GUARD for the guard row)
+    @Column(name = "stage", length = 16)
+    private String stage;
+
+    // Submission, interview or placement id
+    @Column(name = "source_id", length = 191)
+    private String sourceId;
+}
@@ -4,13 +4,15 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import com.fasterxml.jackson.core.type.TypeReference;
 import java.util.List;
 import java.util.ArrayList;
 @Entity
-@Table(name="interview_details")
+@DynamicUpdate
+@Table(name="interview_details", indexes = @Index(name = "idx_interview_date_time", columnList = "interviewDateTime"))
 public class InterviewDetails {
 
     @Id
@@ -23,6 +25,10 @@ public class InterviewDetails {
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ssXXX")
     private OffsetDateTime interviewDateTime;
 
+    // Time of the first round; interviewDateTime moves on with every later round. Null on rows from before it was kept
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ssXXX")
+    private OffsetDateTime firstInterviewDateTime;
+
     private Integer duration;
     private String zoomLink;
     private String clientName;
@@ -41,6 +47,11 @@ public class InterviewDetails {
     private LocalDateTime timestamp;
     private boolean isPlaced;
 
+    // Optimistic lock: every update bumps it, and an update based on an older read fails instead of overwriting
+    @Version
+    @Column(name = "version", columnDefinition = "bigint default 0 not null")
+    private long version;
+
     @Transient
     private final ObjectMapper objectMapper = new ObjectMapper();
 
@@ -144,6 +155,14 @@ public class InterviewDetails {
         this.interviewDateTime = interviewDateTime;
     }
 
+    public OffsetDateTime getFirstInterviewDateTime() {
+        return firstInterviewDateTime;
+    }
+
+    public void setFirstInterviewDateTime(OffsetDateTime firstInterviewDateTime) {
+        this.firstInterviewDateTime = firstInterviewDateTime;
+    }
+
     public Integer getDuration() {
         return duration;
     }
@@ -252,6 +271,12 @@ public class InterviewDetails {
     public void setRecruiterName(String recruiterName) {
         this.recruiterName = recruiterName;
     }
-}
 
+    public long getVersion() {
+        return version;
+    }
 
+    public void setVersion(long version) {
+        this.version = version;
+    }
+}
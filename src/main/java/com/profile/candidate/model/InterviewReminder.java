@@ -0,0 +1,47 @@
+package com.profile.candidate.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+
+// One row per reminder email sent (or being sent): inserting it is how an instance claims the email, so across
+// restarts and replicas each (interview, interview time, lead time, recipient) reminder goes out once. sentAt is set
+// once the mail server took the email; a failed send deletes the row, and a claim left unsent by an instance that
+// died is taken over after candidate.reminders.claim-timeout.
+@Setter
+@Getter
+@Entity
+@Table(name = "interview_reminders")
+@NoArgsConstructor
+public class InterviewReminder {
+
+    // interviewId|interview time (epoch seconds)|lead time|recipient email
+    @Id
+    @Column(name = "reminder_key", length = 255)
+    private String reminderKey;
+
+    @Column(name = "interview_id")
+    private String interviewId;
+
+    @Column(name = "interview_date_time")
+    private OffsetDateTime interviewDateTime;
+
+    @Column(name = "lead_time")
+    private String leadTime;
+
+    @Column(name = "recipient")
+    private String recipient;
+
+    @Column(name = "claimed_by")
+    private String claimedBy;
+
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+}
@@ -0,0 +1,21 @@
+package com.profile.candidate.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// One row per candidate and per recruiter, locked while an interview of theirs is checked for overlaps and saved,
+// so two schedulings for the same person (on any instance) cannot both pass the check
+@Setter
+@Getter
+@Entity
+@Table(name = "interview_slot_locks")
+@NoArgsConstructor
+public class InterviewSlotLock {
+
+    // candidate:<candidateId> or recruiter:<userId>
+    @Id
+    @Column(name = "lock_key", length = 191)
+    private String lockKey;
+}
@@ -0,0 +1,26 @@
+package com.profile.candidate.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// One HdrHistogram of durations in hours per metric, dimension value and month, stored compressed
+// (Histogram.encodeIntoCompressedByteBuffer). Histograms of different months or values merge by adding them.
+@Setter
+@Getter
+@Entity
+@Table(name = "latency_histograms")
+@NoArgsConstructor
+public class LatencyHistogram {
+
+    @EmbeddedId
+    private LatencyHistogramId id;
+
+    @Lob
+    @Column(name = "histogram", columnDefinition = "blob")
+    private byte[] histogram;
+
+    @Column(name = "sample_count", nullable = false)
+    private long sampleCount;
+}
@@ -0,0 +1,36 @@
+package com.profile.candidate.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class LatencyHistogramId implements Serializable {
+
+    // timeToInterview or timeToPlacement
+    @Column(name = "metric", length = 32)
+    private String metric;
+
+    // client, recruiter or total
+    @Column(name = "dimension", length = 16)
+    private String dimension;
+
+    @Column(name = "dimension_value", length = 191)
+    private String dimensionValue;
+
+    // First day of the month
+    @Column(name = "month")
+    private LocalDate month;
+}
@@ -0,0 +1,35 @@
+package com.profile.candidate.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+// The sample an interview or placement currently contributes to latency_histograms, with the month and dimension
+// values it was added under, so a change can take out exactly what was added. A row without a month contributes
+// nothing (a cancelled interview, or a placeholder locked while the sample is worked out).
+@Setter
+@Getter
+@Entity
+@Table(name = "latency_samples")
+@NoArgsConstructor
+public class LatencySample {
+
+    @EmbeddedId
+    private LatencySampleId id;
+
+    // First day of the month
+    @Column(name = "month")
+    private LocalDate month;
+
+    @Column(name = "recruiter", length = 191)
+    private String recruiter;
+
+    @Column(name = "client", length = 191)
+    private String client;
+
+    @Column(name = "hours", nullable = false)
+    private long hours;
+}
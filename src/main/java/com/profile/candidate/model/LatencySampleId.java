@@ -0,0 +1,28 @@
+package com.profile.candidate.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class LatencySampleId implements Serializable {
+
+    // timeToInterview or timeToPlacement
+    @Column(name = "metric", length = 32)
+    private String metric;
+
+    // Interview id (timeToInterview) or placement id (timeToPlacement)
+    @Column(name = "source_id", length = 64)
+    private String sourceId;
+}
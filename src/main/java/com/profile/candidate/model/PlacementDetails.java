@@ -92,6 +92,10 @@ public class PlacementDetails {
     @Column(name = "hourly_rate")
     private BigDecimal hourlyRate;
 
+    @Version
+    @Column(name = "version", columnDefinition = "bigint default 0 not null")
+    private long version;
+
     // Automatically set the current date
     @PrePersist
     public void prePersist() {
@@ -0,0 +1,37 @@
+package com.profile.candidate.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+// Running totals of placements per dimension value (client, recruiter, sales, employment type, or "all" for the
+// total) and month, kept in step with the placements table by PlacementRollupService
+@Setter
+@Getter
+@Entity
+@Table(name = "placement_rollups")
+@NoArgsConstructor
+public class PlacementRollup {
+
+    @EmbeddedId
+    private PlacementRollupId id;
+
+    @Column(name = "placements", nullable = false)
+    private long placements;
+
+    // Placements with both a bill rate and a pay rate, the base of the rate averages
+    @Column(name = "rated_placements", nullable = false)
+    private long ratedPlacements;
+
+    @Column(name = "bill_rate_total", precision = 19, scale = 5, nullable = false)
+    private BigDecimal billRateTotal;
+
+    @Column(name = "pay_rate_total", precision = 19, scale = 5, nullable = false)
+    private BigDecimal payRateTotal;
+
+    @Column(name = "gross_profit_total", precision = 19, scale = 5, nullable = false)
+    private BigDecimal grossProfitTotal;
+}
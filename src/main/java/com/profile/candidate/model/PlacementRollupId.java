@@ -0,0 +1,32 @@
+package com.profile.candidate.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class PlacementRollupId implements Serializable {
+
+    // client, recruiter, sales, employmentType or total
+    @Column(name = "dimension", length = 32)
+    private String dimension;
+
+    @Column(name = "dimension_value", length = 191)
+    private String dimensionValue;
+
+    // First day of the month
+    @Column(name = "month")
+    private LocalDate month;
+}
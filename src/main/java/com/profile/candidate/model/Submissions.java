@@ -1,12 +1,17 @@
 package com.profile.candidate.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "candidate_submissions")
+@DynamicUpdate
+@Table(name = "candidate_submissions", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_submissions_candidate_job", columnNames = {"candidate_id", "job_id"}),
+        @UniqueConstraint(name = "uk_submissions_contact_job", columnNames = {"candidate_contact_number", "job_id"})
+})
 public class Submissions {
 
     @Id
@@ -20,6 +25,10 @@ public class Submissions {
     @Column(nullable = false)
     private String jobId;
 
+    // Copy of the candidate's contact number so the database can enforce one submission per contact number and job
+    @Column(name = "candidate_contact_number")
+    private String candidateContactNumber;
+
     private String resumeFilePath;
 
     @Lob
@@ -43,6 +52,10 @@ public class Submissions {
 
     private LocalDateTime submittedAt;
 
+    @Version
+    @Column(name = "version", columnDefinition = "bigint default 0 not null")
+    private long version;
+
     private String recruiterName;
 
     public LocalDate getProfileReceivedDate() {
@@ -53,6 +66,14 @@ public class Submissions {
         this.profileReceivedDate = profileReceivedDate;
     }
 
+    public String getCandidateContactNumber() {
+        return candidateContactNumber;
+    }
+
+    public void setCandidateContactNumber(String candidateContactNumber) {
+        this.candidateContactNumber = candidateContactNumber;
+    }
+
     public String getSubmissionId() {
         return submissionId;
     }
@@ -156,4 +177,12 @@ public class Submissions {
     public void setRecruiterName(String recruiterName) {
         this.recruiterName = recruiterName;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
@@ -1,4 +1,5 @@
 package com.profile.candidate.repository;
+import com.profile.candidate.dto.BenchDetailsDto;
 import com.profile.candidate.model.BenchDetails;
 import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,11 +30,41 @@ public interface BenchRepository extends JpaRepository<BenchDetails, String> {
 
     List<BenchDetails> findByReferredBy(String referredBy);  // ✅ Add this method
 
+    // ✅ Set-based duplicate checks for bulk onboarding
+    @Query("SELECT b.email FROM BenchDetails b WHERE b.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT b.contactNumber FROM BenchDetails b WHERE b.contactNumber IN :contactNumbers")
+    List<String> findExistingContactNumbers(@Param("contactNumbers") Collection<String> contactNumbers);
+
+    // Highest numeric part of the BENCHxxx ids, used to hand out ids in blocks
+    @Query(value = "SELECT MAX(CAST(SUBSTRING(b.id, 6) AS SIGNED)) FROM bench_details b " +
+            "WHERE b.id REGEXP '^BENCH[0-9]{3,}$'", nativeQuery = true)
+    Long findMaxBenchNumber();
+
     @Query("DELETE FROM BenchDetails b WHERE LOWER(b.id) = LOWER(:id)")
     @Modifying
     @Transactional
     void deleteByIdIgnoreCase(@Param("id") String id);
 
+    // Id, skills, technology and experience of every bench record, for BenchSkillIndex
+    @Query("SELECT b.id, b.skills, b.technology, b.totalExperience, b.relevantExperience FROM BenchDetails b")
+    List<Object[]> findSkillIndexRows();
+
+    // Bench records without the resume
+    @Query("SELECT new com.profile.candidate.dto.BenchDetailsDto(b.id, b.fullName, b.email, b.relevantExperience, " +
+            "b.totalExperience, b.contactNumber, b.skills, b.linkedin, b.referredBy, b.createdDate, b.technology, b.version) " +
+            "FROM BenchDetails b WHERE b.id IN :ids")
+    List<BenchDetailsDto> findDtosByIdIn(@Param("ids") Collection<String> ids);
+
+    // Ids of all bench records, for ResumeSearchIndex reindexing
+    @Query("SELECT b.id FROM BenchDetails b")
+    List<String> findAllIds();
+
+    // Resume of a bench record (empty when the record does not exist), for ResumeSearchIndex
+    @Query("SELECT b.resume FROM BenchDetails b WHERE b.id = :id")
+    List<byte[]> findResumeById(@Param("id") String id);
+
     @Query("SELECT b FROM BenchDetails b WHERE b.createdDate BETWEEN :startDate AND :endDate")
     List<BenchDetails> findByCreatedDateBetween(@Param("startDate") LocalDate startDate,
                                                 @Param("endDate") LocalDate endDate);
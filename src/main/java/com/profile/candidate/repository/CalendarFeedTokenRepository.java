@@ -0,0 +1,13 @@
+package com.profile.candidate.repository;
+
+import com.profile.candidate.model.CalendarFeedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CalendarFeedTokenRepository extends JpaRepository<CalendarFeedToken, String> {
+
+    Optional<CalendarFeedToken> findByTokenHash(String tokenHash);
+}
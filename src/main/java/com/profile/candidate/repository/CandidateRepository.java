@@ -1,5 +1,6 @@
 package com.profile.candidate.repository;
 
+import com.profile.candidate.dto.RequirementMatchProjection;
 import com.profile.candidate.model.CandidateDetails;
 import com.profile.candidate.model.Submissions;
 import jakarta.transaction.Transactional;
@@ -11,6 +12,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +23,13 @@ public interface CandidateRepository extends JpaRepository<CandidateDetails, Str
     Optional<CandidateDetails> findByCandidateEmailId(String candidateEmailId);
     List<CandidateDetails> findByUserId(String userId);
 
+    List<CandidateDetails> findByCandidateEmailIdIn(Collection<String> candidateEmailIds);
+
+    // Highest numeric part of the CANDxxxx ids, so a bulk import can allocate a block of ids in one query
+    @Query(value = "SELECT MAX(CAST(SUBSTRING(c.candidate_id, 5) AS SIGNED)) FROM candidates c " +
+            "WHERE c.candidate_id REGEXP '^CAND[0-9]{4}$'", nativeQuery = true)
+    Long findMaxCandidateNumber();
+
     Optional<CandidateDetails> findByCandidateIdAndUserId(String candidateId, String userId);
     // Method to fetch all candidates (this is already provided by JpaRepository)
     List<CandidateDetails> findAll();
@@ -28,11 +37,29 @@ public interface CandidateRepository extends JpaRepository<CandidateDetails, Str
     @Query(value = "SELECT r.client_name FROM requirements_model r WHERE r.job_id = :jobId", nativeQuery = true)
     Optional<String> findClientNameByJobId(@Param("jobId") String jobId);
 
+    // (job_id, client_name) of many jobs at once
+    @Query(value = "SELECT r.job_id, r.client_name FROM requirements_model r WHERE r.job_id IN (:jobIds)", nativeQuery = true)
+    List<Object[]> findClientNamesByJobIds(@Param("jobIds") Collection<String> jobIds);
+
     @Query(value = "SELECT u.email FROM user_details u " +
             "JOIN requirements_model r ON r.assigned_by = u.user_name " +
             "WHERE r.job_id = :jobId", nativeQuery = true)
     String findTeamLeadEmailByJobId(@Param("jobId") String jobId);
 
+    // What bench matching needs of a requirement; the columns are checked with findRequirementColumnNames first
+    @Query(value = "SELECT r.job_id AS jobId, r.job_title AS jobTitle, r.job_description AS jobDescription, " +
+            "r.experience_required AS experienceRequired FROM requirements_model r WHERE r.job_id = :jobId LIMIT 1", nativeQuery = true)
+    Optional<RequirementMatchProjection> findRequirementForMatching(@Param("jobId") String jobId);
+
+    // requirements_model belongs to the requirements service, so its columns can change without this service knowing
+    @Query(value = "SELECT LOWER(c.column_name) FROM information_schema.columns c " +
+            "WHERE c.table_schema = DATABASE() AND c.table_name = 'requirements_model'", nativeQuery = true)
+    List<String> findRequirementColumnNames();
+
+    // The team lead is the user the requirement is assigned by
+    @Query(value = "SELECT r.assigned_by FROM requirements_model r WHERE r.job_id = :jobId LIMIT 1", nativeQuery = true)
+    String findTeamLeadNameByJobId(@Param("jobId") String jobId);
+
     @Query(value = "SELECT u.user_name FROM user_details u WHERE u.email = :email", nativeQuery = true)
     String findUserNameByEmail(@Param("email") String email);
 
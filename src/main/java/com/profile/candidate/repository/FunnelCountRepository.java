@@ -0,0 +1,78 @@
+package com.profile.candidate.repository;
+
+import com.profile.candidate.dto.FunnelStageProjection;
+import com.profile.candidate.model.FunnelDailyCount;
+import com.profile.candidate.model.FunnelDailyCountId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface FunnelCountRepository extends JpaRepository<FunnelDailyCount, FunnelDailyCountId> {
+
+    // Adds a delta to one counter, creating it on first use
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO funnel_daily_counts (dimension, dimension_value, day, stage, events) " +
+            "VALUES (:dimension, :dimensionValue, :day, :stage, :events) " +
+            "ON DUPLICATE KEY UPDATE events = events + VALUES(events)", nativeQuery = true)
+    int addDelta(@Param("dimension") String dimension,
+                 @Param("dimensionValue") String dimensionValue,
+                 @Param("day") LocalDate day,
+                 @Param("stage") String stage,
+                 @Param("events") long events);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM funnel_daily_counts", nativeQuery = true)
+    int deleteAllCounts();
+
+    @Query(value = "SELECT dimension_value AS dimensionValue, " +
+            "SUM(CASE WHEN stage = 'SUBMITTED' THEN events ELSE 0 END) AS submitted, " +
+            "SUM(CASE WHEN stage = 'INTERVIEWED' THEN events ELSE 0 END) AS interviewed, " +
+            "SUM(CASE WHEN stage = 'PLACED' THEN events ELSE 0 END) AS placed " +
+            "FROM funnel_daily_counts WHERE dimension = :dimension AND day BETWEEN :fromDate AND :toDate " +
+            "GROUP BY dimension_value HAVING SUM(events) > 0 ORDER BY submitted DESC, dimension_value", nativeQuery = true)
+    List<FunnelStageProjection> findStageTotals(@Param("dimension") String dimension,
+                                                @Param("fromDate") LocalDate fromDate,
+                                                @Param("toDate") LocalDate toDate);
+
+    // Rows for rebuilding the counters: day (yyyy-MM-dd), recruiter user id, team lead, client, job id, for
+    // interviews the status history, and last the record id. Resolved the same way as FunnelCounterService does on
+    // each write.
+    @Query(value = """
+            SELECT DATE_FORMAT(COALESCE(cs.profile_received_date, cs.submitted_at), '%Y-%m-%d'),
+                   c.user_id, r.assigned_by, COALESCE(NULLIF(TRIM(cs.client_name), ''), r.client_name), cs.job_id,
+                   cs.submission_id
+            FROM candidate_submissions cs
+            JOIN candidates c ON c.candidate_id = cs.candidate_id
+            LEFT JOIN requirements_model r ON r.job_id = cs.job_id
+            """, nativeQuery = true)
+    List<Object[]> findSubmissionFacts();
+
+    @Query(value = """
+            SELECT DATE_FORMAT(COALESCE(i.interview_date_time, i.timestamp), '%Y-%m-%d'),
+                   i.user_id, r.assigned_by, COALESCE(NULLIF(TRIM(i.client_name), ''), r.client_name), i.job_id,
+                   i.interview_status, i.interview_id
+            FROM interview_details i
+            LEFT JOIN requirements_model r ON r.job_id = i.job_id
+            """, nativeQuery = true)
+    List<Object[]> findInterviewFacts();
+
+    @Query(value = """
+            SELECT DATE_FORMAT(COALESCE(p.created_at, p.start_date), '%Y-%m-%d'),
+                   COALESCE(i.user_id, c.user_id), r.assigned_by, COALESCE(NULLIF(TRIM(p.client_name), ''), r.client_name),
+                   i.job_id, p.id
+            FROM placements p
+            LEFT JOIN interview_details i ON i.interview_id = p.interview_id
+            LEFT JOIN candidates c ON c.candidate_id = p.candidate_id
+            LEFT JOIN requirements_model r ON r.job_id = i.job_id
+            """, nativeQuery = true)
+    List<Object[]> findPlacementFacts();
+}
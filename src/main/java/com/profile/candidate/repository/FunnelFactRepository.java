@@ -0,0 +1,64 @@
+package com.profile.candidate.repository;
+
+import com.profile.candidate.model.FunnelFact;
+import com.profile.candidate.model.FunnelFactId;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface FunnelFactRepository extends JpaRepository<FunnelFact, FunnelFactId> {
+
+    // Locks the record's row until the transaction ends, creating an empty one (no day) when there is none. The no-op
+    // update takes an exclusive lock on an existing row; INSERT IGNORE would take a shared one, and two writers
+    // holding it would deadlock on findForUpdate
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO funnel_facts (stage, source_id, day, recruiter, team_lead, client, job_id) " +
+            "VALUES (:stage, :sourceId, NULL, NULL, NULL, NULL, NULL) " +
+            "ON DUPLICATE KEY UPDATE stage = stage", nativeQuery = true)
+    int lock(@Param("stage") String stage, @Param("sourceId") String sourceId);
+
+    // The rows lock() locked
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT f FROM FunnelFact f WHERE f.id.stage = :stage AND f.id.sourceId IN :sourceIds")
+    List<FunnelFact> findForUpdate(@Param("stage") String stage, @Param("sourceIds") Collection<String> sourceIds);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM funnel_facts WHERE stage <> 'GUARD'", nativeQuery = true)
+    int deleteAllFacts();
+
+    // Records counted (the guard row and placeholders have no day)
+    @Query("SELECT COUNT(f) FROM FunnelFact f WHERE f.day IS NOT NULL")
+    long countFacts();
+
+    // The guard row: every counter write holds it shared until it commits, rebuild() holds it exclusively
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT IGNORE INTO funnel_facts (stage, source_id, day, recruiter, team_lead, client, job_id) " +
+            "VALUES ('GUARD', 'rebuild', NULL, NULL, NULL, NULL, NULL)", nativeQuery = true)
+    int createGuard();
+
+    // null when the guard row does not exist yet
+    @Query(value = "SELECT f.stage FROM funnel_facts f WHERE f.stage = 'GUARD' AND f.source_id = 'rebuild' " +
+            "LOCK IN SHARE MODE", nativeQuery = true)
+    String lockGuardShared();
+
+    // Creates the guard row if needed and locks it exclusively in one statement, so two rebuilds cannot both hold
+    // it shared and deadlock upgrading
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO funnel_facts (stage, source_id, day, recruiter, team_lead, client, job_id) " +
+            "VALUES ('GUARD', 'rebuild', NULL, NULL, NULL, NULL, NULL) " +
+            "ON DUPLICATE KEY UPDATE stage = stage", nativeQuery = true)
+    int lockGuardExclusive();
+}
@@ -0,0 +1,53 @@
+package com.profile.candidate.repository;
+
+import com.profile.candidate.model.InterviewReminder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+
+@Repository
+public interface InterviewReminderRepository extends JpaRepository<InterviewReminder, String> {
+
+    // 1 if this instance claimed the reminder, 0 if another instance (or an earlier run) already did
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT IGNORE INTO interview_reminders (reminder_key, interview_id, interview_date_time, lead_time, recipient, claimed_by, claimed_at) " +
+            "VALUES (:reminderKey, :interviewId, :interviewDateTime, :leadTime, :recipient, :claimedBy, :claimedAt)", nativeQuery = true)
+    int claim(@Param("reminderKey") String reminderKey,
+              @Param("interviewId") String interviewId,
+              @Param("interviewDateTime") OffsetDateTime interviewDateTime,
+              @Param("leadTime") String leadTime,
+              @Param("recipient") String recipient,
+              @Param("claimedBy") String claimedBy,
+              @Param("claimedAt") LocalDateTime claimedAt);
+
+    // 1 if this instance took over a claim that was never marked sent and is older than staleBefore
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE interview_reminders SET claimed_by = :claimedBy, claimed_at = :claimedAt " +
+            "WHERE reminder_key = :reminderKey AND sent_at IS NULL AND claimed_at < :staleBefore", nativeQuery = true)
+    int reclaim(@Param("reminderKey") String reminderKey,
+                @Param("claimedBy") String claimedBy,
+                @Param("claimedAt") LocalDateTime claimedAt,
+                @Param("staleBefore") LocalDateTime staleBefore);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE interview_reminders SET sent_at = :sentAt WHERE reminder_key = :reminderKey AND claimed_by = :claimedBy", nativeQuery = true)
+    int markSent(@Param("reminderKey") String reminderKey,
+                 @Param("claimedBy") String claimedBy,
+                 @Param("sentAt") LocalDateTime sentAt);
+
+    // Gives up this instance's claim after a failed send, so a retry (here or on another instance) can claim it
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM interview_reminders WHERE reminder_key = :reminderKey AND claimed_by = :claimedBy AND sent_at IS NULL", nativeQuery = true)
+    int release(@Param("reminderKey") String reminderKey,
+                @Param("claimedBy") String claimedBy);
+}
@@ -89,7 +89,8 @@ public interface InterviewRepository extends JpaRepository<InterviewDetails,Stri
                 c.client_name,
                 c.interview_level,
                 c.interview_status,
-                c.is_placed 
+                c.is_placed,
+                c.version
             FROM 
                 interview_details c
             WHERE 
@@ -147,6 +148,33 @@ public interface InterviewRepository extends JpaRepository<InterviewDetails,Stri
             @Param("endDate") LocalDateTime endDate);
 
     InterviewDetails findByCandidateId(String candidateId);
-}
-
 
+    // Time slots (id, candidate, recruiter, start, duration, status history, client) for InterviewConflictIndex
+    @Query("SELECT i.interviewId, i.candidateId, i.userId, i.interviewDateTime, i.duration, i.interviewStatus, i.clientName " +
+            "FROM InterviewDetails i WHERE i.interviewDateTime >= :from")
+    List<Object[]> findInterviewSlotsFrom(@Param("from") OffsetDateTime from);
+
+    // Interviews of the candidate or the recruiter starting in [from, to), for the overlap check on scheduling
+    @Query("SELECT i.interviewId, i.candidateId, i.userId, i.interviewDateTime, i.duration, i.interviewStatus " +
+            "FROM InterviewDetails i WHERE (i.candidateId = :candidateId OR i.userId = :userId) " +
+            "AND i.interviewDateTime >= :from AND i.interviewDateTime < :to")
+    List<Object[]> findParticipantSlotsBetween(@Param("candidateId") String candidateId, @Param("userId") String userId,
+                                               @Param("from") OffsetDateTime from, @Param("to") OffsetDateTime to);
+
+    // Interview ids and times in a window, for InterviewReminderScheduler
+    @Query("SELECT i.interviewId, i.interviewDateTime FROM InterviewDetails i " +
+            "WHERE i.interviewDateTime >= :from AND i.interviewDateTime < :to")
+    List<Object[]> findInterviewTimesBetween(@Param("from") OffsetDateTime from, @Param("to") OffsetDateTime to);
+
+    // Calendar feeds (InterviewCalendarService): a recruiter's or a client's interviews from a date onwards
+    @Query("SELECT i FROM InterviewDetails i WHERE i.userId = :userId AND i.interviewDateTime >= :from")
+    List<InterviewDetails> findCalendarInterviewsByUserId(@Param("userId") String userId, @Param("from") OffsetDateTime from);
+
+    @Query("SELECT i FROM InterviewDetails i WHERE LOWER(TRIM(i.clientName)) = :clientKey AND i.interviewDateTime >= :from")
+    List<InterviewDetails> findCalendarInterviewsByClient(@Param("clientKey") String clientKey, @Param("from") OffsetDateTime from);
+
+    // Interviews created in a range, for CurrentMonthSnapshot
+    @Query("SELECT i FROM InterviewDetails i WHERE i.timestamp BETWEEN :startDateTime AND :endDateTime")
+    List<InterviewDetails> findByTimestampBetween(@Param("startDateTime") LocalDateTime startDateTime,
+                                                  @Param("endDateTime") LocalDateTime endDateTime);
+}
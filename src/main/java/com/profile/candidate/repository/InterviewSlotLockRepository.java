@@ -0,0 +1,22 @@
+package com.profile.candidate.repository;
+
+import com.profile.candidate.model.InterviewSlotLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface InterviewSlotLockRepository extends JpaRepository<InterviewSlotLock, String> {
+
+    // Creates the row if missing and locks it until the transaction ends. The no-op update takes an exclusive lock
+    // on an existing row; INSERT IGNORE would take a shared one, and two transactions holding it would deadlock on
+    // a later SELECT ... FOR UPDATE. Callers lock several rows in key order.
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO interview_slot_locks (lock_key) VALUES (:lockKey) " +
+            "ON DUPLICATE KEY UPDATE lock_key = lock_key", nativeQuery = true)
+    int lock(@Param("lockKey") String lockKey);
+}
@@ -0,0 +1,96 @@
+package com.profile.candidate.repository;
+
+import com.profile.candidate.model.LatencyHistogram;
+import com.profile.candidate.model.LatencyHistogramId;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LatencyHistogramRepository extends JpaRepository<LatencyHistogram, LatencyHistogramId> {
+
+    // Locks the histogram's row until the transaction ends, creating an empty one when there is none, so instances
+    // adding to a new histogram at the same time do not both insert it. Exclusive for the same reason as
+    // LatencySampleRepository.lock
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO latency_histograms (metric, dimension, dimension_value, month, histogram, sample_count) " +
+            "VALUES (:metric, :dimension, :dimensionValue, :month, NULL, 0) " +
+            "ON DUPLICATE KEY UPDATE metric = metric", nativeQuery = true)
+    int lock(@Param("metric") String metric,
+             @Param("dimension") String dimension,
+             @Param("dimensionValue") String dimensionValue,
+             @Param("month") LocalDate month);
+
+    // The row lock() locked
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM LatencyHistogram h WHERE h.id = :id")
+    Optional<LatencyHistogram> findForUpdate(@Param("id") LatencyHistogramId id);
+
+    @Query("SELECT h FROM LatencyHistogram h WHERE h.id.metric = :metric AND h.id.dimension = :dimension " +
+            "AND h.id.month BETWEEN :fromMonth AND :toMonth AND h.sampleCount > 0")
+    List<LatencyHistogram> findHistograms(@Param("metric") String metric,
+                                          @Param("dimension") String dimension,
+                                          @Param("fromMonth") LocalDate fromMonth,
+                                          @Param("toMonth") LocalDate toMonth);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM latency_histograms", nativeQuery = true)
+    int deleteAllHistograms();
+
+    // Time-to-interview inputs: interview id, profile received date (yyyy-MM-dd), first interview date time, recruiter,
+    // client and status history (cancelled interviews are left out by the caller). Rows from before the first
+    // interview was kept fall back to the current round.
+    String TIME_TO_INTERVIEW_SAMPLES = """
+            SELECT i.interview_id, DATE_FORMAT(cs.profile_received_date, '%Y-%m-%d'),
+                   DATE_FORMAT(COALESCE(i.first_interview_date_time, i.interview_date_time), '%Y-%m-%dT%H:%i:%s'),
+                   i.user_id, i.client_name, i.interview_status
+            FROM interview_details i
+            JOIN candidate_submissions cs ON cs.candidate_id = i.candidate_id AND cs.job_id = i.job_id
+            WHERE COALESCE(i.first_interview_date_time, i.interview_date_time) IS NOT NULL
+              AND cs.profile_received_date IS NOT NULL
+            """;
+
+    // Time-to-placement inputs: placement id, first interview date time, placement start date (yyyy-MM-dd),
+    // recruiter and client
+    String TIME_TO_PLACEMENT_SAMPLES = """
+            SELECT p.id, DATE_FORMAT(COALESCE(i.first_interview_date_time, i.interview_date_time), '%Y-%m-%dT%H:%i:%s'),
+                   DATE_FORMAT(p.start_date, '%Y-%m-%d'), i.user_id,
+                   COALESCE(NULLIF(TRIM(p.client_name), ''), i.client_name)
+            FROM placements p
+            JOIN interview_details i ON i.interview_id = p.interview_id
+            WHERE COALESCE(i.first_interview_date_time, i.interview_date_time) IS NOT NULL AND p.start_date IS NOT NULL
+            """;
+
+    @Query(value = TIME_TO_INTERVIEW_SAMPLES, nativeQuery = true)
+    List<Object[]> findTimeToInterviewSamples();
+
+    @Query(value = TIME_TO_INTERVIEW_SAMPLES + " AND i.interview_id IN (:interviewIds)", nativeQuery = true)
+    List<Object[]> findTimeToInterviewSamples(@Param("interviewIds") Collection<String> interviewIds);
+
+    @Query(value = TIME_TO_PLACEMENT_SAMPLES, nativeQuery = true)
+    List<Object[]> findTimeToPlacementSamples();
+
+    @Query(value = TIME_TO_PLACEMENT_SAMPLES + " AND p.id IN (:placementIds)", nativeQuery = true)
+    List<Object[]> findTimeToPlacementSamples(@Param("placementIds") Collection<String> placementIds);
+
+    // Placements whose time-to-placement depends on these interviews
+    @Query(value = "SELECT p.id FROM placements p WHERE p.interview_id IN (:interviewIds)", nativeQuery = true)
+    List<String> findPlacementIdsByInterviewIds(@Param("interviewIds") Collection<String> interviewIds);
+
+    // Interviews whose time-to-interview depends on this submission's profile received date
+    @Query(value = "SELECT i.interview_id FROM interview_details i WHERE i.candidate_id = :candidateId AND i.job_id = :jobId",
+            nativeQuery = true)
+    List<String> findInterviewIdsBySubmission(@Param("candidateId") String candidateId, @Param("jobId") String jobId);
+}
@@ -0,0 +1,39 @@
+package com.profile.candidate.repository;
+
+import com.profile.candidate.model.LatencySample;
+import com.profile.candidate.model.LatencySampleId;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface LatencySampleRepository extends JpaRepository<LatencySample, LatencySampleId> {
+
+    // Locks the source's row until the transaction ends, creating an empty one (no month) when there is none, so
+    // instances working on the same interview or placement take turns. The no-op update locks an existing row
+    // exclusively; INSERT IGNORE would lock it shared, and two instances holding it would deadlock on findForUpdate
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO latency_samples (metric, source_id, month, recruiter, client, hours) " +
+            "VALUES (:metric, :sourceId, NULL, NULL, NULL, 0) " +
+            "ON DUPLICATE KEY UPDATE metric = metric", nativeQuery = true)
+    int lock(@Param("metric") String metric, @Param("sourceId") String sourceId);
+
+    // The rows lock() locked
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM LatencySample s WHERE s.id.metric = :metric AND s.id.sourceId IN :sourceIds")
+    List<LatencySample> findForUpdate(@Param("metric") String metric, @Param("sourceIds") Collection<String> sourceIds);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM latency_samples", nativeQuery = true)
+    int deleteAllSamples();
+}
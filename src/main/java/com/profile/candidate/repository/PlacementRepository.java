@@ -39,6 +39,17 @@ public interface PlacementRepository extends JpaRepository<PlacementDetails, Str
     Object getAllCountsByDateRange(@Param("startDate") LocalDateTime startDate,
                                    @Param("endDate") LocalDateTime endDate);
 
+    // getAllCountsByDateRange without the submission and interview counts, which CurrentMonthSnapshot holds
+    @Query(value = "SELECT " +
+            "(SELECT COUNT(*) FROM requirements_model WHERE requirement_added_time_stamp BETWEEN :startDate AND :endDate) AS requirementsCount, " +
+            "(SELECT COUNT(*) FROM bdm_client WHERE created_at BETWEEN :startDate AND :endDate) AS clientsCount, " +
+            "(SELECT COUNT(*) FROM placements WHERE created_at BETWEEN :startDate AND :endDate) AS placementsCount, " +
+            "(SELECT COUNT(*) FROM bench_details WHERE created_date BETWEEN :startDate AND :endDate) AS benchCount, " +
+            "(SELECT COUNT(*) FROM user_details WHERE created_at BETWEEN :startDate AND :endDate) AS usersCount",
+            nativeQuery = true)
+    Object getOtherCountsByDateRange(@Param("startDate") LocalDateTime startDate,
+                                     @Param("endDate") LocalDateTime endDate);
+
     @Query("SELECT p FROM PlacementDetails p WHERE p.createdAt BETWEEN :startDate AND :endDate")
     List<PlacementDetails> findPlacementsByCreatedAtBetween(
             @Param("startDate") LocalDate startDate,
@@ -0,0 +1,85 @@
+package com.profile.candidate.repository;
+
+import com.profile.candidate.dto.PlacementAnalyticsProjection;
+import com.profile.candidate.model.PlacementRollup;
+import com.profile.candidate.model.PlacementRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface PlacementRollupRepository extends JpaRepository<PlacementRollup, PlacementRollupId> {
+
+    // Adds a delta to one rollup row, creating it on first use; concurrent writers serialize on the row
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO placement_rollups (dimension, dimension_value, month, placements, rated_placements, " +
+            "bill_rate_total, pay_rate_total, gross_profit_total) " +
+            "VALUES (:dimension, :dimensionValue, :month, :placements, :ratedPlacements, :billRate, :payRate, :grossProfit) " +
+            "ON DUPLICATE KEY UPDATE placements = placements + VALUES(placements), " +
+            "rated_placements = rated_placements + VALUES(rated_placements), " +
+            "bill_rate_total = bill_rate_total + VALUES(bill_rate_total), " +
+            "pay_rate_total = pay_rate_total + VALUES(pay_rate_total), " +
+            "gross_profit_total = gross_profit_total + VALUES(gross_profit_total)", nativeQuery = true)
+    int addDelta(@Param("dimension") String dimension,
+                 @Param("dimensionValue") String dimensionValue,
+                 @Param("month") LocalDate month,
+                 @Param("placements") long placements,
+                 @Param("ratedPlacements") long ratedPlacements,
+                 @Param("billRate") BigDecimal billRate,
+                 @Param("payRate") BigDecimal payRate,
+                 @Param("grossProfit") BigDecimal grossProfit);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM placement_rollups", nativeQuery = true)
+    int deleteAllRollups();
+
+    // Recomputes every rollup row from the placements table; must match PlacementRollupService.contribution
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO placement_rollups (dimension, dimension_value, month, placements, rated_placements, " +
+            "bill_rate_total, pay_rate_total, gross_profit_total) " +
+            "SELECT d.dimension, d.dimension_value, d.month, COUNT(*), " +
+            "SUM(CASE WHEN d.bill_rate IS NOT NULL AND d.pay_rate IS NOT NULL THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN d.bill_rate IS NOT NULL AND d.pay_rate IS NOT NULL THEN d.bill_rate ELSE 0 END), " +
+            "SUM(CASE WHEN d.bill_rate IS NOT NULL AND d.pay_rate IS NOT NULL THEN d.pay_rate ELSE 0 END), " +
+            "COALESCE(SUM(d.gross_profit), 0) " +
+            "FROM (SELECT u.dimension, COALESCE(NULLIF(TRIM(u.dimension_value), ''), :none) AS dimension_value, " +
+            "DATE_FORMAT(COALESCE(u.start_date, u.created_at, CURRENT_DATE), '%Y-%m-01') AS month, " +
+            "u.bill_rate, u.pay_rate, u.gross_profit " +
+            "FROM (" +
+            "  SELECT 'client' AS dimension, client_name AS dimension_value, start_date, created_at, bill_rate, pay_rate, gross_profit FROM placements" +
+            "  UNION ALL SELECT 'recruiter', recruiter, start_date, created_at, bill_rate, pay_rate, gross_profit FROM placements" +
+            "  UNION ALL SELECT 'sales', sales, start_date, created_at, bill_rate, pay_rate, gross_profit FROM placements" +
+            "  UNION ALL SELECT 'employmentType', employment_type, start_date, created_at, bill_rate, pay_rate, gross_profit FROM placements" +
+            "  UNION ALL SELECT 'total', 'all', start_date, created_at, bill_rate, pay_rate, gross_profit FROM placements" +
+            ") u" +
+            ") d GROUP BY d.dimension, d.dimension_value, d.month", nativeQuery = true)
+    int rebuildFromPlacements(@Param("none") String none);
+
+    @Query(value = "SELECT dimension_value AS dimensionValue, NULL AS month, SUM(placements) AS placements, " +
+            "SUM(rated_placements) AS ratedPlacements, SUM(bill_rate_total) AS billRateTotal, " +
+            "SUM(pay_rate_total) AS payRateTotal, SUM(gross_profit_total) AS grossProfitTotal " +
+            "FROM placement_rollups WHERE dimension = :dimension AND month BETWEEN :fromMonth AND :toMonth " +
+            "GROUP BY dimension_value HAVING SUM(placements) > 0 ORDER BY grossProfitTotal DESC", nativeQuery = true)
+    List<PlacementAnalyticsProjection> findTotals(@Param("dimension") String dimension,
+                                                  @Param("fromMonth") LocalDate fromMonth,
+                                                  @Param("toMonth") LocalDate toMonth);
+
+    @Query(value = "SELECT dimension_value AS dimensionValue, DATE_FORMAT(month, '%Y-%m') AS month, placements AS placements, " +
+            "rated_placements AS ratedPlacements, bill_rate_total AS billRateTotal, " +
+            "pay_rate_total AS payRateTotal, gross_profit_total AS grossProfitTotal " +
+            "FROM placement_rollups WHERE dimension = :dimension AND month BETWEEN :fromMonth AND :toMonth " +
+            "AND placements > 0 ORDER BY month, gross_profit_total DESC", nativeQuery = true)
+    List<PlacementAnalyticsProjection> findMonthly(@Param("dimension") String dimension,
+                                                   @Param("fromMonth") LocalDate fromMonth,
+                                                   @Param("toMonth") LocalDate toMonth);
+}
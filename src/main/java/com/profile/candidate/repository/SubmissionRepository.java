@@ -3,12 +3,15 @@ package com.profile.candidate.repository;
 import com.profile.candidate.model.CandidateDetails;
 import com.profile.candidate.model.Submissions;
 import jakarta.persistence.Tuple;
+import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface SubmissionRepository extends JpaRepository<Submissions,String> {
@@ -28,6 +31,36 @@ public interface SubmissionRepository extends JpaRepository<Submissions,String>
 
     Submissions findByCandidate_CandidateEmailIdAndJobId(String candidateId, String jobId);
 
+    // Lightweight duplicate checks (no resume blob is loaded)
+    boolean existsByCandidate_CandidateEmailIdAndJobId(String candidateEmailId, String jobId);
+
+    boolean existsByCandidateContactNumberAndJobId(String candidateContactNumber, String jobId);
+
+    // Email, contact number and job of every submission, used to warm the duplicate Bloom filter
+    @Query("SELECT c.candidateEmailId, COALESCE(s.candidateContactNumber, c.contactNumber), s.jobId FROM Submissions s JOIN s.candidate c")
+    List<Object[]> findAllDuplicateKeys();
+
+    // Fills candidate_contact_number for submissions created before the column existed
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE candidate_submissions s JOIN candidates c ON c.candidate_id = s.candidate_id " +
+            "SET s.candidate_contact_number = c.contact_number WHERE s.candidate_contact_number IS NULL", nativeQuery = true)
+    int backfillCandidateContactNumbers();
+
+    // Bulk updates bypass @Version, so the version is bumped here: an edit still holding the old version gets a
+    // stale version error instead of writing back the old contact number. The submission being edited is saved
+    // through the entity and left out, so the version the edit returns stays current.
+    @Modifying
+    @Transactional
+    @Query("UPDATE Submissions s SET s.candidateContactNumber = :contactNumber, s.version = s.version + 1 " +
+            "WHERE s.candidate.candidateId = :candidateId AND s.submissionId <> :excludedSubmissionId")
+    int updateCandidateContactNumber(@Param("candidateId") String candidateId, @Param("contactNumber") String contactNumber,
+                                     @Param("excludedSubmissionId") String excludedSubmissionId);
+
+    // Email, contact number and job of every submission for the given jobs, without loading the resume blobs
+    @Query("SELECT c.candidateEmailId, COALESCE(s.candidateContactNumber, c.contactNumber), s.jobId FROM Submissions s JOIN s.candidate c WHERE s.jobId IN :jobIds")
+    List<Object[]> findCandidateKeysByJobIdIn(@Param("jobIds") Collection<String> jobIds);
+
     @Query("SELECT s.candidate.candidateId FROM Submissions s WHERE s.submissionId = :submissionId")
     String findCandidateIdBySubmissionId(@Param("submissionId") String submissionId);
 
@@ -43,7 +76,9 @@ public interface SubmissionRepository extends JpaRepository<Submissions,String>
                 cs.preferred_location AS preferred_location,
                 DATE_FORMAT(cs.profile_received_date, '%Y-%m-%d') AS profile_received_date,
                 r.job_title AS job_title,
-                r.client_name AS client_name
+                r.client_name AS client_name,
+                cs.version AS version,
+                c.version AS candidate_version
             FROM candidates c
              JOIN candidate_submissions cs ON c.candidate_id = cs.candidate_id
             JOIN requirements_model r ON cs.job_id = r.job_id
@@ -67,7 +102,9 @@ public interface SubmissionRepository extends JpaRepository<Submissions,String>
                 cs.preferred_location AS preferred_location,
                 DATE_FORMAT(cs.profile_received_date, '%Y-%m-%d') AS profile_received_date,
                 r.job_title AS job_title,
-                r.client_name AS client_name
+                r.client_name AS client_name,
+                cs.version AS version,
+                c.version AS candidate_version
             FROM user_details u
             JOIN requirements_model r ON r.assigned_by = u.user_name
             JOIN candidate_submissions cs ON cs.job_id = r.job_id 
@@ -123,6 +160,29 @@ public interface SubmissionRepository extends JpaRepository<Submissions,String>
 
     List<Submissions> findByProfileReceivedDateBetween(LocalDate start, LocalDate end);
 
+    // Submissions received or submitted in a range, without the resume, for CurrentMonthSnapshot
+    @Query("SELECT s.submissionId, s.candidate.candidateId, s.jobId, s.clientName, s.profileReceivedDate, s.submittedAt, " +
+            "s.preferredLocation, s.skills, s.communicationSkills, s.requiredTechnologiesRating, s.overallFeedback, s.recruiterName, s.version " +
+            "FROM Submissions s WHERE s.profileReceivedDate BETWEEN :startDate AND :endDate " +
+            "OR s.submittedAt BETWEEN :startDateTime AND :endDateTime")
+    List<Object[]> findSnapshotRows(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate,
+                                    @Param("startDateTime") LocalDateTime startDateTime,
+                                    @Param("endDateTime") LocalDateTime endDateTime);
+
+    @Query("SELECT c FROM CandidateDetails c WHERE c.candidateId IN (SELECT s.candidate.candidateId FROM Submissions s " +
+            "WHERE s.profileReceivedDate BETWEEN :startDate AND :endDate OR s.submittedAt BETWEEN :startDateTime AND :endDateTime)")
+    List<CandidateDetails> findSnapshotCandidates(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate,
+                                                  @Param("startDateTime") LocalDateTime startDateTime,
+                                                  @Param("endDateTime") LocalDateTime endDateTime);
+
+    // Ids of all submissions, for ResumeSearchIndex reindexing
+    @Query("SELECT s.submissionId FROM Submissions s")
+    List<String> findAllSubmissionIds();
+
+    // Candidate id and resume of a submission, for ResumeSearchIndex
+    @Query("SELECT s.candidate.candidateId, s.resume FROM Submissions s WHERE s.submissionId = :submissionId")
+    List<Object[]> findResumeBySubmissionId(@Param("submissionId") String submissionId);
+
 
 
 }
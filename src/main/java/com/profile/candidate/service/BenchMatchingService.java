@@ -0,0 +1,363 @@
+package com.profile.candidate.service;
+
+import com.profile.candidate.dto.BenchDetailsDto;
+import com.profile.candidate.dto.BenchMatchDto;
+import com.profile.candidate.dto.RequirementMatchProjection;
+import com.profile.candidate.exceptions.JobNotFoundException;
+import com.profile.candidate.repository.BenchRepository;
+import com.profile.candidate.repository.CandidateRepository;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// Ranks the bench against a requirement. Each bench record is scored on its coverage of the job's skills, its total
+// experience against the required range and how many of the skills named in the job title it has; a component the
+// job does not specify is left out of the score. requirements_model has no skills column: the job's skills are the
+// skills somebody on the bench has that its description names.
+//
+// Scoring reads BenchSkillIndex (skill bitmaps and experience per record number, already in memory). The job's
+// bitmaps, the live records and the experience are copied while the index is held, so index updates only wait for
+// the copy and not for the scoring. The record numbers are then split into ranges scored in parallel on the
+// fork/join pool; each range counts skill hits by walking the job's skill bitmaps over its own numbers and keeps its
+// own top K, and the ranges' top K are merged. Only the K best records are then read from bench_details.
+@Service
+public class BenchMatchingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BenchMatchingService.class);
+
+    private static final double SKILL_WEIGHT = 0.6;
+    private static final double EXPERIENCE_WEIGHT = 0.25;
+    private static final double TITLE_WEIGHT = 0.15;
+    // Record numbers per fork/join leaf
+    private static final int LEAF_SIZE = 4096;
+    public static final int MAX_K = 200;
+
+    // Read by CandidateRepository.findRequirementForMatching
+    private static final List<String> REQUIREMENT_COLUMNS = List.of("job_id", "job_title", "job_description", "experience_required");
+    private static final Pattern NUMBER = Pattern.compile("\\d+(\\.\\d+)?");
+    private static final Pattern TITLE_SEPARATORS = Pattern.compile("[^a-z0-9+#.]+");
+    private static final Pattern TRAILING_DOTS = Pattern.compile("\\.+$");
+
+    @Autowired
+    private BenchSkillIndex benchSkillIndex;
+
+    @Autowired
+    private BenchRepository benchRepository;
+
+    @Autowired
+    private CandidateRepository candidateRepository;
+
+    private volatile boolean requirementColumnsChecked;
+
+    // The k best bench matches for the job. skills, minExperience and maxExperience replace what the requirement
+    // says; with skills given, the job does not have to exist in requirements_model.
+    @Transactional(readOnly = true)
+    public List<BenchMatchDto> match(String jobId, List<String> skills, BigDecimal minExperience,
+                                     BigDecimal maxExperience, int k) {
+        long start = System.nanoTime();
+        RequirementMatchProjection requirement = requirement(jobId);
+        boolean skillsGiven = skills != null && !skills.isEmpty();
+        if (requirement == null && !skillsGiven) {
+            throw new JobNotFoundException("No requirement found with jobId " + jobId);
+        }
+
+        Set<String> givenSkills = new LinkedHashSet<>();
+        if (skillsGiven) {
+            skills.forEach(skill -> givenSkills.addAll(BenchSkillIndex.terms(skill)));
+        }
+        Float min = minExperience != null ? minExperience.floatValue() : null;
+        Float max = maxExperience != null ? maxExperience.floatValue() : null;
+        if (min == null && max == null && requirement != null) {
+            float[] range = experienceRange(requirement.getExperienceRequired());
+            min = range == null ? null : range[0];
+            max = range == null || range.length < 2 ? null : range[1];
+        }
+        if (min != null && max != null && min > max) {
+            throw new IllegalArgumentException("minExperience cannot be greater than maxExperience.");
+        }
+        String title = requirement == null ? null : requirement.getJobTitle();
+        String description = requirement == null ? null : requirement.getJobDescription();
+        Float minYears = min;
+        Float maxYears = max;
+
+        Job job = benchSkillIndex.read(index -> new Job(index, skillsGiven ? givenSkills : knownSkills(index, description),
+                knownSkills(index, title), minYears, maxYears));
+        if (!job.hasSkills() && !job.hasExperience() && !job.hasTitle()) {
+            throw new IllegalArgumentException("Requirement " + jobId + " has no skills, experience or known title skills to match on.");
+        }
+        List<Scored> top = new ArrayList<>(ForkJoinPool.commonPool().invoke(new ScoreTask(job, k, 0, job.benchIds.length)));
+        top.sort(Scored.BEST_FIRST);
+        top.forEach(scored -> scored.describe(job));
+
+        Map<String, BenchDetailsDto> bench = top.isEmpty() ? Map.of()
+                : benchRepository.findDtosByIdIn(top.stream().map(scored -> scored.benchId).toList()).stream()
+                .collect(Collectors.toMap(BenchDetailsDto::getId, Function.identity(), (a, b) -> a));
+        List<BenchMatchDto> matches = new ArrayList<>(top.size());
+        for (Scored scored : top) {
+            BenchDetailsDto dto = bench.get(scored.benchId);
+            if (dto != null) {
+                matches.add(new BenchMatchDto(dto.getId(), dto.getFullName(), dto.getEmail(), dto.getTotalExperience(),
+                        dto.getRelevantExperience(), dto.getTechnology(),
+                        BigDecimal.valueOf(scored.score * 100).setScale(2, RoundingMode.HALF_UP),
+                        scored.matchedSkills, scored.missingSkills));
+            }
+        }
+        logger.info("Matched bench to job {}: {} results in {} ms", jobId, matches.size(), (System.nanoTime() - start) / 1_000_000);
+        return matches;
+    }
+
+    // null when the job does not exist
+    private RequirementMatchProjection requirement(String jobId) {
+        checkRequirementColumns();
+        return candidateRepository.findRequirementForMatching(jobId).orElse(null);
+    }
+
+    // requirements_model is owned by the requirements service: a renamed or dropped column is reported by name
+    // instead of surfacing as a SQL grammar error (or, worse, as jobs that silently match on nothing)
+    private void checkRequirementColumns() {
+        if (requirementColumnsChecked) {
+            return;
+        }
+        List<String> columns = candidateRepository.findRequirementColumnNames();
+        List<String> missing = REQUIREMENT_COLUMNS.stream().filter(column -> !columns.contains(column)).toList();
+        if (!missing.isEmpty()) {
+            logger.error("requirements_model is missing the columns {} that bench matching reads", missing);
+            throw new IllegalStateException("Bench matching is unavailable: requirements_model has no column(s) " + missing);
+        }
+        requirementColumnsChecked = true;
+    }
+
+    // "5" -> [5], "3-5 years" -> [3, 5], "5+ yrs" -> [5]; null without a number
+    static float[] experienceRange(String experience) {
+        if (experience == null) {
+            return null;
+        }
+        Matcher matcher = NUMBER.matcher(experience);
+        List<Float> numbers = new ArrayList<>(2);
+        while (numbers.size() < 2 && matcher.find()) {
+            numbers.add(Float.parseFloat(matcher.group()));
+        }
+        if (numbers.isEmpty()) {
+            return null;
+        }
+        return numbers.size() == 1 ? new float[]{numbers.get(0)}
+                : new float[]{Math.min(numbers.get(0), numbers.get(1)), Math.max(numbers.get(0), numbers.get(1))};
+    }
+
+    // Words and two-word phrases of the text that are skills somebody on the bench has
+    // ("Senior Java Developer" -> java, "Spring Boot and SQL." -> spring boot, sql)
+    private static Set<String> knownSkills(BenchSkillIndex.Index index, String text) {
+        Set<String> skills = new LinkedHashSet<>();
+        String normalized = BenchSkillIndex.normalize(text);
+        if (normalized == null) {
+            return skills;
+        }
+        String previous = null;
+        for (String word : TITLE_SEPARATORS.split(normalized)) {
+            // A full stop ends a sentence, not a skill ("node.js" keeps its dot)
+            String skill = TRAILING_DOTS.matcher(word).replaceAll("");
+            if (skill.isEmpty()) {
+                previous = null;
+                continue;
+            }
+            if (previous != null && index.docsWith(previous + " " + skill) != null) {
+                skills.add(previous + " " + skill);
+            }
+            if (index.docsWith(skill) != null) {
+                skills.add(skill);
+            }
+            previous = skill.length() == word.length() ? skill : null;
+        }
+        return skills;
+    }
+
+    // What is scored against, with copies of the index's bitmaps and experience so it can be used after read returns
+    private static final class Job {
+        private final Set<String> skills;
+        private final Map<String, RoaringBitmap> skillBitmaps = new LinkedHashMap<>();
+        private final List<RoaringBitmap> titleBitmaps = new ArrayList<>();
+        private final RoaringBitmap live;
+        private final float[] totalExperience;
+        private final String[] benchIds;
+        private final Float minExperience;
+        private final Float maxExperience;
+
+        Job(BenchSkillIndex.Index index, Set<String> skills, Set<String> titleSkills, Float minExperience, Float maxExperience) {
+            this.skills = skills;
+            for (String skill : skills) {
+                RoaringBitmap bitmap = index.docsWith(skill);
+                if (bitmap != null) {
+                    skillBitmaps.put(skill, bitmap.clone());
+                }
+            }
+            titleSkills.forEach(skill -> titleBitmaps.add(index.docsWith(skill).clone()));
+            this.live = index.live().clone();
+            this.totalExperience = index.totalExperienceCopy();
+            this.benchIds = index.benchIdsCopy();
+            this.minExperience = minExperience;
+            this.maxExperience = maxExperience;
+        }
+
+        int skillCount() {
+            return skills.size();
+        }
+
+        boolean hasSkills() {
+            return !skills.isEmpty();
+        }
+
+        boolean hasExperience() {
+            return minExperience != null || maxExperience != null;
+        }
+
+        boolean hasTitle() {
+            return !titleBitmaps.isEmpty();
+        }
+
+        // 1 within the range; below it in proportion to the minimum, above it decaying to 0.5 at twice the maximum
+        double experienceScore(float years) {
+            if (Float.isNaN(years)) {
+                return 0;
+            }
+            if (minExperience != null && years < minExperience) {
+                return minExperience <= 0 ? 1 : years / minExperience;
+            }
+            if (maxExperience != null && years > maxExperience) {
+                return Math.max(0.5, 1 - 0.5 * (years - maxExperience) / Math.max(maxExperience, 1f));
+            }
+            return 1;
+        }
+    }
+
+    // Top k of the record numbers [from, to), split in halves down to LEAF_SIZE
+    private static final class ScoreTask extends RecursiveTask<PriorityQueue<Scored>> {
+        private final Job job;
+        private final int k;
+        private final int from;
+        private final int to;
+
+        ScoreTask(Job job, int k, int from, int to) {
+            this.job = job;
+            this.k = k;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected PriorityQueue<Scored> compute() {
+            if (to - from <= LEAF_SIZE) {
+                return scoreRange();
+            }
+            int middle = (from + to) >>> 1;
+            ScoreTask left = new ScoreTask(job, k, from, middle);
+            left.fork();
+            PriorityQueue<Scored> top = new ScoreTask(job, k, middle, to).compute();
+            for (Scored scored : left.join()) {
+                offer(top, scored);
+            }
+            return top;
+        }
+
+        private PriorityQueue<Scored> scoreRange() {
+            int[] skillHits = new int[to - from];
+            int[] titleHits = new int[to - from];
+            job.skillBitmaps.values().forEach(bitmap -> count(bitmap, skillHits));
+            job.titleBitmaps.forEach(bitmap -> count(bitmap, titleHits));
+
+            PriorityQueue<Scored> top = new PriorityQueue<>(k + 1, Scored.WORST_FIRST);
+            PeekableIntIterator docs = job.live.getIntIterator();
+            docs.advanceIfNeeded(from);
+            while (docs.hasNext() && docs.peekNext() < to) {
+                int doc = docs.next();
+                int hits = skillHits[doc - from];
+                // With job skills, a record sharing none of them is not a match
+                if (job.hasSkills() && hits == 0) {
+                    continue;
+                }
+                double score = 0;
+                double weights = 0;
+                if (job.hasSkills()) {
+                    score += SKILL_WEIGHT * hits / job.skillCount();
+                    weights += SKILL_WEIGHT;
+                }
+                if (job.hasExperience()) {
+                    score += EXPERIENCE_WEIGHT * job.experienceScore(job.totalExperience[doc]);
+                    weights += EXPERIENCE_WEIGHT;
+                }
+                if (job.hasTitle()) {
+                    score += TITLE_WEIGHT * titleHits[doc - from] / job.titleBitmaps.size();
+                    weights += TITLE_WEIGHT;
+                }
+                offer(top, new Scored(doc, score / weights));
+            }
+            return top;
+        }
+
+        private void count(RoaringBitmap bitmap, int[] hits) {
+            PeekableIntIterator docs = bitmap.getIntIterator();
+            docs.advanceIfNeeded(from);
+            while (docs.hasNext() && docs.peekNext() < to) {
+                hits[docs.next() - from]++;
+            }
+        }
+
+        private void offer(PriorityQueue<Scored> top, Scored scored) {
+            if (top.size() < k) {
+                top.add(scored);
+            } else if (Scored.WORST_FIRST.compare(scored, top.peek()) > 0) {
+                top.poll();
+                top.add(scored);
+            }
+        }
+    }
+
+    private static final class Scored {
+        // Higher score first, then the record indexed first
+        static final Comparator<Scored> BEST_FIRST = Comparator.comparingDouble((Scored scored) -> scored.score).reversed()
+                .thenComparingInt(scored -> scored.doc);
+        static final Comparator<Scored> WORST_FIRST = BEST_FIRST.reversed();
+
+        private final int doc;
+        private final double score;
+        private String benchId;
+        private List<String> matchedSkills;
+        private List<String> missingSkills;
+
+        Scored(int doc, double score) {
+            this.doc = doc;
+            this.score = score;
+        }
+
+        void describe(Job job) {
+            benchId = job.benchIds[doc];
+            matchedSkills = job.skills.stream().filter(skill -> has(job, skill)).toList();
+            missingSkills = job.skills.stream().filter(skill -> !has(job, skill)).toList();
+        }
+
+        private boolean has(Job job, String skill) {
+            RoaringBitmap bitmap = job.skillBitmaps.get(skill);
+            return bitmap != null && bitmap.contains(doc);
+        }
+    }
+}
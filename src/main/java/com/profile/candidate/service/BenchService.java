@@ -1,46 +1,75 @@
 package com.profile.candidate.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.profile.candidate.dto.BenchDetailsDto;
+import com.profile.candidate.dto.BulkImportResponseDto;
 import com.profile.candidate.exceptions.DateRangeValidationException;
 import com.profile.candidate.model.BenchDetails;
 import com.profile.candidate.repository.BenchRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 @Service
 public class BenchService {
     private final BenchRepository benchRepository;
+    private final TransactionTemplate transactionTemplate;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private BenchSkillIndex benchSkillIndex;
+
+    @Value("${candidate.bulk-import.chunk-size:200}")
+    private int chunkSize;
 
     private static final Logger logger = LoggerFactory.getLogger(BenchService.class);
 
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final long MAX_RESUME_SIZE = 10 * 1024 * 1024; // 10 MB per resume in the bulk ZIP
+    private static final int IN_CLAUSE_SIZE = 1000;
+    private static final String EMAIL_PATTERN = "^[A-Za-z0-9+_.-]+@(.+)$";
+    private static final String CONTACT_NUMBER_PATTERN = "^\\+?[0-9. ()-]{7,15}$"; // Same rule as BenchDetails.contactNumber
+
     @Autowired
-    public BenchService(BenchRepository benchRepository) {
+    public BenchService(BenchRepository benchRepository, PlatformTransactionManager transactionManager) {
         this.benchRepository = benchRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
+    @Transactional(readOnly = true)
     public List<BenchDetails> findAllBenchDetails() {
         return benchRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Optional<BenchDetails> findBenchDetailsById(String id) {
         return benchRepository.findById(id);
     }
 
+    @Transactional(readOnly = true)
     public Optional<BenchDetails> findBenchDetailsByEmail(String email) {
         return benchRepository.findByEmail(email);
     }
 
+    @Transactional(readOnly = true)
     public List<BenchDetails> findBenchDetailsByReferredBy(String referredBy) {
         return benchRepository.findByReferredBy(referredBy);
 
@@ -48,18 +77,17 @@ public class BenchService {
     }
 
     private String generateCustomId() {
-        // Fetch all existing Bench IDs that follow the pattern "BENCH###"
-        List<Integer> existingNumbers = benchRepository.findAll().stream()
-                .map(BenchDetails::getId)
-                .filter(id -> id != null && id.matches("BENCH\\d{3}"))  // Filter only valid "BENCH###" IDs
-                .map(id -> Integer.parseInt(id.replace("BENCH", "")))  // Extract number
-                .toList();
-
-        // Find the highest existing number
-        int nextNumber = existingNumbers.stream().max(Integer::compare).orElse(0) + 1;
+        return allocateIds(1).get(0);
+    }
 
-        // ✅ Generate new ID in "BENCH001" format
-        return String.format("BENCH%03d", nextNumber);
+    // ✅ Hand out a block of consecutive "BENCH###" ids with one MAX() query instead of loading every bench row
+    List<String> allocateIds(int count) {
+        long nextNumber = Optional.ofNullable(benchRepository.findMaxBenchNumber()).orElse(0L) + 1;
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(String.format("BENCH%03d", nextNumber + i));
+        }
+        return ids;
     }
 
 
@@ -99,9 +127,193 @@ public class BenchService {
     }
 
 
+    // ✅ Bulk onboarding from a JSON array
+    public BulkImportResponseDto saveBenchDetailsBulk(List<BenchDetails> benchList) {
+        return importBench(benchList, new String[benchList.size()]);
+    }
+
+    // ✅ Bulk onboarding from a CSV (same fields as /bench/save, skills as a JSON array or separated by ';')
+    // plus an optional ZIP of resumes referenced by the resumeFileName column
+    public BulkImportResponseDto importBenchCsv(MultipartFile csvFile, MultipartFile resumesZip) throws IOException {
+        List<Map<String, String>> rows = BulkImportSupport.readCsv(csvFile);
+        Map<String, byte[]> resumes = BulkImportSupport.readResumeArchive(resumesZip, MAX_RESUME_SIZE);
+        List<BenchDetails> benchList = new ArrayList<>(rows.size());
+        String[] errors = new String[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            try {
+                benchList.add(toBenchDetails(rows.get(i), resumes));
+            } catch (IllegalArgumentException e) {
+                benchList.add(null);
+                errors[i] = e.getMessage();
+            }
+        }
+        return importBench(benchList, errors);
+    }
+
+    private BulkImportResponseDto importBench(List<BenchDetails> benchList, String[] errors) {
+        BulkImportResponseDto.RowResult[] results = new BulkImportResponseDto.RowResult[benchList.size()];
+
+        // ✅ Validate rows and reject duplicates inside the batch itself
+        List<Integer> candidates = new ArrayList<>();
+        Set<String> batchEmails = new HashSet<>();
+        Set<String> batchContactNumbers = new HashSet<>();
+        for (int i = 0; i < benchList.size(); i++) {
+            BenchDetails bench = benchList.get(i);
+            String error = errors[i] != null ? errors[i] : validateBenchDetails(bench);
+            if (error == null && batchEmails.contains(bench.getEmail().toLowerCase(Locale.ROOT))) {
+                error = "Duplicate entry: Email already exists -> " + bench.getEmail();
+            } else if (error == null && batchContactNumbers.contains(bench.getContactNumber())) {
+                error = "Duplicate entry: Contact number already exists -> " + bench.getContactNumber();
+            }
+            if (error != null) {
+                results[i] = new BulkImportResponseDto.RowResult(i + 1, "Error", null, null, error);
+                continue;
+            }
+            batchEmails.add(bench.getEmail().toLowerCase(Locale.ROOT));
+            batchContactNumbers.add(bench.getContactNumber());
+            candidates.add(i);
+        }
+
+        // ✅ Check the whole batch against the table with IN queries instead of two exists queries per row
+        Set<String> existingEmails = new HashSet<>();
+        Set<String> existingContactNumbers = new HashSet<>();
+        List<String> emails = new ArrayList<>(batchEmails);
+        List<String> contactNumbers = new ArrayList<>(batchContactNumbers);
+        for (int start = 0; start < emails.size(); start += IN_CLAUSE_SIZE) {
+            benchRepository.findExistingEmails(emails.subList(start, Math.min(start + IN_CLAUSE_SIZE, emails.size())))
+                    .forEach(email -> existingEmails.add(email.toLowerCase(Locale.ROOT)));
+        }
+        for (int start = 0; start < contactNumbers.size(); start += IN_CLAUSE_SIZE) {
+            existingContactNumbers.addAll(benchRepository.findExistingContactNumbers(
+                    contactNumbers.subList(start, Math.min(start + IN_CLAUSE_SIZE, contactNumbers.size()))));
+        }
+        List<Integer> accepted = new ArrayList<>();
+        for (Integer i : candidates) {
+            BenchDetails bench = benchList.get(i);
+            if (existingEmails.contains(bench.getEmail().toLowerCase(Locale.ROOT))) {
+                results[i] = new BulkImportResponseDto.RowResult(i + 1, "Error", null, null,
+                        "Duplicate entry: Email already exists -> " + bench.getEmail());
+            } else if (existingContactNumbers.contains(bench.getContactNumber())) {
+                results[i] = new BulkImportResponseDto.RowResult(i + 1, "Error", null, null,
+                        "Duplicate entry: Contact number already exists -> " + bench.getContactNumber());
+            } else {
+                accepted.add(i);
+            }
+        }
+
+        // ✅ Allocate ids for the whole batch at once. Ids in the request are ignored: they are not checked against
+        // each other, the table or the allocated block, so a duplicate would fail its whole chunk
+        Iterator<String> ids = allocateIds(accepted.size()).iterator();
+        for (Integer i : accepted) {
+            BenchDetails bench = benchList.get(i);
+            bench.setId(ids.next());
+            bench.setCreatedDate(LocalDate.now());
+        }
+
+        // ✅ Insert in chunks, one transaction each, flushed as JDBC batches
+        for (int start = 0; start < accepted.size(); start += chunkSize) {
+            List<Integer> chunk = accepted.subList(start, Math.min(start + chunkSize, accepted.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    // persist() rather than save(): the id is assigned, so save() would merge and SELECT each row first
+                    chunk.forEach(i -> entityManager.persist(benchList.get(i)));
+                    entityManager.flush();
+                    entityManager.clear();
+                });
+                for (Integer i : chunk) {
+                    results[i] = new BulkImportResponseDto.RowResult(i + 1, "Success", benchList.get(i).getId(), null, null);
+                }
+            } catch (RuntimeException e) {
+                logger.error("Bulk bench chunk starting at row {} failed: {}", chunk.get(0) + 1, e.getMessage(), e);
+                for (Integer i : chunk) {
+                    results[i] = new BulkImportResponseDto.RowResult(i + 1, "Error", null, null,
+                            "Row could not be saved: " + e.getMessage());
+                }
+            }
+        }
+
+        List<BulkImportResponseDto.RowResult> rowResults = Arrays.asList(results);
+        int successCount = (int) rowResults.stream().filter(r -> "Success".equals(r.getStatus())).count();
+        int failureCount = rowResults.size() - successCount;
+        logger.info("Bulk bench import finished: {} saved, {} rejected", successCount, failureCount);
+        String status = failureCount == 0 ? "Success" : successCount == 0 ? "Error" : "Partial";
+        return new BulkImportResponseDto(status, successCount + " of " + rowResults.size() + " bench records saved.",
+                rowResults.size(), successCount, failureCount, rowResults);
+    }
+
+    // Returns the first validation error of a row, or null when the row can be saved
+    private String validateBenchDetails(BenchDetails bench) {
+        if (bench == null) {
+            return "Row is empty.";
+        }
+        if (bench.getFullName() == null || bench.getFullName().isBlank()) {
+            return "Full name is required";
+        }
+        if (bench.getEmail() == null || !bench.getEmail().matches(EMAIL_PATTERN)) {
+            return "Email should be valid";
+        }
+        if (bench.getContactNumber() == null || !bench.getContactNumber().matches(CONTACT_NUMBER_PATTERN)) {
+            return "Contact number must be valid";
+        }
+        return null;
+    }
+
+    private BenchDetails toBenchDetails(Map<String, String> row, Map<String, byte[]> resumes) {
+        BenchDetails benchDetails = new BenchDetails();
+        benchDetails.setFullName(row.get("fullName"));
+        benchDetails.setEmail(row.get("email"));
+        benchDetails.setRelevantExperience(parseDecimal(row.get("relevantExperience"), "relevantExperience"));
+        benchDetails.setTotalExperience(parseDecimal(row.get("totalExperience"), "totalExperience"));
+        benchDetails.setContactNumber(row.get("contactNumber"));
+        benchDetails.setSkills(parseSkills(row.get("skills")));
+        benchDetails.setLinkedin(row.get("linkedin"));
+        benchDetails.setReferredBy(row.get("referredBy"));
+        benchDetails.setTechnology(row.get("technology"));
+
+        String resumeFileName = row.get("resumeFileName");
+        if (resumeFileName != null) {
+            String resumeKey = resumeFileName.toLowerCase(Locale.ROOT);
+            if (!resumes.containsKey(resumeKey)) {
+                throw new IllegalArgumentException("Resume " + resumeFileName + " was not found in the ZIP file.");
+            }
+            if (resumes.get(resumeKey) == null) {
+                throw new IllegalArgumentException("Resume " + resumeFileName + " exceeds the maximum allowed size of 10 MB.");
+            }
+            benchDetails.setResume(resumes.get(resumeKey));
+        }
+        return benchDetails;
+    }
+
+    private BigDecimal parseDecimal(String value, String field) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(field + " must be a number.");
+        }
+    }
+
+    private List<String> parseSkills(String skills) {
+        if (skills == null) {
+            return Collections.emptyList();
+        }
+        if (skills.startsWith("[")) {
+            try {
+                return objectMapper.readValue(skills, new TypeReference<List<String>>() {});
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Invalid JSON format for skills: " + e.getOriginalMessage());
+            }
+        }
+        return Arrays.stream(skills.split(";")).map(String::trim).filter(skill -> !skill.isEmpty()).toList();
+    }
+
+
     @Transactional
-    public BenchDetails updateBenchDetails(String id, BenchDetails benchDetails) {
+    public BenchDetails updateBenchDetails(String id, BenchDetails benchDetails, Long expectedVersion) {
         return benchRepository.findById(id).map(existingBench -> {
+            RecordVersion.check("bench record", id, expectedVersion, existingBench.getVersion());
             // ✅ Check for duplicate fullName, email, or contactNumber (excluding the current ID)
 //            if (benchDetails.getFullName() != null && benchRepository.existsByFullNameAndIdNot(benchDetails.getFullName(), id)) {
 //                throw new IllegalArgumentException("Duplicate entry: Full Name already exists.");
@@ -131,19 +343,20 @@ public class BenchService {
             if (benchDetails.getReferredBy() != null) existingBench.setReferredBy(benchDetails.getReferredBy());
             if (benchDetails.getTechnology() != null) existingBench.setTechnology(benchDetails.getTechnology());
 
-            return benchRepository.save(existingBench);
+            // Flushed here so the response carries the new version
+            return benchRepository.saveAndFlush(existingBench);
         }).orElseThrow(() -> new IllegalArgumentException("BenchDetails with ID " + id + " not found"));
     }
 
 
     @Transactional
     public void deleteBenchDetailsById(String id) {
-        if (!benchRepository.existsById(id)) {
-            throw new RuntimeException("Bench details with ID " + id + " not found.");
-        }
+        // Deleted as an entity so the committed delete reaches the change version and the skill index
+        BenchDetails existing = benchRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Bench details with ID " + id + " not found."));
 
         try {
-            benchRepository.deleteByIdIgnoreCase(id);
+            benchRepository.delete(existing);
             System.out.println("Successfully deleted BenchDetails with ID: " + id);
         } catch (Exception e) {
             throw new RuntimeException("Error while deleting BenchDetails with ID: " + id + " -> " + e.getMessage());
@@ -158,6 +371,41 @@ public class BenchService {
         return benchRepository.existsByEmail(email);
     }
 
+    // Bench records by skills (all of allSkills, any of anySkills) and experience ranges, via BenchSkillIndex
+    @Transactional(readOnly = true)
+    public List<BenchDetailsDto> searchBench(List<String> allSkills, List<String> anySkills,
+                                             BigDecimal minTotalExperience, BigDecimal maxTotalExperience,
+                                             BigDecimal minRelevantExperience, BigDecimal maxRelevantExperience) {
+        if (minTotalExperience != null && maxTotalExperience != null && minTotalExperience.compareTo(maxTotalExperience) > 0) {
+            throw new IllegalArgumentException("minTotalExperience cannot be greater than maxTotalExperience.");
+        }
+        if (minRelevantExperience != null && maxRelevantExperience != null && minRelevantExperience.compareTo(maxRelevantExperience) > 0) {
+            throw new IllegalArgumentException("minRelevantExperience cannot be greater than maxRelevantExperience.");
+        }
+        List<String> ids = benchSkillIndex.search(allSkills, anySkills, minTotalExperience, maxTotalExperience,
+                minRelevantExperience, maxRelevantExperience);
+
+        Map<String, BenchDetailsDto> byId = new HashMap<>();
+        for (int i = 0; i < ids.size(); i += IN_CLAUSE_SIZE) {
+            for (BenchDetailsDto dto : benchRepository.findDtosByIdIn(ids.subList(i, Math.min(ids.size(), i + IN_CLAUSE_SIZE)))) {
+                if (dto.getSkills() == null) {
+                    dto.setSkills(Collections.emptyList());
+                }
+                byId.put(dto.getId(), dto);
+            }
+        }
+        // In index order; records deleted since the index was read are skipped
+        List<BenchDetailsDto> results = new ArrayList<>(byId.size());
+        for (String id : ids) {
+            BenchDetailsDto dto = byId.get(id);
+            if (dto != null) {
+                results.add(dto);
+            }
+        }
+        return results;
+    }
+
+    @Transactional(readOnly = true)
     public List<BenchDetails> findBenchDetailsByDateRange(LocalDate startDate, LocalDate endDate) {
         try {
             // ✅ Optional: Cap the date range to 31 days
@@ -189,6 +437,7 @@ public class BenchService {
             throw new RuntimeException("Something went wrong while processing your request. Please try again later.");
         }
     }
+    @Transactional(readOnly = true)
     public BenchDetailsDto getBenchById(String benchId) {
         Optional<BenchDetails> optionalBench = benchRepository.findById(benchId);
         if (optionalBench.isPresent()) {
@@ -207,6 +456,7 @@ public class BenchService {
             dto.setReferredBy(bench.getReferredBy());
             dto.setCreatedDate(bench.getCreatedDate());
             dto.setTechnology(bench.getTechnology());
+            dto.setVersion(bench.getVersion());
 
             return dto;
         } else {
@@ -0,0 +1,345 @@
+package com.profile.candidate.service;
+
+import com.profile.candidate.configurations.EntityChangedEvent;
+import com.profile.candidate.model.BenchDetails;
+import com.profile.candidate.repository.BenchRepository;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+// Inverted index of the bench by skill: every normalized skill maps to a compressed bitmap (RoaringBitmap) of the
+// bench records that have it, so AND/OR skill searches are bitmap intersections and unions instead of a scan of
+// bench_details. Skills come from BenchDetails.skills and the free-text technology; values listing several skills
+// ("Java, Spring") are indexed whole and per part. Experience is kept per record for the range filters.
+//
+// Built from the database on the first search (or after startup) and then kept in step with committed bench
+// inserts, updates and deletes (EntityChangedEvent). Rebuilt after refresh-interval, which also picks up writes of
+// other instances and compacts the slots of deleted records.
+@Component
+public class BenchSkillIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(BenchSkillIndex.class);
+
+    private static final Pattern SEPARATORS = Pattern.compile("[,;/|]");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    @Autowired
+    private BenchRepository benchRepository;
+
+    @Autowired
+    private SingleFlight singleFlight;
+
+    @Value("${candidate.bench-search.refresh-interval:10m}")
+    private Duration refreshInterval;
+
+    private volatile Index index;
+    // Set while a build runs: changes committed meanwhile, replayed on top of it
+    private List<Change> pendingChanges;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        Thread loader = new Thread(() -> {
+            try {
+                current();
+            } catch (Exception e) {
+                logger.error("Failed to build the bench skill index: {}", e.getMessage(), e);
+            }
+        }, "bench-skill-index-load");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    // Ids of the bench records having all of allSkills and at least one of anySkills (either may be empty), with
+    // total and relevant experience within the given bounds (null for unbounded), in the order they were indexed
+    public List<String> search(Collection<String> allSkills, Collection<String> anySkills,
+                               BigDecimal minTotalExperience, BigDecimal maxTotalExperience,
+                               BigDecimal minRelevantExperience, BigDecimal maxRelevantExperience) {
+        Index current = current();
+        Set<String> all = normalizeAll(allSkills);
+        Set<String> any = normalizeAll(anySkills);
+        List<String> benchIds = new ArrayList<>();
+        synchronized (this) {
+            RoaringBitmap matches = current.live.clone();
+            for (String skill : all) {
+                RoaringBitmap bitmap = current.bySkill.get(skill);
+                if (bitmap == null) {
+                    return benchIds;
+                }
+                matches.and(bitmap);
+            }
+            if (!any.isEmpty()) {
+                matches.and(RoaringBitmap.or(any.stream().map(current.bySkill::get).filter(Objects::nonNull).iterator()));
+            }
+            matches.forEach((int doc) -> {
+                if (within(current.totalExperience[doc], minTotalExperience, maxTotalExperience)
+                        && within(current.relevantExperience[doc], minRelevantExperience, maxRelevantExperience)) {
+                    benchIds.add(current.benchIds.get(doc));
+                }
+            });
+        }
+        return benchIds;
+    }
+
+    @EventListener
+    public synchronized void onEntityChanged(EntityChangedEvent event) {
+        if (!(event.getEntity() instanceof BenchDetails bench) || bench.getId() == null) {
+            return;
+        }
+        Change change = event.getType() == EntityChangedEvent.Type.DELETE
+                ? new Change(bench.getId(), null)
+                : new Change(bench.getId(), entry(bench.getSkills(), bench.getTechnology(),
+                        bench.getTotalExperience(), bench.getRelevantExperience()));
+        if (pendingChanges != null) {
+            pendingChanges.add(change);
+        }
+        if (index != null) {
+            index.apply(change);
+        }
+    }
+
+    // Runs reader over the current index with changes held back until it returns
+    <T> T read(Function<Index, T> reader) {
+        Index current = current();
+        synchronized (this) {
+            return reader.apply(current);
+        }
+    }
+
+    private Index current() {
+        Index current = index;
+        if (current == null || System.nanoTime() - current.loadedAt > refreshInterval.toNanos()) {
+            current = singleFlight.execute("benchSkillIndex", this::load);
+        }
+        return current;
+    }
+
+    private Index load() {
+        long start = System.nanoTime();
+        synchronized (this) {
+            pendingChanges = new ArrayList<>();
+        }
+        List<Object[]> rows;
+        try {
+            rows = benchRepository.findSkillIndexRows();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pendingChanges = null;
+            }
+            throw e;
+        }
+        Index built = new Index(rows.size());
+        for (Object[] row : rows) {
+            built.apply(new Change((String) row[0],
+                    entry((Collection<?>) row[1], (String) row[2], (BigDecimal) row[3], (BigDecimal) row[4])));
+        }
+        synchronized (this) {
+            pendingChanges.forEach(built::apply);
+            pendingChanges = null;
+            built.bySkill.values().forEach(RoaringBitmap::runOptimize);
+            index = built;
+        }
+        logger.info("Built bench skill index: {} records, {} skills in {} ms", built.live.getCardinality(),
+                built.bySkill.size(), (System.nanoTime() - start) / 1_000_000);
+        return built;
+    }
+
+    private static Entry entry(Collection<?> skills, String technology, BigDecimal totalExperience,
+                               BigDecimal relevantExperience) {
+        Set<String> normalized = new LinkedHashSet<>();
+        if (skills != null) {
+            skills.forEach(skill -> addSkill(normalized, skill == null ? null : skill.toString()));
+        }
+        addSkill(normalized, technology);
+        return new Entry(normalized, toFloat(totalExperience), toFloat(relevantExperience));
+    }
+
+    // The value itself and, when it lists several skills, each of them
+    private static void addSkill(Set<String> skills, String value) {
+        String whole = normalize(value);
+        if (whole != null) {
+            skills.add(whole);
+            skills.addAll(terms(whole));
+        }
+    }
+
+    // The normalized skills a value lists ("Java, Spring Boot" -> java, spring boot)
+    static List<String> terms(String value) {
+        String normalized = normalize(value);
+        if (normalized == null) {
+            return List.of();
+        }
+        return Arrays.stream(SEPARATORS.split(normalized)).map(BenchSkillIndex::normalize).filter(Objects::nonNull).toList();
+    }
+
+    // Case and spacing are ignored; punctuation is kept so "c", "c++" and "c#" stay apart
+    static String normalize(String skill) {
+        if (skill == null) {
+            return null;
+        }
+        String normalized = WHITESPACE.matcher(skill.trim().toLowerCase(Locale.ROOT)).replaceAll(" ");
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    private static Set<String> normalizeAll(Collection<String> skills) {
+        Set<String> normalized = new LinkedHashSet<>();
+        if (skills != null) {
+            skills.stream().map(BenchSkillIndex::normalize).filter(Objects::nonNull).forEach(normalized::add);
+        }
+        return normalized;
+    }
+
+    private static float toFloat(BigDecimal value) {
+        return value == null ? Float.NaN : value.floatValue();
+    }
+
+    // Records without the experience only match when it is unbounded
+    private static boolean within(float value, BigDecimal min, BigDecimal max) {
+        if (min == null && max == null) {
+            return true;
+        }
+        return !Float.isNaN(value) && (min == null || value >= min.floatValue()) && (max == null || value <= max.floatValue());
+    }
+
+    // A bench record to (re)index; entry is null for a deleted one
+    private static final class Change {
+        private final String benchId;
+        private final Entry entry;
+
+        Change(String benchId, Entry entry) {
+            this.benchId = benchId;
+            this.entry = entry;
+        }
+    }
+
+    private static final class Entry {
+        private final Set<String> skills;
+        private final float totalExperience;
+        private final float relevantExperience;
+
+        Entry(Set<String> skills, float totalExperience, float relevantExperience) {
+            this.skills = skills;
+            this.totalExperience = totalExperience;
+            this.relevantExperience = relevantExperience;
+        }
+    }
+
+    // Records are numbered in the order indexed; a deleted record's number is not reused until the next build
+    static final class Index {
+        private final long loadedAt = System.nanoTime();
+        private final Map<String, RoaringBitmap> bySkill = new HashMap<>();
+        private final Map<String, Integer> docs = new HashMap<>();
+        private final List<String> benchIds;
+        private final List<Set<String>> skills;
+        private final RoaringBitmap live = new RoaringBitmap();
+        private float[] totalExperience;
+        private float[] relevantExperience;
+
+        Index(int expected) {
+            int capacity = Math.max(16, expected + (expected >> 3));
+            benchIds = new ArrayList<>(capacity);
+            skills = new ArrayList<>(capacity);
+            totalExperience = new float[capacity];
+            relevantExperience = new float[capacity];
+        }
+
+        void apply(Change change) {
+            Integer doc = docs.get(change.benchId);
+            if (doc != null) {
+                unindex(doc);
+            }
+            if (change.entry == null) {
+                if (doc != null) {
+                    docs.remove(change.benchId);
+                    live.remove(doc);
+                }
+                return;
+            }
+            if (doc == null) {
+                doc = benchIds.size();
+                docs.put(change.benchId, doc);
+                benchIds.add(change.benchId);
+                skills.add(Set.of());
+                if (doc >= totalExperience.length) {
+                    totalExperience = Arrays.copyOf(totalExperience, doc + (doc >> 1) + 1);
+                    relevantExperience = Arrays.copyOf(relevantExperience, totalExperience.length);
+                }
+            }
+            for (String skill : change.entry.skills) {
+                bySkill.computeIfAbsent(skill, key -> new RoaringBitmap()).add(doc);
+            }
+            skills.set(doc, change.entry.skills);
+            totalExperience[doc] = change.entry.totalExperience;
+            relevantExperience[doc] = change.entry.relevantExperience;
+            live.add(doc);
+        }
+
+        // Record numbers in use are below this
+        int docLimit() {
+            return benchIds.size();
+        }
+
+        RoaringBitmap live() {
+            return live;
+        }
+
+        // Records having the normalized skill, null when none has
+        RoaringBitmap docsWith(String skill) {
+            return bySkill.get(skill);
+        }
+
+        String benchId(int doc) {
+            return benchIds.get(doc);
+        }
+
+        Set<String> skills(int doc) {
+            return skills.get(doc);
+        }
+
+        // NaN when not recorded
+        float totalExperience(int doc) {
+            return totalExperience[doc];
+        }
+
+        // Copies by record number, for work done after read returns
+        float[] totalExperienceCopy() {
+            return Arrays.copyOf(totalExperience, docLimit());
+        }
+
+        String[] benchIdsCopy() {
+            return benchIds.toArray(new String[0]);
+        }
+
+        private void unindex(int doc) {
+            for (String skill : skills.get(doc)) {
+                RoaringBitmap bitmap = bySkill.get(skill);
+                if (bitmap != null) {
+                    bitmap.remove(doc);
+                    if (bitmap.isEmpty()) {
+                        bySkill.remove(skill);
+                    }
+                }
+            }
+            skills.set(doc, Set.of());
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.profile.candidate.service;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+// CSV and ZIP parsing shared by the bulk import services
+final class BulkImportSupport {
+
+    private BulkImportSupport() {
+    }
+
+    // Reads a CSV with a header row into one map per data row, keyed by the header names.
+    // Blank cells are returned as null so the rows behave like the form parameters of the single endpoints.
+    static List<Map<String, String>> readCsv(MultipartFile csvFile) throws IOException {
+        if (csvFile == null || csvFile.isEmpty()) {
+            throw new IOException("CSV file is empty.");
+        }
+        List<List<String>> records = parseCsv(new String(csvFile.getBytes(), StandardCharsets.UTF_8));
+        if (records.isEmpty()) {
+            throw new IOException("CSV file has no header row.");
+        }
+        List<String> header = records.get(0).stream().map(String::trim).toList();
+        List<Map<String, String>> rows = new ArrayList<>(records.size() - 1);
+        for (List<String> record : records.subList(1, records.size())) {
+            Map<String, String> row = new HashMap<>();
+            for (int i = 0; i < header.size() && i < record.size(); i++) {
+                String value = record.get(i).trim();
+                row.put(header.get(i), value.isEmpty() ? null : value);
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    // RFC 4180 parser: quoted fields may contain commas, doubled quotes and line breaks
+    static List<List<String>> parseCsv(String content) {
+        List<List<String>> records = new ArrayList<>();
+        List<String> record = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        int length = content.length();
+        int i = (length > 0 && content.charAt(0) == '\uFEFF') ? 1 : 0;  // Skip the BOM Excel writes
+        for (; i < length; i++) {
+            char ch = content.charAt(i);
+            if (inQuotes) {
+                if (ch == '"') {
+                    if (i + 1 < length && content.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        inQuotes = false;
+                    }
+                } else {
+                    field.append(ch);
+                }
+            } else if (ch == '"') {
+                inQuotes = true;
+            } else if (ch == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (ch == '\r' || ch == '\n') {
+                if (ch == '\r' && i + 1 < length && content.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                record.add(field.toString());
+                field.setLength(0);
+                addRecord(records, record);
+                record = new ArrayList<>();
+            } else {
+                field.append(ch);
+            }
+        }
+        if (field.length() > 0 || !record.isEmpty()) {
+            record.add(field.toString());
+            addRecord(records, record);
+        }
+        return records;
+    }
+
+    private static void addRecord(List<List<String>> records, List<String> record) {
+        // Ignore blank lines, typically the trailing newline of the file
+        if (record.size() == 1 && record.get(0).isBlank()) {
+            return;
+        }
+        records.add(record);
+    }
+
+    // Reads the resume archive into a map keyed by lower-case file name (folders inside the ZIP are ignored).
+    // Entries larger than maxEntrySize are kept with a null value so the row referencing them can report it.
+    static Map<String, byte[]> readResumeArchive(MultipartFile archive, long maxEntrySize) throws IOException {
+        Map<String, byte[]> resumes = new HashMap<>();
+        if (archive == null || archive.isEmpty()) {
+            return resumes;
+        }
+        try (ZipInputStream zip = new ZipInputStream(archive.getInputStream())) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                String name = entry.getName();
+                name = name.substring(Math.max(name.lastIndexOf('/'), name.lastIndexOf('\\')) + 1);
+                if (name.isEmpty()) {
+                    continue;
+                }
+                resumes.put(name.toLowerCase(Locale.ROOT), readLimited(zip, maxEntrySize));
+            }
+        }
+        return resumes;
+    }
+
+    // Reads the current entry, giving up once it exceeds the limit instead of trusting the declared size
+    private static byte[] readLimited(InputStream in, long maxSize) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            total += read;
+            if (total > maxSize) {
+                return null;
+            }
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,338 @@
+package com.profile.candidate.service;
+
+import com.profile.candidate.dto.BulkImportResponseDto;
+import com.profile.candidate.exceptions.InvalidCandidateDataException;
+import com.profile.candidate.exceptions.InvalidFileTypeException;
+import com.profile.candidate.model.CandidateDetails;
+import com.profile.candidate.model.Submissions;
+import com.profile.candidate.repository.CandidateRepository;
+import com.profile.candidate.repository.SubmissionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@Service
+public class BulkSubmissionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkSubmissionService.class);
+
+    private static final long MAX_RESUME_SIZE = 10 * 1024 * 1024; // 10 MB, same limit as /candidatesubmissions
+
+    @Autowired
+    private CandidateService candidateService;
+    @Autowired
+    private CandidateRepository candidateRepository;
+    @Autowired
+    private SubmissionRepository submissionRepository;
+    @Autowired
+    private SubmissionDuplicateFilter duplicateFilter;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private FunnelCounterService funnelCounterService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${candidate.bulk-import.chunk-size:200}")
+    private int chunkSize;
+
+    // Imports a CSV of candidate/submission rows (same column names as the /candidatesubmissions form fields,
+    // plus resumeFileName pointing into the optional ZIP). Every row gets its own result; one bad row never
+    // fails the others.
+    public BulkImportResponseDto importSubmissions(MultipartFile csvFile, MultipartFile resumesZip) throws IOException {
+        List<Map<String, String>> rows = BulkImportSupport.readCsv(csvFile);
+        Map<String, byte[]> resumes = BulkImportSupport.readResumeArchive(resumesZip, MAX_RESUME_SIZE);
+        logger.info("Bulk submission import started: {} rows, {} resumes", rows.size(), resumes.size());
+
+        // Step 1: Build and validate every row in parallel, rows are independent at this point
+        List<PreparedRow> prepared = IntStream.range(0, rows.size()).parallel()
+                .mapToObj(index -> prepareRow(index, rows.get(index), resumes))
+                .collect(Collectors.toList());
+
+        // Step 2: Reject duplicates inside the file with the same messages submitCandidate uses
+        BulkImportResponseDto.RowResult[] results = new BulkImportResponseDto.RowResult[prepared.size()];
+        List<PreparedRow> accepted = new ArrayList<>();
+        Set<String> emailKeys = new HashSet<>();
+        Set<String> contactKeys = new HashSet<>();
+        for (PreparedRow row : prepared) {
+            if (row.error != null) {
+                results[row.index] = failure(row, row.error);
+                continue;
+            }
+            String jobId = row.submission.getJobId();
+            String emailKey = key(row.candidate.getCandidateEmailId(), jobId);
+            String contactKey = key(row.candidate.getContactNumber(), jobId);
+            if (emailKeys.contains(emailKey)) {
+                results[row.index] = failure(row, CandidateService.duplicateEmailMessage(row.candidate.getCandidateEmailId(), jobId));
+            } else if (contactKeys.contains(contactKey)) {
+                results[row.index] = failure(row, CandidateService.duplicateContactMessage(row.candidate.getContactNumber(), jobId));
+            } else {
+                emailKeys.add(emailKey);
+                contactKeys.add(contactKey);
+                accepted.add(row);
+            }
+        }
+
+        // Step 3: Write the accepted rows in chunked transactions. Candidate ids are allocated once for the
+        // whole import instead of the findAll() per candidate that generateCustomId does.
+        AtomicLong nextCandidateNumber = new AtomicLong(
+                Optional.ofNullable(candidateRepository.findMaxCandidateNumber()).orElse(0L) + 1);
+        Map<String, String> candidateIdsByEmail = new HashMap<>();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int start = 0; start < accepted.size(); start += chunkSize) {
+            List<PreparedRow> chunk = accepted.subList(start, Math.min(start + chunkSize, accepted.size()));
+            try {
+                Map<String, String> created = transactionTemplate.execute(
+                        status -> writeChunk(chunk, candidateIdsByEmail, nextCandidateNumber, results));
+                candidateIdsByEmail.putAll(created);
+                for (PreparedRow row : chunk) {
+                    if ("Success".equals(results[row.index].getStatus())) {
+                        duplicateFilter.add(row.candidate.getCandidateEmailId(), row.submission.getCandidateContactNumber(),
+                                row.submission.getJobId());
+                    }
+                }
+            } catch (RuntimeException e) {
+                logger.error("Bulk submission chunk starting at row {} failed: {}", chunk.get(0).rowNumber(), e.getMessage(), e);
+                for (PreparedRow row : chunk) {
+                    // Rows the chunk rejected as duplicates keep that message; the rest were rolled back
+                    BulkImportResponseDto.RowResult result = results[row.index];
+                    if (result == null || "Success".equals(result.getStatus())) {
+                        results[row.index] = failure(row, "Row could not be saved: " + e.getMessage());
+                    }
+                }
+            }
+        }
+
+        List<BulkImportResponseDto.RowResult> rowResults = Arrays.asList(results);
+        int successCount = (int) rowResults.stream().filter(r -> "Success".equals(r.getStatus())).count();
+        int failureCount = rowResults.size() - successCount;
+        logger.info("Bulk submission import finished: {} succeeded, {} failed", successCount, failureCount);
+
+        String status = failureCount == 0 ? "Success" : successCount == 0 ? "Error" : "Partial";
+        return new BulkImportResponseDto(status,
+                successCount + " of " + rowResults.size() + " submissions imported.",
+                rowResults.size(), successCount, failureCount, rowResults);
+    }
+
+    // Writes one chunk inside the caller's transaction and returns the candidates it created (lower-case email -> id).
+    // Duplicates against the database are checked with one projection query per chunk instead of two lookups per row.
+    private Map<String, String> writeChunk(List<PreparedRow> chunk, Map<String, String> importedCandidateIds,
+                                           AtomicLong nextCandidateNumber, BulkImportResponseDto.RowResult[] results) {
+        Set<String> jobIds = chunk.stream().map(row -> row.submission.getJobId()).collect(Collectors.toSet());
+        Set<String> existingEmailKeys = new HashSet<>();
+        Set<String> existingContactKeys = new HashSet<>();
+        for (Object[] keys : submissionRepository.findCandidateKeysByJobIdIn(jobIds)) {
+            existingEmailKeys.add(key((String) keys[0], (String) keys[2]));
+            existingContactKeys.add(key((String) keys[1], (String) keys[2]));
+        }
+
+        Set<String> emails = chunk.stream()
+                .map(row -> row.candidate.getCandidateEmailId())
+                .filter(email -> !importedCandidateIds.containsKey(email.toLowerCase(Locale.ROOT)))
+                .collect(Collectors.toSet());
+        Map<String, CandidateDetails> existingCandidates = new HashMap<>();
+        if (!emails.isEmpty()) {
+            for (CandidateDetails candidate : candidateRepository.findByCandidateEmailIdIn(emails)) {
+                existingCandidates.put(candidate.getCandidateEmailId().toLowerCase(Locale.ROOT), candidate);
+            }
+        }
+
+        // Resume files are written before the chunk commits: a chunk that rolls back deletes its files
+        List<Path> resumeFiles = new ArrayList<>();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    resumeFiles.forEach(BulkSubmissionService::deleteResume);
+                }
+            }
+        });
+
+        Map<String, String> created = new HashMap<>();
+        Map<String, CandidateDetails> createdCandidates = new HashMap<>();
+        List<Submissions> persisted = new ArrayList<>();
+        for (PreparedRow row : chunk) {
+            String email = row.candidate.getCandidateEmailId();
+            String emailKey = email.toLowerCase(Locale.ROOT);  // MySQL compares emails case-insensitively
+            String jobId = row.submission.getJobId();
+            if (existingEmailKeys.contains(key(email, jobId))) {
+                results[row.index] = failure(row, CandidateService.duplicateEmailMessage(email, jobId));
+                continue;
+            }
+            if (existingContactKeys.contains(key(row.candidate.getContactNumber(), jobId))) {
+                results[row.index] = failure(row, CandidateService.duplicateContactMessage(row.candidate.getContactNumber(), jobId));
+                continue;
+            }
+
+            // Same lookup order as submitCandidate: reuse the candidate with this email if there is one
+            CandidateDetails candidate = existingCandidates.get(emailKey);
+            if (candidate == null && importedCandidateIds.containsKey(emailKey)) {
+                candidate = entityManager.find(CandidateDetails.class, importedCandidateIds.get(emailKey));
+            }
+            if (candidate == null) {
+                candidate = createdCandidates.get(emailKey);
+            }
+            if (candidate == null) {
+                candidate = row.candidate;
+                candidate.setCandidateId(String.format("CAND%04d", nextCandidateNumber.getAndIncrement()));
+                candidate.setTimestamp(LocalDateTime.now());
+                // persist() rather than save(): the id is assigned, so save() would merge and SELECT every row first
+                entityManager.persist(candidate);
+                createdCandidates.put(emailKey, candidate);
+                created.put(emailKey, candidate.getCandidateId());
+            }
+
+            Submissions submission = row.submission;
+            submission.setCandidate(candidate);
+            submission.setSubmissionId(candidate.getCandidateId() + "_" + jobId);
+            submission.setCandidateContactNumber(candidate.getContactNumber());
+            submission.setProfileReceivedDate(LocalDate.now());
+            if (row.resume != null) {
+                try {
+                    submission.setResume(row.resume);
+                    submission.setResumeFilePath(candidateService.saveResumeToFileSystem(row.resumeFileName, row.resume));
+                    resumeFiles.add(Paths.get(submission.getResumeFilePath()));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to save resume " + row.resumeFileName, e);
+                }
+            }
+            entityManager.persist(submission);
+            persisted.add(submission);
+            results[row.index] = new BulkImportResponseDto.RowResult(
+                    row.rowNumber(), "Success", candidate.getCandidateId(), submission.getSubmissionId(), null);
+        }
+        // Flush the chunk as JDBC batches and drop the entities (and their resume bytes) from the context
+        entityManager.flush();
+        funnelCounterService.apply(List.of(), funnelCounterService.facts(persisted));
+        entityManager.clear();
+        return created;
+    }
+
+    private static void deleteResume(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Failed to delete resume {} of a rolled back chunk: {}", file, e.getMessage());
+        }
+    }
+
+    // Maps a CSV row the same way CandidateController maps the form fields, then applies submitCandidate's validation
+    private PreparedRow prepareRow(int index, Map<String, String> values, Map<String, byte[]> resumes) {
+        PreparedRow row = new PreparedRow(index);
+        try {
+            CandidateDetails candidate = new CandidateDetails();
+            candidate.setUserId(values.get("userId"));
+            candidate.setFullName(values.get("fullName"));
+            candidate.setCandidateEmailId(values.get("candidateEmailId"));
+            candidate.setContactNumber(values.get("contactNumber"));
+            candidate.setQualification(values.get("qualification"));
+            candidate.setTotalExperience(parseFloat(values.get("totalExperience"), "totalExperience"));
+            candidate.setCurrentCTC(values.get("currentCTC"));
+            candidate.setExpectedCTC(values.get("expectedCTC"));
+            candidate.setNoticePeriod(values.get("noticePeriod"));
+            candidate.setCurrentLocation(values.get("currentLocation"));
+            candidate.setRelevantExperience(parseFloat(values.getOrDefault("relevantExperience", "0"), "relevantExperience"));
+            candidate.setCurrentOrganization(values.get("currentOrganization"));
+            candidate.setUserEmail(values.get("userEmail"));
+            candidateService.validateCandidateDetails(candidate);
+
+            Submissions submission = new Submissions();
+            submission.setJobId(values.get("jobId"));
+            submission.setPreferredLocation(values.get("preferredLocation"));
+            submission.setSkills(values.get("skills"));
+            submission.setCommunicationSkills(values.get("communicationSkills"));
+            if (values.get("requiredTechnologiesRating") != null) {
+                try {
+                    submission.setRequiredTechnologiesRating(Double.parseDouble(values.get("requiredTechnologiesRating")));
+                } catch (NumberFormatException e) {
+                    throw new InvalidCandidateDataException("requiredTechnologiesRating must be a number.");
+                }
+            }
+            submission.setOverallFeedback(values.get("overallFeedback"));
+            submission.setClientName(values.get("clientName"));
+            if (submission.getJobId() == null) {
+                throw new InvalidCandidateDataException("Job ID is required.");
+            }
+
+            String resumeFileName = values.get("resumeFileName");
+            if (resumeFileName != null) {
+                if (!candidateService.isValidFileType(resumeFileName)) {
+                    throw new InvalidFileTypeException("Invalid file type. Only PDF, DOC, and DOCX files are allowed.");
+                }
+                String resumeKey = resumeFileName.toLowerCase(Locale.ROOT);
+                if (!resumes.containsKey(resumeKey)) {
+                    throw new InvalidCandidateDataException("Resume " + resumeFileName + " was not found in the ZIP file.");
+                }
+                if (resumes.get(resumeKey) == null) {
+                    throw new InvalidCandidateDataException("Resume " + resumeFileName + " exceeds the maximum allowed size of 10 MB.");
+                }
+                row.resumeFileName = resumeFileName;
+                row.resume = resumes.get(resumeKey);
+            }
+            row.candidate = candidate;
+            row.submission = submission;
+        } catch (InvalidCandidateDataException | InvalidFileTypeException e) {
+            row.error = e.getMessage();
+        }
+        return row;
+    }
+
+    private float parseFloat(String value, String field) {
+        if (value == null) {
+            throw new InvalidCandidateDataException(field + " is required.");
+        }
+        try {
+            return Float.parseFloat(value);
+        } catch (NumberFormatException e) {
+            throw new InvalidCandidateDataException(field + " must be a number.");
+        }
+    }
+
+    private static String key(String value, String jobId) {
+        return (value == null ? "" : value.toLowerCase(Locale.ROOT)) + "|" + jobId;
+    }
+
+    private static BulkImportResponseDto.RowResult failure(PreparedRow row, String message) {
+        return new BulkImportResponseDto.RowResult(row.rowNumber(), "Error", null, null, message);
+    }
+
+    private static class PreparedRow {
+        private final int index;
+        private CandidateDetails candidate;
+        private Submissions submission;
+        private String resumeFileName;
+        private byte[] resume;
+        private String error;
+
+        private PreparedRow(int index) {
+            this.index = index;
+        }
+
+        // 1-based data row number as shown to the user (the header row is not counted)
+        private int rowNumber() {
+            return index + 1;
+        }
+    }
+}
@@ -14,11 +14,15 @@ import com.profile.candidate.repository.CandidateRepository;
 import com.profile.candidate.repository.SubmissionRepository;
 import jakarta.mail.internet.AddressException;
 import jakarta.mail.internet.InternetAddress;
-import jakarta.transaction.Transactional;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -44,10 +48,16 @@ public class CandidateService {
     private InterviewEmailService emailService;
     @Autowired
     private SubmissionRepository submissionRepository;
+    @Autowired
+    private SubmissionDuplicateFilter duplicateFilter;
+    @Autowired
+    private FunnelCounterService funnelCounterService;
+    @PersistenceContext
+    private EntityManager entityManager;
 
     private static final Logger logger = LoggerFactory.getLogger(CandidateService.class);
 
-    private String generateCustomId() {
+    String generateCustomId() {
         List<Integer> existingNumbers = candidateRepository.findAll().stream()
                 .map(CandidateDetails::getCandidateId)
                 .filter(id -> id != null && id.matches("CAND\\d{4}"))
@@ -59,29 +69,24 @@ public class CandidateService {
     }
 
     // Method to submit a candidate profile
+    @Transactional
     public CandidateResponseDto submitCandidate(CandidateDetails candidateDetails, Submissions submissionDetails, MultipartFile resumeFile) throws IOException {
         // Step 1: Validate input fields
         validateCandidateDetails(candidateDetails);
-        // Step 2: Check for duplicate submissions
-            Submissions existingSubmission =
-                    submissionRepository.findByCandidate_CandidateEmailIdAndJobId(submissionDetails.getCandidate().getCandidateEmailId(),submissionDetails.getJobId());
-            if (existingSubmission!=null) {
-                logger.error("Candidate Already Exists Exception "+existingSubmission.getCandidate());
-                throw new CandidateAlreadyExistsException(
-                        "Candidate with email ID " + existingSubmission.getCandidate().getCandidateEmailId()+
-                                " has already been submitted for job " + existingSubmission.getJobId()
-                );
-            }
-            Submissions existingContactNumber =
-                    submissionRepository.findByCandidate_ContactNumberAndJobId(
-                            submissionDetails.getCandidate().getContactNumber(),
-                            submissionDetails.getJobId());
-            if (existingContactNumber!=null) {
-                throw new InvalidCandidateDataException(
-                        "Candidate with contact number " + existingContactNumber.getCandidate().getContactNumber() +
-                                " has already been submitted for job " + existingContactNumber.getJobId()
-                );
-            }
+        // Step 2: Check for duplicate submissions. The Bloom filter rules out most new submissions without a
+        // DB round trip; a possible hit is confirmed with an exists query. The unique constraints catch races.
+        String candidateEmailId = submissionDetails.getCandidate().getCandidateEmailId();
+        String contactNumber = submissionDetails.getCandidate().getContactNumber();
+        String jobId = submissionDetails.getJobId();
+        if (duplicateFilter.mightContainEmail(candidateEmailId, jobId)
+                && submissionRepository.existsByCandidate_CandidateEmailIdAndJobId(candidateEmailId, jobId)) {
+            logger.error("Candidate Already Exists Exception " + candidateEmailId);
+            throw new CandidateAlreadyExistsException(duplicateEmailMessage(candidateEmailId, jobId));
+        }
+        if (duplicateFilter.mightContainContactNumber(contactNumber, jobId)
+                && submissionRepository.existsByCandidateContactNumberAndJobId(contactNumber, jobId)) {
+            throw new InvalidCandidateDataException(duplicateContactMessage(contactNumber, jobId));
+        }
         // Step 3: Set default emails if not already provided
         setDefaultEmailsIfMissing(candidateDetails);
 
@@ -106,7 +111,13 @@ public class CandidateService {
         } else {
             candidateDetails.setCandidateId(generateCustomId());
             candidateDetails.setTimestamp(LocalDateTime.now());
-            savedCandidate = candidateRepository.save(candidateDetails);
+            try {
+                entityManager.persist(candidateDetails);
+                entityManager.flush();
+            } catch (PersistenceException e) {
+                throw translateDuplicateCandidate(e, candidateDetails);
+            }
+            savedCandidate = candidateDetails;
         }
         // Step 6: Set submission details
         String submissionId = savedCandidate.getCandidateId() + "_" + submissionDetails.getJobId();
@@ -114,6 +125,7 @@ public class CandidateService {
         Submissions submission = new Submissions();
         submission.setCandidate(savedCandidate);
         submission.setJobId(submissionDetails.getJobId());
+        submission.setCandidateContactNumber(savedCandidate.getContactNumber());
         submission.setSubmissionId(submissionId);
         submission.setResume(submissionDetails.getResume());
         submission.setResumeFilePath(submissionDetails.getResumeFilePath());
@@ -125,8 +137,16 @@ public class CandidateService {
         submission.setPreferredLocation(submissionDetails.getPreferredLocation());
         submission.setProfileReceivedDate(LocalDate.now());
         submission.setClientName(submissionDetails.getClientName());
-        // Save the submission
-        submissionRepository.save(submission);
+        // Insert the submission. persist() rather than save(): with the assigned candidateId_jobId key, save() would
+        // merge and silently overwrite a concurrent duplicate. Flushing surfaces constraint violations here.
+        try {
+            entityManager.persist(submission);
+            entityManager.flush();
+        } catch (PersistenceException e) {
+            throw translateDuplicateSubmission(e, candidateEmailId, savedCandidate.getContactNumber(), jobId);
+        }
+        funnelCounterService.apply(null, funnelCounterService.fact(submission));
+        duplicateFilter.add(candidateEmailId, savedCandidate.getContactNumber(), jobId);
 
         // Step 8: Fetch team lead and recruiter details
         String teamLeadEmail = candidateRepository.findTeamLeadEmailByJobId(submissionDetails.getJobId());
@@ -139,7 +159,12 @@ public class CandidateService {
             logger.warn("Email not sent: recruiterEmail or teamLeadEmail is null.");
         } else {
             String actionType = "submission";
-            emailService.sendCandidateNotification(submissionDetails, recruiterName, recruiterEmail,teamLeadName, teamLeadEmail, actionType);
+            // A mail failure must not roll back the submission now that this method is transactional
+            try {
+                emailService.sendCandidateNotification(submissionDetails, recruiterName, recruiterEmail,teamLeadName, teamLeadEmail, actionType);
+            } catch (Exception e) {
+                logger.error("Error sending submission email: {}", e.getMessage(), e);
+            }
         }
         // Step 10: Prepare response payload
         CandidateResponseDto.CandidateData data = new CandidateResponseDto.CandidateData(
@@ -156,7 +181,10 @@ public class CandidateService {
         );
     }
     private boolean isValidFileType(MultipartFile file) {
-        String fileName = file.getOriginalFilename();
+        return isValidFileType(file.getOriginalFilename());
+    }
+    // Shared with the bulk import, which only has the file name from the ZIP entry
+    boolean isValidFileType(String fileName) {
         if (fileName != null) {
             String fileExtension = getFileExtension(fileName).toLowerCase();
             return fileExtension.equals("pdf") || fileExtension.equals("docx") || fileExtension.equals("doc");
@@ -171,7 +199,7 @@ public class CandidateService {
         return "";
     }
     // Validate required candidate fields
-    private void validateCandidateDetails(CandidateDetails candidateDetails) {
+    void validateCandidateDetails(CandidateDetails candidateDetails) {
         if (candidateDetails.getFullName() == null || candidateDetails.getFullName().trim().isEmpty()) {
             throw new InvalidCandidateDataException("Full Name is required and cannot be empty.");
         }
@@ -188,19 +216,77 @@ public class CandidateService {
             candidateDetails.setUserEmail(candidateDetails.getUserEmail());  // Set to default or handle differently
         }
     }
+    // Maps a unique constraint violation on the candidate insert: both mean another submission created a candidate
+    // in the meantime, and submitting again picks the stored candidate up
+    private RuntimeException translateDuplicateCandidate(PersistenceException e, CandidateDetails candidate) {
+        String constraintName = violatedConstraintName(e);
+        logger.warn("New candidate rejected by constraint {}", constraintName);
+        if (constraintName == null) {
+            return e;
+        }
+        if (constraintName.contains("uk_candidates_email")) {
+            return new ConcurrentSubmissionException("Candidate with email ID " + candidate.getCandidateEmailId()
+                    + " was created by another submission at the same time. Submit again to add this submission.");
+        }
+        if (constraintName.contains("primary")) {
+            return new ConcurrentSubmissionException("Candidate ID " + candidate.getCandidateId()
+                    + " was taken by another submission at the same time. Submit again.");
+        }
+        return e;
+    }
+
+    // Maps a unique constraint violation on the submission insert to the same exceptions the pre-checks throw.
+    // contactNumber is the one the submission was stored with, the stored candidate's.
+    private RuntimeException translateDuplicateSubmission(PersistenceException e, String candidateEmailId,
+                                                          String contactNumber, String jobId) {
+        String constraintName = violatedConstraintName(e);
+        logger.warn("Duplicate submission rejected by constraint {} for job {}", constraintName, jobId);
+        if (constraintName == null) {
+            return e;
+        }
+        if (constraintName.contains("uk_submissions_contact_job")) {
+            return new InvalidCandidateDataException(duplicateContactMessage(contactNumber, jobId));
+        }
+        // Same candidate and job: the explicit constraint or the candidateId_jobId primary key
+        if (constraintName.contains("uk_submissions_candidate_job") || constraintName.contains("primary")) {
+            return new CandidateAlreadyExistsException(duplicateEmailMessage(candidateEmailId, jobId));
+        }
+        return e;
+    }
+
+    private static String violatedConstraintName(Throwable e) {
+        Throwable cause = e;
+        while (cause != null) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase(Locale.ROOT);
+            }
+            cause = cause.getCause();
+        }
+        return null;
+    }
+
+    static String duplicateEmailMessage(String candidateEmailId, String jobId) {
+        return "Candidate with email ID " + candidateEmailId + " has already been submitted for job " + jobId;
+    }
+    static String duplicateContactMessage(String contactNumber, String jobId) {
+        return "Candidate with contact number " + contactNumber + " has already been submitted for job " + jobId;
+    }
     // Set default values for userEmail and clientEmail if not provided
     private String saveResumeToFileSystem(MultipartFile resumeFile) throws IOException {
+        return saveResumeToFileSystem(resumeFile.getOriginalFilename(), resumeFile.getBytes());
+    }
+    String saveResumeToFileSystem(String originalFileName, byte[] resumeData) throws IOException {
         // Set the directory where resumes will be stored
         String resumeDirectory = "C:\\Users\\User\\Downloads"; // Ensure the directory path is correct and does not have extra quotes
         // Generate a unique file name using UUID to avoid conflicts
-        String fileName = UUID.randomUUID().toString() + "-" + resumeFile.getOriginalFilename();
+        String fileName = UUID.randomUUID().toString() + "-" + originalFileName;
         Path filePath = Paths.get(resumeDirectory, fileName);
 
         // Create the directories if they don't exist
         Files.createDirectories(filePath.getParent());
 
         // Save the file to the disk
-        Files.write(filePath, resumeFile.getBytes());
+        Files.write(filePath, resumeData);
 
         // Return the path where the file is saved
         return filePath.toString();
@@ -245,6 +331,8 @@ public class CandidateService {
         String recruiterEmail = candidate.getUserEmail();
         String recruiterName = candidateRepository.findUserNameByEmail(recruiterEmail);
         logger.info("Recruiter Name : {} and Recruiter Email {}",recruiterName,recruiterEmail);
+        // The submissions go with the candidate (cascade)
+        funnelCounterService.apply(funnelCounterService.facts(submissions), List.of());
         candidateRepository.delete(candidate);
 
         DeleteCandidateResponseDto.CandidateData data = new DeleteCandidateResponseDto.CandidateData(
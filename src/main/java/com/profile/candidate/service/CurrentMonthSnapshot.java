@@ -0,0 +1,945 @@
+package com.profile.candidate.service;
+
+import com.profile.candidate.configurations.EntityChangedEvent;
+import com.profile.candidate.model.CandidateDetails;
+import com.profile.candidate.model.InterviewDetails;
+import com.profile.candidate.model.Submissions;
+import com.profile.candidate.repository.CandidateRepository;
+import com.profile.candidate.repository.InterviewRepository;
+import com.profile.candidate.repository.SubmissionRepository;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Columnar in-memory copy of the current month's submissions and interviews, serving the month listings
+// (/submissions, /allInterviews, a recruiter's submissions and interviews) and the submission and interview
+// dashboard counts without a database round trip.
+//
+// Each table is a set of parallel arrays, one per column, indexed by row. Recruiter (userId), job, client and latest
+// interview status are dictionary-encoded into int columns, so filtering and counting compare ints; the other
+// columns are only read for the rows returned. A BitSet marks the live rows: deleted rows and rows that leave the
+// month free their slot for the next insert. Candidate fields are held once per candidate, not per submission.
+//
+// The snapshot is loaded in the background on first use, at the start of each month and every refresh-interval.
+// In between, this instance's committed writes (EntityChangedEvent) are applied to it; writes of other instances
+// and bulk JPQL/native updates show up with the next load. Before the first load completes, and while the month
+// holds more than max-rows submissions or interviews, callers get an empty result and query the database.
+@Component
+public class CurrentMonthSnapshot {
+
+    private static final Logger logger = LoggerFactory.getLogger(CurrentMonthSnapshot.class);
+
+    private static final int NO_DAY = Integer.MIN_VALUE;
+    private static final int NO_DURATION = Integer.MIN_VALUE;
+    private static final int JOB_LOOKUP_CHUNK = 500;
+    private static final Duration RETRY_AFTER_FAILURE = Duration.ofMinutes(1);
+
+    @Autowired
+    private SubmissionRepository submissionRepository;
+
+    @Autowired
+    private InterviewRepository interviewRepository;
+
+    @Autowired
+    private CandidateRepository candidateRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${candidate.snapshot.enabled:true}")
+    private boolean enabled;
+
+    // Per table: a month with more submissions or interviews is served from the database
+    @Value("${candidate.snapshot.max-rows:100000}")
+    private int maxRows;
+
+    @Value("${candidate.snapshot.refresh-interval:15m}")
+    private Duration refreshInterval;
+
+    private volatile Snapshot snapshot;
+    private final AtomicBoolean loading = new AtomicBoolean();
+    // No load is started before this (after a failed or over-budget load)
+    private volatile Instant retryAfter;
+    // Set while a load runs: changes committed meanwhile, replayed on top of its result
+    private List<Change> pendingChanges;
+
+    // Submissions with a profile received date in the current month, as detached copies without the resume
+    public Optional<List<Submissions>> submissionsReceived() {
+        return submissionsReceived(null);
+    }
+
+    // Same, of one recruiter's candidates
+    public Optional<List<Submissions>> submissionsReceivedBy(String userId) {
+        return submissionsReceived(userId);
+    }
+
+    private Optional<List<Submissions>> submissionsReceived(String userId) {
+        Snapshot s = current();
+        if (s == null) {
+            return Optional.empty();
+        }
+        s.lock.readLock().lock();
+        try {
+            return Optional.of(s.submissionsReceived(userId));
+        } finally {
+            s.lock.readLock().unlock();
+        }
+    }
+
+    // Submissions with submittedAt in the current month
+    public OptionalLong submittedCount() {
+        Snapshot s = current();
+        if (s == null) {
+            return OptionalLong.empty();
+        }
+        s.lock.readLock().lock();
+        try {
+            return OptionalLong.of(s.submittedCount());
+        } finally {
+            s.lock.readLock().unlock();
+        }
+    }
+
+    // Interviews created (timestamp) in the current month that have an interview time
+    public Optional<List<InterviewRow>> scheduledInterviews() {
+        return scheduledInterviews(null);
+    }
+
+    public Optional<List<InterviewRow>> scheduledInterviewsBy(String userId) {
+        return scheduledInterviews(userId);
+    }
+
+    private Optional<List<InterviewRow>> scheduledInterviews(String userId) {
+        Snapshot s = current();
+        if (s == null) {
+            return Optional.empty();
+        }
+        s.lock.readLock().lock();
+        try {
+            return Optional.of(s.scheduledInterviews(userId));
+        } finally {
+            s.lock.readLock().unlock();
+        }
+    }
+
+    // Interviews created (timestamp) in the current month
+    public OptionalLong interviewCount() {
+        Snapshot s = current();
+        if (s == null) {
+            return OptionalLong.empty();
+        }
+        s.lock.readLock().lock();
+        try {
+            return OptionalLong.of(s.interviews.rows.size());
+        } finally {
+            s.lock.readLock().unlock();
+        }
+    }
+
+    // The job's client in requirements_model; looked up once per job until the next load
+    public String clientNameForJob(String jobId) {
+        Snapshot s = current();
+        if (s == null || jobId == null) {
+            return candidateRepository.findClientNameByJobId(jobId).orElse(null);
+        }
+        Optional<String> client = s.jobClients.get(jobId);
+        if (client == null) {
+            client = candidateRepository.findClientNameByJobId(jobId);
+            if (s.jobClients.size() < maxRows) {
+                s.jobClients.put(jobId, client);
+            }
+        }
+        return client.orElse(null);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (enabled) {
+            loadInBackground();
+        }
+    }
+
+    // The entity is copied here: it belongs to the committing session and may be modified after this returns
+    @EventListener
+    public synchronized void onEntityChanged(EntityChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Change change = Change.of(event);
+        if (change == null) {
+            return;
+        }
+        if (pendingChanges != null) {
+            pendingChanges.add(change);
+        }
+        Snapshot s = snapshot;
+        if (s != null) {
+            s.apply(change);
+        }
+    }
+
+    // The snapshot if it holds the current month, starting a load when it is missing, outdated or due a refresh
+    private Snapshot current() {
+        if (!enabled) {
+            return null;
+        }
+        Snapshot s = snapshot;
+        boolean usable = s != null && !s.stale && s.month.equals(YearMonth.now());
+        if (!usable || System.nanoTime() - s.loadedAt > refreshInterval.toNanos()) {
+            loadInBackground();
+        }
+        return usable ? s : null;
+    }
+
+    private void loadInBackground() {
+        Instant notBefore = retryAfter;
+        if ((notBefore != null && Instant.now().isBefore(notBefore)) || !loading.compareAndSet(false, true)) {
+            return;
+        }
+        Thread loader = new Thread(this::load, "current-month-snapshot-load");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    private void load() {
+        try {
+            long start = System.nanoTime();
+            YearMonth month = YearMonth.now();
+            synchronized (this) {
+                pendingChanges = new ArrayList<>();
+            }
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            Snapshot loaded = readOnly.execute(status -> read(month));
+            synchronized (this) {
+                if (loaded != null) {
+                    pendingChanges.forEach(loaded::apply);
+                }
+                pendingChanges = null;
+                snapshot = loaded;
+            }
+            if (loaded == null) {
+                retryAfter = Instant.now().plus(refreshInterval);
+                logger.warn("{} has more than {} submissions or interviews; served from the database for the next {}",
+                        month, maxRows, refreshInterval);
+            } else {
+                retryAfter = null;
+                logger.info("Loaded {} snapshot: {} submissions, {} interviews in {} ms", month,
+                        loaded.submissions.rows.size(), loaded.interviews.rows.size(), (System.nanoTime() - start) / 1_000_000);
+            }
+        } catch (Exception e) {
+            synchronized (this) {
+                pendingChanges = null;
+            }
+            retryAfter = Instant.now().plus(RETRY_AFTER_FAILURE);
+            logger.error("Failed to load the current month snapshot: {}", e.getMessage(), e);
+        } finally {
+            loading.set(false);
+        }
+    }
+
+    private Snapshot read(YearMonth month) {
+        LocalDate firstDay = month.atDay(1);
+        LocalDate lastDay = month.atEndOfMonth();
+        LocalDateTime from = firstDay.atStartOfDay();
+        LocalDateTime to = lastDay.atTime(LocalTime.MAX);
+        List<Object[]> submissionRows = submissionRepository.findSnapshotRows(firstDay, lastDay, from, to);
+        if (submissionRows.size() > maxRows) {
+            return null;
+        }
+        List<InterviewDetails> interviews = interviewRepository.findByTimestampBetween(from, to);
+        if (interviews.size() > maxRows) {
+            return null;
+        }
+
+        Snapshot s = new Snapshot(month, maxRows, submissionRows.size(), interviews.size());
+        for (CandidateDetails candidate : submissionRepository.findSnapshotCandidates(firstDay, lastDay, from, to)) {
+            s.candidates.put(candidate.getCandidateId(), copyOf(candidate));
+        }
+        for (Object[] row : submissionRows) {
+            Submissions submission = new Submissions();
+            submission.setSubmissionId((String) row[0]);
+            submission.setCandidate(s.candidate((String) row[1]));
+            submission.setJobId((String) row[2]);
+            submission.setClientName((String) row[3]);
+            submission.setProfileReceivedDate((LocalDate) row[4]);
+            submission.setSubmittedAt((LocalDateTime) row[5]);
+            submission.setPreferredLocation((String) row[6]);
+            submission.setSkills((String) row[7]);
+            submission.setCommunicationSkills((String) row[8]);
+            submission.setRequiredTechnologiesRating((Double) row[9]);
+            submission.setOverallFeedback((String) row[10]);
+            submission.setRecruiterName((String) row[11]);
+            submission.setVersion((Long) row[12]);
+            s.putSubmission(submission);
+        }
+        for (InterviewDetails interview : interviews) {
+            s.putInterview(InterviewRow.of(interview));
+        }
+
+        // Client of every job in the month, for the recruiter listings that show the job's client
+        List<String> jobIds = new ArrayList<>(s.jobs.values);
+        for (int i = 0; i < jobIds.size(); i += JOB_LOOKUP_CHUNK) {
+            List<String> chunk = jobIds.subList(i, Math.min(jobIds.size(), i + JOB_LOOKUP_CHUNK));
+            Map<String, String> clients = new HashMap<>();
+            for (Object[] row : candidateRepository.findClientNamesByJobIds(chunk)) {
+                clients.putIfAbsent((String) row[0], (String) row[1]);
+            }
+            chunk.forEach(jobId -> s.jobClients.put(jobId, Optional.ofNullable(clients.get(jobId))));
+        }
+        return s;
+    }
+
+    private static CandidateDetails copyOf(CandidateDetails candidate) {
+        CandidateDetails copy = new CandidateDetails();
+        copy.setCandidateId(candidate.getCandidateId());
+        copy.setUserId(candidate.getUserId());
+        copy.setUserEmail(candidate.getUserEmail());
+        copy.setFullName(candidate.getFullName());
+        copy.setCandidateEmailId(candidate.getCandidateEmailId());
+        copy.setContactNumber(candidate.getContactNumber());
+        copy.setCurrentOrganization(candidate.getCurrentOrganization());
+        copy.setQualification(candidate.getQualification());
+        copy.setTotalExperience(candidate.getTotalExperience());
+        copy.setRelevantExperience(candidate.getRelevantExperience());
+        copy.setCurrentCTC(candidate.getCurrentCTC());
+        copy.setExpectedCTC(candidate.getExpectedCTC());
+        copy.setNoticePeriod(candidate.getNoticePeriod());
+        copy.setCurrentLocation(candidate.getCurrentLocation());
+        copy.setTimestamp(candidate.getTimestamp());
+        copy.setVersion(candidate.getVersion());
+        return copy;
+    }
+
+    // A committed write, copied off the entity
+    private static final class Change {
+        private final boolean delete;
+        private Submissions submission;
+        private InterviewRow interview;
+        private CandidateDetails candidate;
+
+        private Change(EntityChangedEvent.Type type) {
+            this.delete = type == EntityChangedEvent.Type.DELETE;
+        }
+
+        static Change of(EntityChangedEvent event) {
+            Change change = new Change(event.getType());
+            if (event.getEntity() instanceof Submissions submission) {
+                Submissions copy = new Submissions();
+                copy.setSubmissionId(submission.getSubmissionId());
+                copy.setJobId(submission.getJobId());
+                copy.setClientName(submission.getClientName());
+                copy.setProfileReceivedDate(submission.getProfileReceivedDate());
+                copy.setSubmittedAt(submission.getSubmittedAt());
+                copy.setPreferredLocation(submission.getPreferredLocation());
+                copy.setSkills(submission.getSkills());
+                copy.setCommunicationSkills(submission.getCommunicationSkills());
+                copy.setRequiredTechnologiesRating(submission.getRequiredTechnologiesRating());
+                copy.setOverallFeedback(submission.getOverallFeedback());
+                copy.setRecruiterName(submission.getRecruiterName());
+                copy.setVersion(submission.getVersion());
+                CandidateDetails candidate = submission.getCandidate();
+                if (candidate != null && Hibernate.isInitialized(candidate)) {
+                    copy.setCandidate(copyOf(candidate));
+                } else if (candidate != null) {
+                    // A lazy proxy only knows its id; the snapshot's copy of the candidate is used
+                    CandidateDetails reference = new CandidateDetails();
+                    reference.setCandidateId(candidate.getCandidateId());
+                    copy.setCandidate(reference);
+                }
+                change.submission = copy;
+            } else if (event.getEntity() instanceof InterviewDetails interview) {
+                change.interview = InterviewRow.of(interview);
+            } else if (event.getEntity() instanceof CandidateDetails candidate) {
+                change.candidate = copyOf(candidate);
+            } else {
+                return null;
+            }
+            return change;
+        }
+    }
+
+    // String <-> int code, codes assigned in order of first appearance
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int encode(String value) {
+            if (value == null) {
+                return -1;
+            }
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                codes.put(value, code);
+                values.add(value);
+            }
+            return code;
+        }
+
+        // -1 for null, -2 for a value no row has
+        int code(String value) {
+            return value == null ? -1 : codes.getOrDefault(value, -2);
+        }
+
+        String decode(int code) {
+            return code < 0 ? null : values.get(code);
+        }
+    }
+
+    // Row slots shared by both tables: ids map to rows, freed rows are reused
+    private abstract static class Columns {
+        final Map<String, Integer> rows = new HashMap<>();
+        final BitSet live = new BitSet();
+        int capacity;
+
+        // The id's row, or a free one for a new id; -1 when the table already holds maxRows rows
+        int rowFor(String id, int maxRows) {
+            Integer row = rows.get(id);
+            if (row != null) {
+                return row;
+            }
+            if (rows.size() >= maxRows) {
+                return -1;
+            }
+            int free = live.nextClearBit(0);
+            if (free >= capacity) {
+                grow(Math.max(16, capacity + (capacity >> 1)));
+            }
+            live.set(free);
+            rows.put(id, free);
+            return free;
+        }
+
+        void remove(String id) {
+            Integer row = rows.remove(id);
+            if (row != null) {
+                live.clear(row);
+                clear(row);
+            }
+        }
+
+        abstract void grow(int newCapacity);
+
+        // Drops the object references of a freed row
+        abstract void clear(int row);
+    }
+
+    private static final class SubmissionColumns extends Columns {
+        String[] submissionId = new String[0];
+        int[] candidate = new int[0];
+        int[] user = new int[0];
+        int[] job = new int[0];
+        int[] client = new int[0];
+        int[] receivedDay = new int[0];
+        int[] submittedDay = new int[0];
+        LocalDateTime[] submittedAt = new LocalDateTime[0];
+        // NaN for no rating
+        double[] rating = new double[0];
+        String[] preferredLocation = new String[0];
+        String[] skills = new String[0];
+        String[] communicationSkills = new String[0];
+        String[] overallFeedback = new String[0];
+        String[] recruiterName = new String[0];
+        long[] version = new long[0];
+
+        @Override
+        void grow(int newCapacity) {
+            submissionId = Arrays.copyOf(submissionId, newCapacity);
+            candidate = Arrays.copyOf(candidate, newCapacity);
+            user = Arrays.copyOf(user, newCapacity);
+            job = Arrays.copyOf(job, newCapacity);
+            client = Arrays.copyOf(client, newCapacity);
+            receivedDay = Arrays.copyOf(receivedDay, newCapacity);
+            submittedDay = Arrays.copyOf(submittedDay, newCapacity);
+            submittedAt = Arrays.copyOf(submittedAt, newCapacity);
+            rating = Arrays.copyOf(rating, newCapacity);
+            preferredLocation = Arrays.copyOf(preferredLocation, newCapacity);
+            skills = Arrays.copyOf(skills, newCapacity);
+            communicationSkills = Arrays.copyOf(communicationSkills, newCapacity);
+            overallFeedback = Arrays.copyOf(overallFeedback, newCapacity);
+            recruiterName = Arrays.copyOf(recruiterName, newCapacity);
+            version = Arrays.copyOf(version, newCapacity);
+            capacity = newCapacity;
+        }
+
+        @Override
+        void clear(int row) {
+            submissionId[row] = null;
+            submittedAt[row] = null;
+            preferredLocation[row] = null;
+            skills[row] = null;
+            communicationSkills[row] = null;
+            overallFeedback[row] = null;
+            recruiterName[row] = null;
+        }
+    }
+
+    private static final class InterviewColumns extends Columns {
+        String[] interviewId = new String[0];
+        int[] user = new int[0];
+        int[] job = new int[0];
+        int[] client = new int[0];
+        int[] status = new int[0];
+        OffsetDateTime[] interviewDateTime = new OffsetDateTime[0];
+        LocalDateTime[] timestamp = new LocalDateTime[0];
+        int[] duration = new int[0];
+        BitSet placed = new BitSet();
+        String[] candidateId = new String[0];
+        String[] fullName = new String[0];
+        String[] contactNumber = new String[0];
+        String[] candidateEmailId = new String[0];
+        String[] userEmail = new String[0];
+        String[] zoomLink = new String[0];
+        String[] interviewLevel = new String[0];
+        String[] recruiterName = new String[0];
+        List<?>[] clientEmails = new List<?>[0];
+        long[] version = new long[0];
+
+        @Override
+        void grow(int newCapacity) {
+            interviewId = Arrays.copyOf(interviewId, newCapacity);
+            user = Arrays.copyOf(user, newCapacity);
+            job = Arrays.copyOf(job, newCapacity);
+            client = Arrays.copyOf(client, newCapacity);
+            status = Arrays.copyOf(status, newCapacity);
+            interviewDateTime = Arrays.copyOf(interviewDateTime, newCapacity);
+            timestamp = Arrays.copyOf(timestamp, newCapacity);
+            duration = Arrays.copyOf(duration, newCapacity);
+            candidateId = Arrays.copyOf(candidateId, newCapacity);
+            fullName = Arrays.copyOf(fullName, newCapacity);
+            contactNumber = Arrays.copyOf(contactNumber, newCapacity);
+            candidateEmailId = Arrays.copyOf(candidateEmailId, newCapacity);
+            userEmail = Arrays.copyOf(userEmail, newCapacity);
+            zoomLink = Arrays.copyOf(zoomLink, newCapacity);
+            interviewLevel = Arrays.copyOf(interviewLevel, newCapacity);
+            recruiterName = Arrays.copyOf(recruiterName, newCapacity);
+            clientEmails = Arrays.copyOf(clientEmails, newCapacity);
+            version = Arrays.copyOf(version, newCapacity);
+            capacity = newCapacity;
+        }
+
+        @Override
+        void clear(int row) {
+            interviewId[row] = null;
+            interviewDateTime[row] = null;
+            timestamp[row] = null;
+            placed.clear(row);
+            candidateId[row] = null;
+            fullName[row] = null;
+            contactNumber[row] = null;
+            candidateEmailId[row] = null;
+            userEmail[row] = null;
+            zoomLink[row] = null;
+            interviewLevel[row] = null;
+            recruiterName[row] = null;
+            clientEmails[row] = null;
+        }
+    }
+
+    // One month's tables; readers hold the read lock, applied changes the write lock
+    private static final class Snapshot {
+        final YearMonth month;
+        final int firstDay;
+        final int lastDay;
+        final int maxRows;
+        final long loadedAt = System.nanoTime();
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        final SubmissionColumns submissions = new SubmissionColumns();
+        final InterviewColumns interviews = new InterviewColumns();
+        final Dictionary users = new Dictionary();
+        final Dictionary jobs = new Dictionary();
+        final Dictionary clients = new Dictionary();
+        final Dictionary statuses = new Dictionary();
+        final Dictionary candidateIds = new Dictionary();
+        final Map<String, CandidateDetails> candidates = new HashMap<>();
+        final Map<String, Optional<String>> jobClients = new ConcurrentHashMap<>();
+        // Set when a change could not be applied (table full, unknown candidate): unusable until reloaded
+        volatile boolean stale;
+
+        Snapshot(YearMonth month, int maxRows, int submissionCount, int interviewCount) {
+            this.month = month;
+            this.firstDay = (int) month.atDay(1).toEpochDay();
+            this.lastDay = (int) month.atEndOfMonth().toEpochDay();
+            this.maxRows = maxRows;
+            submissions.grow(Math.max(16, submissionCount + (submissionCount >> 3)));
+            interviews.grow(Math.max(16, interviewCount + (interviewCount >> 3)));
+        }
+
+        void apply(Change change) {
+            lock.writeLock().lock();
+            try {
+                if (change.submission != null) {
+                    if (change.delete) {
+                        submissions.remove(change.submission.getSubmissionId());
+                    } else {
+                        putSubmission(change.submission);
+                    }
+                } else if (change.interview != null) {
+                    if (change.delete) {
+                        interviews.remove(change.interview.interviewId);
+                    } else {
+                        putInterview(change.interview);
+                    }
+                } else if (change.delete) {
+                    candidates.remove(change.candidate.getCandidateId());
+                } else if (candidates.containsKey(change.candidate.getCandidateId())) {
+                    updateCandidate(change.candidate);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void putSubmission(Submissions submission) {
+            if (!inMonth(day(submission.getProfileReceivedDate())) && !inMonth(day(submission.getSubmittedAt()))) {
+                submissions.remove(submission.getSubmissionId());
+                return;
+            }
+            CandidateDetails candidate = submission.getCandidate();
+            if (candidate == null) {
+                stale = true;
+                return;
+            }
+            // Only a full copy has a userId (a reference from a lazy proxy carries just the id)
+            if (candidate.getUserId() != null) {
+                updateCandidate(candidate);
+            } else if (!candidates.containsKey(candidate.getCandidateId())) {
+                stale = true;
+                return;
+            }
+            int row = submissions.rowFor(submission.getSubmissionId(), maxRows);
+            if (row < 0) {
+                stale = true;
+                return;
+            }
+            SubmissionColumns c = submissions;
+            c.submissionId[row] = submission.getSubmissionId();
+            c.candidate[row] = candidateIds.encode(candidate.getCandidateId());
+            c.user[row] = users.encode(candidates.get(candidate.getCandidateId()).getUserId());
+            c.job[row] = jobs.encode(submission.getJobId());
+            c.client[row] = clients.encode(submission.getClientName());
+            c.receivedDay[row] = day(submission.getProfileReceivedDate());
+            c.submittedDay[row] = day(submission.getSubmittedAt());
+            c.submittedAt[row] = submission.getSubmittedAt();
+            c.rating[row] = submission.getRequiredTechnologiesRating() == null ? Double.NaN : submission.getRequiredTechnologiesRating();
+            c.preferredLocation[row] = submission.getPreferredLocation();
+            c.skills[row] = submission.getSkills();
+            c.communicationSkills[row] = submission.getCommunicationSkills();
+            c.overallFeedback[row] = submission.getOverallFeedback();
+            c.recruiterName[row] = submission.getRecruiterName();
+            c.version[row] = submission.getVersion();
+        }
+
+        // Replaces the candidate's copy and re-encodes the recruiter of its submissions
+        void updateCandidate(CandidateDetails candidate) {
+            CandidateDetails previous = candidates.put(candidate.getCandidateId(), candidate);
+            if (previous == null || previous.getUserId() == null || previous.getUserId().equals(candidate.getUserId())) {
+                return;
+            }
+            int code = candidateIds.code(candidate.getCandidateId());
+            int user = users.encode(candidate.getUserId());
+            SubmissionColumns c = submissions;
+            for (int row = c.live.nextSetBit(0); row >= 0; row = c.live.nextSetBit(row + 1)) {
+                if (c.candidate[row] == code) {
+                    c.user[row] = user;
+                }
+            }
+        }
+
+        void putInterview(InterviewRow interview) {
+            if (!inMonth(day(interview.timestamp))) {
+                interviews.remove(interview.interviewId);
+                return;
+            }
+            int row = interviews.rowFor(interview.interviewId, maxRows);
+            if (row < 0) {
+                stale = true;
+                return;
+            }
+            InterviewColumns c = interviews;
+            c.interviewId[row] = interview.interviewId;
+            c.user[row] = users.encode(interview.userId);
+            c.job[row] = jobs.encode(interview.jobId);
+            c.client[row] = clients.encode(interview.clientName);
+            c.status[row] = statuses.encode(interview.latestStatus);
+            c.interviewDateTime[row] = interview.interviewDateTime;
+            c.timestamp[row] = interview.timestamp;
+            c.duration[row] = interview.duration == null ? NO_DURATION : interview.duration;
+            c.placed.set(row, interview.placed);
+            c.candidateId[row] = interview.candidateId;
+            c.fullName[row] = interview.fullName;
+            c.contactNumber[row] = interview.contactNumber;
+            c.candidateEmailId[row] = interview.candidateEmailId;
+            c.userEmail[row] = interview.userEmail;
+            c.zoomLink[row] = interview.zoomLink;
+            c.interviewLevel[row] = interview.interviewLevel;
+            c.recruiterName[row] = interview.recruiterName;
+            c.clientEmails[row] = interview.clientEmails;
+            c.version[row] = interview.version;
+        }
+
+        List<Submissions> submissionsReceived(String userId) {
+            int userCode = users.code(userId);
+            List<Submissions> result = new ArrayList<>();
+            if (userCode == -2) {
+                return result;
+            }
+            SubmissionColumns c = submissions;
+            for (int row = c.live.nextSetBit(0); row >= 0; row = c.live.nextSetBit(row + 1)) {
+                if (inMonth(c.receivedDay[row]) && (userId == null || c.user[row] == userCode)) {
+                    result.add(submission(row));
+                }
+            }
+            return result;
+        }
+
+        long submittedCount() {
+            SubmissionColumns c = submissions;
+            long count = 0;
+            for (int row = c.live.nextSetBit(0); row >= 0; row = c.live.nextSetBit(row + 1)) {
+                if (inMonth(c.submittedDay[row])) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        List<InterviewRow> scheduledInterviews(String userId) {
+            int userCode = users.code(userId);
+            List<InterviewRow> result = new ArrayList<>();
+            if (userCode == -2) {
+                return result;
+            }
+            InterviewColumns c = interviews;
+            for (int row = c.live.nextSetBit(0); row >= 0; row = c.live.nextSetBit(row + 1)) {
+                if (c.interviewDateTime[row] != null && (userId == null || c.user[row] == userCode)) {
+                    result.add(interview(row));
+                }
+            }
+            return result;
+        }
+
+        // The candidate's copy, or one holding only the id when the candidate was deleted meanwhile
+        CandidateDetails candidate(String candidateId) {
+            CandidateDetails candidate = candidates.get(candidateId);
+            if (candidate == null) {
+                candidate = new CandidateDetails();
+                candidate.setCandidateId(candidateId);
+            }
+            return candidate;
+        }
+
+        private Submissions submission(int row) {
+            SubmissionColumns c = submissions;
+            Submissions submission = new Submissions();
+            submission.setSubmissionId(c.submissionId[row]);
+            submission.setCandidate(candidate(candidateIds.decode(c.candidate[row])));
+            submission.setJobId(jobs.decode(c.job[row]));
+            submission.setClientName(clients.decode(c.client[row]));
+            submission.setProfileReceivedDate(c.receivedDay[row] == NO_DAY ? null : LocalDate.ofEpochDay(c.receivedDay[row]));
+            submission.setSubmittedAt(c.submittedAt[row]);
+            submission.setRequiredTechnologiesRating(Double.isNaN(c.rating[row]) ? null : c.rating[row]);
+            submission.setPreferredLocation(c.preferredLocation[row]);
+            submission.setSkills(c.skills[row]);
+            submission.setCommunicationSkills(c.communicationSkills[row]);
+            submission.setOverallFeedback(c.overallFeedback[row]);
+            submission.setRecruiterName(c.recruiterName[row]);
+            submission.setVersion(c.version[row]);
+            return submission;
+        }
+
+        @SuppressWarnings("unchecked")
+        private InterviewRow interview(int row) {
+            InterviewColumns c = interviews;
+            InterviewRow interview = new InterviewRow();
+            interview.interviewId = c.interviewId[row];
+            interview.userId = users.decode(c.user[row]);
+            interview.jobId = jobs.decode(c.job[row]);
+            interview.clientName = clients.decode(c.client[row]);
+            interview.latestStatus = statuses.decode(c.status[row]);
+            interview.interviewDateTime = c.interviewDateTime[row];
+            interview.timestamp = c.timestamp[row];
+            interview.duration = c.duration[row] == NO_DURATION ? null : c.duration[row];
+            interview.placed = c.placed.get(row);
+            interview.candidateId = c.candidateId[row];
+            interview.fullName = c.fullName[row];
+            interview.contactNumber = c.contactNumber[row];
+            interview.candidateEmailId = c.candidateEmailId[row];
+            interview.userEmail = c.userEmail[row];
+            interview.zoomLink = c.zoomLink[row];
+            interview.interviewLevel = c.interviewLevel[row];
+            interview.recruiterName = c.recruiterName[row];
+            interview.clientEmails = (List<String>) c.clientEmails[row];
+            interview.version = c.version[row];
+            return interview;
+        }
+
+        private boolean inMonth(int day) {
+            return day != NO_DAY && day >= firstDay && day <= lastDay;
+        }
+
+        private static int day(LocalDate date) {
+            return date == null ? NO_DAY : (int) date.toEpochDay();
+        }
+
+        private static int day(LocalDateTime dateTime) {
+            return dateTime == null ? NO_DAY : (int) dateTime.toLocalDate().toEpochDay();
+        }
+    }
+
+    // An interview as the listings show it: the latest status instead of the status history, client emails parsed
+    public static final class InterviewRow {
+        private String interviewId;
+        private String jobId;
+        private String candidateId;
+        private String fullName;
+        private String contactNumber;
+        private String candidateEmailId;
+        private String userEmail;
+        private String userId;
+        private OffsetDateTime interviewDateTime;
+        private Integer duration;
+        private String zoomLink;
+        private LocalDateTime timestamp;
+        private List<String> clientEmails;
+        private String clientName;
+        private String interviewLevel;
+        private String latestStatus;
+        private String recruiterName;
+        private boolean placed;
+        private long version;
+
+        static InterviewRow of(InterviewDetails interview) {
+            InterviewRow row = new InterviewRow();
+            row.interviewId = interview.getInterviewId();
+            row.jobId = interview.getJobId();
+            row.candidateId = interview.getCandidateId();
+            row.fullName = interview.getFullName();
+            row.contactNumber = interview.getContactNumber();
+            row.candidateEmailId = interview.getCandidateEmailId();
+            row.userEmail = interview.getUserEmail();
+            row.userId = interview.getUserId();
+            row.interviewDateTime = interview.getInterviewDateTime();
+            row.duration = interview.getDuration();
+            row.zoomLink = interview.getZoomLink();
+            row.timestamp = interview.getTimestamp();
+            row.clientName = interview.getClientName();
+            row.interviewLevel = interview.getInterviewLevel();
+            row.latestStatus = InterviewService.latestInterviewStatusFromJson(interview.getInterviewStatus());
+            row.recruiterName = interview.getRecruiterName();
+            row.placed = interview.getIsPlaced();
+            row.version = interview.getVersion();
+            try {
+                row.clientEmails = Collections.unmodifiableList(interview.getClientEmailList());
+            } catch (RuntimeException e) {
+                logger.warn("Unreadable client emails of interview {}: {}", interview.getInterviewId(), e.getMessage());
+                row.clientEmails = List.of();
+            }
+            return row;
+        }
+
+        public String getInterviewId() {
+            return interviewId;
+        }
+
+        public String getJobId() {
+            return jobId;
+        }
+
+        public String getCandidateId() {
+            return candidateId;
+        }
+
+        public String getFullName() {
+            return fullName;
+        }
+
+        public String getContactNumber() {
+            return contactNumber;
+        }
+
+        public String getCandidateEmailId() {
+            return candidateEmailId;
+        }
+
+        public String getUserEmail() {
+            return userEmail;
+        }
+
+        public String getUserId() {
+            return userId;
+        }
+
+        public OffsetDateTime getInterviewDateTime() {
+            return interviewDateTime;
+        }
+
+        public Integer getDuration() {
+            return duration;
+        }
+
+        public String getZoomLink() {
+            return zoomLink;
+        }
+
+        public LocalDateTime getTimestamp() {
+            return timestamp;
+        }
+
+        public List<String> getClientEmailList() {
+            return clientEmails;
+        }
+
+        public String getClientName() {
+            return clientName;
+        }
+
+        public String getInterviewLevel() {
+            return interviewLevel;
+        }
+
+        public String getLatestStatus() {
+            return latestStatus;
+        }
+
+        public String getRecruiterName() {
+            return recruiterName;
+        }
+
+        public boolean getIsPlaced() {
+            return placed;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.profile.candidate.service;
+
+import com.profile.candidate.dto.FreeSlotDto;
+import com.profile.candidate.exceptions.DateRangeValidationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+// Common free time of a recruiter, a candidate and a client: the working hours in the requested window minus the
+// merged busy intervals of all participants from InterviewConflictIndex, swept once from start to end.
+@Service
+public class FreeSlotService {
+
+    @Autowired
+    private InterviewConflictIndex interviewConflictIndex;
+
+    @Value("${candidate.free-slots.zone:Asia/Kolkata}")
+    private ZoneId zone;
+
+    @Value("${candidate.free-slots.workday-start:09:00}")
+    private LocalTime workdayStart;
+
+    @Value("${candidate.free-slots.workday-end:18:00}")
+    private LocalTime workdayEnd;
+
+    @Value("${candidate.free-slots.include-weekends:false}")
+    private boolean includeWeekends;
+
+    @Value("${candidate.free-slots.max-window:31d}")
+    private Duration maxWindow;
+
+    public boolean isReady() {
+        return interviewConflictIndex.isLoaded();
+    }
+
+    // Free periods of at least durationMinutes, reported in the offset of `from`
+    public List<FreeSlotDto> findFreeSlots(String userId, String candidateId, String clientName,
+                                           OffsetDateTime from, OffsetDateTime to, int durationMinutes) {
+        if (!to.isAfter(from)) {
+            throw new DateRangeValidationException("End of the window must be after its start.");
+        }
+        if (Duration.between(from, to).compareTo(maxWindow) > 0) {
+            throw new DateRangeValidationException("Window must not be longer than " + maxWindow.toDays() + " days.");
+        }
+        long fromMillis = from.toInstant().toEpochMilli();
+        long toMillis = to.toInstant().toEpochMilli();
+        long minLength = Duration.ofMinutes(durationMinutes).toMillis();
+        ZoneOffset offset = from.getOffset();
+        List<long[]> busy = interviewConflictIndex.busyIntervals(candidateId, userId, clientName, fromMillis, toMillis);
+
+        List<FreeSlotDto> slots = new ArrayList<>();
+        int next = 0;
+        LocalDate lastDay = to.atZoneSameInstant(zone).toLocalDate();
+        for (LocalDate day = from.atZoneSameInstant(zone).toLocalDate(); !day.isAfter(lastDay); day = day.plusDays(1)) {
+            if (!includeWeekends && (day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY)) {
+                continue;
+            }
+            long dayStart = Math.max(fromMillis, day.atTime(workdayStart).atZone(zone).toInstant().toEpochMilli());
+            long dayEnd = Math.min(toMillis, day.atTime(workdayEnd).atZone(zone).toInstant().toEpochMilli());
+            if (dayEnd <= dayStart) {
+                continue;
+            }
+            // Busy intervals are sorted and disjoint: skip those over before this day, then walk the gaps
+            while (next < busy.size() && busy.get(next)[1] <= dayStart) {
+                next++;
+            }
+            long cursor = dayStart;
+            for (int i = next; i < busy.size() && busy.get(i)[0] < dayEnd; i++) {
+                long[] interval = busy.get(i);
+                if (interval[0] - cursor >= minLength) {
+                    slots.add(slot(cursor, interval[0], offset));
+                }
+                cursor = Math.max(cursor, interval[1]);
+            }
+            if (dayEnd - cursor >= minLength) {
+                slots.add(slot(cursor, dayEnd, offset));
+            }
+        }
+        return slots;
+    }
+
+    private static FreeSlotDto slot(long start, long end, ZoneOffset offset) {
+        return new FreeSlotDto(OffsetDateTime.ofInstant(Instant.ofEpochMilli(start), offset),
+                OffsetDateTime.ofInstant(Instant.ofEpochMilli(end), offset), (end - start) / 60_000);
+    }
+}
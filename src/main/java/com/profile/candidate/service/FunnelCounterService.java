@@ -0,0 +1,338 @@
+package com.profile.candidate.service;
+
+import com.profile.candidate.configurations.ChangeVersionTracker;
+import com.profile.candidate.dto.FunnelStageDto;
+import com.profile.candidate.dto.FunnelStageProjection;
+import com.profile.candidate.exceptions.DateRangeValidationException;
+import com.profile.candidate.model.FunnelDailyCountId;
+import com.profile.candidate.model.FunnelFact;
+import com.profile.candidate.model.FunnelFactId;
+import com.profile.candidate.model.InterviewDetails;
+import com.profile.candidate.model.PlacementDetails;
+import com.profile.candidate.model.Submissions;
+import com.profile.candidate.repository.CandidateRepository;
+import com.profile.candidate.repository.FunnelCountRepository;
+import com.profile.candidate.repository.FunnelFactRepository;
+import com.profile.candidate.repository.InterviewRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+// Recruitment funnel (submission -> interview -> placement) counters per recruiter, team lead, client, job and day,
+// so conversion rates over any date range are one scan of funnel_daily_counts instead of a join of the three tables.
+//
+// The services writing submissions, interviews and placements apply each record's fact in the same transaction as
+// the write: the fact the record was last counted under (kept in funnel_facts, team lead and client as they were
+// then) is subtracted and the one after the write added. A submission counts on its profile received date, an
+// interview on its interview date (cancelled interviews not at all), a placement on its created date. rebuild()
+// recomputes the counters and funnel_facts from the three tables (run automatically when funnel_facts is empty).
+@Service
+public class FunnelCounterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FunnelCounterService.class);
+
+    public static final List<String> DIMENSIONS = List.of("recruiter", "teamLead", "client", "job", "total");
+    static final String SUBMITTED = "SUBMITTED";
+    static final String INTERVIEWED = "INTERVIEWED";
+    static final String PLACED = "PLACED";
+    // Stands in for a missing recruiter, team lead, client or job
+    static final String NONE = "(none)";
+    private static final String TOTAL = "all";
+    private static final int KEY_LENGTH = 191;
+
+    @Autowired
+    private FunnelCountRepository funnelCountRepository;
+
+    @Autowired
+    private FunnelFactRepository funnelFactRepository;
+
+    @Autowired
+    private CandidateRepository candidateRepository;
+
+    @Autowired
+    private InterviewRepository interviewRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ChangeVersionTracker changeVersionTracker;
+
+    // The fact* methods look up the job's team lead (and client, when the record has none). The "after" fact is taken
+    // after saving; the "before" fact (taken before modifying the record) names the record whose stored fact is taken
+    // out, and is only counted itself for records from before funnel_facts
+
+    public Fact fact(Submissions submission) {
+        return submission == null ? null : submissionFact(submission, new HashMap<>());
+    }
+
+    // For many submissions at once (bulk import, candidate delete): each job is looked up once
+    public List<Fact> facts(List<Submissions> submissions) {
+        Map<String, String[]> jobs = new HashMap<>();
+        return submissions.stream().map(submission -> submissionFact(submission, jobs)).collect(Collectors.toList());
+    }
+
+    private Fact submissionFact(Submissions submission, Map<String, String[]> jobs) {
+        LocalDate day = submission.getProfileReceivedDate() != null ? submission.getProfileReceivedDate()
+                : submission.getSubmittedAt() != null ? submission.getSubmittedAt().toLocalDate() : LocalDate.now();
+        String recruiter = submission.getCandidate() == null ? null : submission.getCandidate().getUserId();
+        return resolve(SUBMITTED, submission.getSubmissionId(), day, recruiter, submission.getClientName(),
+                submission.getJobId(), jobs);
+    }
+
+    public Fact fact(InterviewDetails interview) {
+        if (interview == null || InterviewConflictIndex.isCancelled(interview.getInterviewStatus())) {
+            return null;
+        }
+        // interview_date_time is stored in the JVM zone, which is also what the rebuild query's DATE_FORMAT sees
+        LocalDate day = interview.getInterviewDateTime() != null
+                ? interview.getInterviewDateTime().atZoneSameInstant(ZoneId.systemDefault()).toLocalDate()
+                : interview.getTimestamp() != null ? interview.getTimestamp().toLocalDate() : LocalDate.now();
+        return resolve(INTERVIEWED, interview.getInterviewId(), day, interview.getUserId(), interview.getClientName(),
+                interview.getJobId(), new HashMap<>());
+    }
+
+    // Placements carry no recruiter id or job; both come from the interview placed, else the candidate's recruiter
+    public Fact fact(PlacementDetails placement) {
+        if (placement == null) {
+            return null;
+        }
+        LocalDate day = placement.getCreatedAt() != null ? placement.getCreatedAt()
+                : placement.getStartDate() != null ? placement.getStartDate() : LocalDate.now();
+        InterviewDetails interview = placement.getInterviewId() == null ? null
+                : interviewRepository.findById(placement.getInterviewId()).orElse(null);
+        String recruiter = interview != null ? interview.getUserId()
+                : placement.getCandidateId() == null ? null
+                : candidateRepository.findById(placement.getCandidateId()).map(c -> c.getUserId()).orElse(null);
+        return resolve(PLACED, placement.getId(), day, recruiter, placement.getClientName(),
+                interview == null ? null : interview.getJobId(), new HashMap<>());
+    }
+
+    // The job's team lead and client, the client only used when the record names none
+    private Fact resolve(String stage, String sourceId, LocalDate day, String recruiter, String client, String jobId,
+                         Map<String, String[]> jobs) {
+        String teamLead = null;
+        if (jobId != null) {
+            String[] job = jobs.computeIfAbsent(jobId, id -> new String[]{
+                    candidateRepository.findTeamLeadNameByJobId(id),
+                    candidateRepository.findClientNameByJobId(id).orElse(null)});
+            teamLead = job[0];
+            if (client == null || client.isBlank()) {
+                client = job[1];
+            }
+        }
+        return new Fact(stage, sourceId, day, recruiter, teamLead, client, jobId);
+    }
+
+    // Must run inside the transaction writing the record
+    @Transactional
+    public void apply(Fact before, Fact after) {
+        apply(before == null ? List.of() : List.of(before), after == null ? List.of() : List.of(after));
+    }
+
+    @Transactional
+    public void apply(List<Fact> before, List<Fact> after) {
+        if (before.isEmpty() && after.isEmpty()) {
+            return;
+        }
+        // Held until the write commits, so a rebuild never runs between reading the tables and replacing the counts
+        if (funnelFactRepository.lockGuardShared() == null) {
+            funnelFactRepository.createGuard();
+            funnelFactRepository.lockGuardShared();
+        }
+        Map<FunnelDailyCountId, long[]> deltas = new HashMap<>();
+        Map<FunnelFactId, Fact> passedBefore = new HashMap<>();
+        Map<FunnelFactId, Fact> passedAfter = new HashMap<>();
+        // Sorted, so two writers touching the same records lock them in the same order
+        Map<String, Set<String>> sourcesByStage = new TreeMap<>();
+        before.forEach(fact -> track(fact, -1, passedBefore, sourcesByStage, deltas));
+        after.forEach(fact -> track(fact, 1, passedAfter, sourcesByStage, deltas));
+        sourcesByStage.forEach((stage, sourceIds) -> {
+            sourceIds.forEach(sourceId -> funnelFactRepository.lock(stage, sourceId));
+            for (FunnelFact stored : funnelFactRepository.findForUpdate(stage, sourceIds)) {
+                // A row without a day was just created by lock(): other transactions never see one, since it gets a
+                // day or is deleted before this one commits. The record was counted before funnel_facts existed, or
+                // never, and the caller's fact stands in for it
+                Fact counted = stored.getDay() != null ? Fact.of(stored) : passedBefore.get(stored.getId());
+                Fact next = passedAfter.get(stored.getId());
+                if (counted != null) {
+                    counted.addTo(deltas, -1);
+                }
+                if (next == null) {
+                    funnelFactRepository.delete(stored);
+                } else {
+                    next.addTo(deltas, 1);
+                    next.storeIn(stored);
+                }
+            }
+        });
+        deltas.forEach((id, delta) -> {
+            if (delta[0] != 0) {
+                funnelCountRepository.addDelta(id.getDimension(), id.getDimensionValue(), id.getDay(), id.getStage(), delta[0]);
+            }
+        });
+    }
+
+    // Facts without a record id (not saved yet) are counted as given
+    private static void track(Fact fact, int sign, Map<FunnelFactId, Fact> byId, Map<String, Set<String>> sourcesByStage,
+                              Map<FunnelDailyCountId, long[]> deltas) {
+        if (fact.sourceId == null) {
+            fact.addTo(deltas, sign);
+            return;
+        }
+        byId.put(new FunnelFactId(fact.stage, fact.sourceId), fact);
+        sourcesByStage.computeIfAbsent(fact.stage, stage -> new TreeSet<>()).add(fact.sourceId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInBackgroundIfEmpty() {
+        Thread thread = new Thread(() -> {
+            try {
+                if (funnelFactRepository.countFacts() == 0) {
+                    rebuild();
+                }
+            } catch (Exception e) {
+                logger.error("Failed to build funnel counters: {}", e.getMessage(), e);
+            }
+        }, "funnel-counter-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // Aggregated here rather than in SQL so cancelled interviews (a JSON status history) and blank values are
+    // treated exactly as on the incremental path.
+    // The guard is taken first: it waits for counter writes in flight and holds new ones back until the rebuild
+    // commits. The tables are only read after that, so the rebuild sees every write that committed before it, and a
+    // write held back takes out the fact the rebuild stored for its record before adding its own.
+    public int rebuild() {
+        long start = System.nanoTime();
+        Integer rows = new TransactionTemplate(transactionManager).execute(status -> {
+            funnelFactRepository.lockGuardExclusive();
+            funnelFactRepository.deleteAllFacts();
+            funnelCountRepository.deleteAllCounts();
+            Map<FunnelDailyCountId, long[]> counts = new HashMap<>();
+            List<Fact> facts = new ArrayList<>();
+            for (Object[] row : funnelCountRepository.findSubmissionFacts()) {
+                facts.add(factFromRow(SUBMITTED, row, (String) row[5]));
+            }
+            for (Object[] row : funnelCountRepository.findInterviewFacts()) {
+                if (!InterviewConflictIndex.isCancelled((String) row[5])) {
+                    facts.add(factFromRow(INTERVIEWED, row, (String) row[6]));
+                }
+            }
+            for (Object[] row : funnelCountRepository.findPlacementFacts()) {
+                facts.add(factFromRow(PLACED, row, (String) row[5]));
+            }
+            facts.forEach(fact -> fact.addTo(counts, 1));
+            funnelFactRepository.saveAll(facts.stream().map(Fact::toEntity).collect(Collectors.toList()));
+            counts.forEach((id, count) ->
+                    funnelCountRepository.addDelta(id.getDimension(), id.getDimensionValue(), id.getDay(), id.getStage(), count[0]));
+            return counts.size();
+        });
+        changeVersionTracker.markChangedAfterCommit("candidate_submissions");
+        changeVersionTracker.markChangedAfterCommit("interview_details");
+        changeVersionTracker.markChangedAfterCommit("placements");
+        logger.info("Rebuilt funnel counters: {} rows in {} ms", rows, (System.nanoTime() - start) / 1_000_000);
+        return rows == null ? 0 : rows;
+    }
+
+    private static Fact factFromRow(String stage, Object[] row, String sourceId) {
+        LocalDate day = row[0] == null ? LocalDate.now() : LocalDate.parse((String) row[0]);
+        return new Fact(stage, sourceId, day, (String) row[1], (String) row[2], (String) row[3], (String) row[4]);
+    }
+
+    // Stage counts and conversion rates per dimension value, over the days from..to inclusive
+    @Transactional(readOnly = true)
+    public List<FunnelStageDto> getFunnel(String dimension, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new DateRangeValidationException("End date cannot be before start date");
+        }
+        return funnelCountRepository.findStageTotals(dimension, from, to).stream()
+                .map(FunnelCounterService::toDto)
+                .collect(Collectors.toList());
+    }
+
+    private static FunnelStageDto toDto(FunnelStageProjection row) {
+        long submitted = row.getSubmitted() == null ? 0 : row.getSubmitted();
+        long interviewed = row.getInterviewed() == null ? 0 : row.getInterviewed();
+        long placed = row.getPlaced() == null ? 0 : row.getPlaced();
+        return new FunnelStageDto(row.getDimensionValue(), submitted, interviewed, placed,
+                percent(interviewed, submitted), percent(placed, interviewed), percent(placed, submitted));
+    }
+
+    // Counts are per day of each stage, so over short ranges a later stage can outnumber the earlier one
+    private static BigDecimal percent(long part, long whole) {
+        return whole == 0 ? null
+                : BigDecimal.valueOf(part).multiply(BigDecimal.valueOf(100)).divide(BigDecimal.valueOf(whole), 2, RoundingMode.HALF_UP);
+    }
+
+    // Same normalisation for both paths: trimmed, blank counts as NONE
+    private static String key(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return NONE;
+        }
+        String trimmed = value.trim();
+        return trimmed.length() > KEY_LENGTH ? trimmed.substring(0, KEY_LENGTH) : trimmed;
+    }
+
+    // One submission, interview or placement as the funnel counts it
+    public static final class Fact {
+        private final String stage;
+        private final String sourceId;
+        private final LocalDate day;
+        private final String[] values;
+
+        private Fact(String stage, String sourceId, LocalDate day, String recruiter, String teamLead, String client,
+                     String jobId) {
+            this.stage = stage;
+            this.sourceId = sourceId;
+            this.day = day;
+            this.values = new String[]{key(recruiter), key(teamLead), key(client), key(jobId), TOTAL};
+        }
+
+        private static Fact of(FunnelFact stored) {
+            return new Fact(stored.getId().getStage(), stored.getId().getSourceId(), stored.getDay(),
+                    stored.getRecruiter(), stored.getTeamLead(), stored.getClient(), stored.getJobId());
+        }
+
+        private void storeIn(FunnelFact stored) {
+            stored.setDay(day);
+            stored.setRecruiter(values[0]);
+            stored.setTeamLead(values[1]);
+            stored.setClient(values[2]);
+            stored.setJobId(values[3]);
+        }
+
+        private FunnelFact toEntity() {
+            FunnelFact entity = new FunnelFact();
+            entity.setId(new FunnelFactId(stage, sourceId));
+            storeIn(entity);
+            return entity;
+        }
+
+        private void addTo(Map<FunnelDailyCountId, long[]> deltas, int sign) {
+            for (int i = 0; i < DIMENSIONS.size(); i++) {
+                deltas.computeIfAbsent(new FunnelDailyCountId(DIMENSIONS.get(i), values[i], day, stage), id -> new long[1])[0] += sign;
+            }
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package com.profile.candidate.service;
+
+import com.profile.candidate.configurations.EntityChangedEvent;
+import com.profile.candidate.model.CalendarFeedToken;
+import com.profile.candidate.model.InterviewDetails;
+import com.profile.candidate.repository.CalendarFeedTokenRepository;
+import com.profile.candidate.repository.InterviewRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+// iCalendar (RFC 5545) feeds of a recruiter's or a client's interviews, for calendar subscriptions.
+//
+// A feed is built from the database on its first request and then kept in memory as one rendered VEVENT per
+// interview. Committed interview writes (EntityChangedEvent) re-render only the VEVENT of the written interview in
+// the feeds that hold it; the .ics text and its ETag are re-assembled from the cached VEVENTs on the next request.
+// The ETag is a checksum of the content, so every replica hands out the same ETag for the same feed and polling
+// calendar clients get 304 Not Modified. Writes made on other replicas show up once the feed is rebuilt, after
+// candidate.calendar.refresh-interval.
+//
+// Calendar apps poll without the caller's credentials, so a feed is opened by a random token (CalendarFeedToken)
+// rather than by the user id or client name. Issuing a new token for a feed revokes the previous one; tokens are
+// issued through the calendartokens actuator endpoint (CalendarFeedTokenEndpoint), which is kept off the public route.
+@Service
+public class InterviewCalendarService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InterviewCalendarService.class);
+
+    private static final DateTimeFormatter UTC_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+    private static final String USER = "user:";
+    private static final String CLIENT = "client:";
+    private static final int TOKEN_BYTES = 32;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    @Autowired
+    private InterviewRepository interviewRepository;
+
+    @Autowired
+    private SingleFlight singleFlight;
+
+    @Autowired
+    private CalendarFeedTokenRepository calendarFeedTokenRepository;
+
+    // Interviews that started longer ago than this are left out of the feeds
+    @Value("${candidate.calendar.lookback:90d}")
+    private Duration lookback;
+
+    @Value("${candidate.calendar.refresh-interval:10m}")
+    private Duration refreshInterval;
+
+    @Value("${candidate.calendar.max-feeds:500}")
+    private int maxFeeds;
+
+    // Used for interviews saved without a duration
+    @Value("${candidate.calendar.default-duration:60m}")
+    private Duration defaultDuration;
+
+    private final Map<String, Feed> feeds = new ConcurrentHashMap<>();
+
+    // A new token for the user's feed, replacing the one issued before
+    @Transactional
+    public String issueUserFeedToken(String userId) {
+        return issueToken(USER + userId, "user", userId);
+    }
+
+    // A new token for the client's feed, replacing the one issued before
+    @Transactional
+    public String issueClientFeedToken(String clientName) {
+        return issueToken(CLIENT + InterviewConflictIndex.clientKey(clientName), "client", clientName.trim());
+    }
+
+    // The feed the token was issued for; null when the token is unknown or has been replaced
+    public Calendar getCalendarByToken(String token) {
+        CalendarFeedToken feedToken = calendarFeedTokenRepository.findByTokenHash(hash(token)).orElse(null);
+        if (feedToken == null) {
+            return null;
+        }
+        return "client".equals(feedToken.getFeedType())
+                ? getClientCalendar(feedToken.getSubject()) : getUserCalendar(feedToken.getSubject());
+    }
+
+    private String issueToken(String feedKey, String feedType, String subject) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        CalendarFeedToken feedToken = calendarFeedTokenRepository.findById(feedKey).orElseGet(CalendarFeedToken::new);
+        feedToken.setFeedKey(feedKey);
+        feedToken.setFeedType(feedType);
+        feedToken.setSubject(subject);
+        feedToken.setTokenHash(hash(token));
+        feedToken.setCreatedAt(LocalDateTime.now());
+        calendarFeedTokenRepository.save(feedToken);
+        logger.info("Issued a new calendar feed token for {}", feedKey);
+        return token;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    Calendar getUserCalendar(String userId) {
+        return calendar(USER + userId, "Interviews - " + userId,
+                from -> interviewRepository.findCalendarInterviewsByUserId(userId, from));
+    }
+
+    Calendar getClientCalendar(String clientName) {
+        String clientKey = InterviewConflictIndex.clientKey(clientName);
+        return calendar(CLIENT + clientKey, "Interviews - " + clientName.trim(),
+                from -> interviewRepository.findCalendarInterviewsByClient(clientKey, from));
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (!(event.getEntity() instanceof InterviewDetails) || feeds.isEmpty()) {
+            return;
+        }
+        for (Feed feed : feeds.values()) {
+            synchronized (feed) {
+                if (feed.pendingChanges != null) {
+                    feed.pendingChanges.add(event);
+                }
+                apply(feed, event);
+            }
+        }
+    }
+
+    private Calendar calendar(String key, String name, Function<OffsetDateTime, List<InterviewDetails>> query) {
+        Feed feed = feeds.get(key);
+        if (feed == null || System.nanoTime() - feed.loadedAt > refreshInterval.toNanos()) {
+            // Calendar clients of one user or client tend to poll together; one of them loads the feed
+            feed = singleFlight.execute("calendarFeed", () -> load(key, name, query), key);
+        }
+        synchronized (feed) {
+            feed.lastRequested = System.nanoTime();
+            if (feed.calendar == null) {
+                feed.calendar = render(feed);
+            }
+            return feed.calendar;
+        }
+    }
+
+    private Feed load(String key, String name, Function<OffsetDateTime, List<InterviewDetails>> query) {
+        long start = System.nanoTime();
+        Feed feed = new Feed(key, name);
+        // Registered before the query, so writes committed meanwhile are queued and replayed on top of its result
+        register(feed);
+        List<InterviewDetails> interviews = query.apply(OffsetDateTime.now().minus(lookback));
+        synchronized (feed) {
+            for (InterviewDetails interview : interviews) {
+                feed.events.put(interview.getInterviewId(), toEvent(interview));
+            }
+            feed.pendingChanges.forEach(event -> apply(feed, event));
+            feed.pendingChanges = null;
+            feed.calendar = null;
+        }
+        logger.debug("Built calendar feed {} with {} interviews in {} ms", key, interviews.size(),
+                (System.nanoTime() - start) / 1_000_000);
+        return feed;
+    }
+
+    private void register(Feed feed) {
+        if (!feeds.containsKey(feed.key) && feeds.size() >= maxFeeds) {
+            // Drop the feed polled least recently
+            feeds.values().stream()
+                    .min((a, b) -> Long.compare(a.lastRequested, b.lastRequested))
+                    .ifPresent(oldest -> feeds.remove(oldest.key, oldest));
+        }
+        feeds.put(feed.key, feed);
+    }
+
+    // Caller holds the feed's lock
+    private void apply(Feed feed, EntityChangedEvent event) {
+        InterviewDetails interview = (InterviewDetails) event.getEntity();
+        String interviewId = interview.getInterviewId();
+        if (interviewId == null) {
+            return;
+        }
+        boolean belongs = event.getType() != EntityChangedEvent.Type.DELETE && interview.getInterviewDateTime() != null
+                && !interview.getInterviewDateTime().isBefore(OffsetDateTime.now().minus(lookback))
+                && (feed.key.equals(USER + interview.getUserId())
+                || feed.key.equals(CLIENT + InterviewConflictIndex.clientKey(interview.getClientName())));
+        if (belongs) {
+            feed.events.put(interviewId, toEvent(interview));
+            feed.calendar = null;
+        } else if (feed.events.remove(interviewId) != null) {
+            feed.calendar = null;
+        }
+    }
+
+    private Calendar render(Feed feed) {
+        StringBuilder ics = new StringBuilder(256 + feed.events.size() * 512);
+        line(ics, "BEGIN:VCALENDAR");
+        line(ics, "VERSION:2.0");
+        line(ics, "PRODID:-//Dataquad//Candidate Interviews//EN");
+        line(ics, "CALSCALE:GREGORIAN");
+        line(ics, "METHOD:PUBLISH");
+        line(ics, "X-WR-CALNAME:" + escape(feed.name));
+        for (String event : feed.events.values()) {
+            ics.append(event);
+        }
+        line(ics, "END:VCALENDAR");
+        String body = ics.toString();
+        CRC32 crc = new CRC32();
+        crc.update(body.getBytes(StandardCharsets.UTF_8));
+        return new Calendar(body, "\"" + Long.toHexString(crc.getValue()) + "\"");
+    }
+
+    private String toEvent(InterviewDetails interview) {
+        Instant start = interview.getInterviewDateTime().toInstant();
+        Duration duration = interview.getDuration() != null && interview.getDuration() > 0
+                ? Duration.ofMinutes(interview.getDuration()) : defaultDuration;
+        boolean cancelled = InterviewConflictIndex.isCancelled(interview.getInterviewStatus());
+
+        StringBuilder summary = new StringBuilder("Interview: ").append(interview.getFullName());
+        if (interview.getClientName() != null) {
+            summary.append(" - ").append(interview.getClientName());
+        }
+        if (interview.getInterviewLevel() != null) {
+            summary.append(" (").append(interview.getInterviewLevel()).append(")");
+        }
+        StringBuilder description = new StringBuilder();
+        description.append("Candidate: ").append(interview.getFullName()).append('\n');
+        if (interview.getCandidateEmailId() != null) {
+            description.append("Candidate email: ").append(interview.getCandidateEmailId()).append('\n');
+        }
+        if (interview.getJobId() != null) {
+            description.append("Job: ").append(interview.getJobId()).append('\n');
+        }
+        if (interview.getZoomLink() != null && !interview.getZoomLink().isEmpty()) {
+            description.append("Join Zoom Meeting: ").append(interview.getZoomLink()).append('\n');
+        }
+
+        StringBuilder event = new StringBuilder(512);
+        line(event, "BEGIN:VEVENT");
+        line(event, "UID:" + escape(interview.getInterviewId()) + "@dataquad");
+        line(event, "DTSTAMP:" + UTC_FORMAT.format(interview.getTimestamp() != null
+                ? interview.getTimestamp().atZone(ZoneId.systemDefault()).toInstant() : start));
+        line(event, "DTSTART:" + UTC_FORMAT.format(start));
+        line(event, "DTEND:" + UTC_FORMAT.format(start.plus(duration)));
+        line(event, "SUMMARY:" + escape(summary.toString()));
+        line(event, "DESCRIPTION:" + escape(description.toString()));
+        if (interview.getZoomLink() != null && !interview.getZoomLink().isEmpty()) {
+            line(event, "LOCATION:" + escape(interview.getZoomLink()));
+        }
+        line(event, "STATUS:" + (cancelled ? "CANCELLED" : "CONFIRMED"));
+        line(event, "END:VEVENT");
+        return event.toString();
+    }
+
+    // TEXT values escape backslash, semicolon, comma and newline
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replace("\\", "\\\\").replace(";", "\\;").replace(",", "\\,")
+                .replace("\r\n", "\\n").replace("\n", "\\n");
+    }
+
+    // Content lines end in CRLF and are folded at 75 octets, continuation lines starting with a space
+    private static void line(StringBuilder out, String content) {
+        int octets = 0;
+        for (int i = 0; i < content.length(); ) {
+            int codePoint = content.codePointAt(i);
+            int width = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (octets + width > 75) {
+                out.append("\r\n ");
+                octets = 1;
+            }
+            out.appendCodePoint(codePoint);
+            octets += width;
+            i += Character.charCount(codePoint);
+        }
+        out.append("\r\n");
+    }
+
+    private static final class Feed {
+        private final String key;
+        private final String name;
+        // Rendered VEVENT per interview id
+        private final Map<String, String> events = new TreeMap<>();
+        private final long loadedAt = System.nanoTime();
+        private volatile long lastRequested = System.nanoTime();
+        private List<EntityChangedEvent> pendingChanges = new ArrayList<>();
+        // Assembled on request, cleared by any change to events
+        private Calendar calendar;
+
+        Feed(String key, String name) {
+            this.key = key;
+            this.name = name;
+        }
+    }
+
+    public static final class Calendar {
+        private final String body;
+        private final String etag;
+
+        Calendar(String body, String etag) {
+            this.body = body;
+            this.etag = etag;
+        }
+
+        public String getBody() {
+            return body;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package com.profile.candidate.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.profile.candidate.configurations.EntityChangedEvent;
+import com.profile.candidate.exceptions.InterviewConflictException;
+import com.profile.candidate.model.InterviewDetails;
+import com.profile.candidate.repository.InterviewRepository;
+import com.profile.candidate.repository.InterviewSlotLockRepository;
+import com.profile.candidate.utils.IntervalTree;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+
+// In-memory index of interview time slots, one interval tree per candidate, per recruiter (userId) and per client,
+// used to find interviews overlapping [interviewDateTime, interviewDateTime + duration) without querying the
+// database: the busy time behind the free-slot finder.
+//
+// Loaded from the database after startup (interviews from candidate.interview-conflicts.lookback ago onwards) and
+// then kept in step with every committed insert, update and delete of InterviewDetails (EntityChangedEvent).
+// Cancelled interviews do not hold their slot.
+//
+// The overlap check on scheduling does not use the index: it can trail writes of other instances, and a check
+// against it cannot be made atomic with the save. checkConflicts runs in the saving transaction instead, locks the
+// candidate's and recruiter's rows in interview_slot_locks and reads their interviews around the new slot from the
+// database, so concurrent schedulings for the same person are checked one after the other on any instance.
+@Component
+public class InterviewConflictIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(InterviewConflictIndex.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    public static final String CANDIDATE = "candidate";
+    public static final String RECRUITER = "recruiter";
+    // Interviews starting this long before a slot are read for the overlap check; none lasts longer
+    private static final Duration LONGEST_INTERVIEW = Duration.ofDays(1);
+
+    @Autowired
+    private InterviewRepository interviewRepository;
+
+    @Autowired
+    private InterviewSlotLockRepository interviewSlotLockRepository;
+
+    // reject, warn or off, per kind of overlap
+    @Value("${candidate.interview-conflicts.candidate-overlap:reject}")
+    private String candidateOverlap;
+
+    @Value("${candidate.interview-conflicts.recruiter-overlap:warn}")
+    private String recruiterOverlap;
+
+    // Used for interviews saved without a duration
+    @Value("${candidate.interview-conflicts.default-duration:60m}")
+    private Duration defaultDuration;
+
+    @Value("${candidate.interview-conflicts.lookback:1d}")
+    private Duration lookback;
+
+    private final Map<String, IntervalTree<String>> byCandidate = new HashMap<>();
+    private final Map<String, IntervalTree<String>> byRecruiter = new HashMap<>();
+    private final Map<String, IntervalTree<String>> byClient = new HashMap<>();
+    private final Map<String, Slot> slots = new HashMap<>();
+    // Changes committed while the initial load runs, replayed on top of it
+    private List<EntityChangedEvent> pendingChanges = new ArrayList<>();
+    private volatile boolean loaded;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        Thread loader = new Thread(this::load, "interview-conflict-index-load");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    public void load() {
+        try {
+            long start = System.nanoTime();
+            List<Object[]> rows = interviewRepository.findInterviewSlotsFrom(OffsetDateTime.now().minus(lookback));
+            synchronized (this) {
+                byCandidate.clear();
+                byRecruiter.clear();
+                byClient.clear();
+                slots.clear();
+                for (Object[] row : rows) {
+                    put((String) row[0], (String) row[1], (String) row[2], (OffsetDateTime) row[3], (Integer) row[4],
+                            (String) row[5], (String) row[6]);
+                }
+                // Applying a change again is harmless, so it does not matter whether the query already saw it
+                if (pendingChanges != null) {
+                    pendingChanges.forEach(this::apply);
+                }
+                pendingChanges = null;
+                loaded = true;
+            }
+            logger.info("Interview conflict index loaded with {} interviews in {} ms",
+                    rows.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            // The index stays unloaded, so the free-slot finder reports it is not ready
+            logger.error("Failed to load interview conflict index: {}", e.getMessage(), e);
+            synchronized (this) {
+                pendingChanges = null;
+            }
+        }
+    }
+
+    @EventListener
+    public synchronized void onEntityChanged(EntityChangedEvent event) {
+        if (!(event.getEntity() instanceof InterviewDetails)) {
+            return;
+        }
+        if (pendingChanges != null) {
+            pendingChanges.add(event);
+        }
+        apply(event);
+    }
+
+    // Throws InterviewConflictException for overlaps configured as reject; returns a warning describing overlaps
+    // configured as warn, or null. interviewId is the interview being scheduled or moved, which never conflicts
+    // with itself. Must run in the transaction that saves the interview: the participants stay locked until it ends.
+    public String checkConflicts(String interviewId, String candidateId, String userId,
+                                 OffsetDateTime interviewDateTime, Integer duration) {
+        if (interviewDateTime == null || ("off".equalsIgnoreCase(candidateOverlap) && "off".equalsIgnoreCase(recruiterOverlap))) {
+            return null;
+        }
+        List<String> rejected = new ArrayList<>();
+        List<String> warnings = new ArrayList<>();
+        for (Conflict conflict : findConflicts(interviewId, candidateId, userId, interviewDateTime, duration)) {
+            String policy = CANDIDATE.equals(conflict.getType()) ? candidateOverlap : recruiterOverlap;
+            String description = "the " + conflict.getType() + " already has interview " + conflict.getInterviewId()
+                    + " from " + conflict.getStart() + " to " + conflict.getEnd();
+            if ("reject".equalsIgnoreCase(policy)) {
+                rejected.add(description);
+            } else if ("warn".equalsIgnoreCase(policy)) {
+                warnings.add(description);
+            }
+        }
+        if (!rejected.isEmpty()) {
+            logger.warn("Rejecting interview {} at {}: {}", interviewId, interviewDateTime, rejected);
+            throw new InterviewConflictException("Interview at " + interviewDateTime + " overlaps: " + String.join("; ", rejected));
+        }
+        if (!warnings.isEmpty()) {
+            logger.warn("Interview {} at {} overlaps: {}", interviewId, interviewDateTime, warnings);
+            return "Overlaps: " + String.join("; ", warnings);
+        }
+        return null;
+    }
+
+    // Overlapping interviews of the candidate and the recruiter as committed, after locking both
+    public List<Conflict> findConflicts(String interviewId, String candidateId, String userId,
+                                        OffsetDateTime interviewDateTime, Integer duration) {
+        List<Conflict> conflicts = new ArrayList<>();
+        if (candidateId == null && userId == null) {
+            return conflicts;
+        }
+        lockParticipants(candidateId, userId);
+        long start = interviewDateTime.toInstant().toEpochMilli();
+        long end = start + durationMillis(duration);
+        List<Object[]> rows = interviewRepository.findParticipantSlotsBetween(candidateId, userId,
+                interviewDateTime.minus(LONGEST_INTERVIEW), interviewDateTime.plus(Duration.ofMillis(end - start)));
+        for (Object[] row : rows) {
+            String otherId = (String) row[0];
+            OffsetDateTime otherDateTime = (OffsetDateTime) row[3];
+            if (otherId == null || otherId.equals(interviewId) || otherDateTime == null || isCancelled((String) row[5])) {
+                continue;
+            }
+            long otherStart = otherDateTime.toInstant().toEpochMilli();
+            long otherEnd = otherStart + durationMillis((Integer) row[4]);
+            if (otherStart >= end || start >= otherEnd) {
+                continue;
+            }
+            Instant from = Instant.ofEpochMilli(otherStart);
+            Instant to = Instant.ofEpochMilli(otherEnd);
+            if (candidateId != null && candidateId.equals(row[1])) {
+                conflicts.add(new Conflict(otherId, CANDIDATE, from, to));
+            }
+            if (userId != null && userId.equals(row[2])) {
+                conflicts.add(new Conflict(otherId, RECRUITER, from, to));
+            }
+        }
+        return conflicts;
+    }
+
+    private void lockParticipants(String candidateId, String userId) {
+        TreeSet<String> lockKeys = new TreeSet<>();
+        if (candidateId != null) {
+            lockKeys.add(CANDIDATE + ":" + candidateId);
+        }
+        if (userId != null) {
+            lockKeys.add(RECRUITER + ":" + userId);
+        }
+        // In key order, so two transactions locking the same rows cannot deadlock
+        lockKeys.forEach(interviewSlotLockRepository::lock);
+    }
+
+    // Time taken by any of the given participants between from and to (epoch millis), as a sorted list of
+    // disjoint [start, end) intervals; null participants are ignored
+    public synchronized List<long[]> busyIntervals(String candidateId, String userId, String clientName, long from, long to) {
+        List<IntervalTree.Interval<String>> intervals = new ArrayList<>();
+        addOverlapping(byCandidate.get(candidateId), from, to, intervals);
+        addOverlapping(byRecruiter.get(userId), from, to, intervals);
+        addOverlapping(byClient.get(clientKey(clientName)), from, to, intervals);
+        intervals.sort(Comparator.comparingLong(IntervalTree.Interval::getStart));
+
+        // Merge overlapping and touching intervals in one sweep
+        List<long[]> merged = new ArrayList<>();
+        for (IntervalTree.Interval<String> interval : intervals) {
+            long[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && interval.getStart() <= last[1]) {
+                last[1] = Math.max(last[1], interval.getEnd());
+            } else {
+                merged.add(new long[]{interval.getStart(), interval.getEnd()});
+            }
+        }
+        return merged;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    private static void addOverlapping(IntervalTree<String> tree, long from, long to, List<IntervalTree.Interval<String>> intervals) {
+        if (tree != null) {
+            intervals.addAll(tree.overlapping(from, to));
+        }
+    }
+
+    private void apply(EntityChangedEvent event) {
+        InterviewDetails interview = (InterviewDetails) event.getEntity();
+        if (event.getType() == EntityChangedEvent.Type.DELETE) {
+            remove(interview.getInterviewId());
+        } else {
+            put(interview);
+        }
+    }
+
+    private void put(InterviewDetails interview) {
+        put(interview.getInterviewId(), interview.getCandidateId(), interview.getUserId(),
+                interview.getInterviewDateTime(), interview.getDuration(), interview.getInterviewStatus(), interview.getClientName());
+    }
+
+    private void put(String interviewId, String candidateId, String userId, OffsetDateTime interviewDateTime,
+                     Integer duration, String interviewStatus, String clientName) {
+        remove(interviewId);
+        if (interviewId == null || interviewDateTime == null || isCancelled(interviewStatus)) {
+            return;
+        }
+        long start = interviewDateTime.toInstant().toEpochMilli();
+        Slot slot = new Slot(candidateId, userId, clientKey(clientName), start, start + durationMillis(duration));
+        slots.put(interviewId, slot);
+        if (candidateId != null) {
+            byCandidate.computeIfAbsent(candidateId, key -> new IntervalTree<>()).insert(slot.start, slot.end, interviewId);
+        }
+        if (userId != null) {
+            byRecruiter.computeIfAbsent(userId, key -> new IntervalTree<>()).insert(slot.start, slot.end, interviewId);
+        }
+        if (slot.clientKey != null) {
+            byClient.computeIfAbsent(slot.clientKey, key -> new IntervalTree<>()).insert(slot.start, slot.end, interviewId);
+        }
+    }
+
+    private void remove(String interviewId) {
+        Slot slot = interviewId == null ? null : slots.remove(interviewId);
+        if (slot == null) {
+            return;
+        }
+        removeFrom(byCandidate, slot.candidateId, slot.start, interviewId);
+        removeFrom(byRecruiter, slot.userId, slot.start, interviewId);
+        removeFrom(byClient, slot.clientKey, slot.start, interviewId);
+    }
+
+    private static void removeFrom(Map<String, IntervalTree<String>> trees, String key, long start, String interviewId) {
+        IntervalTree<String> tree = key == null ? null : trees.get(key);
+        if (tree != null) {
+            tree.remove(start, interviewId);
+            if (tree.isEmpty()) {
+                trees.remove(key);
+            }
+        }
+    }
+
+    // Client names are typed in by users, so matching ignores case and surrounding blanks
+    static String clientKey(String clientName) {
+        return clientName == null || clientName.isBlank() ? null : clientName.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private long durationMillis(Integer duration) {
+        return duration != null && duration > 0 ? Duration.ofMinutes(duration).toMillis() : defaultDuration.toMillis();
+    }
+
+    // interview_status holds the JSON status history; the entry with the latest timestamp is the current status
+    static boolean isCancelled(String interviewStatus) {
+        if (interviewStatus == null || interviewStatus.isBlank()) {
+            return false;
+        }
+        if (!interviewStatus.trim().startsWith("[")) {
+            return "cancelled".equalsIgnoreCase(interviewStatus.trim());
+        }
+        try {
+            JsonNode latest = null;
+            for (JsonNode entry : objectMapper.readTree(interviewStatus)) {
+                if (latest == null || entry.path("timestamp").asText("").compareTo(latest.path("timestamp").asText("")) >= 0) {
+                    latest = entry;
+                }
+            }
+            return latest != null && "cancelled".equalsIgnoreCase(latest.path("status").asText());
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static final class Slot {
+        private final String candidateId;
+        private final String userId;
+        private final String clientKey;
+        private final long start;
+        private final long end;
+
+        Slot(String candidateId, String userId, String clientKey, long start, long end) {
+            this.candidateId = candidateId;
+            this.userId = userId;
+            this.clientKey = clientKey;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    public static final class Conflict {
+        private final String interviewId;
+        private final String type;
+        private final Instant start;
+        private final Instant end;
+
+        Conflict(String interviewId, String type, Instant start, Instant end) {
+            this.interviewId = interviewId;
+            this.type = type;
+            this.start = start;
+            this.end = end;
+        }
+
+        public String getInterviewId() {
+            return interviewId;
+        }
+
+        // CANDIDATE or RECRUITER
+        public String getType() {
+            return type;
+        }
+
+        public Instant getStart() {
+            return start;
+        }
+
+        public Instant getEnd() {
+            return end;
+        }
+    }
+}
@@ -4,8 +4,12 @@ import com.profile.candidate.model.InterviewDetails;
 
 import com.profile.candidate.model.CandidateDetails;
 import com.profile.candidate.model.Submissions;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.mail.internet.MimeMessage;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
@@ -24,6 +28,13 @@ public class InterviewEmailService {
     @Autowired
     private JavaMailSender mailSender;
 
+    @Autowired
+    @Qualifier("emailExecutor")
+    private TaskExecutor emailExecutor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     // Getting the sender email from the properties file
     @Value("${spring.mail.username}")
     private String senderEmail;
@@ -53,7 +64,8 @@ public class InterviewEmailService {
             helper.setFrom(senderEmail); // Use the email from properties
 
             // Send the email
-            mailSender.send(message);
+            timedSend(message, "interview");
+            recordOutcome("interview", "success");
 
             // Log success
             logger.info("Email sent successfully to {}", to);
@@ -61,22 +73,47 @@ public class InterviewEmailService {
         } catch (EmailConfigurationException e) {
             // Log error if sender email is not configured correctly
             logger.error("Invalid sender email configuration: {}", e.getMessage());
+            recordOutcome("interview", "not_configured");
             throw e;
         } catch (IllegalArgumentException e) {
             // Log error if recipient email format is invalid
             logger.error("Invalid email address: {}", e.getMessage());
+            recordOutcome("interview", "invalid_recipient");
             throw e;
         } catch (MailException e) {
             // Log mail-related exceptions
             logger.error("Failed to send email to {}. Error: {}", to, e.getMessage(), e);
+            recordOutcome("interview", "smtp_failure");
             throw new EmailSendingException("An error occurred while sending the email.", e);
         } catch (Exception e) {
             // Log any unexpected exceptions
             logger.error("Unexpected error occurred while sending email to {}. Error: {}", to, e.getMessage(), e);
+            recordOutcome("interview", "error");
             throw new RuntimeException("Unexpected error occurred while sending email.", e);
         }
     }
 
+    // Hands the message to the mail server; the round trip is exported as candidate_email_send_seconds
+    private void timedSend(MimeMessage message, String type) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "smtp_failure";
+        try {
+            mailSender.send(message);
+            outcome = "success";
+        } finally {
+            sample.stop(Timer.builder("candidate.email.send")
+                    .description("Time spent handing a notification email to the SMTP server")
+                    .tag("type", type)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    private void recordOutcome(String type, String outcome) {
+        meterRegistry.counter("candidate.email.outcome", "type", type, "outcome", outcome).increment();
+    }
+
     // Helper method to validate email format
     private boolean isValidEmail(String email) {
         if (email == null || email.trim().isEmpty()) {
@@ -105,36 +142,44 @@ public class InterviewEmailService {
         }
     }
 
+    // The three methods below never throw, so they hand the SMTP call to emailExecutor: on virtual threads the
+    // caller returns immediately and each client email goes out concurrently, otherwise they run inline as before.
     public void sendEmailToCandidate(String candidateEmail , String subject, String emailBody) {
         if (candidateEmail != null && !candidateEmail.isEmpty()) {
-            try {
-                logger.info("Sending email to Candidate: {}", candidateEmail);
-                sendInterviewNotification(candidateEmail, subject, emailBody);
-            } catch (Exception e) {
-                logger.error("Failed to send email to Candidate {}: {}", candidateEmail, e.getMessage(), e);
-            }
+            emailExecutor.execute(() -> {
+                try {
+                    logger.info("Sending email to Candidate: {}", candidateEmail);
+                    sendInterviewNotification(candidateEmail, subject, emailBody);
+                } catch (Exception e) {
+                    logger.error("Failed to send email to Candidate {}: {}", candidateEmail, e.getMessage(), e);
+                }
+            });
         }
     }
     public void sendEmailToUser(String userEmailId, String subject, String emailBody) {
         if (userEmailId != null && !userEmailId.isEmpty()) {
-            try {
-                logger.info("Sending email to User: {}", userEmailId);
-                sendInterviewNotification(userEmailId, subject, emailBody);
-            } catch (Exception e) {
-                logger.error("Failed to send email to User {}: {}", userEmailId, e.getMessage(), e);
-            }
+            emailExecutor.execute(() -> {
+                try {
+                    logger.info("Sending email to User: {}", userEmailId);
+                    sendInterviewNotification(userEmailId, subject, emailBody);
+                } catch (Exception e) {
+                    logger.error("Failed to send email to User {}: {}", userEmailId, e.getMessage(), e);
+                }
+            });
         }
     }
     public void sendEmailsToClients(List<String> clientEmailList, String subject, String emailBody) {
         if (clientEmailList != null && !clientEmailList.isEmpty()) {
             for (String clientEmail : clientEmailList) {
                 if (clientEmail != null && !clientEmail.isEmpty()) {
-                    try {
-                        logger.info("Sending email to Client: {}", clientEmail);
-                        sendInterviewNotification(clientEmail, subject, emailBody);
-                    } catch (Exception e) {
-                        logger.error("Failed to send email to Client {}: {}", clientEmail, e.getMessage(), e);
-                    }
+                    emailExecutor.execute(() -> {
+                        try {
+                            logger.info("Sending email to Client: {}", clientEmail);
+                            sendInterviewNotification(clientEmail, subject, emailBody);
+                        } catch (Exception e) {
+                            logger.error("Failed to send email to Client {}: {}", clientEmail, e.getMessage(), e);
+                        }
+                    });
                 }
             }
         }
@@ -167,20 +212,25 @@ public class InterviewEmailService {
             helper.setFrom(senderEmail); // Use the email from properties
 
             // Send the email
-            mailSender.send(message);
+            timedSend(message, "candidate");
+            recordOutcome("candidate", "success");
             logger.info("Candidate email sent successfully to {}", to);
 
         } catch (InterviewEmailService.EmailConfigurationException e) {
             logger.error("Invalid sender email configuration: {}", e.getMessage());
+            recordOutcome("candidate", "not_configured");
             throw e;
         } catch (IllegalArgumentException e) {
             logger.error("Invalid email address: {}", e.getMessage());
+            recordOutcome("candidate", "invalid_recipient");
             throw e;
         } catch (MailException e) {
             logger.error("Failed to send email to {}. Error: {}", to, e.getMessage(), e);
+            recordOutcome("candidate", "smtp_failure");
             throw new InterviewEmailService.EmailSendingException("An error occurred while sending the email.", e);
         } catch (Exception e) {
             logger.error("Unexpected error occurred while sending email to {}. Error: {}", to, e.getMessage(), e);
+            recordOutcome("candidate", "error");
             throw new RuntimeException("Unexpected error occurred while sending email.", e);
         }
     }
@@ -0,0 +1,368 @@
+package com.profile.candidate.service;
+
+import com.profile.candidate.configurations.EntityChangedEvent;
+import com.profile.candidate.model.InterviewDetails;
+import com.profile.candidate.repository.InterviewReminderRepository;
+import com.profile.candidate.repository.InterviewRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+// Sends interview reminders (candidate.reminders.lead-times before each interview) to the candidate, the recruiter
+// and the client through the interview email path.
+//
+// Upcoming reminders wait in a DelayQueue on one worker thread, so nothing polls interview_details per minute.
+// The queue follows this instance's interview writes (EntityChangedEvent); every resync-interval it also re-reads
+// the interviews in the upcoming window (one indexed range query) to pick up changes made by other replicas.
+// A reminder for a moved interview is dropped when it comes due, and the interview is re-read then, so a
+// reminder never goes out for a time that no longer holds. Before sending, the instance claims each recipient's
+// email by inserting it into interview_reminders: of all replicas, and across restarts, only one sends it. The claim
+// is marked sent once the mail server took the email; a failed send releases it and the reminder is retried after
+// retry-interval, until the interview starts. A claim never marked sent (the instance died mid-send) is taken over
+// after claim-timeout, so a reminder is sent at least once rather than at most once.
+@Component
+public class InterviewReminderScheduler implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(InterviewReminderScheduler.class);
+
+    @Autowired
+    private InterviewRepository interviewRepository;
+
+    @Autowired
+    private InterviewReminderRepository interviewReminderRepository;
+
+    @Autowired
+    private InterviewEmailService emailService;
+
+    @Autowired
+    @Qualifier("emailExecutor")
+    private TaskExecutor emailExecutor;
+
+    @Value("${candidate.reminders.enabled:true}")
+    private boolean enabled;
+
+    @Value("${candidate.reminders.lead-times:24h,1h}")
+    private List<Duration> leadTimes;
+
+    @Value("${candidate.reminders.recipients:candidate,recruiter,client}")
+    private Set<String> recipients;
+
+    @Value("${candidate.reminders.resync-interval:15m}")
+    private Duration resyncInterval;
+
+    // A reminder whose time passed while no instance was running is still sent if it is at most this late
+    @Value("${candidate.reminders.catch-up:15m}")
+    private Duration catchUp;
+
+    // A reminder whose send failed is tried again this much later
+    @Value("${candidate.reminders.retry-interval:5m}")
+    private Duration retryInterval;
+
+    // A claim not marked sent after this long is taken to be from an instance that died while sending
+    @Value("${candidate.reminders.claim-timeout:10m}")
+    private Duration claimTimeout;
+
+    private final DelayQueue<Reminder> queue = new DelayQueue<>();
+    // Interview time per upcoming interview as last seen; reminders for any other time are stale
+    private final Map<String, Instant> interviewTimes = new ConcurrentHashMap<>();
+    private final Set<String> queued = ConcurrentHashMap.newKeySet();
+    private final String instanceName = instanceName();
+    private volatile Thread worker;
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            logger.info("Interview reminders are disabled");
+            return;
+        }
+        Thread thread = new Thread(this::run, "interview-reminders");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        Thread thread = worker;
+        worker = null;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return worker != null;
+    }
+
+    private void run() {
+        long nextResync = 0;
+        while (worker == Thread.currentThread()) {
+            try {
+                if (System.nanoTime() - nextResync >= 0) {
+                    resync();
+                    nextResync = System.nanoTime() + resyncInterval.toNanos();
+                }
+                Reminder reminder = queue.poll(Math.max(0, nextResync - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (reminder != null) {
+                    fire(reminder);
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (Exception e) {
+                logger.error("Interview reminder worker error: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    // Queues the reminders of interviews starting before the next resync can see them
+    private void resync() {
+        Instant now = Instant.now();
+        // Interviews that have started need no more reminders
+        interviewTimes.values().removeIf(interviewTime -> !interviewTime.isAfter(now));
+        Duration horizon = longestLeadTime().plus(resyncInterval).plus(resyncInterval);
+        List<Object[]> rows = interviewRepository.findInterviewTimesBetween(
+                OffsetDateTime.now(), OffsetDateTime.now().plus(horizon));
+        for (Object[] row : rows) {
+            schedule((String) row[0], ((OffsetDateTime) row[1]).toInstant(), now);
+        }
+        logger.debug("Interview reminders resynced: {} upcoming interviews, {} reminders queued", rows.size(), queue.size());
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (!enabled || !(event.getEntity() instanceof InterviewDetails interview)) {
+            return;
+        }
+        if (event.getType() == EntityChangedEvent.Type.DELETE || interview.getInterviewDateTime() == null
+                || InterviewConflictIndex.isCancelled(interview.getInterviewStatus())) {
+            interviewTimes.remove(interview.getInterviewId());
+            return;
+        }
+        Instant interviewTime = interview.getInterviewDateTime().toInstant();
+        Instant now = Instant.now();
+        if (interviewTime.isBefore(now.plus(longestLeadTime()).plus(resyncInterval).plus(resyncInterval))) {
+            schedule(interview.getInterviewId(), interviewTime, now);
+        } else {
+            // Too far ahead to queue now; a later resync picks it up
+            interviewTimes.remove(interview.getInterviewId());
+        }
+    }
+
+    private void schedule(String interviewId, Instant interviewTime, Instant now) {
+        if (!interviewTime.isAfter(now)) {
+            return;
+        }
+        interviewTimes.put(interviewId, interviewTime);
+        for (Duration leadTime : leadTimes) {
+            Instant fireAt = interviewTime.minus(leadTime);
+            // Reminders already overdue when the interview was (re)scheduled are skipped, missed ones are caught up
+            if (fireAt.isBefore(now.minus(catchUp))) {
+                continue;
+            }
+            Reminder reminder = new Reminder(interviewId, interviewTime, leadTime, fireAt);
+            if (queued.add(reminder.key)) {
+                queue.add(reminder);
+            }
+        }
+    }
+
+    private void fire(Reminder reminder) {
+        queued.remove(reminder.key);
+        if (!reminder.interviewTime.equals(interviewTimes.get(reminder.interviewId))) {
+            return;
+        }
+        // Re-read: another replica may have moved or cancelled the interview since it was queued
+        Optional<InterviewDetails> current = interviewRepository.findById(reminder.interviewId);
+        if (current.isEmpty() || current.get().getInterviewDateTime() == null
+                || !current.get().getInterviewDateTime().toInstant().equals(reminder.interviewTime)
+                || InterviewConflictIndex.isCancelled(current.get().getInterviewStatus())) {
+            return;
+        }
+        InterviewDetails interview = current.get();
+        List<CompletableFuture<Boolean>> deliveries = new ArrayList<>();
+        for (Recipient recipient : recipients(interview)) {
+            String key = reminder.key + "|" + recipient.email.trim().toLowerCase(Locale.ROOT);
+            if (!claim(key, reminder, interview, recipient.email)) {
+                logger.debug("Reminder {} already sent by another instance", key);
+                continue;
+            }
+            deliveries.add(CompletableFuture.supplyAsync(() -> deliver(key, recipient), emailExecutor));
+        }
+        if (deliveries.isEmpty()) {
+            return;
+        }
+        CompletableFuture.allOf(deliveries.toArray(new CompletableFuture[0])).thenRun(() -> {
+            long failed = deliveries.stream().filter(delivery -> !delivery.join()).count();
+            if (failed == 0) {
+                logger.info("Sent interview reminder {} ({} before)", reminder.interviewId, reminder.leadTime);
+            } else {
+                retry(reminder, failed);
+            }
+        });
+    }
+
+    private boolean claim(String key, Reminder reminder, InterviewDetails interview, String email) {
+        LocalDateTime now = LocalDateTime.now();
+        return interviewReminderRepository.claim(key, reminder.interviewId, interview.getInterviewDateTime(),
+                reminder.leadTime.toString(), email, instanceName, now) == 1
+                || interviewReminderRepository.reclaim(key, instanceName, now, now.minus(claimTimeout)) == 1;
+    }
+
+    // true once the mail server took the email; on failure the claim is released for a retry
+    private boolean deliver(String key, Recipient recipient) {
+        try {
+            emailService.sendInterviewNotification(recipient.email, recipient.subject, recipient.body);
+            interviewReminderRepository.markSent(key, instanceName, LocalDateTime.now());
+            return true;
+        } catch (Exception e) {
+            logger.warn("Interview reminder {} not sent: {}", key, e.getMessage());
+            try {
+                interviewReminderRepository.release(key, instanceName);
+            } catch (Exception releaseFailure) {
+                // Left to be taken over after claim-timeout
+                logger.error("Could not release reminder claim {}: {}", key, releaseFailure.getMessage());
+            }
+            return false;
+        }
+    }
+
+    // Queued again for the recipients whose send failed; the others are claimed as sent and skipped
+    private void retry(Reminder reminder, long failed) {
+        Instant retryAt = Instant.now().plus(retryInterval);
+        if (!retryAt.isBefore(reminder.interviewTime)) {
+            logger.error("Interview reminder {} ({} before) failed for {} recipients; the interview starts before a retry",
+                    reminder.interviewId, reminder.leadTime, failed);
+            return;
+        }
+        logger.warn("Interview reminder {} ({} before) failed for {} recipients; retrying at {}",
+                reminder.interviewId, reminder.leadTime, failed, retryAt);
+        Reminder again = new Reminder(reminder.interviewId, reminder.interviewTime, reminder.leadTime, retryAt);
+        if (queued.add(again.key)) {
+            queue.add(again);
+        }
+    }
+
+    private List<Recipient> recipients(InterviewDetails interview) {
+        String jobTitle = interviewRepository.findJobTitleByJobId(interview.getJobId());
+        String date = interview.getInterviewDateTime().format(DateTimeFormatter.ofPattern("dd MMM yyyy"));
+        String time = interview.getInterviewDateTime().format(DateTimeFormatter.ofPattern("hh:mm a"));
+        String subject = "Interview Reminder for " + interview.getFullName();
+        List<Recipient> result = new ArrayList<>();
+        if (recipients.contains("candidate") && hasText(interview.getCandidateEmailId())) {
+            result.add(new Recipient(interview.getCandidateEmailId(), subject,
+                    buildReminderEmailBody(interview.getFullName(), interview, jobTitle, date, time)));
+        }
+        if (recipients.contains("recruiter") && hasText(interview.getUserEmail())) {
+            String userName = interview.getUserId() == null ? null : interviewRepository.findUsernameByUserId(interview.getUserId());
+            result.add(new Recipient(interview.getUserEmail(), subject,
+                    buildReminderEmailBody(userName != null ? userName : "Team", interview, jobTitle, date, time)));
+        }
+        if (recipients.contains("client") && interview.getClientEmailList() != null) {
+            String body = buildReminderEmailBody(interview.getClientName(), interview, jobTitle, date, time);
+            for (String clientEmail : interview.getClientEmailList()) {
+                if (hasText(clientEmail)) {
+                    result.add(new Recipient(clientEmail, subject, body));
+                }
+            }
+        }
+        return result;
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    String buildReminderEmailBody(String recipientName, InterviewDetails interview, String jobTitle,
+                                  String formattedDate, String formattedTime) {
+        String zoomLink = interview.getZoomLink();
+        return String.format(
+                "<p>Hello %s,</p>"
+                        + "<p>This is a reminder of the upcoming interview of <b>%s</b> for the position <b>%s</b> with <b>%s</b>.</p>"
+                        + "<ul>"
+                        + "<li><b>Date:</b> %s</li>"
+                        + "<li><b>Time:</b> %s</li>"
+                        + "<li><b>Duration:</b> Approx. %s min</li>"
+                        + (zoomLink != null && !zoomLink.isEmpty()
+                        ? "<li><b>Join Zoom Meeting:</b> <a href='" + zoomLink + "'>Click here to join</a></li>" : "")
+                        + "</ul>"
+                        + "<p>Best regards,</p>"
+                        + "<p>The Interview Team</p>",
+                recipientName, interview.getFullName(), jobTitle, interview.getClientName(),
+                formattedDate, formattedTime, interview.getDuration() != null ? interview.getDuration() : "N/A");
+    }
+
+    private Duration longestLeadTime() {
+        return leadTimes.stream().max(Duration::compareTo).orElse(Duration.ZERO);
+    }
+
+    private static String instanceName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+
+    private static final class Recipient {
+        private final String email;
+        private final String subject;
+        private final String body;
+
+        Recipient(String email, String subject, String body) {
+            this.email = email;
+            this.subject = subject;
+            this.body = body;
+        }
+    }
+
+    private static final class Reminder implements Delayed {
+        private final String interviewId;
+        private final Instant interviewTime;
+        private final Duration leadTime;
+        private final Instant fireAt;
+        private final String key;
+
+        Reminder(String interviewId, Instant interviewTime, Duration leadTime, Instant fireAt) {
+            this.interviewId = interviewId;
+            this.interviewTime = interviewTime;
+            this.leadTime = leadTime;
+            this.fireAt = fireAt;
+            this.key = interviewId + "|" + interviewTime.getEpochSecond() + "|" + leadTime;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Duration.between(Instant.now(), fireAt));
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return fireAt.compareTo(((Reminder) other).fireAt);
+        }
+    }
+}
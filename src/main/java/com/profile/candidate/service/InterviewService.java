@@ -20,7 +20,9 @@ import com.profile.candidate.repository.SubmissionRepository;
 import jakarta.mail.internet.AddressException;
 import jakarta.mail.internet.InternetAddress;
 import jakarta.persistence.Tuple;
-import jakarta.transaction.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -44,6 +46,16 @@ public class InterviewService {
     InterviewRepository interviewRepository;
     @Autowired
     SubmissionRepository submissionRepository;
+    @Autowired
+    SingleFlight singleFlight;
+    @Autowired
+    InterviewConflictIndex interviewConflictIndex;
+    @Autowired
+    FunnelCounterService funnelCounterService;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    CurrentMonthSnapshot currentMonthSnapshot;
 
     private static final Logger logger = LoggerFactory.getLogger(InterviewService.class);
 
@@ -100,6 +112,7 @@ public class InterviewService {
         interviewDetails.setUserId(userId);
         interviewDetails.setUserEmail(userEmail);
         interviewDetails.setInterviewDateTime(interviewDateTime);
+        interviewDetails.setFirstInterviewDateTime(interviewDateTime);
         interviewDetails.setDuration(duration);
         interviewDetails.setZoomLink(zoomLink);
         interviewDetails.setClientEmailList(clientEmails);
@@ -129,10 +142,13 @@ public class InterviewService {
         statusEntry.put("timestamp", OffsetDateTime.now().toString());
         statusArray.add(statusEntry);
         interviewDetails.setInterviewStatus(objectMapper.writeValueAsString(statusArray));
-        // Save candidate details to the database
+        // Save candidate details to the database, checked for overlaps with the candidate's or recruiter's other interviews
+        String conflictWarning;
         try {
-            interviewRepository.save(interviewDetails);
+            conflictWarning = saveWithFunnel(interviewDetails, null, true);
             logger.info("Interview Scheduled Successfully");
+        } catch (InterviewConflictException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Error while saving candidate data.", e);
         }
@@ -161,10 +177,11 @@ public class InterviewService {
                 interviewDetails.getCandidateId(),
                 interviewDetails.getUserEmail(),
                 interviewDetails.getCandidateEmailId(),
-                interviewDetails.getClientEmailList()
+                interviewDetails.getClientEmailList(),
+                interviewDetails.getVersion()
         );
         return new InterviewResponseDto(true,
-                skipNotification ? "Interview Scheduled successfully." : "Interview Scheduled successfully and notifications sent.",
+                withWarning(skipNotification ? "Interview Scheduled successfully." : "Interview Scheduled successfully and notifications sent.", conflictWarning),
                 data,
                 null);
     }
@@ -208,6 +225,47 @@ public class InterviewService {
         return existingInterview.isPresent();
     }
 
+    // Only moving or lengthening an interview is checked, so status updates still go through for interviews
+    // that already overlap; cancelling never conflicts
+    private static boolean isRescheduled(InterviewDetails interviewDetails, OffsetDateTime previousDateTime,
+                                         Integer previousDuration, String interviewStatus) {
+        boolean moved = !Objects.equals(previousDateTime, interviewDetails.getInterviewDateTime())
+                || !Objects.equals(previousDuration, interviewDetails.getDuration());
+        return moved && !"cancelled".equalsIgnoreCase(interviewStatus);
+    }
+
+    // Saves the interview and moves its funnel count (a reschedule or cancellation changes it) in one transaction.
+    // With checkConflicts the overlap check runs first in the same transaction, which keeps the candidate and
+    // recruiter locked until the interview is committed; returns its warning, or null.
+    // The new @Version is copied back, since save() merges the detached interview into another instance
+    private String saveWithFunnel(InterviewDetails interviewDetails, FunnelCounterService.Fact funnelBefore,
+                                  boolean checkConflicts) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            String conflictWarning = !checkConflicts ? null : interviewConflictIndex.checkConflicts(
+                    interviewDetails.getInterviewId(), interviewDetails.getCandidateId(), interviewDetails.getUserId(),
+                    interviewDetails.getInterviewDateTime(), interviewDetails.getDuration());
+            InterviewDetails merged = interviewRepository.save(interviewDetails);
+            funnelCounterService.apply(funnelBefore, funnelCounterService.fact(merged));
+            interviewDetails.setVersion(merged.getVersion());
+            return conflictWarning;
+        });
+    }
+
+    // The first round follows reschedules until it has taken place, and then stays; rows from before the column
+    // existed take the time they had before this update
+    private static void keepFirstInterviewDateTime(InterviewDetails interviewDetails, OffsetDateTime previousDateTime) {
+        OffsetDateTime first = interviewDetails.getFirstInterviewDateTime() != null
+                ? interviewDetails.getFirstInterviewDateTime() : previousDateTime;
+        if (first == null || first.isAfter(OffsetDateTime.now())) {
+            first = interviewDetails.getInterviewDateTime();
+        }
+        interviewDetails.setFirstInterviewDateTime(first);
+    }
+
+    private static String withWarning(String message, String conflictWarning) {
+        return conflictWarning == null ? message : message + " " + conflictWarning;
+    }
+
     public InterviewResponseDto updateScheduledInterview(
             String userId,
             String candidateId,
@@ -222,7 +280,8 @@ public class InterviewService {
             String interviewLevel,
             String externalInterviewDetails,
             String interviewStatus,
-            boolean skipNotification) {
+            boolean skipNotification,
+            Long expectedVersion) {
 
         logger.info("Starting interview update for userId: {} and candidateId: {}", userId, candidateId);
 
@@ -239,7 +298,12 @@ public class InterviewService {
         if (interviewDetails == null) {
             throw new InterviewNotScheduledException("No interview scheduled for candidate ID: " + candidateId + " For Client " + clientName + " For Job Id " + jobId);
         }
+        RecordVersion.check("interview", interviewDetails.getInterviewId(), expectedVersion, interviewDetails.getVersion());
+        FunnelCounterService.Fact funnelBefore = funnelCounterService.fact(interviewDetails);
+        OffsetDateTime previousDateTime = interviewDetails.getInterviewDateTime();
+        Integer previousDuration = interviewDetails.getDuration();
         if (interviewDateTime != null) interviewDetails.setInterviewDateTime(interviewDateTime);
+        keepFirstInterviewDateTime(interviewDetails, previousDateTime);
         if (duration != null) interviewDetails.setDuration(duration);
         if (zoomLink != null && !zoomLink.isEmpty()) interviewDetails.setZoomLink(zoomLink);
         if (userEmail != null && !userEmail.isEmpty()) interviewDetails.setUserEmail(userEmail);
@@ -315,7 +379,8 @@ public class InterviewService {
         // Save updated candidate details
         // updating isPlaced field if status is Placed.
 
-        interviewRepository.save(interviewDetails);
+        String conflictWarning = saveWithFunnel(interviewDetails, funnelBefore,
+                isRescheduled(interviewDetails, previousDateTime, previousDuration, interviewStatus));
         logger.info("Interview details updated successfully for candidateId: {}", candidateId);
         // Prepare email content
         DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd MMM yyyy");
@@ -326,8 +391,6 @@ public class InterviewService {
         String formattedZoomLink = (zoomLink != null && !zoomLink.isEmpty()) ? "<a href='" + zoomLink + "'>Click here to join</a>" : "N/A";
         String subject = "Interview Update for " + interviewDetails.getFullName();
 
-        interviewDetails.setTimestamp(LocalDateTime.now());
-        interviewRepository.save(interviewDetails);
         String userName = interviewRepository.findUsernameByUserId(userId);
         String jobTitle = interviewRepository.findJobTitleByJobId(jobId);
         String canceledSubject = "Interview Cancelled for " + interviewDetails.getFullName();
@@ -374,12 +437,13 @@ public class InterviewService {
         // Return updated interview response
         return new InterviewResponseDto(
                 true,
-                skipNotification ? "Interview updated successfully." : "Interview updated successfully and notifications sent.",
+                withWarning(skipNotification ? "Interview updated successfully." : "Interview updated successfully and notifications sent.", conflictWarning),
                 new InterviewResponseDto.InterviewData(
                         interviewDetails.getCandidateId(),
                         interviewDetails.getUserEmail(),
                         interviewDetails.getCandidateEmailId(),
-                        interviewDetails.getClientEmailList()
+                        interviewDetails.getClientEmailList(),
+                        interviewDetails.getVersion()
                 ),
                 null  // No errors
         );
@@ -397,7 +461,8 @@ public class InterviewService {
             String interviewLevel,
             String externalInterviewDetails,
             String interviewStatus,
-            boolean skipNotification) {
+            boolean skipNotification,
+            Long expectedVersion) {
 
         logger.info("Starting interview update  and candidateId: {}", candidateId);
 
@@ -415,7 +480,12 @@ public class InterviewService {
         if (interviewDetails == null)
             throw new InterviewNotScheduledException("No interview scheduled for candidate ID: " + candidateId + " For Client " + clientName);
 
+        RecordVersion.check("interview", interviewDetails.getInterviewId(), expectedVersion, interviewDetails.getVersion());
+        FunnelCounterService.Fact funnelBefore = funnelCounterService.fact(interviewDetails);
+        OffsetDateTime previousDateTime = interviewDetails.getInterviewDateTime();
+        Integer previousDuration = interviewDetails.getDuration();
         if (interviewDateTime != null) interviewDetails.setInterviewDateTime(interviewDateTime);
+        keepFirstInterviewDateTime(interviewDetails, previousDateTime);
         if (duration != null) interviewDetails.setDuration(duration);
         if (zoomLink != null && !zoomLink.isEmpty()) interviewDetails.setZoomLink(zoomLink);
         //if (userEmail != null && !userEmail.isEmpty()) interviewDetails.setUserEmail(userEmail);
@@ -475,9 +545,9 @@ public class InterviewService {
             interviewDetails.setZoomLink(zoomLink);
         // Update timestamp
         interviewDetails.setTimestamp(LocalDateTime.now());
-
         // Save updated candidate details
-        interviewRepository.save(interviewDetails);
+        String conflictWarning = saveWithFunnel(interviewDetails, funnelBefore,
+                isRescheduled(interviewDetails, previousDateTime, previousDuration, interviewStatus));
         logger.info("Interview details updated successfully for candidateId: {}", candidateId);
         // Prepare email content
         DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd MMM yyyy");
@@ -489,10 +559,6 @@ public class InterviewService {
 
         String subject = "Interview Update for " + interviewDetails.getFullName();
 
-        interviewDetails.setTimestamp(LocalDateTime.now());
-
-        interviewRepository.save(interviewDetails);
-
         String jobTitle = interviewRepository.findJobTitleByJobId(jobId);
         String canceledSubject = "Interview Cancelled for " + interviewDetails.getFullName();
         String canceledEmailBody = String.format(
@@ -540,21 +606,50 @@ public class InterviewService {
         }
         return new InterviewResponseDto(
                 true,
-                skipNotification ? "Interview updated successfully." : "Interview updated successfully and notifications sent.",
+                withWarning(skipNotification ? "Interview updated successfully." : "Interview updated successfully and notifications sent.", conflictWarning),
                 new InterviewResponseDto.InterviewData(
                         interviewDetails.getCandidateId(),
                         interviewDetails.getUserEmail(),
                         interviewDetails.getCandidateEmailId(),
-                        interviewDetails.getClientEmailList()
+                        interviewDetails.getClientEmailList(),
+                        interviewDetails.getVersion()
                 ),
                 null
         );
     }
+    @Transactional(readOnly = true)
     public GetInterviewResponse getAllInterviews() {
 
         LocalDate startOfMonth = LocalDate.now().withDayOfMonth(1);
         LocalDate endOfMonth = startOfMonth.plusMonths(1).minusDays(1);
 
+        Optional<List<CurrentMonthSnapshot.InterviewRow>> cached = currentMonthSnapshot.scheduledInterviews();
+        if (cached.isPresent()) {
+            List<GetInterviewResponse.InterviewData> dataList = cached.get().stream()
+                    .map(i -> new GetInterviewResponse.InterviewData(
+                            i.getInterviewId(),
+                            i.getJobId(),
+                            i.getCandidateId(),
+                            i.getFullName(),
+                            i.getContactNumber(),
+                            i.getCandidateEmailId(),
+                            i.getUserEmail(),
+                            i.getUserId(),
+                            i.getInterviewDateTime(),
+                            i.getDuration(),
+                            i.getZoomLink(),
+                            i.getTimestamp(),
+                            i.getClientEmailList(),
+                            i.getClientName(),
+                            i.getInterviewLevel(),
+                            i.getLatestStatus(),
+                            i.getIsPlaced(),
+                            i.getVersion()
+                    ))
+                    .collect(Collectors.toList());
+            return new GetInterviewResponse(true, "Interviews found", dataList, null);
+        }
+
         // Use your custom query to fetch scheduled interviews for the current month
         List<InterviewDetails> interviewDetails = interviewRepository
                 .findScheduledInterviewsByDateOnly(startOfMonth, endOfMonth);
@@ -577,12 +672,14 @@ public class InterviewService {
                         i.getClientName(),
                         i.getInterviewLevel(),
                         latestInterviewStatusFromJson(i.getInterviewStatus()),
-                        i.getIsPlaced()
+                        i.getIsPlaced(),
+                        i.getVersion()
                 ))
                 .collect(Collectors.toList());
         return new GetInterviewResponse(true, "Interviews found", dataList, null);
     }
 
+    @Transactional(readOnly = true)
     public GetInterviewResponse getInterviews(String candidateId) {
 
         Optional<CandidateDetails> optionalCandidate = candidateRepository.findById(candidateId);
@@ -613,7 +710,8 @@ public class InterviewService {
                             i.getClientName(),
                             i.getInterviewLevel(),
                             latestInterviewStatusFromJson(i.getInterviewStatus()),
-                            i.getIsPlaced()
+                            i.getIsPlaced(),
+                            i.getVersion()
                     ))
                     .collect(Collectors.toList());
             return new GetInterviewResponse(true, "Interviews found", dataList, null);
@@ -631,11 +729,15 @@ public class InterviewService {
         if (interview == null) {
             logger.error("Candidate with ID {} not found in database", candidateId);
             throw new NoInterviewsFoundException("No Scheduled Interview found for candidate ID: " + candidateId + " for JobId: " + jobId);
-        } else interviewRepository.delete(interview);
+        } else {
+            funnelCounterService.apply(funnelCounterService.fact(interview), null);
+            interviewRepository.delete(interview);
+        }
 
         logger.info("Scheduled interview details removed successfully for candidateId: {}", candidateId);
     }
 
+    @Transactional(readOnly = true)
     public GetInterviewResponse getInterviewsById(String interviewId) {
 
         Optional<InterviewDetails> optionalInterviewDetails = interviewRepository.findById(interviewId);
@@ -661,7 +763,8 @@ public class InterviewService {
                 i.getClientName(),
                 i.getInterviewLevel(),
                 latestInterviewStatusFromJson(i.getInterviewStatus()),
-                i.getIsPlaced()
+                i.getIsPlaced(),
+                i.getVersion()
         );
         return new GetInterviewResponse(true, "Interview found", List.of(payload), null);
     }
@@ -709,6 +812,7 @@ public class InterviewService {
 
         interviewDetails.setCandidateId(candidateId);
         interviewDetails.setInterviewDateTime(interviewDateTime);
+        interviewDetails.setFirstInterviewDateTime(interviewDateTime);
         interviewDetails.setDuration(duration);
         interviewDetails.setZoomLink(zoomLink);
         interviewDetails.setClientEmailList(clientEmail);
@@ -737,10 +841,14 @@ public class InterviewService {
         statusEntry.put("timestamp", OffsetDateTime.now().toString());
         statusArray.add(statusEntry);
         interviewDetails.setInterviewStatus(objectMapper.writeValueAsString(statusArray));
-        // Save candidate details to the database
+        // Save candidate details to the database, checked for overlaps with the candidate's other interviews (no
+        // recruiter on this path)
+        String conflictWarning;
         try {
-            interviewRepository.save(interviewDetails);
+            conflictWarning = saveWithFunnel(interviewDetails, null, true);
             System.out.println("Candidate saved successfully.");
+        } catch (InterviewConflictException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Error while saving candidate data.", e);
         }
@@ -763,10 +871,12 @@ public class InterviewService {
                 interviewDetails.getCandidateId(),
                 interviewDetails.getUserEmail(),
                 interviewDetails.getCandidateEmailId(),
-                interviewDetails.getClientEmailList()
+                interviewDetails.getClientEmailList(),
+                interviewDetails.getVersion()
         );
-        return new InterviewResponseDto(true, "Interview scheduled successfully and email notifications sent.", data, null);
+        return new InterviewResponseDto(true, withWarning("Interview scheduled successfully and email notifications sent.", conflictWarning), data, null);
     }
+    @Transactional(readOnly = true)
     public GetInterviewResponse getInterviewsByUserId(String userId) {
 
         List<InterviewDetails> interviewDetails = interviewRepository.findByUserId(userId);
@@ -788,11 +898,13 @@ public class InterviewService {
                         i.getClientName(),
                         i.getInterviewLevel(),
                         latestInterviewStatusFromJson(i.getInterviewStatus()),
-                        i.getIsPlaced()
+                        i.getIsPlaced(),
+                        i.getVersion()
                 ))
                 .collect(Collectors.toList());
         return new GetInterviewResponse(true, "Interviews found", dataList, null);
     }
+    @Transactional(readOnly = true)
     public GetInterviewResponse getScheduledInterviewsByUserIdAndDateRange(String userId, LocalDate startDate, LocalDate endDate) {
 
         logger.info("Fetching interviews for userId: {} between {} and {}", userId, startDate, endDate);
@@ -832,12 +944,13 @@ public class InterviewService {
                         i.getClientName(),
                         i.getInterviewLevel(),
                         latestInterviewStatusFromJson(i.getInterviewStatus()),
-                        i.getIsPlaced()
+                        i.getIsPlaced(),
+                        i.getVersion()
                 ))
                 .collect(Collectors.toList());
         return new GetInterviewResponse(true, "Interviews found", payloadList, null);
     }
-    public String latestInterviewStatusFromJson(String interviewStatusJson) {
+    public static String latestInterviewStatusFromJson(String interviewStatusJson) {
 
         String latestInterviewStatus = null;
         ObjectMapper objectMapper = new ObjectMapper();
@@ -876,7 +989,7 @@ public class InterviewService {
         return latestInterviewStatus;
     }
 
-    private String buildCandidateScheduleEmailBody(String recipientName, String formattedDate, String formattedTime,
+    String buildCandidateScheduleEmailBody(String recipientName, String formattedDate, String formattedTime,
                                                    int formattedDuration, String formattedZoomLink, String jobTitle,
                                                    String clientName) {
         return String.format(
@@ -898,7 +1011,7 @@ public class InterviewService {
                 recipientName, jobTitle, clientName, formattedDate, formattedTime, formattedDuration);
     }
 
-    private String buildClientScheduleEmailBody(String clientName, String formattedDate, String formattedTime,
+    String buildClientScheduleEmailBody(String clientName, String formattedDate, String formattedTime,
                                                 int formattedDuration, String formattedZoomLink, String jobTitle,
                                                 String candidateName) {
         return String.format(
@@ -920,7 +1033,7 @@ public class InterviewService {
                 clientName, jobTitle, candidateName, formattedDate, formattedTime, formattedDuration);
     }
 
-    private String buildUserScheduleEmailBody(String userName, String clientName, String formattedDate,
+    String buildUserScheduleEmailBody(String userName, String clientName, String formattedDate,
                                               String formattedTime, int formattedDuration, String formattedZoomLink,
                                               String jobTitle, String candidateName) {
         return String.format(
@@ -942,7 +1055,7 @@ public class InterviewService {
                 userName, jobTitle, clientName, candidateName, formattedDate, formattedTime, formattedDuration);
     }
 
-    private String buildUpdateCandidateEmailBody(String candidateName, String formattedDate, String formattedTime,
+    String buildUpdateCandidateEmailBody(String candidateName, String formattedDate, String formattedTime,
                                                  String formattedDuration, String formattedZoomLink, String jobTitle,
                                                  String clientName) {
         return String.format(
@@ -961,7 +1074,7 @@ public class InterviewService {
                 candidateName, jobTitle, clientName, formattedDate, formattedTime, formattedDuration);
     }
 
-    private String buildUpdateClientEmailBody(String clientName, String formattedDate, String formattedTime,
+    String buildUpdateClientEmailBody(String clientName, String formattedDate, String formattedTime,
                                               String formattedDuration, String formattedZoomLink, String jobTitle,
                                               String candidateName) {
         return String.format(
@@ -981,7 +1094,7 @@ public class InterviewService {
                 clientName, jobTitle, candidateName, formattedDate, formattedTime, formattedDuration);
     }
 
-    private String buildUpdateUserEmailBody(String userName, String clientName, String formattedDate,
+    String buildUpdateUserEmailBody(String userName, String clientName, String formattedDate,
                                             String formattedTime, String formattedDuration, String formattedZoomLink,
                                             String jobTitle, String candidateName) {
         return String.format(
@@ -1001,6 +1114,7 @@ public class InterviewService {
                 userName, jobTitle, clientName, candidateName, formattedDate, formattedTime, formattedDuration);
     }
 
+    @Transactional(readOnly = true)
     public GetInterviewResponse getScheduledInterviewsByDateOnly(LocalDate startDate, LocalDate endDate) {
 
         logger.info("Fetching interviews between {} and {}", startDate, endDate);
@@ -1039,11 +1153,13 @@ public class InterviewService {
                         i.getClientEmailList(),
                         i.getClientName(),
                         i.getInterviewLevel(),
-                        latestInterviewStatusFromJson(i.getInterviewStatus())
+                        latestInterviewStatusFromJson(i.getInterviewStatus()),
+                        i.getVersion()
                 ))
                 .collect(Collectors.toList());
         return new GetInterviewResponse(true, "Interviews found", payloadList, null);
     }
+    @Transactional(readOnly = true)
     public List<GetInterviewResponseDto> getAllScheduledInterviewsByUserId(String userId) throws JsonProcessingException {
         // Calculate start and end of current month
         LocalDate today = LocalDate.now();
@@ -1062,15 +1178,20 @@ public class InterviewService {
 
         List<InterviewDetails> employeeInterviews = new ArrayList<>();
         List<Tuple> bdmInterviews = new ArrayList<>();
+        // EMPLOYEE interviews from the current month snapshot, when it is loaded
+        Optional<List<CurrentMonthSnapshot.InterviewRow>> cachedInterviews = Optional.empty();
 
         // Fetch data based on role
         if ("EMPLOYEE".equalsIgnoreCase(role)) {
             logger.info("Fetching scheduled interviews for EMPLOYEE userId: {} between {} and {}",
                     userId, startDateTime, endDateTime);
-            employeeInterviews = interviewRepository.findScheduledInterviewsByUserIdAndDateRange(
-                    userId, startDateTime, endDateTime);
+            cachedInterviews = currentMonthSnapshot.scheduledInterviewsBy(userId);
+            if (cachedInterviews.isEmpty()) {
+                employeeInterviews = interviewRepository.findScheduledInterviewsByUserIdAndDateRange(
+                        userId, startDateTime, endDateTime);
+            }
 
-            if (employeeInterviews.isEmpty()) {
+            if (cachedInterviews.map(List::isEmpty).orElse(employeeInterviews.isEmpty())) {
                 logger.warn("No interviews found for EMPLOYEE userId: {} in the current month",
                         userId);
                 return new ArrayList<>();
@@ -1093,34 +1214,34 @@ public class InterviewService {
         // Process and return results
         List<GetInterviewResponseDto> response = new ArrayList<>();
 
-        if ("EMPLOYEE".equalsIgnoreCase(role)) {
-            logger.info("Fetching scheduled interviews for EMPLOYEE userId: {} between {} and {}",
-                    userId, startDateTime, endDateTime);
-            employeeInterviews = interviewRepository.findScheduledInterviewsByUserIdAndDateRange(
-                    userId, startDateTime, endDateTime);
-
-            if (employeeInterviews.isEmpty()) {
-                logger.warn("No interviews found for EMPLOYEE userId: {} in the current month",
-                        userId);
-                return new ArrayList<>();
+        if ("EMPLOYEE".equalsIgnoreCase(role) && cachedInterviews.isPresent()) {
+            logger.info("Processing {} snapshot interviews for EMPLOYEE userId: {}", cachedInterviews.get().size(), userId);
+
+            for (CurrentMonthSnapshot.InterviewRow interview : cachedInterviews.get()) {
+                response.add(new GetInterviewResponseDto(
+                        interview.getInterviewId(),
+                        interview.getJobId(),
+                        interview.getCandidateId(),
+                        interview.getFullName(),
+                        interview.getContactNumber(),
+                        interview.getCandidateEmailId(),
+                        interview.getUserEmail(),
+                        interview.getUserId(),
+                        interview.getInterviewDateTime(),
+                        interview.getDuration(),
+                        interview.getZoomLink(),
+                        interview.getTimestamp(),
+                        interview.getClientEmailList(),
+                        interview.getClientName(),
+                        interview.getInterviewLevel(),
+                        interview.getLatestStatus(),
+                        interview.getRecruiterName(),
+                        interview.getIsPlaced(),
+                        interview.getVersion()
+                ));
             }
-        } else if ("BDM".equalsIgnoreCase(role)) {
-            logger.info("Fetching scheduled interviews for BDM userId: {} between {} and {}",
-                    userId, startDateTime, endDateTime);
-            bdmInterviews = interviewRepository.findScheduledInterviewsByBdmUserIdAndDateRange(
-                    userId, startDateTime, endDateTime);
-
-            if (bdmInterviews.isEmpty()) {
-                logger.warn("No interviews found for BDM userId: {} in the current month",
-                        userId);
-                return new ArrayList<>();
-            }
-        } else {
-            logger.error("Unsupported role {} for userId {}", role, userId);
-            throw new UnsupportedOperationException("Only EMPLOYEE and BDM roles are supported.");
         }
-
-        if ("EMPLOYEE".equalsIgnoreCase(role)) {
+        else if ("EMPLOYEE".equalsIgnoreCase(role)) {
             logger.info("Processing {} interviews for EMPLOYEE userId: {}", employeeInterviews.size(), userId);
 
             for (InterviewDetails interview : employeeInterviews) {
@@ -1150,7 +1271,8 @@ public class InterviewService {
                             interview.getInterviewLevel(),
                             latestInterviewStatus,
                             interview.getRecruiterName(),
-                            interview.getIsPlaced()
+                            interview.getIsPlaced(),
+                            interview.getVersion()
 
                     ));
                 }
@@ -1205,13 +1327,15 @@ public class InterviewService {
                                 tuple.get("interview_level", String.class),
                                 latestInterviewStatus,
                                 tuple.get("recruiterName",String.class),
-                                tuple.get("is_placed", Boolean.class)
+                                tuple.get("is_placed", Boolean.class),
+                                tuple.get("version", Long.class)
                         ));
                     }
                 }
             }
             return response;
         }
+    @Transactional(readOnly = true)
     public TeamleadInterviewsDTO getTeamleadScheduledInterviewsByDateRange(String userId, LocalDate startDate, LocalDate endDate) {
         // 1. Validate the date range
         if (startDate == null || endDate == null) {
@@ -1275,12 +1399,18 @@ public class InterviewService {
                     interview.getInterviewLevel(),
                     latestInterviewStatus,
                     interview.getRecruiterName(),
-                    interview.getIsPlaced()
+                    interview.getIsPlaced(),
+                    interview.getVersion()
             ));
         }
         return response;
     }
+    // Concurrent requests for the same teamlead share one execution of the self/team queries
     public TeamleadInterviewsDTO getTeamleadScheduledInterviews(String userId) {
+        return singleFlight.execute("teamleadInterviews", () -> loadTeamleadScheduledInterviews(userId), userId);
+    }
+
+    private TeamleadInterviewsDTO loadTeamleadScheduledInterviews(String userId) {
         // Get the current date
         LocalDate currentDate = LocalDate.now();
 
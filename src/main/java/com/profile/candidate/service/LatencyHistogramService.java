@@ -0,0 +1,404 @@
+package com.profile.candidate.service;
+
+import com.profile.candidate.configurations.EntityChangedEvent;
+import com.profile.candidate.dto.LatencyPercentilesDto;
+import com.profile.candidate.exceptions.DateRangeValidationException;
+import com.profile.candidate.model.InterviewDetails;
+import com.profile.candidate.model.LatencyHistogram;
+import com.profile.candidate.model.LatencyHistogramId;
+import com.profile.candidate.model.LatencySample;
+import com.profile.candidate.model.LatencySampleId;
+import com.profile.candidate.model.PlacementDetails;
+import com.profile.candidate.model.Submissions;
+import com.profile.candidate.repository.LatencyHistogramRepository;
+import com.profile.candidate.repository.LatencySampleRepository;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.zip.DataFormatException;
+
+// SLA histograms of how long profiles wait: profile received -> first interview (timeToInterview) and first
+// interview -> placement start date (timeToPlacement), in hours, per client, recruiter and overall, by month.
+// The first interview is interview_details.first_interview_date_time, since interview_date_time moves on with every
+// round; cancelled interviews are left out.
+//
+// Each month's durations are one HdrHistogram row in latency_histograms, and latency_samples keeps what each
+// interview and placement added to them. Inserts, updates and deletes of interviews, placements and submissions
+// (EntityChangedEvent, after commit) are queued and a worker thread works out the affected samples again from the
+// tables: the stored sample is subtracted, the current one added and stored. The sample rows are locked for that,
+// then the histogram rows in a fixed order, so instances take turns and a change processed twice adds nothing.
+// Percentiles for a range of months are read by adding the months' histograms, without touching the source
+// tables. rebuild() recomputes both tables; the worker runs it at startup when there are no samples yet and every
+// rebuild-interval, which also picks up bulk writes (they publish no events).
+@Service
+public class LatencyHistogramService implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(LatencyHistogramService.class);
+
+    public static final String TIME_TO_INTERVIEW = "timeToInterview";
+    public static final String TIME_TO_PLACEMENT = "timeToPlacement";
+    public static final List<String> METRICS = List.of(TIME_TO_INTERVIEW, TIME_TO_PLACEMENT);
+    public static final List<String> DIMENSIONS = List.of("client", "recruiter", "total");
+    // 1% value resolution; the histograms resize to whatever durations come in
+    private static final int SIGNIFICANT_DIGITS = 2;
+    private static final int MAX_BATCH = 500;
+    private static final String NONE = "(none)";
+    private static final String TOTAL = "all";
+    private static final int KEY_LENGTH = 191;
+
+    @Autowired
+    private LatencyHistogramRepository histogramRepository;
+
+    @Autowired
+    private LatencySampleRepository sampleRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${candidate.latency-histograms.rebuild-interval:24h}")
+    private Duration rebuildInterval;
+
+    private final BlockingQueue<Change> changes = new LinkedBlockingQueue<>();
+    private volatile Thread worker;
+    // Set when a sample could not be taken out (the histograms disagree with latency_samples); the worker rebuilds
+    private volatile boolean rebuildRequested;
+
+    @Override
+    public void start() {
+        Thread thread = new Thread(this::run, "latency-histograms");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        Thread thread = worker;
+        worker = null;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return worker != null;
+    }
+
+    // Only ids are taken: the entity belongs to the committing session and the worker reads the current rows anyway
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.getEntity() instanceof InterviewDetails interview && interview.getInterviewId() != null) {
+            changes.add(new Change(interview.getInterviewId(), null, null, null));
+        } else if (event.getEntity() instanceof PlacementDetails placement && placement.getId() != null) {
+            changes.add(new Change(null, placement.getId(), null, null));
+        } else if (event.getEntity() instanceof Submissions submission && submission.getCandidate() != null) {
+            changes.add(new Change(null, null, submission.getCandidate().getCandidateId(), submission.getJobId()));
+        }
+    }
+
+    private void run() {
+        long nextRebuild = System.nanoTime() + rebuildInterval.toNanos();
+        try {
+            if (sampleRepository.count() == 0) {
+                rebuild();
+            }
+        } catch (Exception e) {
+            logger.error("Failed to build latency histograms: {}", e.getMessage(), e);
+        }
+        List<Change> batch = new ArrayList<>();
+        while (worker == Thread.currentThread()) {
+            try {
+                if (rebuildRequested || System.nanoTime() - nextRebuild >= 0) {
+                    rebuildRequested = false;
+                    nextRebuild = System.nanoTime() + rebuildInterval.toNanos();
+                    rebuild();
+                }
+                Change first = changes.poll(Math.max(1, nextRebuild - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                changes.drainTo(batch, MAX_BATCH - 1);
+                refresh(batch);
+            } catch (InterruptedException e) {
+                return;
+            } catch (Exception e) {
+                logger.error("Failed to update latency histograms for {} changes: {}", batch.size(), e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void refresh(List<Change> batch) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Set<String> interviewIds = new TreeSet<>();
+            Set<String> placementIds = new TreeSet<>();
+            for (Change change : batch) {
+                if (change.interviewId != null) {
+                    interviewIds.add(change.interviewId);
+                } else if (change.placementId != null) {
+                    placementIds.add(change.placementId);
+                } else if (change.candidateId != null && change.jobId != null) {
+                    interviewIds.addAll(histogramRepository.findInterviewIdsBySubmission(change.candidateId, change.jobId));
+                }
+            }
+            if (!interviewIds.isEmpty()) {
+                placementIds.addAll(histogramRepository.findPlacementIdsByInterviewIds(interviewIds));
+            }
+            Map<LatencyHistogramId, Histogram> added = new HashMap<>();
+            Map<LatencyHistogramId, Histogram> removed = new HashMap<>();
+            if (!interviewIds.isEmpty()) {
+                Map<String, LatencySample> current = timeToInterviewSamples(histogramRepository.findTimeToInterviewSamples(interviewIds));
+                replaceSamples(TIME_TO_INTERVIEW, interviewIds, current, added, removed);
+            }
+            if (!placementIds.isEmpty()) {
+                Map<String, LatencySample> current = timeToPlacementSamples(histogramRepository.findTimeToPlacementSamples(placementIds));
+                replaceSamples(TIME_TO_PLACEMENT, placementIds, current, added, removed);
+            }
+            // Rows locked in a fixed order, so two instances merging overlapping batches cannot deadlock
+            Set<LatencyHistogramId> ids = new TreeSet<>(Comparator.comparing(LatencyHistogramService::sortKey));
+            ids.addAll(added.keySet());
+            ids.addAll(removed.keySet());
+            for (LatencyHistogramId id : ids) {
+                merge(id, added.get(id), removed.get(id));
+            }
+        });
+    }
+
+    // Locks the stored samples of the given sources (creating placeholders for new ones), notes what they added to
+    // the histograms and what the current ones add instead, and stores the current ones
+    private void replaceSamples(String metric, Set<String> sourceIds, Map<String, LatencySample> current,
+                                Map<LatencyHistogramId, Histogram> added, Map<LatencyHistogramId, Histogram> removed) {
+        for (String sourceId : sourceIds) {
+            sampleRepository.lock(metric, sourceId);
+        }
+        for (LatencySample stored : sampleRepository.findForUpdate(metric, sourceIds)) {
+            LatencySample now = current.get(stored.getId().getSourceId());
+            if (sameSample(stored, now)) {
+                continue;
+            }
+            if (stored.getMonth() != null) {
+                addSample(removed, metric, stored);
+            }
+            if (now == null) {
+                sampleRepository.delete(stored);
+            } else {
+                addSample(added, metric, now);
+                stored.setMonth(now.getMonth());
+                stored.setRecruiter(now.getRecruiter());
+                stored.setClient(now.getClient());
+                stored.setHours(now.getHours());
+            }
+        }
+    }
+
+    private void merge(LatencyHistogramId id, Histogram added, Histogram removed) {
+        histogramRepository.lock(id.getMetric(), id.getDimension(), id.getDimensionValue(), id.getMonth());
+        LatencyHistogram row = histogramRepository.findForUpdate(id)
+                .orElseThrow(() -> new IllegalStateException("Histogram row missing after lock: " + sortKey(id)));
+        Histogram histogram = row.getHistogram() == null ? newHistogram() : decode(row.getHistogram());
+        if (added != null) {
+            histogram.add(added);
+        }
+        if (removed != null) {
+            Histogram beforeRemoval = histogram.copy();
+            try {
+                histogram.subtract(removed);
+            } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                // The row lacks a sample latency_samples says it has (subtract may have stopped half way, so the
+                // copy is kept); the rebuild puts both tables right
+                logger.warn("Latency histogram {} is missing samples, rebuilding: {}", sortKey(id), e.getMessage());
+                histogram = beforeRemoval;
+                rebuildRequested = true;
+            }
+        }
+        row.setHistogram(encode(histogram));
+        row.setSampleCount(histogram.getTotalCount());
+    }
+
+    // The sample rows are deleted first: that waits for workers of other instances holding them, and the source
+    // tables are read after, so no change committed before the rebuild is left out of it
+    public int rebuild() {
+        long start = System.nanoTime();
+        Integer rows = new TransactionTemplate(transactionManager).execute(status -> {
+            sampleRepository.deleteAllSamples();
+            histogramRepository.deleteAllHistograms();
+            Map<LatencyHistogramId, Histogram> histograms = new HashMap<>();
+            List<LatencySample> samples = new ArrayList<>();
+            timeToInterviewSamples(histogramRepository.findTimeToInterviewSamples()).values().forEach(sample -> {
+                addSample(histograms, TIME_TO_INTERVIEW, sample);
+                samples.add(sample);
+            });
+            timeToPlacementSamples(histogramRepository.findTimeToPlacementSamples()).values().forEach(sample -> {
+                addSample(histograms, TIME_TO_PLACEMENT, sample);
+                samples.add(sample);
+            });
+            sampleRepository.saveAll(samples);
+            histograms.forEach((id, histogram) -> {
+                LatencyHistogram entity = new LatencyHistogram();
+                entity.setId(id);
+                entity.setHistogram(encode(histogram));
+                entity.setSampleCount(histogram.getTotalCount());
+                histogramRepository.save(entity);
+            });
+            return histograms.size();
+        });
+        logger.info("Rebuilt latency histograms: {} rows in {} ms", rows, (System.nanoTime() - start) / 1_000_000);
+        return rows == null ? 0 : rows;
+    }
+
+    // Rows of findTimeToInterviewSamples by interview id, cancelled interviews left out
+    private static Map<String, LatencySample> timeToInterviewSamples(List<Object[]> rows) {
+        Map<String, LatencySample> samples = new HashMap<>();
+        for (Object[] row : rows) {
+            if ("cancelled".equalsIgnoreCase(InterviewService.latestInterviewStatusFromJson((String) row[5]))) {
+                continue;
+            }
+            LocalDateTime interviewed = LocalDateTime.parse((String) row[2]);
+            samples.put((String) row[0], sample(TIME_TO_INTERVIEW, (String) row[0], LocalDate.parse((String) row[1]).atStartOfDay(),
+                    interviewed, interviewed.toLocalDate(), (String) row[3], (String) row[4]));
+        }
+        return samples;
+    }
+
+    // Rows of findTimeToPlacementSamples by placement id
+    private static Map<String, LatencySample> timeToPlacementSamples(List<Object[]> rows) {
+        Map<String, LatencySample> samples = new HashMap<>();
+        for (Object[] row : rows) {
+            LocalDate startDate = LocalDate.parse((String) row[2]);
+            samples.put((String) row[0], sample(TIME_TO_PLACEMENT, (String) row[0], LocalDateTime.parse((String) row[1]),
+                    startDate.atStartOfDay(), startDate, (String) row[3], (String) row[4]));
+        }
+        return samples;
+    }
+
+    // Percentiles in hours per dimension value over the months from..to, most samples first
+    @Transactional(readOnly = true)
+    public List<LatencyPercentilesDto> getPercentiles(String metric, String dimension, YearMonth from, YearMonth to) {
+        if (to.isBefore(from)) {
+            throw new DateRangeValidationException("End month cannot be before start month");
+        }
+        Map<String, Histogram> merged = new LinkedHashMap<>();
+        for (LatencyHistogram row : histogramRepository.findHistograms(metric, dimension, from.atDay(1), to.atDay(1))) {
+            merged.computeIfAbsent(row.getId().getDimensionValue(), key -> newHistogram()).add(decode(row.getHistogram()));
+        }
+        return merged.entrySet().stream()
+                .map(entry -> toDto(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingLong(LatencyPercentilesDto::getCount).reversed())
+                .collect(Collectors.toList());
+    }
+
+    private static LatencyPercentilesDto toDto(String key, Histogram histogram) {
+        return new LatencyPercentilesDto(key, histogram.getTotalCount(), Math.round(histogram.getMean() * 10) / 10.0,
+                histogram.getValueAtPercentile(50), histogram.getValueAtPercentile(75),
+                histogram.getValueAtPercentile(90), histogram.getValueAtPercentile(95),
+                histogram.getValueAtPercentile(99), histogram.getMaxValue());
+    }
+
+    // Negative durations (an interview dated before the profile arrived) are data-entry slips and count as zero
+    private static LatencySample sample(String metric, String sourceId, LocalDateTime from, LocalDateTime to,
+                                        LocalDate period, String recruiter, String client) {
+        LatencySample sample = new LatencySample();
+        sample.setId(new LatencySampleId(metric, sourceId));
+        sample.setMonth(period.withDayOfMonth(1));
+        sample.setRecruiter(key(recruiter));
+        sample.setClient(key(client));
+        sample.setHours(Math.max(0, Duration.between(from, to).toHours()));
+        return sample;
+    }
+
+    private static void addSample(Map<LatencyHistogramId, Histogram> histograms, String metric, LatencySample sample) {
+        String[] values = {sample.getClient(), sample.getRecruiter(), TOTAL};
+        for (int i = 0; i < DIMENSIONS.size(); i++) {
+            histograms.computeIfAbsent(new LatencyHistogramId(metric, DIMENSIONS.get(i), values[i], sample.getMonth()),
+                    id -> newHistogram()).recordValue(sample.getHours());
+        }
+    }
+
+    private static boolean sameSample(LatencySample stored, LatencySample now) {
+        if (now == null) {
+            return stored.getMonth() == null;
+        }
+        return Objects.equals(stored.getMonth(), now.getMonth()) && Objects.equals(stored.getRecruiter(), now.getRecruiter())
+                && Objects.equals(stored.getClient(), now.getClient()) && stored.getHours() == now.getHours();
+    }
+
+    private static Histogram newHistogram() {
+        Histogram histogram = new Histogram(SIGNIFICANT_DIGITS);
+        histogram.setAutoResize(true);
+        return histogram;
+    }
+
+    private static byte[] encode(Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        return Arrays.copyOf(buffer.array(), length);
+    }
+
+    private static Histogram decode(byte[] bytes) {
+        try {
+            Histogram histogram = Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(bytes), 0);
+            histogram.setAutoResize(true);
+            return histogram;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt latency histogram", e);
+        }
+    }
+
+    private static String key(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return NONE;
+        }
+        String trimmed = value.trim();
+        return trimmed.length() > KEY_LENGTH ? trimmed.substring(0, KEY_LENGTH) : trimmed;
+    }
+
+    private static String sortKey(LatencyHistogramId id) {
+        return id.getMetric() + '|' + id.getDimension() + '|' + id.getDimensionValue() + '|' + id.getMonth();
+    }
+
+    // One committed write: an interview, a placement, or a submission (candidate and job)
+    private static final class Change {
+        private final String interviewId;
+        private final String placementId;
+        private final String candidateId;
+        private final String jobId;
+
+        private Change(String interviewId, String placementId, String candidateId, String jobId) {
+            this.interviewId = interviewId;
+            this.placementId = placementId;
+            this.candidateId = candidateId;
+            this.jobId = jobId;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.profile.candidate.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+// Retries a read-modify-write that lost an optimistic-lock race (@Version) for internal callers, where nobody is
+// there to reload and resubmit. Each attempt runs in a new transaction, so the work must re-read the entity it
+// modifies rather than capture one read outside. HTTP edits are not retried: their conflict goes back to the user
+// as 409 (GlobalExceptionHandler).
+//
+// Metrics: candidate.optimistic.retries{operation} counts attempts that had to be repeated.
+@Component
+public class OptimisticRetry {
+
+    private static final Logger logger = LoggerFactory.getLogger(OptimisticRetry.class);
+
+    private final TransactionTemplate newTransaction;
+    private final EntityManagerFactory entityManagerFactory;
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+
+    @Autowired
+    public OptimisticRetry(PlatformTransactionManager transactionManager, EntityManagerFactory entityManagerFactory,
+                           MeterRegistry meterRegistry, @Value("${candidate.optimistic-retry.max-attempts:3}") int maxAttempts) {
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.entityManagerFactory = entityManagerFactory;
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    public <T> T execute(String operation, Supplier<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return attempt(work);
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    logger.warn("{} still conflicting after {} attempts: {}", operation, attempt, e.getMessage());
+                    throw e;
+                }
+                meterRegistry.counter("candidate.optimistic.retries", "operation", operation).increment();
+                logger.debug("{} lost an optimistic lock race, retrying (attempt {})", operation, attempt + 1);
+                backOff(attempt);
+            }
+        }
+    }
+
+    private <T> T attempt(Supplier<T> work) {
+        // Outside a transaction the request's open-in-view EntityManager would hand the stale entity back from its
+        // cache; each attempt gets an EntityManager of its own instead. (Inside one, REQUIRES_NEW already does that.)
+        Object requestEntityManager = TransactionSynchronizationManager.isActualTransactionActive() ? null
+                : TransactionSynchronizationManager.unbindResourceIfPossible(entityManagerFactory);
+        try {
+            return newTransaction.execute(status -> work.get());
+        } finally {
+            if (requestEntityManager != null) {
+                TransactionSynchronizationManager.bindResource(entityManagerFactory, requestEntityManager);
+            }
+        }
+    }
+
+    public void run(String operation, Runnable work) {
+        execute(operation, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    // A few milliseconds, growing with the attempt and jittered so the competing writers do not collide again
+    private static void backOff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(5, 20L * attempt + 10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying", e);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.profile.candidate.service;
+
+import com.profile.candidate.configurations.ChangeVersionTracker;
+import com.profile.candidate.dto.PlacementAnalyticsDto;
+import com.profile.candidate.dto.PlacementAnalyticsProjection;
+import com.profile.candidate.exceptions.DateRangeValidationException;
+import com.profile.candidate.model.PlacementDetails;
+import com.profile.candidate.model.PlacementRollupId;
+import com.profile.candidate.repository.PlacementRepository;
+import com.profile.candidate.repository.PlacementRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Gross profit, rates and placement counts per client, recruiter, sales person, employment type and month, read
+// from the placement_rollups table instead of aggregating the placements.
+//
+// PlacementService applies each placement's contribution in the same transaction as the placement write: the
+// contribution before the write is subtracted and the one after it added, as one upsert per affected rollup row.
+// rebuild() recomputes the table from placements (run automatically when it is empty, e.g. on first deployment).
+@Service
+public class PlacementRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlacementRollupService.class);
+
+    public static final List<String> DIMENSIONS = List.of("client", "recruiter", "sales", "employmentType", "total");
+    // Stands in for a missing client, recruiter, sales person or employment type
+    static final String NONE = "(none)";
+    private static final String TOTAL = "all";
+    private static final int KEY_LENGTH = 191;
+
+    @Autowired
+    private PlacementRollupRepository rollupRepository;
+
+    @Autowired
+    private PlacementRepository placementRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ChangeVersionTracker changeVersionTracker;
+
+    // Null placements stand for "no placement" (a create has no before, a delete no after)
+    public Contribution contribution(PlacementDetails placement) {
+        return placement == null ? null : new Contribution(placement);
+    }
+
+    // Must run inside the transaction writing the placement
+    @Transactional
+    public void apply(Contribution before, Contribution after) {
+        Map<PlacementRollupId, Delta> deltas = new LinkedHashMap<>();
+        if (before != null) {
+            before.addTo(deltas, -1);
+        }
+        if (after != null) {
+            after.addTo(deltas, 1);
+        }
+        deltas.forEach((id, delta) -> {
+            if (!delta.isZero()) {
+                rollupRepository.addDelta(id.getDimension(), id.getDimensionValue(), id.getMonth(), delta.placements,
+                        delta.ratedPlacements, delta.billRate, delta.payRate, delta.grossProfit);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInBackgroundIfEmpty() {
+        Thread thread = new Thread(() -> {
+            try {
+                if (rollupRepository.count() == 0 && placementRepository.count() > 0) {
+                    rebuild();
+                }
+            } catch (Exception e) {
+                logger.error("Failed to build placement rollups: {}", e.getMessage(), e);
+            }
+        }, "placement-rollup-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public int rebuild() {
+        long start = System.nanoTime();
+        Integer rows = new TransactionTemplate(transactionManager).execute(status -> {
+            rollupRepository.deleteAllRollups();
+            return rollupRepository.rebuildFromPlacements(NONE);
+        });
+        changeVersionTracker.markChangedAfterCommit("placements");
+        logger.info("Rebuilt placement rollups: {} rows in {} ms", rows, (System.nanoTime() - start) / 1_000_000);
+        return rows == null ? 0 : rows;
+    }
+
+    // One row per dimension value (totals over the months), or per value and month when monthly
+    @Transactional(readOnly = true)
+    public List<PlacementAnalyticsDto> getAnalytics(String dimension, YearMonth from, YearMonth to, boolean monthly) {
+        if (to.isBefore(from)) {
+            throw new DateRangeValidationException("End month cannot be before start month");
+        }
+        LocalDate fromMonth = from.atDay(1);
+        LocalDate toMonth = to.atDay(1);
+        List<PlacementAnalyticsProjection> rows = monthly
+                ? rollupRepository.findMonthly(dimension, fromMonth, toMonth)
+                : rollupRepository.findTotals(dimension, fromMonth, toMonth);
+        return rows.stream().map(PlacementRollupService::toDto).collect(Collectors.toList());
+    }
+
+    private static PlacementAnalyticsDto toDto(PlacementAnalyticsProjection row) {
+        long rated = row.getRatedPlacements() == null ? 0 : row.getRatedPlacements();
+        BigDecimal billTotal = orZero(row.getBillRateTotal());
+        BigDecimal payTotal = orZero(row.getPayRateTotal());
+        BigDecimal gross = orZero(row.getGrossProfitTotal()).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal averageBill = rated == 0 ? null : billTotal.divide(BigDecimal.valueOf(rated), 2, RoundingMode.HALF_UP);
+        BigDecimal averagePay = rated == 0 ? null : payTotal.divide(BigDecimal.valueOf(rated), 2, RoundingMode.HALF_UP);
+        BigDecimal margin = billTotal.signum() == 0 ? null
+                : billTotal.subtract(payTotal).multiply(BigDecimal.valueOf(100)).divide(billTotal, 2, RoundingMode.HALF_UP);
+        return new PlacementAnalyticsDto(row.getDimensionValue(), row.getMonth(),
+                row.getPlacements() == null ? 0 : row.getPlacements(), gross, averageBill, averagePay, margin);
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value == null ? BigDecimal.ZERO : value;
+    }
+
+    // Same normalisation as rebuildFromPlacements: trimmed, blank counts as NONE
+    private static String key(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return NONE;
+        }
+        String trimmed = value.trim();
+        return trimmed.length() > KEY_LENGTH ? trimmed.substring(0, KEY_LENGTH) : trimmed;
+    }
+
+    // What one placement adds to the rollups, captured before the entity is modified
+    public static final class Contribution {
+        private final LocalDate month;
+        private final String[] values;
+        private final boolean rated;
+        private final BigDecimal billRate;
+        private final BigDecimal payRate;
+        private final BigDecimal grossProfit;
+
+        private Contribution(PlacementDetails placement) {
+            LocalDate date = placement.getStartDate() != null ? placement.getStartDate()
+                    : placement.getCreatedAt() != null ? placement.getCreatedAt() : LocalDate.now();
+            this.month = date.withDayOfMonth(1);
+            this.values = new String[]{key(placement.getClientName()), key(placement.getRecruiter()),
+                    key(placement.getSales()), key(placement.getEmploymentType()), TOTAL};
+            this.rated = placement.getBillRate() != null && placement.getPayRate() != null;
+            this.billRate = rated ? placement.getBillRate() : BigDecimal.ZERO;
+            this.payRate = rated ? placement.getPayRate() : BigDecimal.ZERO;
+            this.grossProfit = orZero(placement.getGrossProfit());
+        }
+
+        private void addTo(Map<PlacementRollupId, Delta> deltas, int sign) {
+            for (int i = 0; i < DIMENSIONS.size(); i++) {
+                Delta delta = deltas.computeIfAbsent(new PlacementRollupId(DIMENSIONS.get(i), values[i], month), id -> new Delta());
+                delta.placements += sign;
+                delta.ratedPlacements += rated ? sign : 0;
+                delta.billRate = delta.billRate.add(sign < 0 ? billRate.negate() : billRate);
+                delta.payRate = delta.payRate.add(sign < 0 ? payRate.negate() : payRate);
+                delta.grossProfit = delta.grossProfit.add(sign < 0 ? grossProfit.negate() : grossProfit);
+            }
+        }
+    }
+
+    private static final class Delta {
+        private long placements;
+        private long ratedPlacements;
+        private BigDecimal billRate = BigDecimal.ZERO;
+        private BigDecimal payRate = BigDecimal.ZERO;
+        private BigDecimal grossProfit = BigDecimal.ZERO;
+
+        boolean isZero() {
+            return placements == 0 && ratedPlacements == 0 && billRate.signum() == 0
+                    && payRate.signum() == 0 && grossProfit.signum() == 0;
+        }
+    }
+}
@@ -14,6 +14,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -25,6 +26,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.stream.Collectors;
 
 @Service
@@ -44,7 +46,22 @@ public class PlacementService {
     @Autowired
     private  InterviewRepository interviewRepository;
 
-    private String generateCustomId() {
+    @Autowired
+    private SingleFlight singleFlight;
+
+    @Autowired
+    private OptimisticRetry optimisticRetry;
+
+    @Autowired
+    private PlacementRollupService placementRollupService;
+
+    @Autowired
+    private FunnelCounterService funnelCounterService;
+
+    @Autowired
+    private CurrentMonthSnapshot currentMonthSnapshot;
+
+    String generateCustomId() {
         List<Integer> existingNumbers = placementRepository.findAll().stream()
                 .map(PlacementDetails::getId)
                 .filter(id -> id != null && id.matches("PLMNT\\d{4}"))
@@ -55,7 +72,13 @@ public class PlacementService {
         return String.format("PLMNT%04d", nextNumber);
     }
 
+    // Each attempt is one transaction: the interview is marked placed together with the placement, its rollup and
+    // its funnel counts, and the whole save is repeated if a concurrent edit of the interview got there first
     public PlacementResponseDto savePlacement(PlacementDto placementDto) {
+        return optimisticRetry.execute("savePlacement", () -> insertPlacement(placementDto));
+    }
+
+    private PlacementResponseDto insertPlacement(PlacementDto placementDto) {
         PlacementDetails placementDetails = convertToEntity(placementDto);
 
         // Validate payRate < billRate
@@ -99,19 +122,27 @@ public class PlacementService {
         }
         placementDetails.setStatus("Active");
         PlacementDetails saved = placementRepository.save(placementDetails);
+        placementRollupService.apply(null, placementRollupService.contribution(saved));
+        funnelCounterService.apply(null, funnelCounterService.fact(saved));
         boolean isPlaced = "Active".equalsIgnoreCase(saved.getStatus());
 
-        return new PlacementResponseDto(
+        PlacementResponseDto response = new PlacementResponseDto(
                 saved.getId(),
                 saved.getCandidateFullName(),
                 saved.getCandidateContactNo(),
                 isPlaced
         );
+        response.setVersion(saved.getVersion());
+        return response;
     }
 
-    public PlacementResponseDto updatePlacement(String id, PlacementDto dto) {
+    @Transactional
+    public PlacementResponseDto updatePlacement(String id, PlacementDto dto, Long expectedVersion) {
         PlacementDetails existing = placementRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Placement not found with ID: " + id));
+        RecordVersion.check("placement", id, expectedVersion, existing.getVersion());
+        PlacementRollupService.Contribution before = placementRollupService.contribution(existing);
+        FunnelCounterService.Fact funnelBefore = funnelCounterService.fact(existing);
 
         if (dto.getCandidateEmailId()!= null && !dto.getCandidateEmailId().equals(existing.getCandidateEmailId())) {
             existing.setCandidateEmailId(dto.getCandidateEmailId());
@@ -154,22 +185,29 @@ public class PlacementService {
             existing.setGrossProfit(grossProfit);
         }
 
-        PlacementDetails updated = placementRepository.save(existing);
+        // Flushed here so the response carries the new version
+        PlacementDetails updated = placementRepository.saveAndFlush(existing);
+        placementRollupService.apply(before, placementRollupService.contribution(updated));
+        funnelCounterService.apply(funnelBefore, funnelCounterService.fact(updated));
         return convertToResponseDto(updated);
 
     }
 
+    @Transactional
     public void deletePlacement(String id) {
-        if (!placementRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Placement not found with ID: " + id);
-        }
-        placementRepository.deleteById(id);
+        PlacementDetails existing = placementRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Placement not found with ID: " + id));
+        placementRollupService.apply(placementRollupService.contribution(existing), null);
+        funnelCounterService.apply(funnelCounterService.fact(existing), null);
+        placementRepository.delete(existing);
     }
 
     // ✅ UPDATED: Return full placement details using PlacementDto
+    @Transactional(readOnly = true)
     public List<PlacementDetails> getAllPlacements() {
         return placementRepository.findAll(); // Fetch directly from PlacementDetails table
     }
+    @Transactional(readOnly = true)
     public PlacementResponseDto getPlacementById(String id) {
         PlacementDetails placement = placementRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Placement not found with ID: " + id));
@@ -179,8 +217,8 @@ public class PlacementService {
         return new PlacementResponseDto(
                 updated.getId(),
                 updated.getCandidateFullName(),
-                updated.getCandidateContactNo()
-
+                updated.getCandidateContactNo(),
+                updated.getVersion()
         );
     }
     private PlacementDetails convertToEntity(PlacementDto dto) {
@@ -207,7 +245,12 @@ public class PlacementService {
         entity.setHourlyRate(dto.getHourlyRate());
         return entity;
     }
+    // Everyone opening the dashboard at once shares one execution of the counts query
     public Map<String, Long> getCounts() {
+        return singleFlight.execute("dashboardCounts", this::loadCounts);
+    }
+
+    private Map<String, Long> loadCounts() {
         // Use LocalDate to get the first and last day of the current month
         LocalDate startOfMonthDate = LocalDate.now().withDayOfMonth(1);
         LocalDate endOfMonthDate = startOfMonthDate.plusMonths(1).minusDays(1);
@@ -216,6 +259,22 @@ public class PlacementService {
         LocalDateTime startOfMonth = startOfMonthDate.atStartOfDay(); // 00:00:00.000
         LocalDateTime endOfMonth = endOfMonthDate.atTime(23, 59, 59, 999999999); // 23:59:59.999
 
+        // Submission and interview counts from the current month snapshot when it is loaded, the rest from the database
+        OptionalLong submitted = currentMonthSnapshot.submittedCount();
+        OptionalLong interviews = currentMonthSnapshot.interviewCount();
+        if (submitted.isPresent() && interviews.isPresent()) {
+            Object[] result = (Object[]) placementRepository.getOtherCountsByDateRange(startOfMonth, endOfMonth);
+            Map<String, Long> counts = new HashMap<>();
+            counts.put("requirements", ((Number) result[0]).longValue());
+            counts.put("candidates", submitted.getAsLong());
+            counts.put("clients", ((Number) result[1]).longValue());
+            counts.put("placements", ((Number) result[2]).longValue());
+            counts.put("bench", ((Number) result[3]).longValue());
+            counts.put("users", ((Number) result[4]).longValue());
+            counts.put("interviews", interviews.getAsLong());
+            return counts;
+        }
+
         // Call the repository method with the calculated date range
         Object[] result = (Object[]) placementRepository.getAllCountsByDateRange(startOfMonth, endOfMonth);
 
@@ -233,6 +292,7 @@ public class PlacementService {
     }
 
 
+    @Transactional(readOnly = true)
     public Map<String, Long> getCountsByDateRange(LocalDate fromDate, LocalDate toDate) {
         LocalDateTime startDateTime = fromDate.atStartOfDay(); // 00:00
         LocalDateTime endDateTime = toDate.atTime(LocalTime.MAX); // 23:59:59.999999999
@@ -249,6 +309,7 @@ public class PlacementService {
         counts.put("interviews", ((Number) result[6]).longValue());
         return counts;
     }
+    @Transactional(readOnly = true)
     public List<PlacementDetails> getPlacementsByDateRange(LocalDate startDate, LocalDate endDate) {
         return placementRepository.findPlacementsByCreatedAtBetween(startDate, endDate);
     }
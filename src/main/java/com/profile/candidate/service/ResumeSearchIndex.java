@@ -0,0 +1,458 @@
+package com.profile.candidate.service;
+
+import com.profile.candidate.configurations.EntityChangedEvent;
+import com.profile.candidate.dto.ResumeSearchHitDto;
+import com.profile.candidate.model.BenchDetails;
+import com.profile.candidate.model.Submissions;
+import com.profile.candidate.repository.BenchRepository;
+import com.profile.candidate.repository.SubmissionRepository;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.ConcurrentMergeScheduler;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.MultiTerms;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.index.Terms;
+import org.apache.lucene.index.TermsEnum;
+import org.apache.lucene.index.TieredMergePolicy;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+// Full-text index of the resumes stored in candidate_submissions and bench_details, searched with ranking (BM25)
+// and highlighted passages. It is a Lucene index in candidate.resume-search.index-dir on the local disk: writes go
+// to new segments, which a tiered merge policy merges in the background, so an upload never rewrites the index.
+//
+// Extraction runs on one worker thread, off the request path. This instance's resume writes (EntityChangedEvent)
+// are queued to it; the worker reads the resume back, skips it when its checksum matches the indexed one, and
+// otherwise extracts the text (ResumeTextExtractor) and replaces the document. A reindex walks every submission
+// and bench record at reindex-rate resumes per second, which picks up other instances' writes and removes
+// documents of deleted records; it runs when the index is empty at start-up, every reindex-interval and on demand.
+// Changes are committed when the worker is idle or every COMMIT_EVERY documents, and searchable within a second.
+@Component
+public class ResumeSearchIndex implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumeSearchIndex.class);
+
+    public static final String SUBMISSION = "submission";
+    public static final String BENCH = "bench";
+
+    private static final String KEY = "key";
+    private static final String TYPE = "type";
+    private static final String ID = "id";
+    private static final String CANDIDATE_ID = "candidateId";
+    private static final String CHECKSUM = "checksum";
+    private static final String CONTENT = "content";
+
+    // Queued checksums that are not CRC32 values: resume not known from the event, record deleted
+    private static final long UNKNOWN = -1;
+    private static final long DELETED = -2;
+    private static final int COMMIT_EVERY = 500;
+    private static final long REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final int MAX_PASSAGES = 3;
+    // Hits read per result, so results stay filled after collapsing submissions of the same candidate
+    private static final int OVERFETCH = 4;
+
+    @Autowired
+    private SubmissionRepository submissionRepository;
+
+    @Autowired
+    private BenchRepository benchRepository;
+
+    @Autowired
+    private ResumeTextExtractor resumeTextExtractor;
+
+    @Value("${candidate.resume-search.enabled:true}")
+    private boolean enabled;
+
+    @Value("${candidate.resume-search.index-dir:resume-index}")
+    private Path indexDir;
+
+    @Value("${candidate.resume-search.reindex-rate:10}")
+    private double reindexRate;
+
+    @Value("${candidate.resume-search.reindex-interval:24h}")
+    private Duration reindexInterval;
+
+    @Value("${candidate.resume-search.max-chars:100000}")
+    private int maxChars;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    // Key -> checksum of the written resume (or UNKNOWN/DELETED); a key is queued once until the worker takes it
+    private final Map<String, Long> queued = new ConcurrentHashMap<>();
+    private final BlockingQueue<String> queue = new LinkedBlockingQueue<>();
+    private volatile boolean reindexRequested;
+    private volatile boolean reindexing;
+    private volatile Thread worker;
+    private volatile SearcherManager searcherManager;
+    private Directory directory;
+    private IndexWriter writer;
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            logger.info("Resume search is disabled");
+            return;
+        }
+        try {
+            Files.createDirectories(indexDir);
+            directory = FSDirectory.open(indexDir);
+            // Merges run on one background thread so they do not compete with request threads
+            ConcurrentMergeScheduler mergeScheduler = new ConcurrentMergeScheduler();
+            mergeScheduler.setMaxMergesAndThreads(2, 1);
+            writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND)
+                    .setMergePolicy(new TieredMergePolicy())
+                    .setMergeScheduler(mergeScheduler));
+            searcherManager = new SearcherManager(writer, null);
+        } catch (IOException e) {
+            logger.error("Could not open the resume index in {}, resume search is off: {}", indexDir, e.getMessage(), e);
+            closeQuietly();
+            return;
+        }
+        reindexRequested = writer.getDocStats().numDocs == 0;
+        Thread thread = new Thread(this::run, "resume-index");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    // The worker is left to finish its current resume rather than interrupted: an interrupt during a write closes
+    // the index files under the writer
+    @Override
+    public void stop() {
+        Thread thread = worker;
+        worker = null;
+        if (thread != null) {
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (writer != null && writer.isOpen()) {
+            try {
+                writer.commit();
+            } catch (IOException e) {
+                logger.warn("Could not commit the resume index: {}", e.getMessage());
+            }
+        }
+        closeQuietly();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return worker != null;
+    }
+
+    // Ranked resumes matching text (+ for AND, | for OR, - to exclude, "..." for phrases, * for prefixes), of the
+    // given type (SUBMISSION, BENCH or null for both). A candidate appears once, with its best submission.
+    public List<ResumeSearchHitDto> search(String text, String type, int limit) throws IOException {
+        SearcherManager manager = searcherManager;
+        if (manager == null) {
+            throw new IllegalStateException("Resume search is not available");
+        }
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Search text is required.");
+        }
+        BooleanQuery.Builder builder = new BooleanQuery.Builder()
+                .add(new SimpleQueryParser(analyzer, CONTENT).parse(text), BooleanClause.Occur.MUST);
+        if (type != null) {
+            builder.add(new TermQuery(new Term(TYPE, type)), BooleanClause.Occur.FILTER);
+        }
+        Query query = builder.build();
+
+        IndexSearcher searcher = manager.acquire();
+        try {
+            TopDocs top = searcher.search(query, limit * OVERFETCH);
+            String[] highlights = UnifiedHighlighter.builder(searcher, analyzer).withMaxLength(maxChars).build()
+                    .highlight(CONTENT, query, top, MAX_PASSAGES);
+            StoredFields storedFields = searcher.storedFields();
+            Set<String> candidates = new HashSet<>();
+            List<ResumeSearchHitDto> hits = new ArrayList<>(limit);
+            for (int i = 0; i < top.scoreDocs.length && hits.size() < limit; i++) {
+                ScoreDoc scoreDoc = top.scoreDocs[i];
+                Document document = storedFields.document(scoreDoc.doc);
+                String candidateId = document.get(CANDIDATE_ID);
+                if (candidateId == null || candidates.add(candidateId)) {
+                    hits.add(new ResumeSearchHitDto(document.get(TYPE), document.get(ID), candidateId, scoreDoc.score,
+                            highlights[i]));
+                }
+            }
+            return hits;
+        } finally {
+            manager.release(searcher);
+        }
+    }
+
+    // Starts a reindex; false when resume search is off or a reindex is already pending or running
+    public boolean reindex() {
+        if (worker == null || reindexRequested || reindexing) {
+            return false;
+        }
+        reindexRequested = true;
+        return true;
+    }
+
+    public boolean isReindexing() {
+        return reindexRequested || reindexing;
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (worker == null) {
+            return;
+        }
+        boolean deleted = event.getType() == EntityChangedEvent.Type.DELETE;
+        if (event.getEntity() instanceof Submissions submission && submission.getSubmissionId() != null) {
+            enqueue(key(SUBMISSION, submission.getSubmissionId()), deleted ? DELETED : checksum(submission.getResume()));
+        } else if (event.getEntity() instanceof BenchDetails bench && bench.getId() != null) {
+            enqueue(key(BENCH, bench.getId()), deleted ? DELETED : checksum(bench.getResume()));
+        }
+    }
+
+    private void enqueue(String key, long checksum) {
+        if (queued.put(key, checksum) == null) {
+            queue.add(key);
+        }
+    }
+
+    private void run() {
+        long throttleNanos = (long) (TimeUnit.SECONDS.toNanos(1) / Math.max(reindexRate, 0.01));
+        long nextReindex = System.nanoTime() + reindexInterval.toNanos();
+        long lastRefresh = System.nanoTime();
+        int uncommitted = 0;
+        Reindex pass = null;
+        while (worker == Thread.currentThread()) {
+            try {
+                if (pass == null && (reindexRequested || (!reindexInterval.isZero() && System.nanoTime() - nextReindex >= 0))) {
+                    reindexing = true;
+                    reindexRequested = false;
+                    pass = new Reindex();
+                    nextReindex = System.nanoTime() + reindexInterval.toNanos();
+                }
+                // While reindexing the wait is the throttle; uploads queued meanwhile are still taken at once
+                String key = queue.poll(pass != null ? throttleNanos : REFRESH_NANOS, TimeUnit.NANOSECONDS);
+                boolean changed;
+                if (key != null) {
+                    changed = index(key, queued.remove(key));
+                    if (pass != null) {
+                        pass.seen.add(key);
+                    }
+                } else if (pass != null && pass.keys.hasNext()) {
+                    key = pass.keys.next();
+                    pass.seen.add(key);
+                    changed = index(key, UNKNOWN);
+                } else if (pass != null) {
+                    changed = pass.removeUnseen();
+                    logger.info("Resume reindex finished: {} records, {} documents in {} ms", pass.seen.size(),
+                            writer.getDocStats().numDocs, (System.nanoTime() - pass.startedAt) / 1_000_000);
+                    pass = null;
+                    reindexing = false;
+                } else {
+                    changed = false;
+                }
+                uncommitted += changed ? 1 : 0;
+                if (uncommitted >= COMMIT_EVERY || (uncommitted > 0 && key == null && pass == null)) {
+                    writer.commit();
+                    uncommitted = 0;
+                }
+                if (System.nanoTime() - lastRefresh >= REFRESH_NANOS) {
+                    searcherManager.maybeRefresh();
+                    lastRefresh = System.nanoTime();
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (Exception e) {
+                logger.error("Resume index worker error: {}", e.getMessage(), e);
+                if (pass == null || !pass.keys.hasNext()) {
+                    pass = null;
+                    reindexing = false;
+                }
+            }
+        }
+    }
+
+    // Brings the document of one record up to date; true when the index changed
+    private boolean index(String key, Long expectedChecksum) throws IOException {
+        Term term = new Term(KEY, key);
+        if (expectedChecksum != null && expectedChecksum == DELETED) {
+            writer.deleteDocuments(term);
+            return true;
+        }
+        Long indexedChecksum = indexedChecksum(term);
+        if (indexedChecksum != null && expectedChecksum != null && indexedChecksum.equals(expectedChecksum)) {
+            return false;
+        }
+        String type = key.substring(0, key.indexOf(':'));
+        String id = key.substring(type.length() + 1);
+        String candidateId = null;
+        byte[] resume;
+        if (SUBMISSION.equals(type)) {
+            List<Object[]> rows = submissionRepository.findResumeBySubmissionId(id);
+            candidateId = rows.isEmpty() ? null : (String) rows.get(0)[0];
+            resume = rows.isEmpty() ? null : (byte[]) rows.get(0)[1];
+        } else {
+            List<byte[]> rows = benchRepository.findResumeById(id);
+            resume = rows.isEmpty() ? null : rows.get(0);
+        }
+        if (resume == null || resume.length == 0) {
+            if (indexedChecksum == null) {
+                return false;
+            }
+            writer.deleteDocuments(term);
+            return true;
+        }
+        long checksum = checksum(resume);
+        if (indexedChecksum != null && indexedChecksum == checksum) {
+            return false;
+        }
+        String text;
+        try {
+            text = resumeTextExtractor.extract(resume);
+        } catch (IOException | RuntimeException e) {
+            // Indexed without text, so the same file is not extracted again until it changes
+            logger.warn("Could not extract the resume text of {}: {}", key, e.getMessage());
+            text = null;
+        }
+        Document document = new Document();
+        document.add(new StringField(KEY, key, Field.Store.YES));
+        document.add(new StringField(TYPE, type, Field.Store.YES));
+        document.add(new StoredField(ID, id));
+        if (candidateId != null) {
+            document.add(new StoredField(CANDIDATE_ID, candidateId));
+        }
+        document.add(new StoredField(CHECKSUM, checksum));
+        document.add(new TextField(CONTENT, text == null ? "" : text, Field.Store.YES));
+        writer.updateDocument(term, document);
+        return true;
+    }
+
+    // As of the last refresh; a stale value only costs a repeated extraction
+    private Long indexedChecksum(Term term) throws IOException {
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopDocs top = searcher.search(new TermQuery(term), 1);
+            if (top.scoreDocs.length == 0) {
+                return null;
+            }
+            IndexableField checksum = searcher.storedFields().document(top.scoreDocs[0].doc).getField(CHECKSUM);
+            return checksum == null ? null : checksum.numericValue().longValue();
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    private static String key(String type, String id) {
+        return type + ":" + id;
+    }
+
+    private static long checksum(byte[] resume) {
+        if (resume == null || resume.length == 0) {
+            return UNKNOWN;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(resume);
+        return crc.getValue();
+    }
+
+    private void closeQuietly() {
+        try {
+            if (searcherManager != null) {
+                searcherManager.close();
+            }
+            if (writer != null) {
+                writer.close();
+            }
+            if (directory != null) {
+                directory.close();
+            }
+        } catch (IOException e) {
+            logger.warn("Could not close the resume index: {}", e.getMessage());
+        }
+        searcherManager = null;
+        writer = null;
+        directory = null;
+    }
+
+    // One walk over every submission and bench record
+    private final class Reindex {
+        private final long startedAt = System.nanoTime();
+        private final Iterator<String> keys;
+        private final Set<String> seen = new HashSet<>();
+
+        Reindex() {
+            List<String> all = new ArrayList<>();
+            submissionRepository.findAllSubmissionIds().forEach(id -> all.add(key(SUBMISSION, id)));
+            benchRepository.findAllIds().forEach(id -> all.add(key(BENCH, id)));
+            keys = all.iterator();
+            logger.info("Resume reindex started: {} records at {} per second", all.size(), reindexRate);
+        }
+
+        // Deletes the documents of records that no longer exist; true when any was deleted
+        boolean removeUnseen() throws IOException {
+            searcherManager.maybeRefreshBlocking();
+            IndexSearcher searcher = searcherManager.acquire();
+            List<String> unseen = new ArrayList<>();
+            try {
+                Terms terms = MultiTerms.getTerms(searcher.getIndexReader(), KEY);
+                if (terms != null) {
+                    TermsEnum keyTerms = terms.iterator();
+                    for (BytesRef term = keyTerms.next(); term != null; term = keyTerms.next()) {
+                        String value = term.utf8ToString();
+                        if (!seen.contains(value)) {
+                            unseen.add(value);
+                        }
+                    }
+                }
+            } finally {
+                searcherManager.release(searcher);
+            }
+            for (String key : unseen) {
+                writer.deleteDocuments(new Term(KEY, key));
+            }
+            return !unseen.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.profile.candidate.service;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+// Plain text of a stored resume, for ResumeSearchIndex. The format is told from the content, since the file name is
+// not always kept: PDF (PDFBox), DOCX (the body XML read straight from the zip) and plain text. Legacy .doc files
+// and images are not supported and give null.
+@Component
+public class ResumeTextExtractor {
+
+    private static final byte[] PDF = "%PDF".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ZIP = {'P', 'K', 3, 4};
+    private static final String DOCX_BODY = "word/document.xml";
+    private static final String WORD_NAMESPACE = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newFactory();
+
+    static {
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    // Text beyond this is dropped; it bounds the index size and the cost of a hostile upload
+    @Value("${candidate.resume-search.max-chars:100000}")
+    private int maxChars;
+
+    // null when the format is not supported; IOException when the file is damaged
+    public String extract(byte[] resume) throws IOException {
+        if (resume == null || resume.length == 0) {
+            return null;
+        }
+        if (startsWith(resume, PDF)) {
+            return pdf(resume);
+        }
+        if (startsWith(resume, ZIP)) {
+            return docx(resume);
+        }
+        return looksLikeText(resume) ? truncate(new String(resume, StandardCharsets.UTF_8)) : null;
+    }
+
+    private String pdf(byte[] resume) throws IOException {
+        try (PDDocument document = Loader.loadPDF(resume)) {
+            return truncate(new PDFTextStripper().getText(document));
+        }
+    }
+
+    // Text runs (w:t) of word/document.xml, one line per paragraph; null for other zip files
+    private String docx(byte[] resume) throws IOException {
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(resume))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                if (DOCX_BODY.equals(entry.getName())) {
+                    return documentText(zip);
+                }
+            }
+        }
+        return null;
+    }
+
+    private String documentText(ZipInputStream body) throws IOException {
+        StringBuilder text = new StringBuilder();
+        try {
+            XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(body);
+            boolean inText = false;
+            while (reader.hasNext() && text.length() < maxChars) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT && WORD_NAMESPACE.equals(reader.getNamespaceURI())) {
+                    switch (reader.getLocalName()) {
+                        case "t" -> inText = true;
+                        case "tab" -> text.append('\t');
+                        case "br", "cr" -> text.append('\n');
+                        default -> {
+                        }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && WORD_NAMESPACE.equals(reader.getNamespaceURI())) {
+                    if ("t".equals(reader.getLocalName())) {
+                        inText = false;
+                    } else if ("p".equals(reader.getLocalName())) {
+                        text.append('\n');
+                    }
+                } else if (inText && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA)) {
+                    text.append(reader.getText());
+                }
+            }
+            reader.close();
+        } catch (XMLStreamException e) {
+            throw new IOException("Unreadable DOCX body: " + e.getMessage(), e);
+        }
+        return truncate(text.toString());
+    }
+
+    private String truncate(String text) {
+        return text.length() > maxChars ? text.substring(0, maxChars) : text;
+    }
+
+    private static boolean startsWith(byte[] bytes, byte[] prefix) {
+        if (bytes.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (bytes[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // No NUL bytes in the first 4 KB: binary formats (.doc, images) have them, text does not
+    private static boolean looksLikeText(byte[] bytes) {
+        for (int i = 0; i < Math.min(bytes.length, 4096); i++) {
+            if (bytes[i] == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,31 @@
+package com.profile.candidate.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+// Resume bytes moved through the API, tagged with the endpoint that moved them.
+// Exported as candidate_resume_upload_bytes / candidate_resume_download_bytes (count, sum and max).
+@Component
+public class ResumeTransferMetrics {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    public void recordUpload(String source, long bytes) {
+        summary("candidate.resume.upload", source).record(bytes);
+    }
+
+    public void recordDownload(String source, long bytes) {
+        summary("candidate.resume.download", source).record(bytes);
+    }
+
+    private DistributionSummary summary(String name, String source) {
+        // Micrometer caches meters by name and tags, so this lookup is cheap after the first call
+        return DistributionSummary.builder(name)
+                .baseUnit("bytes")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,85 @@
+package com.profile.candidate.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+// Collapses concurrent identical reads into one execution. The first caller for a given operation and arguments
+// (the leader) runs the query in a read-only transaction; callers arriving while it runs wait for and share its
+// result or exception. Nothing is kept once the leader finishes, so a later call always reads fresh data.
+//
+// Callers get the same result instance and must not modify it.
+// Metrics: candidate.singleflight.calls{operation, role=leader|follower}; the collapse ratio is
+// follower / (leader + follower).
+@Component
+public class SingleFlight {
+
+    private final ConcurrentMap<List<Object>, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final TransactionTemplate readOnlyTransaction;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public SingleFlight(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, Supplier<T> loader, Object... args) {
+        List<Object> key = Arrays.asList(operation, Arrays.asList(args));
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+
+        if (existing != null) {
+            calls(operation, "follower").increment();
+            try {
+                return (T) existing.join();
+            } catch (CompletionException e) {
+                throw rethrow(e.getCause());
+            }
+        }
+
+        calls(operation, "leader").increment();
+        try {
+            T result = readOnlyTransaction.execute(status -> loader.get());
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private Counter calls(String operation, String role) {
+        return Counter.builder("candidate.singleflight.calls")
+                .description("Reads executed (leader) or served from a concurrent identical read (follower)")
+                .tag("operation", operation)
+                .tag("role", role)
+                .register(meterRegistry);
+    }
+
+    // The leader's exception is rethrown as is, so controllers and GlobalExceptionHandler see the usual types
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+}
@@ -0,0 +1,98 @@
+package com.profile.candidate.service;
+
+import com.profile.candidate.repository.SubmissionRepository;
+import com.profile.candidate.utils.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+
+// In-memory pre-check for duplicate submissions. A "no" from the Bloom filter means the (email, job) or
+// (contact number, job) pair has never been submitted, so submitCandidate can skip the exists query.
+// A "maybe" still goes to the database, and the unique constraints on candidate_submissions remain the
+// real guard, so false positives, deleted submissions and other instances writing to the same table are safe.
+@Component
+public class SubmissionDuplicateFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubmissionDuplicateFilter.class);
+
+    @Autowired
+    private SubmissionRepository submissionRepository;
+
+    @Value("${candidate.duplicate-filter.expected-insertions:200000}")
+    private long expectedInsertions;
+
+    @Value("${candidate.duplicate-filter.false-positive-probability:0.01}")
+    private double falsePositiveProbability;
+
+    private volatile BloomFilter emailJobFilter;
+    private volatile BloomFilter contactJobFilter;
+
+    // Loaded in the background so readiness does not wait on the full key scan; until it is in place
+    // every submission uses the exists queries
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        Thread loader = new Thread(this::load, "duplicate-filter-load");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    public void load() {
+        try {
+            int backfilled = submissionRepository.backfillCandidateContactNumbers();
+            if (backfilled > 0) {
+                logger.info("Backfilled candidate_contact_number on {} submissions", backfilled);
+            }
+            BloomFilter emails = new BloomFilter(expectedInsertions, falsePositiveProbability);
+            BloomFilter contacts = new BloomFilter(expectedInsertions, falsePositiveProbability);
+            List<Object[]> keys = submissionRepository.findAllDuplicateKeys();
+            for (Object[] key : keys) {
+                emails.put(key((String) key[0], (String) key[2]));
+                contacts.put(key((String) key[1], (String) key[2]));
+            }
+            emailJobFilter = emails;
+            contactJobFilter = contacts;
+            logger.info("Duplicate submission filter loaded with {} submissions ({} bits, {} hashes)",
+                    keys.size(), emails.getBitCount(), emails.getHashCount());
+            if (keys.size() > expectedInsertions) {
+                logger.warn("Duplicate submission filter holds {} keys, above the configured {}: false positives will rise",
+                        keys.size(), expectedInsertions);
+            }
+        } catch (Exception e) {
+            // Without the filter every submission simply falls back to the exists queries
+            logger.error("Failed to load duplicate submission filter: {}", e.getMessage(), e);
+        }
+    }
+
+    public boolean mightContainEmail(String candidateEmailId, String jobId) {
+        BloomFilter filter = emailJobFilter;
+        return filter == null || filter.mightContain(key(candidateEmailId, jobId));
+    }
+
+    public boolean mightContainContactNumber(String contactNumber, String jobId) {
+        BloomFilter filter = contactJobFilter;
+        return filter == null || filter.mightContain(key(contactNumber, jobId));
+    }
+
+    public void add(String candidateEmailId, String contactNumber, String jobId) {
+        BloomFilter emails = emailJobFilter;
+        BloomFilter contacts = contactJobFilter;
+        if (emails != null) {
+            emails.put(key(candidateEmailId, jobId));
+        }
+        if (contacts != null) {
+            contacts.put(key(contactNumber, jobId));
+        }
+    }
+
+    // MySQL compares the email column case-insensitively, so the filter does too
+    private static String key(String value, String jobId) {
+        return (value == null ? "" : value.toLowerCase(Locale.ROOT)) + "|" + jobId;
+    }
+}
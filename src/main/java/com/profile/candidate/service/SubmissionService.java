@@ -1,5 +1,6 @@
 package com.profile.candidate.service;
 
+import com.profile.candidate.configurations.ChangeVersionTracker;
 import com.profile.candidate.dto.*;
 import com.profile.candidate.exceptions.*;
 import com.profile.candidate.model.CandidateDetails;
@@ -7,10 +8,11 @@ import com.profile.candidate.model.Submissions;
 import com.profile.candidate.repository.CandidateRepository;
 import com.profile.candidate.repository.SubmissionRepository;
 import jakarta.persistence.Tuple;
-import jakarta.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -35,14 +37,27 @@ public class SubmissionService {
     CandidateRepository candidateRepository;
     @Autowired
     InterviewEmailService emailService;
+    @Autowired
+    ChangeVersionTracker changeVersionTracker;
+    @Autowired
+    SingleFlight singleFlight;
+    @Autowired
+    FunnelCounterService funnelCounterService;
+    @Autowired
+    CurrentMonthSnapshot currentMonthSnapshot;
 
     private static final Logger logger = LoggerFactory.getLogger(SubmissionService.class);
 
+    // Concurrent requests share one execution of the current-month query
     public SubmissionsGetResponse getAllSubmissions() {
+        return singleFlight.execute("allSubmissions", this::loadAllSubmissions);
+    }
 
+    private SubmissionsGetResponse loadAllSubmissions() {
         LocalDate startOfMonth = LocalDate.now().withDayOfMonth(1);
         LocalDate endOfMonth = startOfMonth.plusMonths(1).minusDays(1);
-        List<Submissions> submissions = submissionRepository.findByProfileReceivedDateBetween(startOfMonth,endOfMonth);
+        List<Submissions> submissions = currentMonthSnapshot.submissionsReceived()
+                .orElseGet(() -> submissionRepository.findByProfileReceivedDateBetween(startOfMonth,endOfMonth));
         List<SubmissionsGetResponse.GetSubmissionData> data =submissions.stream()
                 .map(this::convertToSubmissionsGetResponse)
                 .collect(Collectors.toList());
@@ -50,6 +65,7 @@ public class SubmissionService {
         return response;
     }
 
+    @Transactional(readOnly = true)
     public SubmissionsGetResponse getSubmissions(String candidateId) {
         Optional<CandidateDetails> candidateDetails = candidateRepository.findById(candidateId);
         if (candidateDetails.isEmpty()) {
@@ -62,6 +78,7 @@ public class SubmissionService {
        SubmissionsGetResponse response=new SubmissionsGetResponse(true,"Submissions Found",data,null);
       return response;
     }
+    @Transactional(readOnly = true)
     public SubmissionsGetResponse getSubmissionById(String submissionId) {
         Optional<Submissions> submissions = submissionRepository.findById(submissionId);
         if (submissions.isEmpty()) {
@@ -123,6 +140,7 @@ public class SubmissionService {
         String submissionIdBeforeDelete = submission.getSubmissionId();
         String jobIdBeforeDelete = submission.getJobId();
         // Delete the candidate from the repository
+        funnelCounterService.apply(funnelCounterService.fact(submission), null);
         submissionRepository.delete(submission);
          logger.info("Candidate with ID {} deleted successfully", submissionId);
          logger.info("recruiterName {} and  recruiterEmail {} and teamLeadEmail {} and teamLeadName {} ",recruiterName,recruiterEmail,teamLeadEmail,teamLeadName);
@@ -135,7 +153,10 @@ public class SubmissionService {
                 data,
                 null);
     }
-    public CandidateResponseDto editSubmission(String submissionId, CandidateDetails updatedCandidateDetails, Submissions updatedSubmissionsDetails, MultipartFile resumeFile) {
+    // One transaction and one flush for the whole edit; with @DynamicUpdate only the columns that changed are written
+    @Transactional
+    public CandidateResponseDto editSubmission(String submissionId, CandidateDetails updatedCandidateDetails, Submissions updatedSubmissionsDetails, MultipartFile resumeFile,
+                                               Long expectedVersion, Long expectedCandidateVersion) {
 
         Optional<Submissions> submissions=submissionRepository.findById(submissionId);
         if(submissions.isEmpty()) throw new SubmissionNotFoundException("No Submissions Found with Submission Id :"+submissionId);
@@ -160,6 +181,11 @@ public class SubmissionService {
                 throw new SubmissionNotFoundException("Candidate Not Submitted for JobId " + updatedSubmissionsDetails.getJobId());
             }
             CandidateDetails existingCandidate = existingCandidateOpt.get();
+            RecordVersion.check("submission", existedSubmission.getSubmissionId(), expectedVersion, existedSubmission.getVersion());
+            RecordVersion.check("candidate", candidateId, expectedCandidateVersion, existingCandidate.getVersion());
+            String previousContactNumber = existingCandidate.getContactNumber();
+            // The edit moves the submission to today in the funnel
+            FunnelCounterService.Fact funnelBefore = funnelCounterService.fact(existedSubmission);
             updateCandidateFields(existingCandidate, updatedCandidateDetails);
             if (resumeFile!=null && !resumeFile.isEmpty())   {
                 existedSubmission.setResumeFilePath(updatedSubmissionsDetails.getResumeFilePath());
@@ -187,10 +213,21 @@ public class SubmissionService {
             // Update candidate fields with the new data (e.g., name, contact, etc.)
             updateCandidateFields(existingCandidate, updatedCandidateDetails);
             if (resumeFile != null && !resumeFile.isEmpty())
-            saveFile(existedSubmission, resumeFile);  // This saves the file and updates the submission's resumeFilePath
+            saveFile(existedSubmission, resumeFile);  // This saves the file and sets the submission's resumeFilePath
 
+            // Keep the denormalized contact number (unique per job) in step with the candidate on all their submissions
+            existedSubmission.setCandidateContactNumber(existingCandidate.getContactNumber());
             candidateRepository.save(existingCandidate);
             submissionRepository.save(existedSubmission);
+            // Flushed here rather than at commit so constraint and version conflicts surface in this method, before
+            // the notification goes out
+            submissionRepository.flush();
+            funnelCounterService.apply(funnelBefore, funnelCounterService.fact(existedSubmission));
+            if (!Objects.equals(previousContactNumber, existingCandidate.getContactNumber())) {
+                submissionRepository.updateCandidateContactNumber(existingCandidate.getCandidateId(), existingCandidate.getContactNumber(),
+                        existedSubmission.getSubmissionId());
+                changeVersionTracker.markChangedAfterCommit("candidate_submissions");
+            }
             // ------------------ 📧 Send Resubmission Notification Email ------------------
             String recruiterEmail = existingCandidate.getUserEmail();
             String recruiterName = candidateRepository.findUserNameByEmail(recruiterEmail);
@@ -213,6 +250,8 @@ public class SubmissionService {
                     existingCandidate.getUserId(),
                     existedSubmission.getSubmissionId()
             );
+            data.setVersion(existedSubmission.getVersion());
+            data.setCandidateVersion(existingCandidate.getVersion());
             return new CandidateResponseDto(
                     "Success",
                     "Candidate successfully updated",
@@ -227,6 +266,11 @@ public class SubmissionService {
             // Specific handling for I/O issues, such as file saving errors
             logger.error("Failed to save resume file: {}", ex.getMessage());
             throw new RuntimeException("An error occurred while saving the resume file", ex);
+        } catch (DataIntegrityViolationException ex) {
+            // Unique constraints on candidate email and (contact number, job)
+            logger.error("Edit of submission {} violates a unique constraint: {}", submissionId, ex.getMessage());
+            throw new InvalidCandidateDataException("Candidate email or contact number is already used by another submission for job "
+                    + updatedSubmissionsDetails.getJobId());
         }
     }
     public boolean isCandidateValidForUser(String userId, String candidateId) {
@@ -280,9 +324,8 @@ public class SubmissionService {
             logger.info("Saving file to path: {}", targetPath);
             // Save the file to the directory
             Files.copy(file.getInputStream(), targetPath, StandardCopyOption.REPLACE_EXISTING);
-            // Optionally save the file path in the database (for example, updating the candidate)
+            // The path is written with the rest of the submission by the caller
             submissions.setResumeFilePath(targetPath.toString());
-            submissionRepository.save(submissions);
         } catch (IOException e) {
             logger.error("Failed to save file: {}", e.getMessage());
             throw new IOException("Failed to save file to path: " + targetPath, e);  // Throw exception to indicate failure
@@ -307,6 +350,7 @@ public class SubmissionService {
         return filePath.toString();
     }
 
+    @Transactional(readOnly = true)
     public TeamleadSubmissionsDTO getSubmissionsForTeamlead(String userId) {
         // Get the current date
         LocalDate currentDate = LocalDate.now();
@@ -352,6 +396,8 @@ public class SubmissionService {
             dto.setUserId(tuple.get("user_id",String.class));
             dto.setUserEmail(tuple.get("user_email", String.class)); // Corrected field mapping
             dto.setClientName(tuple.get("client_name", String.class)); // Corrected field mapping
+            dto.setVersion(tuple.get("version", Long.class));
+            dto.setCandidateVersion(tuple.get("candidate_version", Long.class));
 
             // Parsing profileReceivedDate as LocalDate (ensure it comes in a valid format)
             String timestamp = tuple.get("profile_received_date", String.class);  // Assuming timestamp is a string
@@ -370,6 +416,7 @@ public class SubmissionService {
     }
 
     // Method to get candidate submissions by userId
+    @Transactional(readOnly = true)
     public List<SubmissionGetResponseDto> getSubmissionsByUserId(String userId) {
         // ✅ Validate user existence and fetch role
         String role = submissionRepository.findRoleByUserId(userId); // Native query to join user_roles_prod and roles_prod
@@ -381,9 +428,12 @@ public class SubmissionService {
         LocalDate endOfMonth = today.withDayOfMonth(today.lengthOfMonth());
 
         List<Submissions> submissions;
+        Optional<List<Submissions>> snapshotted = Optional.empty();
 
         if ("EMPLOYEE".equalsIgnoreCase(role)) {
-            submissions = submissionRepository.findByUserIdAndProfileReceivedDateBetween(userId, startOfMonth, endOfMonth);
+            snapshotted = currentMonthSnapshot.submissionsReceivedBy(userId);
+            submissions = snapshotted
+                    .orElseGet(() -> submissionRepository.findByUserIdAndProfileReceivedDateBetween(userId, startOfMonth, endOfMonth));
         } else if ("BDM".equalsIgnoreCase(role)) {
             submissions = submissionRepository.findSubmissionsByBdmUserIdAndDateRange(userId, startOfMonth, endOfMonth);
         } else {
@@ -393,10 +443,13 @@ public class SubmissionService {
         if (submissions.isEmpty()) {
             throw new CandidateNotFoundException("No submissions found for userId: " + userId + " in the current month.");
         }
+        // The snapshot's job clients only go with the submissions it served; submissions read from the database get
+        // their clients from it too
+        boolean fromSnapshot = snapshotted.isPresent();
         return submissions.stream().map(submission -> {
 
-            Optional<String> clientNameOpt = candidateRepository.findClientNameByJobId(submission.getJobId());
-            String clientName = clientNameOpt.orElse(null);
+            String clientName = fromSnapshot ? currentMonthSnapshot.clientNameForJob(submission.getJobId())
+                    : candidateRepository.findClientNameByJobId(submission.getJobId()).orElse(null);
             SubmissionGetResponseDto dto= convertToSubmissionGetResponseDto(submission);
             dto.setClientName(clientName);
             return dto;
@@ -404,6 +457,7 @@ public class SubmissionService {
     }
 
 
+    @Transactional(readOnly = true)
     public List<SubmissionGetResponseDto> getSubmissionsByUserIdAndDateRange(String userId, LocalDate startDate, LocalDate endDate) {
         if (endDate.isBefore(startDate)) {
             throw new DateRangeValidationException("End date cannot be before start date.");
@@ -435,7 +489,7 @@ public class SubmissionService {
         }).collect(Collectors.toList());
     }
 
-private SubmissionGetResponseDto convertToSubmissionGetResponseDto(Submissions sub) {
+SubmissionGetResponseDto convertToSubmissionGetResponseDto(Submissions sub) {
     SubmissionGetResponseDto dto = new SubmissionGetResponseDto();
 
     dto.setSubmissionId(sub.getSubmissionId());
@@ -454,9 +508,12 @@ private SubmissionGetResponseDto convertToSubmissionGetResponseDto(Submissions s
     dto.setContactNumber(sub.getCandidate().getContactNumber());
     dto.setCandidateEmailId(sub.getCandidate().getCandidateEmailId());
     dto.setRecruiterName(sub.getRecruiterName());
+    dto.setVersion(sub.getVersion());
+    dto.setCandidateVersion(sub.getCandidate().getVersion());
 
     return dto;
 }
+    @Transactional(readOnly = true)
     public List<SubmissionGetResponseDto> getAllSubmissionsByDateRange(LocalDate startDate, LocalDate endDate) {
 
         if (endDate.isBefore(startDate)) {
@@ -475,6 +532,7 @@ private SubmissionGetResponseDto convertToSubmissionGetResponseDto(Submissions s
         }).collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public SubmissionsGetResponse getAllSubmissionsFilterByDate(LocalDate startDate, LocalDate endDate) {
 
         List<Submissions> submissions = submissionRepository.findByProfileReceivedDateBetween(startDate,endDate);
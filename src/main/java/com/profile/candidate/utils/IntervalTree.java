@@ -0,0 +1,216 @@
+package com.profile.candidate.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Interval tree over half-open [start, end) intervals, each identified by an id. An AVL tree ordered by
+// (start, id) where every node also keeps the largest end in its subtree, so insert and remove are O(log n)
+// and finding the k intervals overlapping a range is O(log n + k). Not thread-safe.
+public class IntervalTree<K extends Comparable<K>> {
+
+    private Node<K> root;
+    private int size;
+    private boolean removed;
+
+    // Replaces the interval already stored under the same start and id
+    public void insert(long start, long end, K id) {
+        if (end <= start) {
+            throw new IllegalArgumentException("Interval end must be after its start");
+        }
+        root = insert(root, new Node<>(start, end, id));
+    }
+
+    public boolean remove(long start, K id) {
+        removed = false;
+        root = remove(root, start, id);
+        return removed;
+    }
+
+    // Intervals with start < end && start' < end', in start order
+    public List<Interval<K>> overlapping(long start, long end) {
+        List<Interval<K>> result = new ArrayList<>();
+        overlapping(root, start, end, result);
+        return result;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Height of the tree, for the balance checks of the tests
+    int height() {
+        return height(root);
+    }
+
+    private Node<K> insert(Node<K> node, Node<K> added) {
+        if (node == null) {
+            size++;
+            return added;
+        }
+        int c = compare(added.start, added.id, node);
+        if (c < 0) {
+            node.left = insert(node.left, added);
+        } else if (c > 0) {
+            node.right = insert(node.right, added);
+        } else {
+            added.left = node.left;
+            added.right = node.right;
+            node = added;
+        }
+        return balance(node);
+    }
+
+    private Node<K> remove(Node<K> node, long start, K id) {
+        if (node == null) {
+            return null;
+        }
+        int c = compare(start, id, node);
+        if (c < 0) {
+            node.left = remove(node.left, start, id);
+        } else if (c > 0) {
+            node.right = remove(node.right, start, id);
+        } else {
+            removed = true;
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node<K> successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = removeMin(node.right);
+            successor.left = node.left;
+            node = successor;
+        }
+        return balance(node);
+    }
+
+    private Node<K> removeMin(Node<K> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return balance(node);
+    }
+
+    private void overlapping(Node<K> node, long start, long end, List<Interval<K>> result) {
+        // Nothing in this subtree ends after the range starts
+        if (node == null || node.maxEnd <= start) {
+            return;
+        }
+        overlapping(node.left, start, end, result);
+        if (node.start < end && start < node.end) {
+            result.add(new Interval<>(node.start, node.end, node.id));
+        }
+        // Right subtree starts no earlier than this node
+        if (node.start < end) {
+            overlapping(node.right, start, end, result);
+        }
+    }
+
+    private int compare(long start, K id, Node<K> node) {
+        int c = Long.compare(start, node.start);
+        return c != 0 ? c : id.compareTo(node.id);
+    }
+
+    private Node<K> balance(Node<K> node) {
+        update(node);
+        int factor = height(node.left) - height(node.right);
+        if (factor > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (factor < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node<K> rotateRight(Node<K> node) {
+        Node<K> left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private Node<K> rotateLeft(Node<K> node) {
+        Node<K> right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private static <K> void update(Node<K> node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long maxEnd = node.end;
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int height(Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static final class Node<K> {
+        private final long start;
+        private final long end;
+        private final K id;
+        private long maxEnd;
+        private int height = 1;
+        private Node<K> left;
+        private Node<K> right;
+
+        Node(long start, long end, K id) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.maxEnd = end;
+        }
+    }
+
+    public static final class Interval<K> {
+        private final long start;
+        private final long end;
+        private final K id;
+
+        Interval(long start, long end, K id) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+        }
+
+        public long getStart() {
+            return start;
+        }
+
+        public long getEnd() {
+            return end;
+        }
+
+        public K getId() {
+            return id;
+        }
+    }
+}
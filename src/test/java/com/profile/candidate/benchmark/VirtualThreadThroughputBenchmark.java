@@ -0,0 +1,87 @@
+package com.profile.candidate.benchmark;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Compares request throughput of the default Tomcat pool (200 platform threads) with a virtual thread per
+// request, for the blocking profile of this service: a JDBC round trip followed by an SMTP send.
+// A third run performs the SMTP wait inside a synchronized block (as JavaMail's transport does) to show
+// what carrier pinning does to virtual thread throughput.
+//
+// Not a unit test; run on Java 21 with:
+//   mvn test-compile exec:java -Dexec.classpathScope=test \
+//       -Dexec.mainClass=com.profile.candidate.benchmark.VirtualThreadThroughputBenchmark -Dexec.args="20000 1000"
+public class VirtualThreadThroughputBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final long JDBC_MILLIS = 15;
+    private static final long SMTP_MILLIS = 120;
+
+    public static void main(String[] args) throws Exception {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+
+        System.out.printf("requests=%d, concurrent clients=%d, jdbc=%dms, smtp=%dms%n",
+                requests, concurrency, JDBC_MILLIS, SMTP_MILLIS);
+        report("platform pool (" + TOMCAT_MAX_THREADS + ")", requests,
+                run(Executors.newFixedThreadPool(TOMCAT_MAX_THREADS), requests, concurrency, false));
+        if (Runtime.version().feature() < 21) {
+            System.out.println("virtual threads: skipped, Java 21 is required");
+            return;
+        }
+        report("virtual threads", requests, run(newVirtualThreadPerTaskExecutor(), requests, concurrency, false));
+        report("virtual threads, pinned SMTP", requests, run(newVirtualThreadPerTaskExecutor(), requests, concurrency, true));
+    }
+
+    // Closed-loop load: at most `concurrency` requests are in flight, like that many clients waiting on responses
+    private static long run(ExecutorService executor, int requests, int concurrency, boolean pinned) throws Exception {
+        Semaphore inFlight = new Semaphore(concurrency);
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < requests; i++) {
+                inFlight.acquire();
+                executor.execute(() -> {
+                    try {
+                        sleep(JDBC_MILLIS);
+                        if (pinned) {
+                            // Each request has its own lock, so only pinning (not contention) limits throughput
+                            Object transportLock = new Object();
+                            synchronized (transportLock) {
+                                sleep(SMTP_MILLIS);
+                            }
+                        } else {
+                            sleep(SMTP_MILLIS);
+                        }
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            inFlight.acquire(concurrency);
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static void report(String mode, int requests, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        System.out.printf("%-32s %8.2f s %10.0f req/s%n", mode, seconds, requests / seconds);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Compiled against Java 17, so the Java 21 factory method is looked up reflectively
+    private static ExecutorService newVirtualThreadPerTaskExecutor() throws Exception {
+        return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    }
+}
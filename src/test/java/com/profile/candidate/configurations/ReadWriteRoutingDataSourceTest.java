@@ -0,0 +1,137 @@
+package com.profile.candidate.configurations;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Routes against two embedded H2 databases that each hold a row naming themselves
+class ReadWriteRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplica() {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, 30, 10, false);
+        DataSource dataSource = routing(primary, replica, monitor);
+
+        assertEquals("replica", whoAmI(dataSource, true));
+        assertEquals("primary", whoAmI(dataSource, false));
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimary() {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, 30, 10, false);
+        DataSource dataSource = routing(primary, replica, monitor);
+
+        // H2 has no replication status, so the check fails and the replica is taken out of rotation
+        monitor.check();
+
+        assertFalse(monitor.isReplicaUsable());
+        assertEquals("primary", whoAmI(dataSource, true));
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToPrimary() {
+        DataSource unreachable = new AbstractDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                throw new SQLException("Connection refused");
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return getConnection();
+            }
+        };
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(unreachable, 30, 10, false);
+        DataSource dataSource = routing(primary, unreachable, monitor);
+
+        assertEquals("primary", whoAmI(dataSource, true));
+        assertFalse(monitor.isReplicaUsable());
+    }
+
+    @Test
+    void everyTransactionOfAnOpenInViewSessionIsRouted() {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, 30, 10, false);
+        Map<String, Object> jpaProperties = new HashMap<>();
+        new ReadReplicaDataSourceConfig().connectionPerTransaction().customize(jpaProperties);
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(routing(primary, replica, monitor));
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setPackagesToScan();
+        factoryBean.setJpaPropertyMap(jpaProperties);
+        factoryBean.afterPropertiesSet();
+        EntityManagerFactory entityManagerFactory = factoryBean.getObject();
+
+        // What open-in-view does for a request: one EntityManager for all of its transactions
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+            assertEquals("replica", whoAmI(transactionManager, entityManager, true));
+            assertEquals("primary", whoAmI(transactionManager, entityManager, false));
+            assertEquals("replica", whoAmI(transactionManager, entityManager, true));
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+            factoryBean.destroy();
+        }
+    }
+
+    private static DataSource routing(DataSource primary, DataSource replica, ReplicaLagMonitor monitor) {
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(primary, replica, monitor);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    private static String whoAmI(DataSource dataSource, boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(readOnly);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private static String whoAmI(JpaTransactionManager transactionManager, EntityManager entityManager,
+                                 boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status ->
+                (String) entityManager.createNativeQuery("SELECT name FROM node").getSingleResult());
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
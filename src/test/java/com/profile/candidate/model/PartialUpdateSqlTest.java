@@ -0,0 +1,126 @@
+package com.profile.candidate.model;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Edits of a few fields must update only those columns (@DynamicUpdate), never rewriting the interview status
+// history, the client emails or the resume LOB. Checks the SQL Hibernate sends to an embedded H2 database.
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:partial-update;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.profile.candidate.model.PartialUpdateSqlTest$SqlCapture"
+})
+class PartialUpdateSqlTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void clearCapturedSql() {
+        SqlCapture.STATEMENTS.clear();
+    }
+
+    @Test
+    void interviewUpdateWritesOnlyChangedColumns() {
+        InterviewDetails interview = new InterviewDetails();
+        interview.setInterviewId("CAND0001_CL01_JOB01");
+        interview.setCandidateId("CAND0001");
+        interview.setUserId("ADRTIN0001");
+        interview.setJobId("JOB01");
+        interview.setInterviewDateTime(OffsetDateTime.now().plusDays(1));
+        interview.setDuration(30);
+        interview.setInterviewStatus("[{\"stage\":1,\"status\":\"SCHEDULED\",\"timestamp\":\"2025-06-02T10:00:00Z\"}]");
+        interview.setClientEmailList(List.of("hiring@client.example"));
+        entityManager.persistFlushFind(interview);
+        entityManager.clear();
+
+        InterviewDetails loaded = entityManager.find(InterviewDetails.class, "CAND0001_CL01_JOB01");
+        loaded.setDuration(45);
+        // Same emails again, as the update endpoints do: unchanged content must not count as a change
+        loaded.setClientEmailList(List.of("hiring@client.example"));
+        SqlCapture.STATEMENTS.clear();
+        entityManager.flush();
+
+        String update = singleUpdate("interview_details");
+        assertTrue(update.contains("duration="), update);
+        assertTrue(update.contains("version="), update);
+        assertFalse(update.contains("interview_status="), update);
+        assertFalse(update.contains("client_email="), update);
+        assertEquals(1, loaded.getVersion());
+    }
+
+    @Test
+    void submissionEditDoesNotRewriteResume() {
+        CandidateDetails candidate = new CandidateDetails();
+        candidate.setCandidateId("CAND0002");
+        candidate.setUserId("ADRTIN0001");
+        candidate.setFullName("Test Candidate");
+        candidate.setCandidateEmailId("candidate@example.com");
+        candidate.setContactNumber("9876543210");
+        candidate.setTimestamp(LocalDateTime.now());
+        entityManager.persist(candidate);
+
+        Submissions submission = new Submissions();
+        submission.setSubmissionId("CAND0002_JOB01");
+        submission.setCandidate(candidate);
+        submission.setJobId("JOB01");
+        submission.setResume(new byte[64 * 1024]);
+        submission.setSkills("Java");
+        submission.setProfileReceivedDate(LocalDate.now());
+        entityManager.persist(submission);
+        entityManager.flush();
+        entityManager.clear();
+
+        Submissions loaded = entityManager.find(Submissions.class, "CAND0002_JOB01");
+        loaded.setSkills("Java, Spring");
+        loaded.setSubmittedAt(LocalDateTime.now());
+        SqlCapture.STATEMENTS.clear();
+        entityManager.flush();
+
+        String update = singleUpdate("candidate_submissions");
+        assertTrue(update.contains("skills="), update);
+        assertFalse(update.matches("(?s).*[ ,]resume=.*"), update);
+        assertTrue(SqlCapture.STATEMENTS.stream().noneMatch(sql -> sql.startsWith("update candidates")),
+                "candidate row was not changed: " + SqlCapture.STATEMENTS);
+    }
+
+    private static String singleUpdate(String table) {
+        List<String> updates = SqlCapture.STATEMENTS.stream()
+                .filter(sql -> sql.startsWith("update " + table + " "))
+                .toList();
+        assertEquals(1, updates.size(), "updates of " + table + ": " + SqlCapture.STATEMENTS);
+        return updates.get(0);
+    }
+
+    public static class SqlCapture implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql.toLowerCase(Locale.ROOT));
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.profile.candidate.perf;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// Closed-loop HTTP load: each client sends one request, waits for the response, then sends the next, picking
+// endpoints in turn. Latencies from the warm-up period are discarded. Requests use a seeded random per client,
+// so the request mix is the same on every run.
+class LoadHarness {
+
+    private final String baseUrl;
+    private final int clients;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Map<String, Function<SplittableRandom, String>> endpoints = new LinkedHashMap<>();
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    LoadHarness(String baseUrl, int clients, Duration warmup, Duration duration) {
+        this.baseUrl = baseUrl;
+        this.clients = clients;
+        this.warmup = warmup;
+        this.duration = duration;
+    }
+
+    // path builds the request path (with query string) for one call
+    LoadHarness endpoint(String name, Function<SplittableRandom, String> path) {
+        endpoints.put(name, path);
+        return this;
+    }
+
+    Map<String, EndpointResult> run() throws InterruptedException {
+        List<String> names = new ArrayList<>(endpoints.keySet());
+        List<Map<String, Samples>> perClient = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        CountDownLatch done = new CountDownLatch(clients);
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long stopAt = measureFrom + duration.toNanos();
+
+        for (int c = 0; c < clients; c++) {
+            Map<String, Samples> samples = new LinkedHashMap<>();
+            names.forEach(name -> samples.put(name, new Samples()));
+            perClient.add(samples);
+            SplittableRandom random = new SplittableRandom(SyntheticDataGenerator.DEFAULT_SEED + c);
+            int offset = c;
+            executor.execute(() -> {
+                try {
+                    for (int i = offset; System.nanoTime() < stopAt; i++) {
+                        String name = names.get(i % names.size());
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + endpoints.get(name).apply(random)))
+                                .timeout(Duration.ofSeconds(30))
+                                .GET()
+                                .build();
+                        long start = System.nanoTime();
+                        int status;
+                        try {
+                            status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (IOException e) {
+                            status = -1;
+                        }
+                        long end = System.nanoTime();
+                        if (start >= measureFrom && end <= stopAt) {
+                            samples.get(name).add(end - start, status);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+
+        Map<String, EndpointResult> results = new LinkedHashMap<>();
+        double seconds = duration.toNanos() / 1e9;
+        for (String name : names) {
+            Samples merged = new Samples();
+            perClient.forEach(samples -> merged.addAll(samples.get(name)));
+            results.put(name, merged.summarize(seconds));
+        }
+        return results;
+    }
+
+    private static final class Samples {
+        private long[] latencies = new long[1024];
+        private int size;
+        private long errors;
+        private long clientErrors;
+
+        void add(long latencyNanos, int status) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = latencyNanos;
+            if (status < 0 || status >= 500) {
+                errors++;
+            } else if (status >= 400) {
+                clientErrors++;
+            }
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.latencies[i], 200);
+            }
+            errors += other.errors;
+            clientErrors += other.clientErrors;
+        }
+
+        EndpointResult summarize(double seconds) {
+            long[] sorted = Arrays.copyOf(latencies, size);
+            Arrays.sort(sorted);
+            return new EndpointResult(size, errors, clientErrors, size / seconds,
+                    percentileMillis(sorted, 50), percentileMillis(sorted, 95), percentileMillis(sorted, 99));
+        }
+
+        // Nearest-rank percentile
+        private static double percentileMillis(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+            return sorted[Math.max(0, rank - 1)] / 1_000_000.0;
+        }
+    }
+
+    static final class EndpointResult {
+        private final long requests;
+        private final long errors;
+        private final long clientErrors;
+        private final double throughput;
+        private final double p50;
+        private final double p95;
+        private final double p99;
+
+        EndpointResult(long requests, long errors, long clientErrors, double throughput, double p50, double p95, double p99) {
+            this.requests = requests;
+            this.errors = errors;
+            this.clientErrors = clientErrors;
+            this.throughput = throughput;
+            this.p50 = p50;
+            this.p95 = p95;
+            this.p99 = p99;
+        }
+
+        public long getRequests() {
+            return requests;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public long getClientErrors() {
+            return clientErrors;
+        }
+
+        public double getThroughput() {
+            return throughput;
+        }
+
+        public double getP50() {
+            return p50;
+        }
+
+        public double getP95() {
+            return p95;
+        }
+
+        public double getP99() {
+            return p99;
+        }
+    }
+}
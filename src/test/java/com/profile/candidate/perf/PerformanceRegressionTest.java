@@ -0,0 +1,198 @@
+package com.profile.candidate.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// End-to-end performance regression suite: seeds a local MySQL database with the synthetic dataset, starts the
+// application against it, drives the read endpoints with concurrent clients and compares throughput and
+// p50/p95/p99 per endpoint with src/test/resources/perf/baselines.json.
+//
+// Excluded from the normal build; run with:
+//   mvn -Pperf test [-Dperf.scale=1000000 -Dperf.clients=64 -Dperf.duration=PT2M]
+// Record new baselines (after an intended change, on the reference machine) with -Dperf.updateBaselines=true and
+// commit them. A run fails when baselines.json has none for its scale, client count or any of its endpoints.
+// The database is given by perf.datasource.url/username/password and must be a dedicated *perf* schema.
+@Tag("perf")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class PerformanceRegressionTest {
+
+    static final String URL = System.getProperty("perf.datasource.url",
+            "jdbc:mysql://localhost:3306/dataquad_perf?createDatabaseIfNotExist=true&rewriteBatchedStatements=true");
+    static final String USERNAME = System.getProperty("perf.datasource.username", "root");
+    static final String PASSWORD = System.getProperty("perf.datasource.password", "root");
+    private static final int SCALE = Integer.getInteger("perf.scale", 100_000);
+    private static final int CLIENTS = Integer.getInteger("perf.clients", 32);
+    private static final Duration WARMUP = Duration.parse(System.getProperty("perf.warmup", "PT15S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("perf.duration", "PT60S"));
+    private static final File BASELINES = new File("src/test/resources/perf/baselines.json");
+    private static final File RESULTS = new File("target/perf/results.json");
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    @LocalServerPort
+    private int port;
+
+    @BeforeAll
+    static void requireDatabase() {
+        try (Connection ignored = DriverManager.getConnection(URL, USERNAME, PASSWORD)) {
+            // reachable
+        } catch (SQLException e) {
+            Assumptions.abort("Performance database not reachable at " + URL + ": " + e.getMessage());
+        }
+    }
+
+    @DynamicPropertySource
+    static void perfDatabase(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> URL);
+        registry.add("spring.datasource.username", () -> USERNAME);
+        registry.add("spring.datasource.password", () -> PASSWORD);
+        registry.add("candidate.datasource.replica.enabled", () -> "false");
+        registry.add("logging.level.com.profile.candidate", () -> "WARN");
+    }
+
+    @Test
+    void endpointsStayWithinBaseline() throws Exception {
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(SyntheticDataGenerator.DEFAULT_SEED, SCALE, LocalDate.now());
+        try (Connection connection = DriverManager.getConnection(URL, USERNAME, PASSWORD)) {
+            long start = System.nanoTime();
+            if (generator.generate(connection)) {
+                System.out.printf("Seeded %d candidates in %d s%n", SCALE, (System.nanoTime() - start) / 1_000_000_000);
+            }
+        }
+
+        Map<String, LoadHarness.EndpointResult> results = harness(generator).run();
+        report(results);
+
+        Map<String, Object> run = new LinkedHashMap<>();
+        run.put("scale", SCALE);
+        run.put("clients", CLIENTS);
+        run.put("endpoints", results);
+        RESULTS.getParentFile().mkdirs();
+        objectMapper.writeValue(RESULTS, run);
+
+        if (Boolean.getBoolean("perf.updateBaselines")) {
+            Map<String, Object> baselines = new LinkedHashMap<>(run);
+            baselines.put("tolerance", readBaselines().getOrDefault("tolerance", 0.25));
+            objectMapper.writeValue(BASELINES, baselines);
+            System.out.println("Baselines written to " + BASELINES);
+            return;
+        }
+        List<String> regressions = compareWithBaselines(results);
+        assertTrue(regressions.isEmpty(), "Performance regressions:\n" + String.join("\n", regressions));
+    }
+
+    // Users and candidates are chosen with the same Zipf skew as the data, so hot users are requested most
+    private LoadHarness harness(SyntheticDataGenerator generator) {
+        List<Integer> employees = new ArrayList<>();
+        List<Integer> teamleads = new ArrayList<>();
+        for (int i = 1; i <= generator.getUsers(); i++) {
+            String role = SyntheticDataGenerator.role(i);
+            if (SyntheticDataGenerator.EMPLOYEE.equals(role)) {
+                employees.add(i);
+            } else if (SyntheticDataGenerator.TEAMLEAD.equals(role)) {
+                teamleads.add(i);
+            }
+        }
+        SyntheticDataGenerator.ZipfSampler employeeSampler = new SyntheticDataGenerator.ZipfSampler(employees.size(), 1.0);
+        SyntheticDataGenerator.ZipfSampler teamleadSampler = new SyntheticDataGenerator.ZipfSampler(teamleads.size(), 0.8);
+        LocalDate today = LocalDate.now();
+        String lastWeek = "startDate=" + today.minusDays(7) + "&endDate=" + today;
+        String lastMonth = "startDate=" + today.minusDays(30) + "&endDate=" + today;
+
+        return new LoadHarness("http://localhost:" + port, CLIENTS, WARMUP, DURATION)
+                .endpoint("dashboardCounts", random -> "/candidate/dashboardcounts")
+                .endpoint("submissionsByDateRange", random -> "/candidate/submissions/filterByDate?" + lastWeek)
+                .endpoint("submissionsByUserId", random -> "/candidate/submissionsByUserId/"
+                        + SyntheticDataGenerator.userId(employees.get(employeeSampler.sample(random) - 1)))
+                .endpoint("teamleadSubmissions", random -> "/candidate/submissions/teamlead/"
+                        + SyntheticDataGenerator.userId(teamleads.get(teamleadSampler.sample(random) - 1)))
+                .endpoint("submissionsByCandidate", random -> "/candidate/submissions/"
+                        + SyntheticDataGenerator.candidateId(1 + random.nextInt(generator.getCandidates())))
+                .endpoint("interviewsByUserId", random -> "/candidate/interviews/interviewsByUserId/"
+                        + SyntheticDataGenerator.userId(employees.get(employeeSampler.sample(random) - 1)))
+                .endpoint("teamleadInterviews", random -> "/candidate/interviews/teamlead/"
+                        + SyntheticDataGenerator.userId(teamleads.get(teamleadSampler.sample(random) - 1)))
+                .endpoint("interviewsByCandidate", random -> "/candidate/interviewByCandidateId/"
+                        + SyntheticDataGenerator.candidateId(1 + random.nextInt(generator.getCandidates())))
+                .endpoint("placementsByDateRange", random -> "/candidate/placement/filterByDate?" + lastMonth)
+                .endpoint("benchByDateRange", random -> "/candidate/bench/filter-by-date?" + lastMonth);
+    }
+
+    private List<String> compareWithBaselines(Map<String, LoadHarness.EndpointResult> results) throws IOException {
+        List<String> regressions = new ArrayList<>();
+        Map<String, Object> baselines = readBaselines();
+        Object baselineScale = baselines.get("scale");
+        Object baselineClients = baselines.get("clients");
+        if (baselineScale == null || ((Number) baselineScale).intValue() != SCALE
+                || baselineClients == null || ((Number) baselineClients).intValue() != CLIENTS) {
+            regressions.add(String.format("No baselines for scale %d with %d clients in %s; record them on the "
+                    + "reference machine with -Dperf.updateBaselines=true (results of this run are in %s)",
+                    SCALE, CLIENTS, BASELINES, RESULTS));
+            return regressions;
+        }
+        double tolerance = ((Number) baselines.getOrDefault("tolerance", 0.25)).doubleValue();
+        @SuppressWarnings("unchecked")
+        Map<String, Map<String, Number>> endpoints = (Map<String, Map<String, Number>>) baselines.get("endpoints");
+
+        results.forEach((name, result) -> {
+            if (result.getErrors() > result.getRequests() / 100) {
+                regressions.add(String.format("%s: %d of %d requests failed", name, result.getErrors(), result.getRequests()));
+            }
+            Map<String, Number> baseline = endpoints == null ? null : endpoints.get(name);
+            if (baseline == null) {
+                regressions.add(String.format("%s: no baseline; record one with -Dperf.updateBaselines=true", name));
+                return;
+            }
+            checkLatency(regressions, name, "p50", result.getP50(), baseline.get("p50"), tolerance);
+            checkLatency(regressions, name, "p95", result.getP95(), baseline.get("p95"), tolerance);
+            checkLatency(regressions, name, "p99", result.getP99(), baseline.get("p99"), tolerance);
+            Number throughput = baseline.get("throughput");
+            if (throughput != null && result.getThroughput() < throughput.doubleValue() * (1 - tolerance)) {
+                regressions.add(String.format("%s: throughput %.1f req/s, baseline %.1f req/s",
+                        name, result.getThroughput(), throughput.doubleValue()));
+            }
+        });
+        return regressions;
+    }
+
+    private static void checkLatency(List<String> regressions, String name, String percentile, double actual,
+                                     Number baseline, double tolerance) {
+        if (baseline != null && actual > baseline.doubleValue() * (1 + tolerance)) {
+            regressions.add(String.format("%s: %s %.1f ms, baseline %.1f ms", name, percentile, actual, baseline.doubleValue()));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> readBaselines() throws IOException {
+        return BASELINES.exists() ? objectMapper.readValue(BASELINES, Map.class) : new LinkedHashMap<>();
+    }
+
+    private static void report(Map<String, LoadHarness.EndpointResult> results) {
+        System.out.printf("%-24s %9s %7s %7s %10s %9s %9s %9s%n",
+                "endpoint", "requests", "5xx", "4xx", "req/s", "p50 ms", "p95 ms", "p99 ms");
+        results.forEach((name, r) -> System.out.printf("%-24s %9d %7d %7d %10.1f %9.1f %9.1f %9.1f%n",
+                name, r.getRequests(), r.getErrors(), r.getClientErrors(), r.getThroughput(), r.getP50(), r.getP95(), r.getP99()));
+    }
+}
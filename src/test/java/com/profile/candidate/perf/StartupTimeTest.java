@@ -0,0 +1,104 @@
+package com.profile.candidate.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.profile.candidate.CandidateApplication;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Time from SpringApplication.run to the first successful request, in the fast-start mode the container uses.
+// Measured inside the test JVM, so JVM start-up and the CDS archive (Dockerfile) are not part of the number;
+// the slowest startup steps are printed to show where the time goes. Written to target/perf/startup.json.
+//
+// Part of the perf suite (mvn -Pperf test) and uses the same perf.datasource.* database;
+// the budget is -Dperf.startup.budget (default PT20S).
+@Tag("perf")
+class StartupTimeTest {
+
+    private static final Duration BUDGET = Duration.parse(System.getProperty("perf.startup.budget", "PT20S"));
+    private static final File RESULTS = new File("target/perf/startup.json");
+
+    @Test
+    void fastStartReachesFirstRequestWithinBudget() throws Exception {
+        try (Connection connection = DriverManager.getConnection(PerformanceRegressionTest.URL,
+                PerformanceRegressionTest.USERNAME, PerformanceRegressionTest.PASSWORD);
+             ResultSet tables = connection.getMetaData().getTables(connection.getCatalog(), null, "bench_details", null)) {
+            // Timed against an existing schema (PerformanceRegressionTest creates it on its first run), so creating
+            // the tables is not part of the number
+            Assumptions.assumeTrue(tables.next(), "Schema not created yet in " + PerformanceRegressionTest.URL);
+        } catch (SQLException e) {
+            Assumptions.abort("Performance database not reachable at " + PerformanceRegressionTest.URL + ": " + e.getMessage());
+        }
+
+        SpringApplication application = new SpringApplication(CandidateApplication.class);
+        application.setAdditionalProfiles("fast-start");
+        BufferingApplicationStartup startup = new BufferingApplicationStartup(10_000);
+        application.setApplicationStartup(startup);
+
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext context = application.run(
+                "--server.port=0",
+                "--spring.datasource.url=" + PerformanceRegressionTest.URL,
+                "--spring.datasource.username=" + PerformanceRegressionTest.USERNAME,
+                "--spring.datasource.password=" + PerformanceRegressionTest.PASSWORD,
+                "--candidate.datasource.replica.enabled=false",
+                "--logging.level.com.profile.candidate=WARN")) {
+            long ready = System.nanoTime();
+
+            // A repository-backed endpoint, so the deferred JPA bootstrap is included
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/candidate/bench/getBenchList"))
+                    .timeout(Duration.ofSeconds(60))
+                    .GET()
+                    .build();
+            int status = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            long firstResponse = System.nanoTime();
+            assertEquals(200, status, "First request failed");
+
+            long readyMillis = (ready - start) / 1_000_000;
+            long firstResponseMillis = (firstResponse - start) / 1_000_000;
+            System.out.printf("Context ready in %d ms, first response after %d ms%n", readyMillis, firstResponseMillis);
+            List<StartupTimeline.TimelineEvent> slowest = startup.getBufferedTimeline().getEvents().stream()
+                    .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                    .limit(10)
+                    .toList();
+            for (StartupTimeline.TimelineEvent event : slowest) {
+                StringBuilder step = new StringBuilder(event.getStartupStep().getName());
+                event.getStartupStep().getTags().forEach(tag -> step.append(' ').append(tag.getKey()).append('=').append(tag.getValue()));
+                System.out.printf("%8d ms  %s%n", event.getDuration().toMillis(), step);
+            }
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("readyMillis", readyMillis);
+            result.put("firstResponseMillis", firstResponseMillis);
+            RESULTS.getParentFile().mkdirs();
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(RESULTS, result);
+
+            assertTrue(firstResponseMillis <= BUDGET.toMillis(),
+                    "First response after " + firstResponseMillis + " ms, budget " + BUDGET.toMillis() + " ms");
+        }
+    }
+}
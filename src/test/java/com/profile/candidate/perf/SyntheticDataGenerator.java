@@ -0,0 +1,469 @@
+package com.profile.candidate.perf;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+// Deterministic production-shaped dataset for the performance suite. The same seed and scale always produce the
+// same rows, so runs on different machines and before/after a change load identical data.
+//
+// Skew follows what production shows: a few recruiters and team leads own most candidates (Zipf), a few hot jobs
+// and clients receive most submissions (Zipf), and activity is concentrated in recent weeks (exponential decay),
+// so the "current month" dashboards see realistic volumes.
+//
+// Identifiers are derived from indexes so the load harness can address rows without reading them back:
+// users ADRTIN0001.., candidates CAND0001.., jobs JOB00001... Every 10th user is a team lead and every 10th user
+// (offset 1) a BDM; the rest are employees.
+//
+// The service tables must exist (Hibernate creates them on application start-up); tables owned by other services
+// (requirements_model, bdm_client, user_details, roles, user_roles) are created here with the columns this service reads.
+//
+// Standalone: java ... SyntheticDataGenerator <jdbcUrl> <user> <password> <candidates>
+public class SyntheticDataGenerator {
+
+    static final long DEFAULT_SEED = 20240601L;
+    static final String TEAMLEAD = "TEAMLEAD";
+    static final String BDM = "BDM";
+    static final String EMPLOYEE = "EMPLOYEE";
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final double MEAN_AGE_DAYS = 45;
+    private static final int MAX_AGE_DAYS = 730;
+
+    private static final String[] FIRST_NAMES = {"Aarav", "Vivaan", "Aditya", "Sai", "Arjun", "Ananya", "Diya", "Ishita",
+            "Kavya", "Meera", "Rahul", "Priya", "Rohan", "Sneha", "Vikram", "Neha", "Karthik", "Pooja", "Suresh", "Lakshmi"};
+    private static final String[] LAST_NAMES = {"Reddy", "Sharma", "Rao", "Patel", "Kumar", "Iyer", "Naidu", "Gupta",
+            "Verma", "Menon", "Singh", "Das", "Varma", "Joshi", "Nair"};
+    private static final String[] SKILLS = {"Java, Spring Boot, Microservices", "React, TypeScript, Node.js",
+            "Python, Django, AWS", ".NET Core, C#, Azure", "DevOps, Kubernetes, Terraform", "Salesforce, Apex",
+            "Data Engineering, Spark, Scala", "QA Automation, Selenium, Java", "SAP ABAP", "Angular, RxJS"};
+    private static final String[] LOCATIONS = {"Hyderabad", "Bangalore", "Chennai", "Pune", "Remote", "Dallas, TX",
+            "New Jersey", "Noida"};
+    private static final String[] STATUSES = {"SCHEDULED", "RESCHEDULED", "SELECTED", "REJECTED", "PLACED"};
+
+    private final long seed;
+    private final int candidates;
+    private final int users;
+    private final int clients;
+    private final int requirements;
+    private final LocalDate today;
+
+    public SyntheticDataGenerator(long seed, int candidates, LocalDate today) {
+        this.seed = seed;
+        this.candidates = candidates;
+        this.users = Math.max(50, candidates / 2_000);
+        this.clients = Math.max(20, candidates / 5_000);
+        this.requirements = Math.max(200, candidates / 50);
+        this.today = today;
+    }
+
+    public static void main(String[] args) throws SQLException {
+        if (args.length < 4) {
+            System.err.println("usage: SyntheticDataGenerator <jdbcUrl> <user> <password> <candidates> [seed]");
+            System.exit(1);
+        }
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : DEFAULT_SEED;
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(seed, Integer.parseInt(args[3]), LocalDate.now());
+        try (Connection connection = DriverManager.getConnection(args[0], args[1], args[2])) {
+            generator.generate(connection);
+        }
+    }
+
+    public int getCandidates() {
+        return candidates;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    static String userId(int index) {
+        return String.format("ADRTIN%04d", index);
+    }
+
+    static String userName(int index) {
+        return "user" + index;
+    }
+
+    static String candidateId(int index) {
+        return String.format("CAND%04d", index);
+    }
+
+    static String jobId(int index) {
+        return String.format("JOB%05d", index);
+    }
+
+    static String role(int userIndex) {
+        return userIndex % 10 == 0 ? TEAMLEAD : userIndex % 10 == 1 ? BDM : EMPLOYEE;
+    }
+
+    // Returns false when the database already holds this dataset.
+    // Existing rows are deleted first, so only databases whose name contains "perf" are accepted.
+    public boolean generate(Connection connection) throws SQLException {
+        String database = connection.getCatalog();
+        if (database == null || !database.toLowerCase().contains("perf")) {
+            throw new IllegalStateException("Refusing to replace the data in database '" + database
+                    + "'; point the generator at a dedicated *perf* database");
+        }
+        if (countRows(connection, "candidates") == candidates) {
+            return false;
+        }
+        connection.setAutoCommit(false);
+        createExternalTables(connection);
+        for (String table : new String[]{"placements", "interview_details", "candidate_submissions", "candidates",
+                "bench_details", "requirements_model", "bdm_client", "user_roles", "roles", "user_details"}) {
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("DELETE FROM " + table);
+            }
+        }
+        connection.commit();
+
+        insertUsers(connection);
+        insertClientsAndRequirements(connection);
+        insertCandidatesAndActivity(connection);
+        insertBench(connection);
+        connection.commit();
+        return true;
+    }
+
+    private void createExternalTables(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS user_details (user_id VARCHAR(50) PRIMARY KEY, "
+                    + "user_name VARCHAR(100), email VARCHAR(255), created_at DATETIME)");
+            statement.execute("CREATE TABLE IF NOT EXISTS roles (id INT PRIMARY KEY, name VARCHAR(50))");
+            statement.execute("CREATE TABLE IF NOT EXISTS user_roles (user_id VARCHAR(50), role_id INT)");
+            statement.execute("CREATE TABLE IF NOT EXISTS bdm_client (id VARCHAR(50) PRIMARY KEY, client_name VARCHAR(255), "
+                    + "on_boarded_by VARCHAR(100), created_at DATETIME)");
+            statement.execute("CREATE TABLE IF NOT EXISTS requirements_model (job_id VARCHAR(50) PRIMARY KEY, "
+                    + "job_title VARCHAR(255), client_name VARCHAR(255), assigned_by VARCHAR(100), "
+                    + "requirement_added_time_stamp DATETIME)");
+        }
+    }
+
+    private void insertUsers(Connection connection) throws SQLException {
+        SplittableRandom random = random("users");
+        try (PreparedStatement roles = connection.prepareStatement("INSERT INTO roles (id, name) VALUES (?, ?)")) {
+            String[] names = {EMPLOYEE, TEAMLEAD, BDM};
+            for (int i = 0; i < names.length; i++) {
+                roles.setInt(1, i + 1);
+                roles.setString(2, names[i]);
+                roles.addBatch();
+            }
+            roles.executeBatch();
+        }
+        try (PreparedStatement user = connection.prepareStatement(
+                "INSERT INTO user_details (user_id, user_name, email, created_at) VALUES (?, ?, ?, ?)");
+             PreparedStatement userRole = connection.prepareStatement("INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)")) {
+            for (int i = 1; i <= users; i++) {
+                user.setString(1, userId(i));
+                user.setString(2, userName(i));
+                user.setString(3, userName(i) + "@dataqinc.com");
+                user.setTimestamp(4, Timestamp.valueOf(recentDateTime(random, MAX_AGE_DAYS)));
+                user.addBatch();
+                userRole.setString(1, userId(i));
+                userRole.setInt(2, TEAMLEAD.equals(role(i)) ? 2 : BDM.equals(role(i)) ? 3 : 1);
+                userRole.addBatch();
+            }
+            user.executeBatch();
+            userRole.executeBatch();
+        }
+    }
+
+    private void insertClientsAndRequirements(Connection connection) throws SQLException {
+        SplittableRandom random = random("requirements");
+        int[] bdms = usersWithRole(BDM);
+        int[] teamleads = usersWithRole(TEAMLEAD);
+        try (PreparedStatement client = connection.prepareStatement(
+                "INSERT INTO bdm_client (id, client_name, on_boarded_by, created_at) VALUES (?, ?, ?, ?)")) {
+            for (int i = 1; i <= clients; i++) {
+                client.setString(1, String.format("CLIENT%04d", i));
+                client.setString(2, clientName(i));
+                client.setString(3, userName(bdms[random.nextInt(bdms.length)]));
+                client.setTimestamp(4, Timestamp.valueOf(recentDateTime(random, MAX_AGE_DAYS)));
+                client.addBatch();
+            }
+            client.executeBatch();
+        }
+        ZipfSampler clientSampler = new ZipfSampler(clients, 1.1);
+        ZipfSampler teamleadSampler = new ZipfSampler(teamleads.length, 0.8);
+        try (PreparedStatement requirement = connection.prepareStatement("INSERT INTO requirements_model "
+                + "(job_id, job_title, client_name, assigned_by, requirement_added_time_stamp) VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 1; i <= requirements; i++) {
+                requirement.setString(1, jobId(i));
+                requirement.setString(2, SKILLS[i % SKILLS.length].split(",")[0] + " Developer");
+                requirement.setString(3, clientName(clientSampler.sample(random)));
+                requirement.setString(4, userName(teamleads[teamleadSampler.sample(random) - 1]));
+                requirement.setTimestamp(5, Timestamp.valueOf(recentDateTime(random, MAX_AGE_DAYS)));
+                requirement.addBatch();
+                flushIfFull(requirement, i);
+            }
+            requirement.executeBatch();
+        }
+        connection.commit();
+    }
+
+    private void insertCandidatesAndActivity(Connection connection) throws SQLException {
+        SplittableRandom random = random("candidates");
+        int[] recruiters = usersWithRole(EMPLOYEE);
+        int[] bdms = usersWithRole(BDM);
+        ZipfSampler recruiterSampler = new ZipfSampler(recruiters.length, 1.0);
+        ZipfSampler jobSampler = new ZipfSampler(requirements, 1.2);
+        int placementCount = 0;
+
+        try (PreparedStatement candidate = connection.prepareStatement("INSERT INTO candidates (candidate_id, user_id, "
+                + "user_email, full_name, candidate_email_id, contact_number, current_organization, qualification, "
+                + "total_experience, relevant_experience, currentctc, expectedctc, notice_period, current_location, timestamp) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement submission = connection.prepareStatement("INSERT INTO candidate_submissions (submission_id, "
+                     + "candidate_id, job_id, candidate_contact_number, preferred_location, skills, client_name, "
+                     + "communication_skills, required_technologies_rating, overall_feedback, profile_received_date, "
+                     + "submitted_at, recruiter_name) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement interview = connection.prepareStatement("INSERT INTO interview_details (interview_id, "
+                     + "client_id, user_id, job_id, candidate_id, interview_date_time, duration, zoom_link, client_name, "
+                     + "full_name, contact_number, user_email, interview_level, interview_status, client_email, "
+                     + "candidate_email_id, timestamp, is_placed) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement placement = connection.prepareStatement("INSERT INTO placements (id, candidate_full_name, "
+                     + "candidate_contact_no, technology, client_name, candidate_id, candidate_email_id, vendor_name, "
+                     + "start_date, recruiter, sales, bill_rate, pay_rate, gross_profit, employment_type, status, "
+                     + "created_at, interview_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+
+            for (int c = 1; c <= candidates; c++) {
+                int recruiter = recruiters[recruiterSampler.sample(random) - 1];
+                String candidateId = candidateId(c);
+                String fullName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                String email = "candidate" + c + "@example.com";
+                String contact = String.valueOf(6_000_000_000L + c);
+                float totalExperience = 1 + random.nextInt(20);
+                LocalDateTime created = recentDateTime(random, MAX_AGE_DAYS);
+
+                candidate.setString(1, candidateId);
+                candidate.setString(2, userId(recruiter));
+                candidate.setString(3, userName(recruiter) + "@dataqinc.com");
+                candidate.setString(4, fullName);
+                candidate.setString(5, email);
+                candidate.setString(6, contact);
+                candidate.setString(7, "Company " + random.nextInt(500));
+                candidate.setString(8, random.nextInt(3) == 0 ? "M.Tech" : "B.Tech");
+                candidate.setFloat(9, totalExperience);
+                candidate.setFloat(10, Math.max(1, totalExperience - random.nextInt(4)));
+                candidate.setString(11, (5 + random.nextInt(30)) + " LPA");
+                candidate.setString(12, (8 + random.nextInt(35)) + " LPA");
+                candidate.setString(13, (15 * random.nextInt(5)) + " days");
+                candidate.setString(14, LOCATIONS[random.nextInt(LOCATIONS.length)]);
+                candidate.setTimestamp(15, Timestamp.valueOf(created));
+                candidate.addBatch();
+
+                // 1 submission for most candidates, a long tail with several
+                int jobsForCandidate = 1 + (random.nextInt(3) == 0 ? 1 + random.nextInt(3) : 0);
+                Set<Integer> jobs = new HashSet<>();
+                while (jobs.size() < jobsForCandidate) {
+                    jobs.add(jobSampler.sample(random));
+                }
+                for (int job : jobs) {
+                    LocalDate received = recentDate(random, MAX_AGE_DAYS);
+                    String jobId = jobId(job);
+                    String clientName = clientName(1 + job % clients);
+                    submission.setString(1, candidateId + "_" + jobId);
+                    submission.setString(2, candidateId);
+                    submission.setString(3, jobId);
+                    submission.setString(4, contact);
+                    submission.setString(5, LOCATIONS[random.nextInt(LOCATIONS.length)]);
+                    submission.setString(6, SKILLS[random.nextInt(SKILLS.length)]);
+                    submission.setString(7, clientName);
+                    submission.setString(8, random.nextBoolean() ? "Good" : "Excellent");
+                    submission.setDouble(9, 5 + random.nextInt(6));
+                    submission.setString(10, "Strong fit for the role");
+                    submission.setObject(11, received);
+                    submission.setTimestamp(12, Timestamp.valueOf(received.atTime(9 + random.nextInt(9), random.nextInt(60))));
+                    submission.setString(13, userName(recruiter));
+                    submission.addBatch();
+
+                    // About a quarter of submissions reach an interview, a tenth of those a placement
+                    if (random.nextInt(4) != 0) {
+                        continue;
+                    }
+                    String interviewId = candidateId + "_CLIENT" + String.format("%04d", 1 + job % clients) + "_" + jobId;
+                    LocalDateTime scheduled = received.atTime(10 + random.nextInt(8), 0).plusDays(1 + random.nextInt(10));
+                    int statusEntries = 1 + random.nextInt(4);
+                    interview.setString(1, interviewId);
+                    interview.setString(2, String.format("CLIENT%04d", 1 + job % clients));
+                    interview.setString(3, userId(recruiter));
+                    interview.setString(4, jobId);
+                    interview.setString(5, candidateId);
+                    interview.setTimestamp(6, Timestamp.valueOf(scheduled));
+                    interview.setInt(7, 30 + 15 * random.nextInt(4));
+                    interview.setString(8, "https://zoom.us/j/" + (100_000_000 + random.nextInt(900_000_000)));
+                    interview.setString(9, clientName);
+                    interview.setString(10, fullName);
+                    interview.setString(11, contact);
+                    interview.setString(12, userName(recruiter) + "@dataqinc.com");
+                    interview.setString(13, "L" + statusEntries);
+                    interview.setString(14, statusHistory(random, scheduled, statusEntries));
+                    interview.setString(15, "[\"hiring" + (job % 7) + "@" + clientName.replace(' ', '-').toLowerCase() + ".com\"]");
+                    interview.setString(16, email);
+                    interview.setTimestamp(17, Timestamp.valueOf(received.atTime(12, 0)));
+                    boolean placed = random.nextInt(10) == 0;
+                    interview.setBoolean(18, placed);
+                    interview.addBatch();
+
+                    if (placed) {
+                        double billRate = 40 + random.nextInt(60);
+                        double payRate = billRate * (0.6 + random.nextDouble() * 0.25);
+                        placement.setString(1, String.format("PLMNT%04d", ++placementCount));
+                        placement.setString(2, fullName);
+                        placement.setString(3, contact);
+                        placement.setString(4, SKILLS[job % SKILLS.length].split(",")[0]);
+                        placement.setString(5, clientName);
+                        placement.setString(6, candidateId);
+                        placement.setString(7, email);
+                        placement.setString(8, "Vendor " + random.nextInt(40));
+                        placement.setObject(9, scheduled.toLocalDate().plusDays(14));
+                        placement.setString(10, userName(recruiter));
+                        placement.setString(11, userName(bdms[random.nextInt(bdms.length)]));
+                        placement.setBigDecimal(12, BigDecimal.valueOf(billRate));
+                        placement.setBigDecimal(13, BigDecimal.valueOf(Math.round(payRate * 100) / 100.0));
+                        placement.setBigDecimal(14, BigDecimal.valueOf(Math.round((billRate - payRate) * 100) / 100.0));
+                        placement.setString(15, random.nextBoolean() ? "W2" : "C2C");
+                        placement.setString(16, "Active");
+                        placement.setObject(17, scheduled.toLocalDate().plusDays(7));
+                        placement.setString(18, interviewId);
+                        placement.addBatch();
+                    }
+                }
+                if (flushIfFull(candidate, c)) {
+                    // Candidates go first so the submissions' foreign key is satisfied, then the chunk is committed
+                    submission.executeBatch();
+                    interview.executeBatch();
+                    placement.executeBatch();
+                    connection.commit();
+                }
+            }
+            candidate.executeBatch();
+            submission.executeBatch();
+            interview.executeBatch();
+            placement.executeBatch();
+        }
+    }
+
+    private void insertBench(Connection connection) throws SQLException {
+        SplittableRandom random = random("bench");
+        int benchCount = Math.max(50, candidates / 20);
+        try (PreparedStatement bench = connection.prepareStatement("INSERT INTO bench_details (id, full_name, email, "
+                + "relevant_experience, total_experience, contact_number, linkedin, referred_by, created_date, technology) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 1; i <= benchCount; i++) {
+                int total = 1 + random.nextInt(15);
+                bench.setString(1, String.format("BENCH%03d", i));
+                bench.setString(2, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+                bench.setString(3, "bench" + i + "@example.com");
+                bench.setBigDecimal(4, BigDecimal.valueOf(Math.max(1, total - random.nextInt(3))));
+                bench.setBigDecimal(5, BigDecimal.valueOf(total));
+                bench.setString(6, String.valueOf(7_000_000_000L + i));
+                bench.setString(7, "https://www.linkedin.com/in/bench" + i);
+                bench.setString(8, userName(1 + random.nextInt(users)));
+                bench.setObject(9, recentDate(random, MAX_AGE_DAYS));
+                bench.setString(10, SKILLS[random.nextInt(SKILLS.length)].split(",")[0]);
+                bench.addBatch();
+                flushIfFull(bench, i);
+            }
+            bench.executeBatch();
+        }
+    }
+
+    private static String statusHistory(SplittableRandom random, LocalDateTime scheduled, int entries) {
+        StringBuilder json = new StringBuilder("[");
+        LocalDateTime timestamp = scheduled.minusDays(2);
+        for (int i = 0; i < entries; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            String status = i == 0 ? "SCHEDULED" : STATUSES[1 + random.nextInt(STATUSES.length - 1)];
+            json.append("{\"stage\":").append(i + 1).append(",\"status\":\"").append(status)
+                    .append("\",\"interviewLevel\":\"L").append(i + 1)
+                    .append("\",\"timestamp\":\"").append(timestamp).append("+05:30\"}");
+            timestamp = timestamp.plusDays(1 + random.nextInt(5));
+        }
+        return json.append(']').toString();
+    }
+
+    private int[] usersWithRole(String role) {
+        int[] matching = new int[users];
+        int count = 0;
+        for (int i = 1; i <= users; i++) {
+            if (role.equals(role(i))) {
+                matching[count++] = i;
+            }
+        }
+        return Arrays.copyOf(matching, count);
+    }
+
+    private static String clientName(int index) {
+        return "Client " + index;
+    }
+
+    // Ages drawn from an exponential distribution: most activity is recent, with a tail going back two years
+    private LocalDateTime recentDateTime(SplittableRandom random, int maxAgeDays) {
+        return recentDate(random, maxAgeDays).atTime(random.nextInt(24), random.nextInt(60));
+    }
+
+    private LocalDate recentDate(SplittableRandom random, int maxAgeDays) {
+        long age = (long) Math.min(maxAgeDays, -Math.log(1 - random.nextDouble()) * MEAN_AGE_DAYS);
+        return today.minusDays(age);
+    }
+
+    // Each table gets its own stream so adding columns to one table does not shift the data of the others
+    private SplittableRandom random(String stream) {
+        return new SplittableRandom(seed ^ stream.hashCode());
+    }
+
+    private static boolean flushIfFull(PreparedStatement statement, int rows) throws SQLException {
+        if (rows % BATCH_SIZE == 0) {
+            statement.executeBatch();
+            return true;
+        }
+        return false;
+    }
+
+    private static long countRows(Connection connection, String table) {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            return rs.next() ? rs.getLong(1) : 0;
+        } catch (SQLException e) {
+            return -1;
+        }
+    }
+
+    // Zipf(n, s) over 1..n by inverse CDF: rank 1 is the most frequent
+    static final class ZipfSampler {
+        private final double[] cumulative;
+
+        ZipfSampler(int n, double exponent) {
+            cumulative = new double[n];
+            double sum = 0;
+            for (int k = 1; k <= n; k++) {
+                sum += 1 / Math.pow(k, exponent);
+                cumulative[k - 1] = sum;
+            }
+            for (int k = 0; k < n; k++) {
+                cumulative[k] /= sum;
+            }
+        }
+
+        int sample(SplittableRandom random) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            // Rounding can leave the last cumulative weight just below 1
+            return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1) + 1;
+        }
+    }
+}
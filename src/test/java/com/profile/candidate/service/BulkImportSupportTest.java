@@ -0,0 +1,110 @@
+package com.profile.candidate.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkImportSupportTest {
+
+    @Test
+    void quotedFieldsKeepCommasQuotesAndLineBreaks() {
+        List<List<String>> records = BulkImportSupport.parseCsv(
+                "name,skills,feedback\r\n"
+                        + "\"Doe, Jane\",\"Java, \"\"Spring\"\"\",\"Line one\r\nLine two\nLine three\"\r\n"
+                        + "John,,\"\"\n");
+
+        assertEquals(List.of(
+                List.of("name", "skills", "feedback"),
+                List.of("Doe, Jane", "Java, \"Spring\"", "Line one\r\nLine two\nLine three"),
+                List.of("John", "", "")), records);
+    }
+
+    @Test
+    void byteOrderMarkIsNotPartOfTheFirstHeader() throws IOException {
+        byte[] bom = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+        byte[] csv = concat(bom, "jobId,fullName\nJOB1,Jane\n".getBytes(StandardCharsets.UTF_8));
+
+        List<Map<String, String>> rows = BulkImportSupport.readCsv(file(csv));
+
+        assertEquals(1, rows.size());
+        assertEquals("JOB1", rows.get(0).get("jobId"));
+    }
+
+    @Test
+    void shortRowsAndBlankCellsReadAsNull() throws IOException {
+        List<Map<String, String>> rows = BulkImportSupport.readCsv(file((
+                " jobId , fullName ,skills\n"
+                        + "JOB1,  Jane  \n"
+                        + "\n"
+                        + "JOB2,   ,Java\n"
+                        + "JOB3").getBytes(StandardCharsets.UTF_8)));
+
+        // Blank lines are skipped; headers and values are trimmed
+        assertEquals(3, rows.size());
+        assertEquals("Jane", rows.get(0).get("fullName"));
+        assertNull(rows.get(0).get("skills"));
+        assertFalse(rows.get(0).containsKey("skills"));
+        assertNull(rows.get(1).get("fullName"));
+        assertEquals("Java", rows.get(1).get("skills"));
+        // Last line without a line break
+        assertEquals("JOB3", rows.get(2).get("jobId"));
+    }
+
+    @Test
+    void cellsBeyondTheHeaderAreIgnored() throws IOException {
+        List<Map<String, String>> rows = BulkImportSupport.readCsv(file("jobId\nJOB1,extra,cells\n".getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(Map.of("jobId", "JOB1"), rows.get(0));
+    }
+
+    @Test
+    void emptyFilesAreRejectedAndHeaderOnlyFilesHaveNoRows() throws IOException {
+        assertThrows(IOException.class, () -> BulkImportSupport.readCsv(file(new byte[0])));
+        assertThrows(IOException.class, () -> BulkImportSupport.readCsv(file("\n\n".getBytes(StandardCharsets.UTF_8))));
+        assertTrue(BulkImportSupport.readCsv(file("jobId,fullName\r\n".getBytes(StandardCharsets.UTF_8))).isEmpty());
+    }
+
+    @Test
+    void resumeArchiveIsKeyedByLowerCaseFileName() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            zip.putNextEntry(new ZipEntry("resumes/"));
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("resumes/Jane Doe.PDF"));
+            zip.write(new byte[]{1, 2, 3});
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("large.docx"));
+            zip.write(new byte[11]);
+            zip.closeEntry();
+        }
+
+        Map<String, byte[]> resumes = BulkImportSupport.readResumeArchive(
+                new MockMultipartFile("resumes", "resumes.zip", "application/zip", bytes.toByteArray()), 10);
+
+        assertEquals(2, resumes.size());
+        assertArrayEquals(new byte[]{1, 2, 3}, resumes.get("jane doe.pdf"));
+        // Over the limit: kept without content so the row naming it can say so
+        assertTrue(resumes.containsKey("large.docx"));
+        assertNull(resumes.get("large.docx"));
+    }
+
+    private static MockMultipartFile file(byte[] content) {
+        return new MockMultipartFile("file", "submissions.csv", "text/csv", content);
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+}
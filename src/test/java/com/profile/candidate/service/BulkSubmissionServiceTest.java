@@ -0,0 +1,148 @@
+package com.profile.candidate.service;
+
+import com.profile.candidate.dto.BulkImportResponseDto;
+import com.profile.candidate.repository.CandidateRepository;
+import com.profile.candidate.repository.SubmissionRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Chunk writes against mocked repositories, in transactions that run their synchronizations like the real ones
+class BulkSubmissionServiceTest {
+
+    private static final String CSV = "userId,fullName,candidateEmailId,contactNumber,qualification,totalExperience,jobId,resumeFileName\n"
+            // New candidate with a resume; already submitted to JOB1 (in the database); same email twice in the file
+            + "REC1,Jane Doe,jane@example.com,9876543210,B.Tech,5,JOB1,jane.pdf\n"
+            + "REC1,John Roe,john@example.com,9876543211,B.Tech,3,JOB1,\n"
+            + "REC1,Jane Again,jane@example.com,9876543212,B.Tech,5,JOB1,\n";
+
+    @TempDir
+    Path resumeDir;
+
+    private FunnelCounterService funnelCounterService;
+    private SubmissionDuplicateFilter duplicateFilter;
+    private BulkSubmissionService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        CandidateService candidateService = mock(CandidateService.class);
+        when(candidateService.isValidFileType(anyString())).thenReturn(true);
+        when(candidateService.saveResumeToFileSystem(anyString(), any())).thenAnswer(invocation -> {
+            Path file = resumeDir.resolve(invocation.<String>getArgument(0));
+            Files.write(file, invocation.<byte[]>getArgument(1));
+            return file.toString();
+        });
+        CandidateRepository candidateRepository = mock(CandidateRepository.class);
+        when(candidateRepository.findMaxCandidateNumber()).thenReturn(41L);
+        SubmissionRepository submissionRepository = mock(SubmissionRepository.class);
+        when(submissionRepository.findCandidateKeysByJobIdIn(any()))
+                .thenReturn(List.<Object[]>of(new Object[]{"john@example.com", "9876543211", "JOB1"}));
+        funnelCounterService = mock(FunnelCounterService.class);
+        duplicateFilter = mock(SubmissionDuplicateFilter.class);
+
+        service = new BulkSubmissionService();
+        ReflectionTestUtils.setField(service, "candidateService", candidateService);
+        ReflectionTestUtils.setField(service, "candidateRepository", candidateRepository);
+        ReflectionTestUtils.setField(service, "submissionRepository", submissionRepository);
+        ReflectionTestUtils.setField(service, "duplicateFilter", duplicateFilter);
+        ReflectionTestUtils.setField(service, "funnelCounterService", funnelCounterService);
+        ReflectionTestUtils.setField(service, "transactionManager", new NoOpTransactionManager());
+        ReflectionTestUtils.setField(service, "entityManager", mock(EntityManager.class));
+        ReflectionTestUtils.setField(service, "chunkSize", 200);
+    }
+
+    @Test
+    void committedChunkKeepsItsResumes() throws IOException {
+        BulkImportResponseDto response = service.importSubmissions(csv(), resumes());
+
+        List<BulkImportResponseDto.RowResult> rows = response.getRows();
+        assertEquals("Success", rows.get(0).getStatus());
+        assertEquals("CAND0042", rows.get(0).getId());
+        assertEquals(CandidateService.duplicateEmailMessage("john@example.com", "JOB1"), rows.get(1).getErrorMessage());
+        assertEquals(CandidateService.duplicateEmailMessage("jane@example.com", "JOB1"), rows.get(2).getErrorMessage());
+        assertEquals(List.of("jane.pdf"), resumeFiles());
+        verify(duplicateFilter).add(eq("jane@example.com"), eq("9876543210"), eq("JOB1"));
+    }
+
+    @Test
+    void failedChunkDeletesItsResumesAndKeepsDuplicateMessages() throws IOException {
+        doThrow(new IllegalStateException("counters unavailable")).when(funnelCounterService).apply(any(List.class), any());
+
+        BulkImportResponseDto response = service.importSubmissions(csv(), resumes());
+
+        List<BulkImportResponseDto.RowResult> rows = response.getRows();
+        assertEquals("Error", response.getStatus());
+        assertEquals("Row could not be saved: counters unavailable", rows.get(0).getErrorMessage());
+        // Rejected by the chunk before it failed, and by the file check before any chunk
+        assertEquals(CandidateService.duplicateEmailMessage("john@example.com", "JOB1"), rows.get(1).getErrorMessage());
+        assertEquals(CandidateService.duplicateEmailMessage("jane@example.com", "JOB1"), rows.get(2).getErrorMessage());
+        assertTrue(resumeFiles().isEmpty());
+        verify(duplicateFilter, never()).add(anyString(), anyString(), anyString());
+    }
+
+    private List<String> resumeFiles() throws IOException {
+        try (Stream<Path> files = Files.list(resumeDir)) {
+            return files.map(file -> file.getFileName().toString()).toList();
+        }
+    }
+
+    private static MockMultipartFile csv() {
+        return new MockMultipartFile("file", "submissions.csv", "text/csv", CSV.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static MockMultipartFile resumes() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            zip.putNextEntry(new ZipEntry("jane.pdf"));
+            zip.write("%PDF-1.7".getBytes(StandardCharsets.US_ASCII));
+            zip.closeEntry();
+        }
+        return new MockMultipartFile("resumes", "resumes.zip", "application/zip", bytes.toByteArray());
+    }
+
+    // Begins, commits and rolls back nothing, but runs transaction synchronizations
+    private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package com.profile.candidate.service;
+
+import com.profile.candidate.configurations.EntityChangedEvent;
+import com.profile.candidate.model.CandidateDetails;
+import com.profile.candidate.model.InterviewDetails;
+import com.profile.candidate.model.Submissions;
+import com.profile.candidate.repository.CandidateRepository;
+import com.profile.candidate.repository.InterviewRepository;
+import com.profile.candidate.repository.SubmissionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The snapshot loaded from embedded H2 and kept up to date by the changes the tests apply, compared with the
+// repository queries the listings use when it is not loaded. Runs without a test transaction: the loader thread
+// reads what the tests commit.
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(CurrentMonthSnapshot.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:current-month;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "candidate.snapshot.refresh-interval=1h"
+})
+class CurrentMonthSnapshotTest {
+
+    private static final long WAIT_MILLIS = 10_000;
+    // Recruiters the listings are compared for; NOBODY has no candidates
+    private static final List<String> RECRUITERS = List.of("REC1", "REC2", "REC3", "NOBODY");
+
+    @Autowired
+    private CurrentMonthSnapshot snapshot;
+
+    @Autowired
+    private SubmissionRepository submissionRepository;
+
+    @Autowired
+    private InterviewRepository interviewRepository;
+
+    @Autowired
+    private CandidateRepository candidateRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final LocalDate firstDay = LocalDate.now().withDayOfMonth(1);
+    private final LocalDate lastDay = firstDay.plusMonths(1).minusDays(1);
+    private final LocalDate lastMonth = firstDay.minusDays(1);
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(snapshot, "maxRows", 1000);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transaction = new TransactionTemplate(transactionManager);
+        // requirements_model belongs to another service and has no entity here
+        jdbcTemplate.execute("CREATE TABLE requirements_model (job_id VARCHAR(255) PRIMARY KEY, client_name VARCHAR(255))");
+        jdbcTemplate.update("INSERT INTO requirements_model (job_id, client_name) VALUES ('JOB1', 'Acme'), ('JOB2', 'Globex')");
+
+        candidate("CAND1", "REC1");
+        candidate("CAND2", "REC2");
+        // Received this month; received this month but submitted last month; the other way round; neither
+        submission("SUB1", "CAND1", "JOB1", firstDay, firstDay.atTime(10, 0));
+        submission("SUB2", "CAND2", "JOB2", firstDay, lastMonth.atTime(10, 0));
+        submission("SUB3", "CAND1", "JOB2", lastMonth, firstDay.atTime(11, 0));
+        submission("SUB4", "CAND2", "JOB1", lastMonth, lastMonth.atTime(11, 0));
+        // Created this month with and without an interview time, and created last month
+        interview("INT1", "CAND1", "REC1", "JOB1", firstDay.atTime(9, 0), firstDay.atTime(15, 0));
+        interview("INT2", "CAND2", "REC2", "JOB2", firstDay.atTime(9, 30), null);
+        interview("INT3", "CAND1", "REC1", "JOB2", lastMonth.atTime(9, 0), firstDay.atTime(16, 0));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        awaitIdle();
+        ReflectionTestUtils.setField(snapshot, "snapshot", null);
+        ReflectionTestUtils.setField(snapshot, "retryAfter", null);
+        submissionRepository.deleteAll();
+        interviewRepository.deleteAll();
+        candidateRepository.deleteAll();
+        jdbcTemplate.execute("DROP TABLE requirements_model");
+    }
+
+    @Test
+    void loadedSnapshotMatchesTheDatabase() throws InterruptedException {
+        // Not loaded yet: callers query the database
+        assertTrue(snapshot.submissionsReceived().isEmpty());
+        awaitLoaded();
+
+        assertEquals(Set.of("SUB1", "SUB2"), ids(snapshot.submissionsReceived().orElseThrow()));
+        assertEquals(2, snapshot.submittedCount().orElseThrow());
+        assertEquals(2, snapshot.interviewCount().orElseThrow());
+        assertEquals("Acme", snapshot.clientNameForJob("JOB1"));
+        assertNull(snapshot.clientNameForJob("JOB9"));
+        assertMatchesTheDatabase();
+    }
+
+    @Test
+    void appliedChangesKeepItMatchingTheDatabase() throws InterruptedException {
+        awaitLoaded();
+
+        Submissions added = submission("SUB5", "CAND2", "JOB3", firstDay.plusDays(1), null);
+        snapshot.onEntityChanged(new EntityChangedEvent(added, EntityChangedEvent.Type.INSERT));
+        // Moved out of the month, moved into it, deleted
+        Submissions movedOut = updateSubmission("SUB1", submission -> {
+            submission.setProfileReceivedDate(lastMonth);
+            submission.setSubmittedAt(lastMonth.atTime(12, 0));
+        });
+        snapshot.onEntityChanged(new EntityChangedEvent(movedOut, EntityChangedEvent.Type.UPDATE));
+        Submissions movedIn = updateSubmission("SUB4", submission -> submission.setProfileReceivedDate(firstDay));
+        snapshot.onEntityChanged(new EntityChangedEvent(movedIn, EntityChangedEvent.Type.UPDATE));
+        Submissions deleted = transaction.execute(status -> {
+            Submissions submission = submissionRepository.findById("SUB2").orElseThrow();
+            submissionRepository.delete(submission);
+            return submission;
+        });
+        snapshot.onEntityChanged(new EntityChangedEvent(deleted, EntityChangedEvent.Type.DELETE));
+        // The candidate moves to another recruiter, with the submissions received this month
+        CandidateDetails reassigned = transaction.execute(status -> {
+            CandidateDetails candidate = candidateRepository.findById("CAND2").orElseThrow();
+            candidate.setUserId("REC3");
+            return candidateRepository.saveAndFlush(candidate);
+        });
+        snapshot.onEntityChanged(new EntityChangedEvent(reassigned, EntityChangedEvent.Type.UPDATE));
+
+        InterviewDetails cancelled = transaction.execute(status -> {
+            InterviewDetails interview = interviewRepository.findById("INT1").orElseThrow();
+            interview.setInterviewStatus("[{\"stage\":1,\"status\":\"CANCELLED\",\"timestamp\":\"2030-06-01T09:00:00Z\"}]");
+            return interviewRepository.saveAndFlush(interview);
+        });
+        snapshot.onEntityChanged(new EntityChangedEvent(cancelled, EntityChangedEvent.Type.UPDATE));
+        InterviewDetails scheduled = interview("INT4", "CAND2", "REC2", "JOB1", firstDay.atTime(10, 0), firstDay.atTime(17, 0));
+        snapshot.onEntityChanged(new EntityChangedEvent(scheduled, EntityChangedEvent.Type.INSERT));
+
+        assertEquals(Set.of("SUB4", "SUB5"), ids(snapshot.submissionsReceivedBy("REC3").orElseThrow()));
+        assertTrue(snapshot.submissionsReceivedBy("REC2").orElseThrow().isEmpty());
+        assertEquals("CANCELLED", snapshot.scheduledInterviewsBy("REC1").orElseThrow().get(0).getLatestStatus());
+        assertMatchesTheDatabase();
+    }
+
+    @Test
+    void unknownCandidateMakesItStaleUntilReloaded() throws InterruptedException {
+        awaitLoaded();
+
+        candidate("CAND9", "REC1");
+        submission("SUB9", "CAND9", "JOB1", firstDay, null);
+        // Saved with a lazy candidate the snapshot has no copy of: it cannot tell the recruiter
+        Submissions change = new Submissions();
+        change.setSubmissionId("SUB9");
+        change.setJobId("JOB1");
+        change.setProfileReceivedDate(firstDay);
+        CandidateDetails reference = new CandidateDetails();
+        reference.setCandidateId("CAND9");
+        change.setCandidate(reference);
+        snapshot.onEntityChanged(new EntityChangedEvent(change, EntityChangedEvent.Type.UPDATE));
+
+        // Callers query the database until the reload this started completes
+        assertTrue(snapshot.submissionsReceived().isEmpty());
+        assertEquals("Globex", snapshot.clientNameForJob("JOB2"));
+        awaitLoaded();
+        assertTrue(ids(snapshot.submissionsReceivedBy("REC1").orElseThrow()).contains("SUB9"));
+        assertMatchesTheDatabase();
+    }
+
+    @Test
+    void fullTablesAreServedFromTheDatabase() throws InterruptedException {
+        // The month has three submissions: a fourth does not fit
+        ReflectionTestUtils.setField(snapshot, "maxRows", 3);
+        awaitLoaded();
+        Submissions added = submission("SUB5", "CAND2", "JOB3", firstDay, null);
+        snapshot.onEntityChanged(new EntityChangedEvent(added, EntityChangedEvent.Type.INSERT));
+        assertTrue(snapshot.submissionsReceived().isEmpty());
+
+        // Over budget when reloaded, and not loaded again before the refresh interval
+        awaitIdle();
+        assertNull(ReflectionTestUtils.getField(snapshot, "snapshot"));
+        assertTrue(snapshot.scheduledInterviews().isEmpty());
+        assertFalse(((AtomicBoolean) ReflectionTestUtils.getField(snapshot, "loading")).get());
+    }
+
+    @Test
+    void lastMonthsSnapshotIsReplacedAtRollover() throws InterruptedException {
+        awaitLoaded();
+        Object previousMonth = transaction.execute(status ->
+                ReflectionTestUtils.invokeMethod(snapshot, "read", YearMonth.from(lastMonth)));
+        ReflectionTestUtils.setField(snapshot, "snapshot", previousMonth);
+
+        assertTrue(snapshot.submissionsReceived().isEmpty());
+        awaitLoaded();
+        assertEquals(Set.of("SUB1", "SUB2"), ids(snapshot.submissionsReceived().orElseThrow()));
+        assertMatchesTheDatabase();
+    }
+
+    // Each listing the snapshot serves against the query the services fall back to: all submissions, and per
+    // recruiter (the EMPLOYEE listings) submissions and scheduled interviews
+    private void assertMatchesTheDatabase() {
+        LocalDateTime from = firstDay.atStartOfDay();
+        LocalDateTime to = lastDay.atTime(LocalTime.MAX);
+        transaction.executeWithoutResult(status -> {
+            assertEquals(submissionViews(submissionRepository.findByProfileReceivedDateBetween(firstDay, lastDay)),
+                    submissionViews(snapshot.submissionsReceived().orElseThrow()));
+            List<InterviewDetails> created = interviewRepository.findByTimestampBetween(from, to);
+            assertEquals(created.size(), snapshot.interviewCount().orElseThrow());
+            assertEquals(interviewViews(scheduled(created)), interviewViews(snapshot.scheduledInterviews().orElseThrow()));
+            assertEquals(submissionRepository.findAll().stream()
+                            .filter(s -> s.getSubmittedAt() != null && !s.getSubmittedAt().isBefore(from) && !s.getSubmittedAt().isAfter(to))
+                            .count(),
+                    snapshot.submittedCount().orElseThrow());
+            for (String userId : RECRUITERS) {
+                assertEquals(submissionViews(submissionRepository.findByUserIdAndProfileReceivedDateBetween(userId, firstDay, lastDay)),
+                        submissionViews(snapshot.submissionsReceivedBy(userId).orElseThrow()), userId);
+                assertEquals(interviewViews(scheduled(interviewRepository.findScheduledInterviewsByUserIdAndDateRange(userId, from, to))),
+                        interviewViews(snapshot.scheduledInterviewsBy(userId).orElseThrow()), userId);
+            }
+        });
+    }
+
+    // As InterviewService lists them: only interviews with an interview time
+    private static List<CurrentMonthSnapshot.InterviewRow> scheduled(List<InterviewDetails> interviews) {
+        return interviews.stream().filter(i -> i.getInterviewDateTime() != null)
+                .map(CurrentMonthSnapshot.InterviewRow::of).collect(Collectors.toList());
+    }
+
+    private static Set<String> submissionViews(List<Submissions> submissions) {
+        return submissions.stream().map(s -> String.join("|", s.getSubmissionId(), s.getCandidate().getCandidateId(),
+                s.getCandidate().getUserId(), s.getCandidate().getFullName(), s.getJobId(), s.getClientName(),
+                String.valueOf(s.getProfileReceivedDate()), String.valueOf(s.getSubmittedAt()), s.getSkills(),
+                String.valueOf(s.getRequiredTechnologiesRating()), String.valueOf(s.getVersion())))
+                .collect(Collectors.toSet());
+    }
+
+    private static Set<String> interviewViews(List<CurrentMonthSnapshot.InterviewRow> interviews) {
+        return interviews.stream().map(i -> String.join("|", i.getInterviewId(), i.getUserId(), i.getCandidateId(),
+                i.getJobId(), i.getClientName(), i.getLatestStatus(), String.valueOf(i.getInterviewDateTime().toInstant()),
+                String.valueOf(i.getTimestamp()), String.valueOf(i.getDuration()), String.valueOf(i.getIsPlaced()),
+                String.valueOf(i.getClientEmailList()), String.valueOf(i.getVersion())))
+                .collect(Collectors.toSet());
+    }
+
+    private static Set<String> ids(List<Submissions> submissions) {
+        return submissions.stream().map(Submissions::getSubmissionId).collect(Collectors.toSet());
+    }
+
+    // The first read starts the load in the background
+    private void awaitLoaded() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+        while (snapshot.submissionsReceived().isEmpty()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Snapshot did not load");
+            Thread.sleep(20);
+        }
+    }
+
+    private void awaitIdle() throws InterruptedException {
+        AtomicBoolean loading = (AtomicBoolean) ReflectionTestUtils.getField(snapshot, "loading");
+        long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+        while (loading.get()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Snapshot load did not finish");
+            Thread.sleep(20);
+        }
+    }
+
+    private void candidate(String candidateId, String userId) {
+        CandidateDetails candidate = new CandidateDetails();
+        candidate.setCandidateId(candidateId);
+        candidate.setUserId(userId);
+        candidate.setFullName("Candidate " + candidateId);
+        candidate.setCandidateEmailId(candidateId.toLowerCase() + "@example.com");
+        candidate.setContactNumber("987654321" + candidateId.charAt(candidateId.length() - 1));
+        candidate.setQualification("B.Tech");
+        candidate.setTotalExperience(5);
+        candidateRepository.save(candidate);
+    }
+
+    private Submissions submission(String submissionId, String candidateId, String jobId, LocalDate profileReceivedDate,
+                                   LocalDateTime submittedAt) {
+        return transaction.execute(status -> {
+            Submissions submission = new Submissions();
+            submission.setSubmissionId(submissionId);
+            submission.setCandidate(candidateRepository.findById(candidateId).orElseThrow());
+            submission.setJobId(jobId);
+            submission.setProfileReceivedDate(profileReceivedDate);
+            submission.setSubmittedAt(submittedAt);
+            submission.setSkills("Java");
+            submission.setRequiredTechnologiesRating(4.0);
+            return submissionRepository.saveAndFlush(submission);
+        });
+    }
+
+    private Submissions updateSubmission(String submissionId, Consumer<Submissions> change) {
+        return transaction.execute(status -> {
+            Submissions submission = submissionRepository.findById(submissionId).orElseThrow();
+            change.accept(submission);
+            return submissionRepository.saveAndFlush(submission);
+        });
+    }
+
+    private InterviewDetails interview(String interviewId, String candidateId, String userId, String jobId,
+                                       LocalDateTime timestamp, LocalDateTime interviewTime) {
+        InterviewDetails interview = new InterviewDetails();
+        interview.setInterviewId(interviewId);
+        interview.setCandidateId(candidateId);
+        interview.setUserId(userId);
+        interview.setJobId(jobId);
+        interview.setClientName("JOB1".equals(jobId) ? "Acme" : "Globex");
+        interview.setTimestamp(timestamp);
+        interview.setInterviewDateTime(interviewTime == null ? null : interviewTime.atOffset(ZoneOffset.UTC));
+        interview.setDuration(60);
+        return interviewRepository.save(interview);
+    }
+}
@@ -0,0 +1,164 @@
+package com.profile.candidate.service;
+
+import com.profile.candidate.configurations.EntityChangedEvent;
+import com.profile.candidate.dto.FreeSlotDto;
+import com.profile.candidate.exceptions.DateRangeValidationException;
+import com.profile.candidate.model.InterviewDetails;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Free slots over the busy intervals of a real (in-memory) InterviewConflictIndex, working hours 09:00-18:00 IST
+class FreeSlotServiceTest {
+
+    private static final ZoneOffset IST = ZoneOffset.ofHoursMinutes(5, 30);
+    private static final LocalDate MONDAY = LocalDate.of(2030, 6, 3);
+
+    private InterviewConflictIndex index;
+    private FreeSlotService service;
+
+    @BeforeEach
+    void setUp() {
+        index = new InterviewConflictIndex();
+        ReflectionTestUtils.setField(index, "defaultDuration", Duration.ofMinutes(60));
+        service = new FreeSlotService();
+        ReflectionTestUtils.setField(service, "interviewConflictIndex", index);
+        ReflectionTestUtils.setField(service, "zone", ZoneId.of("Asia/Kolkata"));
+        ReflectionTestUtils.setField(service, "workdayStart", LocalTime.of(9, 0));
+        ReflectionTestUtils.setField(service, "workdayEnd", LocalTime.of(18, 0));
+        ReflectionTestUtils.setField(service, "includeWeekends", false);
+        ReflectionTestUtils.setField(service, "maxWindow", Duration.ofDays(31));
+    }
+
+    @Test
+    void weekendsAreSkipped() {
+        LocalDate friday = MONDAY.plusDays(4);
+        OffsetDateTime from = at(friday, 0, 0);
+        OffsetDateTime to = at(friday.plusDays(3), 23, 59);
+
+        assertEquals(List.of(
+                span(friday, 9, 0, friday, 18, 0),
+                span(friday.plusDays(3), 9, 0, friday.plusDays(3), 18, 0)), spans(find(from, to, 30)));
+
+        ReflectionTestUtils.setField(service, "includeWeekends", true);
+        assertEquals(4, find(from, to, 30).size());
+    }
+
+    @Test
+    void windowStartingAndEndingMidDayIsCutToIt() {
+        List<FreeSlotDto> slots = find(at(MONDAY, 11, 30), at(MONDAY.plusDays(1), 14, 15), 30);
+
+        assertEquals(List.of(
+                span(MONDAY, 11, 30, MONDAY, 18, 0),
+                span(MONDAY.plusDays(1), 9, 0, MONDAY.plusDays(1), 14, 15)), spans(slots));
+        assertEquals(390, slots.get(0).getMinutes());
+        // Entirely outside working hours
+        assertTrue(find(at(MONDAY, 19, 0), at(MONDAY.plusDays(1), 8, 0), 30).isEmpty());
+    }
+
+    @Test
+    void slotsAreReportedInTheOffsetOfTheWindowStart() {
+        OffsetDateTime from = at(MONDAY, 0, 0).withOffsetSameInstant(ZoneOffset.UTC);
+        OffsetDateTime to = at(MONDAY, 23, 0).withOffsetSameInstant(ZoneOffset.UTC);
+
+        List<FreeSlotDto> slots = find(from, to, 30);
+
+        assertEquals(1, slots.size());
+        assertEquals(OffsetDateTime.of(MONDAY, LocalTime.of(3, 30), ZoneOffset.UTC), slots.get(0).getStart());
+        assertEquals(OffsetDateTime.of(MONDAY, LocalTime.of(12, 30), ZoneOffset.UTC), slots.get(0).getEnd());
+    }
+
+    @Test
+    void busyTimeOfAllParticipantsIsMerged() {
+        // Candidate 10:00-11:00, recruiter 10:30-12:00, client 12:00-12:30 (touching), another recruiter 14:00-15:00
+        interview("INT1", "CAND1", "REC9", null, at(MONDAY, 10, 0), 60);
+        interview("INT2", "CAND9", "REC1", null, at(MONDAY, 10, 30), 90);
+        interview("INT3", "CAND8", "REC8", "Acme", at(MONDAY, 12, 0), 30);
+        interview("INT4", "CAND7", "REC7", null, at(MONDAY, 14, 0), 60);
+
+        List<long[]> busy = index.busyIntervals("CAND1", "REC1", "Acme",
+                at(MONDAY, 0, 0).toInstant().toEpochMilli(), at(MONDAY, 23, 0).toInstant().toEpochMilli());
+        assertEquals(1, busy.size());
+
+        assertEquals(List.of(
+                span(MONDAY, 9, 0, MONDAY, 10, 0),
+                span(MONDAY, 12, 30, MONDAY, 18, 0)), spans(find(at(MONDAY, 0, 0), at(MONDAY, 23, 0), 30)));
+    }
+
+    @Test
+    void busyTimeCrossingMidnightCarriesIntoTheNextDay() {
+        // 17:00 Monday until 10:00 Tuesday, and a late interview outside working hours
+        interview("INT1", "CAND1", "REC1", null, at(MONDAY, 17, 0), 17 * 60);
+        interview("INT2", "CAND1", "REC1", null, at(MONDAY.plusDays(1), 23, 0), 120);
+
+        assertEquals(List.of(
+                span(MONDAY, 9, 0, MONDAY, 17, 0),
+                span(MONDAY.plusDays(1), 10, 0, MONDAY.plusDays(1), 18, 0),
+                span(MONDAY.plusDays(2), 9, 0, MONDAY.plusDays(2), 18, 0)),
+                spans(find(at(MONDAY, 0, 0), at(MONDAY.plusDays(2), 23, 0), 30)));
+    }
+
+    @Test
+    void gapsShorterThanTheDurationAreLeftOut() {
+        // Free 09:00-10:00 (60 minutes), 11:00-11:45 (45) and 17:30-18:00 (30)
+        interview("INT1", "CAND1", "REC1", null, at(MONDAY, 10, 0), 60);
+        interview("INT2", "CAND1", "REC1", null, at(MONDAY, 11, 45), 345);
+        OffsetDateTime from = at(MONDAY, 0, 0);
+        OffsetDateTime to = at(MONDAY, 23, 0);
+
+        assertEquals(3, find(from, to, 30).size());
+        assertEquals(List.of(
+                span(MONDAY, 9, 0, MONDAY, 10, 0),
+                span(MONDAY, 11, 0, MONDAY, 11, 45)), spans(find(from, to, 45)));
+        assertEquals(List.of(span(MONDAY, 9, 0, MONDAY, 10, 0)), spans(find(from, to, 46)));
+        assertTrue(find(from, to, 61).isEmpty());
+    }
+
+    @Test
+    void invalidWindowsAreRejected() {
+        OffsetDateTime from = at(MONDAY, 9, 0);
+
+        assertThrows(DateRangeValidationException.class, () -> find(from, from, 30));
+        assertThrows(DateRangeValidationException.class, () -> find(from, from.minusHours(1), 30));
+        assertThrows(DateRangeValidationException.class, () -> find(from, from.plusDays(32), 30));
+    }
+
+    private List<FreeSlotDto> find(OffsetDateTime from, OffsetDateTime to, int durationMinutes) {
+        return service.findFreeSlots("REC1", "CAND1", "Acme", from, to, durationMinutes);
+    }
+
+    private void interview(String interviewId, String candidateId, String userId, String clientName,
+                           OffsetDateTime start, int duration) {
+        InterviewDetails interview = new InterviewDetails();
+        interview.setInterviewId(interviewId);
+        interview.setCandidateId(candidateId);
+        interview.setUserId(userId);
+        interview.setClientName(clientName);
+        interview.setInterviewDateTime(start);
+        interview.setDuration(duration);
+        index.onEntityChanged(new EntityChangedEvent(interview, EntityChangedEvent.Type.INSERT));
+    }
+
+    private static OffsetDateTime at(LocalDate day, int hour, int minute) {
+        return OffsetDateTime.of(day, LocalTime.of(hour, minute), IST);
+    }
+
+    private static String span(LocalDate startDay, int startHour, int startMinute, LocalDate endDay, int endHour, int endMinute) {
+        return at(startDay, startHour, startMinute) + "/" + at(endDay, endHour, endMinute);
+    }
+
+    private static List<String> spans(List<FreeSlotDto> slots) {
+        return slots.stream().map(slot -> slot.getStart() + "/" + slot.getEnd()).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,369 @@
+package com.profile.candidate.service;
+
+import com.profile.candidate.configurations.ChangeVersionTracker;
+import com.profile.candidate.model.CandidateDetails;
+import com.profile.candidate.model.FunnelFact;
+import com.profile.candidate.model.FunnelFactId;
+import com.profile.candidate.model.InterviewDetails;
+import com.profile.candidate.model.PlacementDetails;
+import com.profile.candidate.model.Submissions;
+import com.profile.candidate.repository.CandidateRepository;
+import com.profile.candidate.repository.FunnelCountRepository;
+import com.profile.candidate.repository.FunnelFactRepository;
+import com.profile.candidate.repository.InterviewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// The incremental path (apply) against in-memory funnel_facts and funnel_daily_counts, and the rebuild against rows
+// the rebuild queries would return for the same source tables: both must end at the same counts
+class FunnelCounterServiceTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2030, 6, 3);
+
+    // funnel_facts by id, and funnel_daily_counts as "dimension|value|day|stage" -> events
+    private final Map<FunnelFactId, FunnelFact> facts = new HashMap<>();
+    private final Map<String, Long> counts = new TreeMap<>();
+    // The source tables: requirements (job id -> team lead, client), candidates, submissions, interviews, placements
+    private final Map<String, String[]> requirements = new HashMap<>();
+    private final Map<String, CandidateDetails> candidates = new HashMap<>();
+    private final Map<String, Submissions> submissions = new LinkedHashMap<>();
+    private final Map<String, InterviewDetails> interviews = new LinkedHashMap<>();
+    private final Map<String, PlacementDetails> placements = new LinkedHashMap<>();
+
+    private FunnelCounterService service;
+
+    @BeforeEach
+    void setUp() {
+        FunnelFactRepository funnelFactRepository = mock(FunnelFactRepository.class);
+        when(funnelFactRepository.lockGuardShared()).thenReturn("GUARD");
+        when(funnelFactRepository.lock(anyString(), anyString())).thenAnswer(invocation -> {
+            FunnelFactId id = new FunnelFactId(invocation.getArgument(0), invocation.getArgument(1));
+            facts.computeIfAbsent(id, key -> {
+                FunnelFact placeholder = new FunnelFact();
+                placeholder.setId(key);
+                return placeholder;
+            });
+            return 1;
+        });
+        when(funnelFactRepository.findForUpdate(anyString(), anyCollection())).thenAnswer(invocation -> {
+            String stage = invocation.getArgument(0);
+            Collection<String> sourceIds = invocation.getArgument(1);
+            return sourceIds.stream().map(sourceId -> facts.get(new FunnelFactId(stage, sourceId)))
+                    .filter(Objects::nonNull).collect(Collectors.toList());
+        });
+        doAnswer(invocation -> facts.remove(invocation.<FunnelFact>getArgument(0).getId()))
+                .when(funnelFactRepository).delete(any(FunnelFact.class));
+        when(funnelFactRepository.deleteAllFacts()).thenAnswer(invocation -> {
+            int deleted = facts.size();
+            facts.clear();
+            return deleted;
+        });
+        when(funnelFactRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<FunnelFact> saved = new ArrayList<>();
+            invocation.<Iterable<FunnelFact>>getArgument(0).forEach(fact -> {
+                facts.put(fact.getId(), fact);
+                saved.add(fact);
+            });
+            return saved;
+        });
+
+        FunnelCountRepository funnelCountRepository = mock(FunnelCountRepository.class);
+        when(funnelCountRepository.addDelta(anyString(), anyString(), any(LocalDate.class), anyString(), anyLong()))
+                .thenAnswer(invocation -> {
+                    String key = invocation.getArgument(0) + "|" + invocation.getArgument(1) + "|"
+                            + invocation.getArgument(2) + "|" + invocation.getArgument(3);
+                    counts.merge(key, invocation.<Long>getArgument(4), Long::sum);
+                    return 1;
+                });
+        when(funnelCountRepository.deleteAllCounts()).thenAnswer(invocation -> {
+            int deleted = counts.size();
+            counts.clear();
+            return deleted;
+        });
+        when(funnelCountRepository.findSubmissionFacts()).thenAnswer(invocation -> submissionRows());
+        when(funnelCountRepository.findInterviewFacts()).thenAnswer(invocation -> interviewRows());
+        when(funnelCountRepository.findPlacementFacts()).thenAnswer(invocation -> placementRows());
+
+        CandidateRepository candidateRepository = mock(CandidateRepository.class);
+        when(candidateRepository.findTeamLeadNameByJobId(anyString()))
+                .thenAnswer(invocation -> requirement(invocation.getArgument(0))[0]);
+        when(candidateRepository.findClientNameByJobId(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(requirement(invocation.getArgument(0))[1]));
+        when(candidateRepository.findById(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(candidates.get(invocation.<String>getArgument(0))));
+        InterviewRepository interviewRepository = mock(InterviewRepository.class);
+        when(interviewRepository.findById(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(interviews.get(invocation.<String>getArgument(0))));
+
+        service = new FunnelCounterService();
+        ReflectionTestUtils.setField(service, "funnelFactRepository", funnelFactRepository);
+        ReflectionTestUtils.setField(service, "funnelCountRepository", funnelCountRepository);
+        ReflectionTestUtils.setField(service, "candidateRepository", candidateRepository);
+        ReflectionTestUtils.setField(service, "interviewRepository", interviewRepository);
+        ReflectionTestUtils.setField(service, "transactionManager", mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(service, "changeVersionTracker", mock(ChangeVersionTracker.class));
+
+        requirements.put("JOB1", new String[]{"LEAD1", "Acme"});
+        requirements.put("JOB2", new String[]{"LEAD2", "Globex"});
+        candidates.put("CAND1", candidate("CAND1", "REC1"));
+        candidates.put("CAND2", candidate("CAND2", "REC2"));
+    }
+
+    @Test
+    void newSubmissionIsCountedUnderEveryDimension() {
+        Submissions submission = submission("SUB1", "CAND1", "JOB1", null, MONDAY);
+        service.apply(null, service.fact(submission));
+
+        assertEquals(Map.of(
+                "client|Acme|" + MONDAY + "|SUBMITTED", 1L,
+                "job|JOB1|" + MONDAY + "|SUBMITTED", 1L,
+                "recruiter|REC1|" + MONDAY + "|SUBMITTED", 1L,
+                "teamLead|LEAD1|" + MONDAY + "|SUBMITTED", 1L,
+                "total|all|" + MONDAY + "|SUBMITTED", 1L), nonZeroCounts());
+        FunnelFact stored = facts.get(new FunnelFactId("SUBMITTED", "SUB1"));
+        assertEquals(MONDAY, stored.getDay());
+        assertEquals("LEAD1", stored.getTeamLead());
+    }
+
+    @Test
+    void cancellingAnInterviewTakesItOut() {
+        InterviewDetails interview = interview("INT1", "CAND1", "REC1", "JOB1", MONDAY, null);
+        service.apply(null, service.fact(interview));
+        assertEquals(1L, counts.get("total|all|" + MONDAY + "|INTERVIEWED"));
+
+        FunnelCounterService.Fact before = service.fact(interview);
+        interview.setInterviewStatus("[{\"stage\":1,\"status\":\"CANCELLED\",\"timestamp\":\"2030-06-01T09:00:00Z\"}]");
+        service.apply(before, service.fact(interview));
+
+        assertTrue(nonZeroCounts().isEmpty(), nonZeroCounts().toString());
+        assertFalse(facts.containsKey(new FunnelFactId("INTERVIEWED", "INT1")));
+    }
+
+    @Test
+    void reschedulingMovesTheInterviewToItsNewDay() {
+        InterviewDetails interview = interview("INT1", "CAND1", "REC1", "JOB1", MONDAY, null);
+        service.apply(null, service.fact(interview));
+
+        FunnelCounterService.Fact before = service.fact(interview);
+        interview.setInterviewDateTime(interview.getInterviewDateTime().plusDays(1));
+        service.apply(before, service.fact(interview));
+
+        assertEquals(0L, counts.get("total|all|" + MONDAY + "|INTERVIEWED"));
+        assertEquals(1L, counts.get("total|all|" + MONDAY.plusDays(1) + "|INTERVIEWED"));
+    }
+
+    @Test
+    void deletingARecordTakesItOut() {
+        Submissions first = submission("SUB1", "CAND1", "JOB1", null, MONDAY);
+        Submissions second = submission("SUB2", "CAND2", "JOB2", null, MONDAY);
+        service.apply(List.of(), service.facts(List.of(first, second)));
+        assertEquals(2L, counts.get("total|all|" + MONDAY + "|SUBMITTED"));
+
+        service.apply(service.fact(first), null);
+
+        assertEquals(1L, counts.get("total|all|" + MONDAY + "|SUBMITTED"));
+        assertEquals(0L, counts.get("recruiter|REC1|" + MONDAY + "|SUBMITTED"));
+        assertEquals(1L, counts.get("recruiter|REC2|" + MONDAY + "|SUBMITTED"));
+        assertEquals(List.of("SUB2"), facts.keySet().stream().map(FunnelFactId::getSourceId).toList());
+    }
+
+    @Test
+    void changeTakesOutTheFactAsCountedNotAsLookedUpAgain() {
+        Submissions submission = submission("SUB1", "CAND1", "JOB1", null, MONDAY);
+        service.apply(null, service.fact(submission));
+
+        // The job is reassigned to another team lead; the submission's old count still belongs to LEAD1
+        requirements.put("JOB1", new String[]{"LEAD9", "Acme"});
+        FunnelCounterService.Fact before = service.fact(submission);
+        submission.setClientName("Initech");
+        service.apply(before, service.fact(submission));
+
+        assertEquals(0L, counts.get("teamLead|LEAD1|" + MONDAY + "|SUBMITTED"));
+        assertEquals(1L, counts.get("teamLead|LEAD9|" + MONDAY + "|SUBMITTED"));
+        assertEquals(0L, counts.get("client|Acme|" + MONDAY + "|SUBMITTED"));
+        assertEquals(1L, counts.get("client|Initech|" + MONDAY + "|SUBMITTED"));
+        assertEquals(1L, counts.get("total|all|" + MONDAY + "|SUBMITTED"));
+    }
+
+    @Test
+    void recordCountedBeforeFunnelFactsIsTakenOutUnderTheCallersFact() {
+        // Counted by an earlier version that kept no fact rows
+        Submissions submission = submission("SUB1", "CAND1", "JOB1", null, MONDAY);
+        counts.put("total|all|" + MONDAY + "|SUBMITTED", 1L);
+        counts.put("recruiter|REC1|" + MONDAY + "|SUBMITTED", 1L);
+
+        FunnelCounterService.Fact before = service.fact(submission);
+        submission.setProfileReceivedDate(MONDAY.plusDays(2));
+        service.apply(before, service.fact(submission));
+
+        assertEquals(0L, counts.get("total|all|" + MONDAY + "|SUBMITTED"));
+        assertEquals(0L, counts.get("recruiter|REC1|" + MONDAY + "|SUBMITTED"));
+        assertEquals(1L, counts.get("total|all|" + MONDAY.plusDays(2) + "|SUBMITTED"));
+    }
+
+    @Test
+    void rebuildMatchesTheIncrementalCounts() {
+        // A history of writes, each applied the way the services do
+        Submissions first = submission("SUB1", "CAND1", "JOB1", null, MONDAY);
+        Submissions second = submission("SUB2", "CAND2", "JOB2", " ", MONDAY.plusDays(1));
+        Submissions third = submission("SUB3", "CAND2", "JOB1", "Initech", MONDAY);
+        service.apply(List.of(), service.facts(List.of(first, second, third)));
+
+        InterviewDetails interview = interview("INT1", "CAND1", "REC1", "JOB1", MONDAY.plusDays(2), null);
+        service.apply(null, service.fact(interview));
+        InterviewDetails cancelled = interview("INT2", "CAND2", "REC2", "JOB2", MONDAY.plusDays(2), null);
+        service.apply(null, service.fact(cancelled));
+        FunnelCounterService.Fact before = service.fact(cancelled);
+        cancelled.setInterviewStatus("cancelled");
+        service.apply(before, service.fact(cancelled));
+
+        before = service.fact(interview);
+        interview.setInterviewDateTime(interview.getInterviewDateTime().plusDays(1));
+        service.apply(before, service.fact(interview));
+
+        PlacementDetails placement = placement("PLMNT0001", "CAND1", "INT1", null, MONDAY.plusDays(5));
+        service.apply(null, service.fact(placement));
+        PlacementDetails direct = placement("PLMNT0002", "CAND2", null, "Globex", MONDAY.plusDays(6));
+        service.apply(null, service.fact(direct));
+
+        before = service.fact(second);
+        submissions.remove("SUB2");
+        service.apply(before, null);
+
+        Map<String, Long> incremental = nonZeroCounts();
+        Map<FunnelFactId, List<Object>> incrementalFacts = factValues();
+        assertFalse(incremental.isEmpty());
+
+        service.rebuild();
+
+        assertEquals(incremental, nonZeroCounts());
+        assertEquals(incrementalFacts, factValues());
+    }
+
+    // Rows of FunnelCountRepository.findSubmissionFacts for the source tables: COALESCE(NULLIF(TRIM(client), ''), ...)
+    // and DATE_FORMAT done as the SQL does them
+    private List<Object[]> submissionRows() {
+        return submissions.values().stream().map(submission -> new Object[]{
+                (submission.getProfileReceivedDate() != null ? submission.getProfileReceivedDate()
+                        : submission.getSubmittedAt().toLocalDate()).toString(),
+                submission.getCandidate().getUserId(),
+                requirement(submission.getJobId())[0],
+                clientOr(submission.getClientName(), submission.getJobId()),
+                submission.getJobId(),
+                submission.getSubmissionId()}).collect(Collectors.toList());
+    }
+
+    private List<Object[]> interviewRows() {
+        return interviews.values().stream().map(interview -> new Object[]{
+                interview.getInterviewDateTime().atZoneSameInstant(ZoneId.systemDefault()).toLocalDate().toString(),
+                interview.getUserId(),
+                requirement(interview.getJobId())[0],
+                clientOr(interview.getClientName(), interview.getJobId()),
+                interview.getJobId(),
+                interview.getInterviewStatus(),
+                interview.getInterviewId()}).collect(Collectors.toList());
+    }
+
+    private List<Object[]> placementRows() {
+        return placements.values().stream().map(placement -> {
+            InterviewDetails interview = placement.getInterviewId() == null ? null : interviews.get(placement.getInterviewId());
+            String jobId = interview == null ? null : interview.getJobId();
+            return new Object[]{
+                    placement.getCreatedAt().toString(),
+                    interview != null ? interview.getUserId() : candidates.get(placement.getCandidateId()).getUserId(),
+                    requirement(jobId)[0],
+                    clientOr(placement.getClientName(), jobId),
+                    jobId,
+                    placement.getId()};
+        }).collect(Collectors.toList());
+    }
+
+    private String clientOr(String client, String jobId) {
+        return client != null && !client.trim().isEmpty() ? client.trim() : requirement(jobId)[1];
+    }
+
+    private String[] requirement(String jobId) {
+        return jobId == null ? new String[2] : requirements.getOrDefault(jobId, new String[2]);
+    }
+
+    private Map<String, Long> nonZeroCounts() {
+        return counts.entrySet().stream().filter(entry -> entry.getValue() != 0)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, TreeMap::new));
+    }
+
+    private Map<FunnelFactId, List<Object>> factValues() {
+        Map<FunnelFactId, List<Object>> values = new HashMap<>();
+        facts.forEach((id, fact) -> values.put(id, Arrays.asList(fact.getDay(), fact.getRecruiter(),
+                fact.getTeamLead(), fact.getClient(), fact.getJobId())));
+        return values;
+    }
+
+    private static CandidateDetails candidate(String candidateId, String userId) {
+        CandidateDetails candidate = new CandidateDetails();
+        candidate.setCandidateId(candidateId);
+        candidate.setUserId(userId);
+        return candidate;
+    }
+
+    private Submissions submission(String submissionId, String candidateId, String jobId, String clientName,
+                                   LocalDate profileReceivedDate) {
+        Submissions submission = new Submissions();
+        submission.setSubmissionId(submissionId);
+        submission.setCandidate(candidates.get(candidateId));
+        submission.setJobId(jobId);
+        submission.setClientName(clientName);
+        submission.setProfileReceivedDate(profileReceivedDate);
+        submissions.put(submissionId, submission);
+        return submission;
+    }
+
+    private InterviewDetails interview(String interviewId, String candidateId, String userId, String jobId,
+                                       LocalDate day, String clientName) {
+        InterviewDetails interview = new InterviewDetails();
+        interview.setInterviewId(interviewId);
+        interview.setCandidateId(candidateId);
+        interview.setUserId(userId);
+        interview.setJobId(jobId);
+        interview.setClientName(clientName);
+        interview.setInterviewDateTime(day.atTime(11, 0).atZone(ZoneId.systemDefault()).toOffsetDateTime());
+        interviews.put(interviewId, interview);
+        return interview;
+    }
+
+    private PlacementDetails placement(String id, String candidateId, String interviewId, String clientName,
+                                       LocalDate createdAt) {
+        PlacementDetails placement = new PlacementDetails();
+        placement.setId(id);
+        placement.setCandidateId(candidateId);
+        placement.setInterviewId(interviewId);
+        placement.setClientName(clientName);
+        placement.setCreatedAt(createdAt);
+        placements.put(id, placement);
+        return placement;
+    }
+}
@@ -0,0 +1,132 @@
+package com.profile.candidate.service;
+
+import com.profile.candidate.model.InterviewDetails;
+import com.profile.candidate.repository.CalendarFeedTokenRepository;
+import com.profile.candidate.repository.InterviewRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Rendering of the iCalendar text: TEXT escaping, CRLF line ends and folding at 75 octets
+class InterviewCalendarServiceTest {
+
+    private static final OffsetDateTime TEN_AM = OffsetDateTime.of(2030, 6, 3, 10, 0, 0, 0, ZoneOffset.UTC);
+
+    private InterviewRepository interviewRepository;
+    private InterviewCalendarService service;
+
+    @BeforeEach
+    void setUp() {
+        interviewRepository = mock(InterviewRepository.class);
+        service = new InterviewCalendarService();
+        ReflectionTestUtils.setField(service, "interviewRepository", interviewRepository);
+        ReflectionTestUtils.setField(service, "singleFlight",
+                new SingleFlight(mock(PlatformTransactionManager.class), new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(service, "calendarFeedTokenRepository", mock(CalendarFeedTokenRepository.class));
+        ReflectionTestUtils.setField(service, "lookback", Duration.ofDays(90));
+        ReflectionTestUtils.setField(service, "refreshInterval", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(service, "maxFeeds", 500);
+        ReflectionTestUtils.setField(service, "defaultDuration", Duration.ofMinutes(60));
+    }
+
+    @Test
+    void textValuesAreEscaped() {
+        InterviewDetails interview = interview("INT1", "Doe, Jane; \\JD\\");
+        interview.setClientName("Acme, Inc.");
+        interview.setInterviewLevel("L1");
+        interview.setCandidateEmailId("jane@example.com");
+        interview.setJobId("JOB1");
+        String body = userCalendar(interview);
+        String unfolded = unfold(body);
+
+        assertTrue(unfolded.contains("\r\nSUMMARY:Interview: Doe\\, Jane\\; \\\\JD\\\\ - Acme\\, Inc. (L1)\r\n"), unfolded);
+        // Newlines inside a value become \n, so the value stays on its content line
+        assertTrue(unfolded.contains("\r\nDESCRIPTION:Candidate: Doe\\, Jane\\; \\\\JD\\\\\\nCandidate email: jane@example.com"
+                + "\\nJob: JOB1\\n\r\n"), unfolded);
+        assertTrue(unfolded.contains("\r\nUID:INT1@dataquad\r\n"), unfolded);
+        assertTrue(unfolded.contains("\r\nDTSTART:20300603T100000Z\r\nDTEND:20300603T110000Z\r\n"), unfolded);
+        assertFalse(body.replace("\r\n", "").contains("\n"));
+        assertFalse(body.replace("\r\n", "").contains("\r"));
+    }
+
+    @Test
+    void windowsLineBreaksAreEscapedOnce() {
+        InterviewDetails interview = interview("INT1", "Jane");
+        interview.setZoomLink("https://zoom.us/j/1\r\nhttps://zoom.us/j/2");
+
+        String unfolded = unfold(userCalendar(interview));
+
+        assertTrue(unfolded.contains("\r\nLOCATION:https://zoom.us/j/1\\nhttps://zoom.us/j/2\r\n"), unfolded);
+    }
+
+    @Test
+    void longLinesAreFoldedAt75Octets() {
+        String link = "https://zoom.us/j/" + "1234567890".repeat(20);
+        InterviewDetails interview = interview("INT1", "Jane");
+        interview.setZoomLink(link);
+        String body = userCalendar(interview);
+
+        assertTrue(body.endsWith("END:VCALENDAR\r\n"));
+        assertFoldedLines(body);
+        assertTrue(body.contains("\r\n "), "expected folded lines");
+        assertTrue(unfold(body).contains("\r\nLOCATION:" + link + "\r\n"));
+    }
+
+    @Test
+    void multiByteCharactersAreNotSplitByFolding() {
+        // Two, three and four (surrogate pair) byte UTF-8 characters across the fold positions
+        String name = "José " + "é€😀".repeat(30);
+        InterviewDetails interview = interview("INT1", name);
+        String body = userCalendar(interview);
+
+        assertFoldedLines(body);
+        for (String line : body.split("\r\n")) {
+            assertTrue(line.codePoints().noneMatch(codePoint -> Character.getType(codePoint) == Character.SURROGATE),
+                    "split surrogate pair in " + line);
+        }
+        assertTrue(unfold(body).contains("\r\nSUMMARY:Interview: " + name + "\r\n"));
+    }
+
+    private String userCalendar(InterviewDetails interview) {
+        when(interviewRepository.findCalendarInterviewsByUserId(eq("REC1"), any())).thenReturn(List.of(interview));
+        return service.getUserCalendar("REC1").getBody();
+    }
+
+    private static InterviewDetails interview(String interviewId, String fullName) {
+        InterviewDetails interview = new InterviewDetails();
+        interview.setInterviewId(interviewId);
+        interview.setUserId("REC1");
+        interview.setFullName(fullName);
+        interview.setInterviewDateTime(TEN_AM);
+        interview.setDuration(60);
+        return interview;
+    }
+
+    // Every content line ends in CRLF and is at most 75 octets; continuation lines start with a space
+    private static void assertFoldedLines(String body) {
+        String[] lines = body.split("\r\n", -1);
+        assertEquals("", lines[lines.length - 1]);
+        for (int i = 0; i < lines.length - 1; i++) {
+            assertTrue(lines[i].getBytes(StandardCharsets.UTF_8).length <= 75, "longer than 75 octets: " + lines[i]);
+            assertFalse(lines[i].isEmpty());
+        }
+    }
+
+    private static String unfold(String body) {
+        return body.replace("\r\n ", "");
+    }
+}
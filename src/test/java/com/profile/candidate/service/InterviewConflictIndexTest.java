@@ -0,0 +1,143 @@
+package com.profile.candidate.service;
+
+import com.profile.candidate.exceptions.InterviewConflictException;
+import com.profile.candidate.model.InterviewDetails;
+import com.profile.candidate.repository.InterviewSlotLockRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The overlap check on scheduling reads the participants' interviews from the database (embedded H2) after
+// locking their interview_slot_locks rows; the in-memory index is never loaded here
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(InterviewConflictIndex.class)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:interview-conflicts;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "candidate.interview-conflicts.candidate-overlap=reject",
+        "candidate.interview-conflicts.recruiter-overlap=warn",
+        "candidate.interview-conflicts.default-duration=60m"
+})
+class InterviewConflictIndexTest {
+
+    private static final OffsetDateTime TEN_AM = OffsetDateTime.of(2030, 6, 3, 10, 0, 0, 0, ZoneOffset.UTC);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private InterviewConflictIndex conflictIndex;
+
+    @Autowired
+    private InterviewSlotLockRepository interviewSlotLockRepository;
+
+    @Test
+    void candidateOverlapIsRejected() {
+        save("INT1", "CAND1", "REC1", TEN_AM, 60, null);
+
+        InterviewConflictException e = assertThrows(InterviewConflictException.class,
+                () -> conflictIndex.checkConflicts("INT2", "CAND1", "REC2", TEN_AM.plusMinutes(30), 30));
+        assertTrue(e.getMessage().contains("the candidate already has interview INT1"), e.getMessage());
+    }
+
+    @Test
+    void recruiterOverlapIsAWarning() {
+        save("INT1", "CAND1", "REC1", TEN_AM, 60, null);
+
+        String warning = conflictIndex.checkConflicts("INT2", "CAND2", "REC1", TEN_AM.plusMinutes(30), 30);
+        assertNotNull(warning);
+        assertTrue(warning.contains("the recruiter already has interview INT1"), warning);
+        assertFalse(warning.contains("candidate"), warning);
+    }
+
+    @Test
+    void backToBackInterviewsDoNotOverlap() {
+        save("INT1", "CAND1", "REC1", TEN_AM, 60, null);
+
+        assertNull(conflictIndex.checkConflicts("INT2", "CAND1", "REC1", TEN_AM.plusMinutes(60), 30));
+        assertNull(conflictIndex.checkConflicts("INT3", "CAND1", "REC1", TEN_AM.minusMinutes(30), 30));
+
+        // One minute into it is an overlap, for the candidate and for the recruiter
+        List<InterviewConflictIndex.Conflict> conflicts =
+                conflictIndex.findConflicts("INT4", "CAND1", "REC1", TEN_AM.minusMinutes(30), 31);
+        assertEquals(List.of(InterviewConflictIndex.CANDIDATE, InterviewConflictIndex.RECRUITER),
+                conflicts.stream().map(InterviewConflictIndex.Conflict::getType).toList());
+    }
+
+    @Test
+    void movedInterviewDoesNotConflictWithItself() {
+        save("INT1", "CAND1", "REC1", TEN_AM, 60, null);
+
+        assertNull(conflictIndex.checkConflicts("INT1", "CAND1", "REC1", TEN_AM.plusMinutes(30), 60));
+    }
+
+    @Test
+    void cancelledInterviewsDoNotHoldTheirSlot() {
+        save("INT1", "CAND1", "REC1", TEN_AM, 60,
+                "[{\"stage\":1,\"status\":\"SCHEDULED\",\"timestamp\":\"2030-06-01T09:00:00Z\"},"
+                        + "{\"stage\":1,\"status\":\"CANCELLED\",\"timestamp\":\"2030-06-02T09:00:00Z\"}]");
+
+        assertNull(conflictIndex.checkConflicts("INT2", "CAND1", "REC1", TEN_AM, 60));
+    }
+
+    @Test
+    void interviewStartingTheDayBeforeStillOverlaps() {
+        // 20:00 the evening before until 12:00
+        save("INT1", "CAND1", "REC1", TEN_AM.minusHours(14), 16 * 60, null);
+
+        List<InterviewConflictIndex.Conflict> conflicts =
+                conflictIndex.findConflicts("INT2", "CAND1", null, TEN_AM, 30);
+        assertEquals(1, conflicts.size());
+        assertEquals("INT1", conflicts.get(0).getInterviewId());
+        assertEquals(InterviewConflictIndex.CANDIDATE, conflicts.get(0).getType());
+        assertEquals(TEN_AM.plusHours(2).toInstant(), conflicts.get(0).getEnd());
+    }
+
+    @Test
+    void interviewsWithoutDurationTakeTheDefault() {
+        save("INT1", "CAND1", "REC1", TEN_AM, null, null);
+
+        assertThrows(InterviewConflictException.class,
+                () -> conflictIndex.checkConflicts("INT2", "CAND1", "REC2", TEN_AM.plusMinutes(45), null));
+        assertNull(conflictIndex.checkConflicts("INT3", "CAND1", "REC2", TEN_AM.plusMinutes(60), null));
+    }
+
+    @Test
+    void participantsAreLockedThroughOneRowEach() {
+        assertNull(conflictIndex.checkConflicts("INT1", "CAND1", "REC1", TEN_AM, 60));
+        // Locking rows that already exist neither fails nor adds rows
+        assertNull(conflictIndex.checkConflicts("INT2", "CAND1", "REC1", TEN_AM.plusHours(2), 60));
+
+        assertEquals(2, interviewSlotLockRepository.count());
+        assertTrue(interviewSlotLockRepository.existsById("candidate:CAND1"));
+        assertTrue(interviewSlotLockRepository.existsById("recruiter:REC1"));
+    }
+
+    private void save(String interviewId, String candidateId, String userId, OffsetDateTime interviewDateTime,
+                      Integer duration, String interviewStatus) {
+        InterviewDetails interview = new InterviewDetails();
+        interview.setInterviewId(interviewId);
+        interview.setCandidateId(candidateId);
+        interview.setUserId(userId);
+        interview.setJobId("JOB01");
+        interview.setInterviewDateTime(interviewDateTime);
+        interview.setDuration(duration);
+        interview.setInterviewStatus(interviewStatus);
+        entityManager.persistAndFlush(interview);
+    }
+}
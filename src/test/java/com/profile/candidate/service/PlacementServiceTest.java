@@ -0,0 +1,124 @@
+package com.profile.candidate.service;
+
+import com.profile.candidate.dto.PlacementDto;
+import com.profile.candidate.dto.PlacementResponseDto;
+import com.profile.candidate.model.InterviewDetails;
+import com.profile.candidate.repository.InterviewRepository;
+import com.profile.candidate.repository.PlacementRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+
+// Saving a placement marks its interview placed in the same transaction, so a failure anywhere in the save leaves
+// the interview as it was. Runs without a test transaction: the service commits for real against embedded H2.
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({PlacementService.class, OptimisticRetry.class, PlacementServiceTest.Metrics.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:placements;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class PlacementServiceTest {
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private PlacementService placementService;
+
+    @Autowired
+    private PlacementRepository placementRepository;
+
+    @Autowired
+    private InterviewRepository interviewRepository;
+
+    @MockBean
+    private PlacementRollupService placementRollupService;
+
+    @MockBean
+    private FunnelCounterService funnelCounterService;
+
+    @MockBean
+    private CurrentMonthSnapshot currentMonthSnapshot;
+
+    @MockBean
+    private SingleFlight singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        InterviewDetails interview = new InterviewDetails();
+        interview.setInterviewId("CAND0001_CL01_JOB01");
+        interview.setCandidateId("CAND0001");
+        interview.setUserId("ADRTIN0001");
+        interview.setJobId("JOB01");
+        interview.setInterviewDateTime(OffsetDateTime.now().plusDays(1));
+        interviewRepository.save(interview);
+    }
+
+    @AfterEach
+    void tearDown() {
+        placementRepository.deleteAll();
+        interviewRepository.deleteAll();
+    }
+
+    @Test
+    void savedPlacementMarksTheInterviewPlaced() {
+        PlacementResponseDto response = placementService.savePlacement(placement());
+
+        assertEquals("PLMNT0001", response.getId());
+        assertTrue(placementRepository.existsByInterviewId("CAND0001_CL01_JOB01"));
+        assertTrue(interviewRepository.findById("CAND0001_CL01_JOB01").orElseThrow().getIsPlaced());
+    }
+
+    @Test
+    void failedRollupLeavesTheInterviewUnplaced() {
+        doThrow(new IllegalStateException("rollup unavailable")).when(placementRollupService).apply(any(), any());
+
+        assertThrows(IllegalStateException.class, () -> placementService.savePlacement(placement()));
+
+        assertEquals(0, placementRepository.count());
+        assertFalse(interviewRepository.findById("CAND0001_CL01_JOB01").orElseThrow().getIsPlaced());
+    }
+
+    private static PlacementDto placement() {
+        PlacementDto dto = new PlacementDto();
+        dto.setCandidateId("CAND0001");
+        dto.setCandidateFullName("Test Candidate");
+        dto.setCandidateContactNo("9876543210");
+        dto.setCandidateEmailId("candidate@example.com");
+        dto.setClientName("Client One");
+        dto.setInterviewId("CAND0001_CL01_JOB01");
+        dto.setBillRate(new BigDecimal("80.00"));
+        dto.setPayRate(new BigDecimal("60.00"));
+        return dto;
+    }
+}
@@ -0,0 +1,185 @@
+package com.profile.candidate.service;
+
+import com.profile.candidate.configurations.EntityChangedEvent;
+import com.profile.candidate.dto.ResumeSearchHitDto;
+import com.profile.candidate.model.BenchDetails;
+import com.profile.candidate.model.Submissions;
+import com.profile.candidate.repository.BenchRepository;
+import com.profile.candidate.repository.SubmissionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ResumeSearchIndexTest {
+
+    // The worker commits when idle and refreshes searches every second
+    private static final long WAIT_MILLIS = 10_000;
+
+    @TempDir
+    Path indexDir;
+
+    // Submission id -> {candidate id, resume}, and bench id -> resume, as the repositories return them
+    private final Map<String, Object[]> submissions = new ConcurrentHashMap<>();
+    private final Map<String, byte[]> bench = new ConcurrentHashMap<>();
+    private ResumeSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        SubmissionRepository submissionRepository = mock(SubmissionRepository.class);
+        when(submissionRepository.findAllSubmissionIds()).thenAnswer(invocation -> new ArrayList<>(submissions.keySet()));
+        when(submissionRepository.findResumeBySubmissionId(anyString())).thenAnswer(invocation -> {
+            Object[] row = submissions.get(invocation.<String>getArgument(0));
+            return row == null ? List.of() : List.<Object[]>of(row);
+        });
+        BenchRepository benchRepository = mock(BenchRepository.class);
+        when(benchRepository.findAllIds()).thenAnswer(invocation -> new ArrayList<>(bench.keySet()));
+        when(benchRepository.findResumeById(anyString())).thenAnswer(invocation -> {
+            byte[] resume = bench.get(invocation.<String>getArgument(0));
+            return resume == null ? List.of() : List.of(resume);
+        });
+        ResumeTextExtractor extractor = new ResumeTextExtractor();
+        ReflectionTestUtils.setField(extractor, "maxChars", 100_000);
+
+        index = new ResumeSearchIndex();
+        ReflectionTestUtils.setField(index, "submissionRepository", submissionRepository);
+        ReflectionTestUtils.setField(index, "benchRepository", benchRepository);
+        ReflectionTestUtils.setField(index, "resumeTextExtractor", extractor);
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "indexDir", indexDir);
+        ReflectionTestUtils.setField(index, "reindexRate", 1000.0);
+        ReflectionTestUtils.setField(index, "reindexInterval", Duration.ZERO);
+        ReflectionTestUtils.setField(index, "maxChars", 100_000);
+        index.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.stop();
+    }
+
+    @Test
+    void updatedResumeReplacesTheIndexedText() throws Exception {
+        saveSubmission("SUB1", "CAND1", "Senior Java developer, Kafka and Spring Boot");
+        List<ResumeSearchHitDto> hits = awaitHits("kafka", null, found -> found.size() == 1);
+        assertEquals(ResumeSearchIndex.SUBMISSION, hits.get(0).getType());
+        assertEquals("SUB1", hits.get(0).getId());
+        assertEquals("CAND1", hits.get(0).getCandidateId());
+        assertTrue(hits.get(0).getHighlight().contains("<b>Kafka</b>"), hits.get(0).getHighlight());
+
+        saveSubmission("SUB1", "CAND1", "Python developer, Django and Celery");
+        awaitHits("django", null, found -> found.size() == 1);
+        assertTrue(index.search("kafka", null, 10).isEmpty());
+    }
+
+    @Test
+    void deletedRecordsLeaveTheIndex() throws Exception {
+        saveBench("BENCH1", "React and TypeScript engineer");
+        saveSubmission("SUB1", "CAND1", "React Native developer");
+        awaitHits("react", null, found -> found.size() == 2);
+
+        deleteBench("BENCH1");
+        List<ResumeSearchHitDto> hits = awaitHits("react", null, found -> found.size() == 1);
+        assertEquals("SUB1", hits.get(0).getId());
+
+        // A record deleted without an event (another instance, a bulk delete) goes at the next reindex
+        submissions.remove("SUB1");
+        awaitReindexed();
+        assertTrue(index.reindex());
+        awaitHits("react", null, List::isEmpty);
+    }
+
+    @Test
+    void candidateAppearsOnceWithItsBestSubmission() throws Exception {
+        saveSubmission("SUB1", "CAND1", "Java developer with some Kafka");
+        saveSubmission("SUB2", "CAND1", "Kafka Kafka Kafka streams engineer");
+        saveSubmission("SUB3", "CAND2", "Kafka administrator");
+        saveBench("BENCH1", "Kafka consultant");
+        saveBench("BENCH2", "Kafka and Flink consultant");
+
+        // Resumes are indexed in order, so the last one found means all are
+        List<ResumeSearchHitDto> hits = awaitHits("kafka", null, found -> found.size() == 4);
+        // Bench records have no candidate and are never collapsed
+        assertEquals(Set.of("SUB2", "SUB3", "BENCH1", "BENCH2"),
+                hits.stream().map(ResumeSearchHitDto::getId).collect(Collectors.toSet()));
+        for (int i = 1; i < hits.size(); i++) {
+            assertTrue(hits.get(i - 1).getScore() >= hits.get(i).getScore());
+        }
+
+        List<ResumeSearchHitDto> benchHits = index.search("kafka", ResumeSearchIndex.BENCH, 10);
+        assertEquals(Set.of("BENCH1", "BENCH2"),
+                benchHits.stream().map(ResumeSearchHitDto::getId).collect(Collectors.toSet()));
+        // The limit counts candidates, not submissions
+        assertEquals(2, index.search("kafka", ResumeSearchIndex.SUBMISSION, 2).size());
+    }
+
+    private void saveSubmission(String submissionId, String candidateId, String resume) {
+        byte[] bytes = resume.getBytes(StandardCharsets.UTF_8);
+        submissions.put(submissionId, new Object[]{candidateId, bytes});
+        Submissions submission = new Submissions();
+        submission.setSubmissionId(submissionId);
+        submission.setResume(bytes);
+        index.onEntityChanged(new EntityChangedEvent(submission, EntityChangedEvent.Type.UPDATE));
+    }
+
+    private void saveBench(String id, String resume) {
+        byte[] bytes = resume.getBytes(StandardCharsets.UTF_8);
+        bench.put(id, bytes);
+        index.onEntityChanged(new EntityChangedEvent(benchDetails(id, bytes), EntityChangedEvent.Type.INSERT));
+    }
+
+    private void deleteBench(String id) {
+        byte[] bytes = bench.remove(id);
+        index.onEntityChanged(new EntityChangedEvent(benchDetails(id, bytes), EntityChangedEvent.Type.DELETE));
+    }
+
+    private static BenchDetails benchDetails(String id, byte[] resume) {
+        BenchDetails details = new BenchDetails();
+        details.setId(id);
+        details.setResume(resume);
+        return details;
+    }
+
+    // The reindex of the empty index at start-up
+    private void awaitReindexed() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+        while (index.isReindexing()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Reindex did not finish");
+            Thread.sleep(50);
+        }
+    }
+
+    // Searches until the hits match, since the worker indexes in the background
+    private List<ResumeSearchHitDto> awaitHits(String text, String type, Predicate<List<ResumeSearchHitDto>> expected)
+            throws IOException, InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+        List<ResumeSearchHitDto> hits = index.search(text, type, 10);
+        while (!expected.test(hits)) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Unexpected hits for " + text + ": "
+                        + hits.stream().map(ResumeSearchHitDto::getId).collect(Collectors.toList()));
+            }
+            Thread.sleep(50);
+            hits = index.search(text, type, 10);
+        }
+        return hits;
+    }
+}
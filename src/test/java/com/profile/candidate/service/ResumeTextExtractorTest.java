@@ -0,0 +1,128 @@
+package com.profile.candidate.service;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResumeTextExtractorTest {
+
+    private ResumeTextExtractor extractor;
+
+    @BeforeEach
+    void setUp() {
+        extractor = new ResumeTextExtractor();
+        ReflectionTestUtils.setField(extractor, "maxChars", 100_000);
+    }
+
+    @Test
+    void extractsPdfText() throws IOException {
+        String text = extractor.extract(pdf("Senior Java developer", "Spring Boot and Kafka"));
+
+        assertTrue(text.contains("Senior Java developer"), text);
+        assertTrue(text.contains("Spring Boot and Kafka"), text);
+    }
+
+    @Test
+    void extractsDocxTextOneLinePerParagraph() throws IOException {
+        byte[] docx = docx("<w:p><w:r><w:t>Senior Java</w:t></w:r><w:r><w:t xml:space=\"preserve\"> developer</w:t></w:r></w:p>"
+                + "<w:p><w:r><w:t>Skills:</w:t><w:tab/><w:t>Kafka</w:t><w:br/><w:t>React</w:t></w:r></w:p>");
+
+        assertEquals("Senior Java developer\nSkills:\tKafka\nReact\n", extractor.extract(docx));
+    }
+
+    @Test
+    void zipWithoutADocxBodyGivesNull() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            zip.putNextEntry(new ZipEntry("resume.txt"));
+            zip.write("Java developer".getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+
+        assertNull(extractor.extract(bytes.toByteArray()));
+    }
+
+    @Test
+    void extractsPlainText() throws IOException {
+        String resume = "Développeuse Java\nSpring, Kafka";
+
+        assertEquals(resume, extractor.extract(resume.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void binaryAndEmptyResumesGiveNull() throws IOException {
+        // A legacy .doc starts with the OLE2 signature and has NUL bytes early on
+        byte[] doc = {(byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0, (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1, 0, 0};
+
+        assertNull(extractor.extract(doc));
+        assertNull(extractor.extract(new byte[0]));
+        assertNull(extractor.extract(null));
+    }
+
+    @Test
+    void damagedPdfThrows() {
+        byte[] damaged = "%PDF-1.7 not really a pdf".getBytes(StandardCharsets.US_ASCII);
+
+        assertThrows(IOException.class, () -> extractor.extract(damaged));
+    }
+
+    @Test
+    void truncatesToMaxChars() throws IOException {
+        ReflectionTestUtils.setField(extractor, "maxChars", 10);
+
+        assertEquals("Senior Jav", extractor.extract("Senior Java developer".getBytes(StandardCharsets.UTF_8)));
+        assertEquals("Senior Jav", extractor.extract(docx("<w:p><w:r><w:t>Senior Java developer</w:t></w:r></w:p>")));
+        assertEquals(10, extractor.extract(pdf("Senior Java developer")).length());
+    }
+
+    private static byte[] pdf(String... lines) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            PDPage page = new PDPage();
+            document.addPage(page);
+            try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                content.beginText();
+                content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
+                content.setLeading(16);
+                content.newLineAtOffset(72, 700);
+                for (String line : lines) {
+                    content.showText(line);
+                    content.newLine();
+                }
+                content.endText();
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            document.save(bytes);
+            return bytes.toByteArray();
+        }
+    }
+
+    // The smallest DOCX the extractor reads: word/document.xml with the given body content
+    private static byte[] docx(String body) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            zip.putNextEntry(new ZipEntry("[Content_Types].xml"));
+            zip.write("<?xml version=\"1.0\"?><Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\"/>"
+                    .getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("word/document.xml"));
+            zip.write(("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                    + "<w:document xmlns:w=\"http://schemas.openxmlformats.org/wordprocessingml/2006/main\"><w:body>"
+                    + body + "</w:body></w:document>").getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        return bytes.toByteArray();
+    }
+}
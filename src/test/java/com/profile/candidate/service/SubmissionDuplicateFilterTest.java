@@ -0,0 +1,99 @@
+package com.profile.candidate.service;
+
+import com.profile.candidate.repository.SubmissionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// The filter is (re)built from the submissions table; a "no" must never be given for a stored submission
+class SubmissionDuplicateFilterTest {
+
+    private SubmissionRepository submissionRepository;
+    private SubmissionDuplicateFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        submissionRepository = mock(SubmissionRepository.class);
+        filter = new SubmissionDuplicateFilter();
+        ReflectionTestUtils.setField(filter, "submissionRepository", submissionRepository);
+        ReflectionTestUtils.setField(filter, "expectedInsertions", 10_000L);
+        ReflectionTestUtils.setField(filter, "falsePositiveProbability", 0.01);
+    }
+
+    @Test
+    void everythingMightBeADuplicateUntilLoaded() {
+        filter.add("jane@example.com", "9876543210", "JOB1");
+
+        assertTrue(filter.mightContainEmail("jane@example.com", "JOB1"));
+        assertTrue(filter.mightContainContactNumber("9876543210", "JOB1"));
+    }
+
+    @Test
+    void everyStoredSubmissionIsFoundAfterLoading() {
+        List<Object[]> keys = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            keys.add(new Object[]{"Candidate" + i + "@Example.com", "98765" + (10_000 + i), "JOB" + (i % 40)});
+        }
+        when(submissionRepository.findAllDuplicateKeys()).thenReturn(keys);
+
+        filter.load();
+
+        for (Object[] key : keys) {
+            // Emails match case-insensitively, as in MySQL
+            assertTrue(filter.mightContainEmail(((String) key[0]).toLowerCase(), (String) key[2]));
+            assertTrue(filter.mightContainEmail(((String) key[0]).toUpperCase(), (String) key[2]));
+            assertTrue(filter.mightContainContactNumber((String) key[1], (String) key[2]));
+        }
+        assertFalse(filter.mightContainEmail("candidate0@example.com", "JOB1"));
+    }
+
+    @Test
+    void submissionsAddedAfterLoadingAreFound() {
+        when(submissionRepository.findAllDuplicateKeys()).thenReturn(List.<Object[]>of());
+        filter.load();
+        assertFalse(filter.mightContainEmail("jane@example.com", "JOB1"));
+
+        filter.add("jane@example.com", "9876543210", "JOB1");
+
+        assertTrue(filter.mightContainEmail("jane@example.com", "JOB1"));
+        assertTrue(filter.mightContainContactNumber("9876543210", "JOB1"));
+        assertFalse(filter.mightContainContactNumber("9876543210", "JOB2"));
+    }
+
+    @Test
+    void reloadingRebuildsFromTheTable() {
+        when(submissionRepository.findAllDuplicateKeys())
+                .thenReturn(List.<Object[]>of(new Object[]{"jane@example.com", "9876543210", "JOB1"}))
+                .thenReturn(List.<Object[]>of(new Object[]{"john@example.com", "9876543211", "JOB1"}));
+        filter.load();
+        filter.add("added@example.com", "9876543219", "JOB2");
+
+        filter.load();
+
+        // Rebuilt from the table alone: the deleted submission and the one added in memory are gone
+        assertTrue(filter.mightContainEmail("john@example.com", "JOB1"));
+        assertTrue(filter.mightContainContactNumber("9876543211", "JOB1"));
+        assertFalse(filter.mightContainEmail("jane@example.com", "JOB1"));
+        assertFalse(filter.mightContainEmail("added@example.com", "JOB2"));
+    }
+
+    @Test
+    void failedReloadKeepsThePreviousFilter() {
+        when(submissionRepository.findAllDuplicateKeys())
+                .thenReturn(List.<Object[]>of(new Object[]{"jane@example.com", "9876543210", "JOB1"}))
+                .thenThrow(new IllegalStateException("database unavailable"));
+        filter.load();
+
+        filter.load();
+
+        assertTrue(filter.mightContainEmail("jane@example.com", "JOB1"));
+        assertFalse(filter.mightContainEmail("john@example.com", "JOB1"));
+    }
+}
@@ -0,0 +1,97 @@
+package com.profile.candidate.service;
+
+import com.profile.candidate.dto.SubmissionGetResponseDto;
+import com.profile.candidate.model.CandidateDetails;
+import com.profile.candidate.model.Submissions;
+import com.profile.candidate.repository.CandidateRepository;
+import com.profile.candidate.repository.SubmissionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Where a recruiter's month listing takes the job clients from: the snapshot's only with the submissions it served
+class SubmissionServiceTest {
+
+    private SubmissionRepository submissionRepository;
+    private CandidateRepository candidateRepository;
+    private CurrentMonthSnapshot currentMonthSnapshot;
+    private SubmissionService submissionService;
+
+    @BeforeEach
+    void setUp() {
+        submissionRepository = mock(SubmissionRepository.class);
+        candidateRepository = mock(CandidateRepository.class);
+        currentMonthSnapshot = mock(CurrentMonthSnapshot.class);
+        when(candidateRepository.findClientNameByJobId("JOB1")).thenReturn(Optional.of("Acme"));
+        when(currentMonthSnapshot.clientNameForJob("JOB1")).thenReturn("Acme (snapshot)");
+
+        submissionService = new SubmissionService();
+        ReflectionTestUtils.setField(submissionService, "submissionRepository", submissionRepository);
+        ReflectionTestUtils.setField(submissionService, "candidateRepository", candidateRepository);
+        ReflectionTestUtils.setField(submissionService, "currentMonthSnapshot", currentMonthSnapshot);
+    }
+
+    @Test
+    void employeeListingServedByTheSnapshotUsesItsClients() {
+        when(submissionRepository.findRoleByUserId("REC1")).thenReturn("EMPLOYEE");
+        when(currentMonthSnapshot.submissionsReceivedBy("REC1")).thenReturn(Optional.of(List.of(submission())));
+
+        List<SubmissionGetResponseDto> listing = submissionService.getSubmissionsByUserId("REC1");
+
+        assertEquals("Acme (snapshot)", listing.get(0).getClientName());
+        verify(submissionRepository, never()).findByUserIdAndProfileReceivedDateBetween(anyString(), any(), any());
+    }
+
+    @Test
+    void employeeListingFromTheDatabaseUsesItsClients() {
+        // Snapshot not loaded, stale or over budget
+        when(submissionRepository.findRoleByUserId("REC1")).thenReturn("EMPLOYEE");
+        when(currentMonthSnapshot.submissionsReceivedBy("REC1")).thenReturn(Optional.empty());
+        when(submissionRepository.findByUserIdAndProfileReceivedDateBetween(eq("REC1"), any(), any()))
+                .thenReturn(List.of(submission()));
+
+        List<SubmissionGetResponseDto> listing = submissionService.getSubmissionsByUserId("REC1");
+
+        assertEquals("Acme", listing.get(0).getClientName());
+        verify(currentMonthSnapshot, never()).clientNameForJob(anyString());
+    }
+
+    @Test
+    void bdmListingNeverUsesTheSnapshot() {
+        when(submissionRepository.findRoleByUserId("BDM1")).thenReturn("BDM");
+        when(submissionRepository.findSubmissionsByBdmUserIdAndDateRange(eq("BDM1"), any(), any()))
+                .thenReturn(List.of(submission()));
+
+        List<SubmissionGetResponseDto> listing = submissionService.getSubmissionsByUserId("BDM1");
+
+        assertEquals("Acme", listing.get(0).getClientName());
+        verify(currentMonthSnapshot, never()).submissionsReceivedBy(anyString());
+        verify(currentMonthSnapshot, never()).clientNameForJob(anyString());
+    }
+
+    private static Submissions submission() {
+        CandidateDetails candidate = new CandidateDetails();
+        candidate.setCandidateId("CAND1");
+        candidate.setUserId("REC1");
+        candidate.setFullName("Test Candidate");
+        Submissions submission = new Submissions();
+        submission.setSubmissionId("SUB1");
+        submission.setCandidate(candidate);
+        submission.setJobId("JOB1");
+        submission.setProfileReceivedDate(LocalDate.now());
+        return submission;
+    }
+}
@@ -0,0 +1,101 @@
+package com.profile.candidate.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void keysThatWerePutAreAlwaysFound() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(key(i));
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain(key(i)), key(i));
+        }
+    }
+
+    @Test
+    void keysThatWerePutAreFoundEvenAboveExpectedInsertions() {
+        BloomFilter filter = new BloomFilter(100, 0.01);
+        for (int i = 0; i < 5_000; i++) {
+            filter.put(key(i));
+        }
+
+        for (int i = 0; i < 5_000; i++) {
+            assertTrue(filter.mightContain(key(i)), key(i));
+        }
+    }
+
+    @Test
+    void concurrentPutsLoseNoKeys() throws Exception {
+        BloomFilter filter = new BloomFilter(40_000, 0.01);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int offset = t * 10_000;
+                writers.add(executor.submit(() -> {
+                    for (int i = offset; i < offset + 10_000; i++) {
+                        filter.put(key(i));
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        for (int i = 0; i < 40_000; i++) {
+            assertTrue(filter.mightContain(key(i)), key(i));
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTheConfiguredProbability() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(key(i));
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("other" + i + "@example.com|JOB" + (i % 50))) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void sizedFromExpectedInsertionsAndProbability() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+
+        // m = -n ln(p) / (ln 2)^2 rounded up to whole words, k = m/n ln 2
+        assertEquals(95_872, filter.getBitCount());
+        assertEquals(7, filter.getHashCount());
+        assertEquals(64, new BloomFilter(1, 0.5).getBitCount());
+    }
+
+    @Test
+    void invalidSizingIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1));
+    }
+
+    private static String key(int i) {
+        return "candidate" + i + "@example.com|JOB" + (i % 50);
+    }
+}
@@ -0,0 +1,160 @@
+package com.profile.candidate.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntervalTreeTest {
+
+    @Test
+    void findsOverlappingIntervalsInStartOrder() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.insert(30, 40, "c");
+        tree.insert(10, 20, "a");
+        tree.insert(15, 35, "b");
+        tree.insert(50, 60, "d");
+
+        assertEquals(List.of("a", "b", "c"), ids(tree.overlapping(12, 32)));
+        assertEquals(List.of("b", "c"), ids(tree.overlapping(25, 45)));
+        assertEquals(List.of(), ids(tree.overlapping(41, 50)));
+        assertEquals(4, tree.size());
+    }
+
+    @Test
+    void intervalsAreHalfOpen() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.insert(10, 20, "a");
+
+        // Back-to-back slots do not overlap
+        assertTrue(tree.overlapping(20, 30).isEmpty());
+        assertTrue(tree.overlapping(0, 10).isEmpty());
+        assertEquals(List.of("a"), ids(tree.overlapping(19, 21)));
+        assertEquals(List.of("a"), ids(tree.overlapping(0, 11)));
+    }
+
+    @Test
+    void insertReplacesTheIntervalWithTheSameStartAndId() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.insert(10, 20, "a");
+        tree.insert(10, 50, "a");
+        tree.insert(10, 15, "b");
+
+        assertEquals(2, tree.size());
+        assertEquals(List.of("a"), ids(tree.overlapping(30, 40)));
+        assertEquals(50, tree.overlapping(30, 40).get(0).getEnd());
+    }
+
+    @Test
+    void rejectsEmptyIntervals() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        assertThrows(IllegalArgumentException.class, () -> tree.insert(10, 10, "a"));
+        assertThrows(IllegalArgumentException.class, () -> tree.insert(10, 5, "a"));
+        assertTrue(tree.isEmpty());
+    }
+
+    @Test
+    void removesLeavesInnerNodesAndTheRoot() {
+        IntervalTree<Integer> tree = new IntervalTree<>();
+        for (int i = 1; i <= 7; i++) {
+            tree.insert(i * 10L, i * 10L + 5, i);
+        }
+
+        // A leaf, a node with two children and whatever is at the root in turn
+        assertTrue(tree.remove(10, 1));
+        assertTrue(tree.remove(60, 6));
+        assertTrue(tree.remove(40, 4));
+        assertEquals(4, tree.size());
+        assertEquals(List.of(2, 3, 5, 7), ids(tree.overlapping(0, 100)));
+
+        // Only the exact (start, id) is removed
+        assertFalse(tree.remove(20, 3));
+        assertFalse(tree.remove(40, 4));
+        assertEquals(4, tree.size());
+
+        for (int i : List.of(2, 3, 5, 7)) {
+            assertTrue(tree.remove(i * 10L, i));
+        }
+        assertTrue(tree.isEmpty());
+        assertTrue(tree.overlapping(0, 100).isEmpty());
+    }
+
+    @Test
+    void removalLowersTheLargestEndOfTheSubtree() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.insert(10, 1000, "long");
+        tree.insert(20, 30, "short");
+        tree.insert(5, 8, "early");
+
+        assertEquals(List.of("long"), ids(tree.overlapping(500, 600)));
+        tree.remove(10, "long");
+        assertTrue(tree.overlapping(500, 600).isEmpty());
+        assertEquals(List.of("short"), ids(tree.overlapping(25, 600)));
+    }
+
+    @Test
+    void staysBalancedOnSortedInsertsAndRemovals() {
+        IntervalTree<Integer> tree = new IntervalTree<>();
+        int n = 1 << 12;
+        for (int i = 0; i < n; i++) {
+            tree.insert(i, i + 1, i);
+        }
+        assertEquals(n, tree.size());
+        assertTrue(tree.height() <= maxAvlHeight(n), "height " + tree.height() + " for " + n + " intervals");
+
+        // Removing every other interval from the left end keeps it balanced too
+        for (int i = 0; i < n; i += 2) {
+            assertTrue(tree.remove(i, i));
+        }
+        assertEquals(n / 2, tree.size());
+        assertTrue(tree.height() <= maxAvlHeight(n / 2), "height " + tree.height() + " for " + n / 2 + " intervals");
+        assertEquals(List.of(1, 3), ids(tree.overlapping(0, 4)));
+    }
+
+    @Test
+    void matchesALinearScanUnderRandomInsertsAndRemovals() {
+        Random random = new Random(42);
+        IntervalTree<Integer> tree = new IntervalTree<>();
+        List<long[]> expected = new ArrayList<>();
+        for (int step = 0; step < 5000; step++) {
+            if (expected.isEmpty() || random.nextInt(3) > 0) {
+                long start = random.nextInt(10_000);
+                long[] interval = {start, start + 1 + random.nextInt(200), step};
+                tree.insert(interval[0], interval[1], step);
+                expected.add(interval);
+            } else {
+                long[] interval = expected.remove(random.nextInt(expected.size()));
+                assertTrue(tree.remove(interval[0], (int) interval[2]));
+            }
+            if (step % 50 == 0) {
+                long from = random.nextInt(10_000);
+                long to = from + 1 + random.nextInt(500);
+                assertEquals(scan(expected, from, to), ids(tree.overlapping(from, to)));
+            }
+        }
+        assertEquals(expected.size(), tree.size());
+        assertTrue(tree.height() <= maxAvlHeight(expected.size()));
+    }
+
+    private static <K> List<K> ids(List<IntervalTree.Interval<K>> intervals) {
+        return intervals.stream().map(IntervalTree.Interval::getId).toList();
+    }
+
+    // Ids of the intervals overlapping [from, to), ordered by (start, id) like the tree
+    private static List<Integer> scan(List<long[]> intervals, long from, long to) {
+        return intervals.stream()
+                .filter(interval -> interval[0] < to && from < interval[1])
+                .sorted(Comparator.<long[]>comparingLong(interval -> interval[0]).thenComparingLong(interval -> interval[2]))
+                .map(interval -> (int) interval[2])
+                .toList();
+    }
+
+    // An AVL tree of n nodes is at most about 1.44 log2(n + 2) high
+    private static int maxAvlHeight(int n) {
+        return (int) Math.floor(1.4405 * Math.log(n + 2) / Math.log(2) - 0.3277);
+    }
+}